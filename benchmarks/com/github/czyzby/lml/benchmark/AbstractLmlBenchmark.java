@@ -0,0 +1,45 @@
+package com.github.czyzby.lml.benchmark;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.util.Lml;
+
+/** Common base for LML benchmarks. Makes sure that a headless LibGDX application is running, so parsed templates have
+ * access to LibGDX services (like files and logging), as they would in a real application.
+ *
+ * <p>
+ * Benchmarks report throughput; run them with JMH GC profiler ("gradle jmh" does it by default) to measure the
+ * allocation rate as well.
+ *
+ * @author MJ */
+public abstract class AbstractLmlBenchmark {
+    private static HeadlessApplication application;
+
+    /** Starts a headless LibGDX application, unless it is already running. */
+    protected static synchronized void initiateApplication() {
+        if (application == null) {
+            final HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+            configuration.renderInterval = 1f; // Nothing to render - avoiding interfering with the benchmarks.
+            application = new HeadlessApplication(new ApplicationAdapter() {
+            }, configuration);
+        }
+    }
+
+    /** Should be invoked when the benchmark is finished. Exits the headless application. */
+    protected static synchronized void disposeApplication() {
+        if (application != null) {
+            Gdx.app.exit();
+            application = null;
+        }
+    }
+
+    /** @return a new instance of a strict parser with default settings and an empty skin. Logs are turned off. */
+    protected LmlParser createParser() {
+        Lml.DEBUG_LOGS_ON = Lml.INFO_LOGS_ON = false;
+        return Lml.parser(new Skin()).build();
+    }
+}
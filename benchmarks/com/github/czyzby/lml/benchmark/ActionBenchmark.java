@@ -0,0 +1,101 @@
+package com.github.czyzby.lml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.github.czyzby.lml.annotation.LmlAction;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.action.ActionContainer;
+import com.github.czyzby.lml.parser.action.ActorConsumer;
+import com.github.czyzby.lml.parser.impl.AbstractLmlParser;
+
+/** Measures {@link AbstractLmlParser#parseAction(String, Object)} resolution of actor consumers, annotated and
+ * unannotated action container methods and missing actions.
+ *
+ * @author MJ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ActionBenchmark extends AbstractLmlBenchmark {
+    private LmlParser parser;
+    private Actor actor;
+
+    @Setup
+    public void setUp() {
+        initiateApplication();
+        parser = createParser();
+        parser.getData().addActorConsumer("consumer", new ActorConsumer<Object, Object>() {
+            @Override
+            public Object consume(final Object actor) {
+                return actor;
+            }
+        });
+        parser.getData().addActionContainer("first", new FirstActionContainer());
+        parser.getData().addActionContainer("second", new SecondActionContainer());
+        actor = new Actor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        disposeApplication();
+    }
+
+    @Benchmark
+    public Object actorConsumer() {
+        return parser.parseAction("consumer", actor);
+    }
+
+    @Benchmark
+    public Object annotatedMethod() {
+        return parser.parseAction("annotated", actor);
+    }
+
+    @Benchmark
+    public Object unannotatedMethod() {
+        return parser.parseAction("unannotated", actor);
+    }
+
+    @Benchmark
+    public Object methodWithContainerId() {
+        return parser.parseAction("second.unannotated", actor);
+    }
+
+    @Benchmark
+    public Object missingAction() {
+        return parser.parseAction("missing", actor);
+    }
+
+    /** Contains benchmarked actions.
+     *
+     * @author MJ */
+    public static class FirstActionContainer implements ActionContainer {
+        @LmlAction("annotated")
+        public Object annotatedAction(final Actor actor) {
+            return actor;
+        }
+    }
+
+    /** Contains benchmarked actions.
+     *
+     * @author MJ */
+    public static class SecondActionContainer implements ActionContainer {
+        public Object unannotated(final Actor actor) {
+            return actor;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.czyzby.lml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.impl.tag.macro.util.Equation;
+
+/** Measures {@link Equation#getResult(String)} performance on arithmetic, logical and string equations.
+ *
+ * @author MJ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class EquationBenchmark extends AbstractLmlBenchmark {
+    private LmlParser parser;
+
+    @Setup
+    public void setUp() {
+        initiateApplication();
+        parser = createParser();
+    }
+
+    @TearDown
+    public void tearDown() {
+        disposeApplication();
+    }
+
+    @Benchmark
+    public String arithmetic() {
+        return new Equation(parser, null).getResult("(2 + 3) * 4 - 10 / 5 + 7 * (1 - 3)");
+    }
+
+    @Benchmark
+    public String logical() {
+        return new Equation(parser, null).getResult("(1 < 2 && 3 >= 3) || !(4 == 5) && true != false");
+    }
+
+    @Benchmark
+    public String strings() {
+        return new Equation(parser, null).getResult("'prefix' + 12 + 'suffix' == 'prefix12suffix'");
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.czyzby.lml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.github.czyzby.lml.parser.LmlParser;
+
+/** Measures {@link LmlParser#parseTemplate(String)} performance on synthetic templates of different sizes.
+ *
+ * @author MJ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ParserBenchmark extends AbstractLmlBenchmark {
+    @Param({ "SMALL", "MEDIUM", "HUGE" })
+    public String size;
+
+    private LmlParser parser;
+    private String template;
+
+    @Setup
+    public void setUp() {
+        initiateApplication();
+        parser = createParser();
+        template = SyntheticTemplates.createTemplate(SyntheticTemplates.getTagsAmount(size));
+    }
+
+    @TearDown
+    public void tearDown() {
+        disposeApplication();
+    }
+
+    @Benchmark
+    public Array<Actor> parseTemplate() {
+        return parser.parseTemplate(template);
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.czyzby.lml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.github.czyzby.lml.util.collection.CaseInsensitiveStringMap;
+import com.github.czyzby.lml.util.collection.IgnoreCaseStringMap;
+
+/** Measures lookups of {@link IgnoreCaseStringMap}, used to store tags, attributes and actors, and compares them with
+ * {@link CaseInsensitiveStringMap}. Queried keys use mixed case, as in the templates.
+ *
+ * @author MJ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class StringMapBenchmark {
+    private static final String[] KEYS = { "fillParent", "padLeft", "padRight", "colspan", "expandX", "defaultPad",
+            "onChange", "onClick", "tooltip", "visible", "touchable", "width", "height", "minWidth", "growX", "id" };
+
+    private final ObjectMap<String, String> ignoreCaseMap = new IgnoreCaseStringMap<String>();
+    private final ObjectMap<String, String> caseInsensitiveMap = new CaseInsensitiveStringMap<String>();
+    private String[] queriedKeys;
+    private String[] missingKeys;
+
+    @Setup
+    public void setUp() {
+        queriedKeys = new String[KEYS.length];
+        missingKeys = new String[KEYS.length];
+        for (int index = 0; index < KEYS.length; index++) {
+            ignoreCaseMap.put(KEYS[index], KEYS[index]);
+            caseInsensitiveMap.put(KEYS[index], KEYS[index]);
+            queriedKeys[index] = index % 2 == 0 ? KEYS[index] : KEYS[index].toUpperCase();
+            missingKeys[index] = KEYS[index] + "Missing";
+        }
+    }
+
+    @Benchmark
+    public void ignoreCaseMapHits(final Blackhole blackhole) {
+        for (final String key : queriedKeys) {
+            blackhole.consume(ignoreCaseMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void ignoreCaseMapMisses(final Blackhole blackhole) {
+        for (final String key : missingKeys) {
+            blackhole.consume(ignoreCaseMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void caseInsensitiveMapHits(final Blackhole blackhole) {
+        for (final String key : queriedKeys) {
+            blackhole.consume(caseInsensitiveMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void caseInsensitiveMapMisses(final Blackhole blackhole) {
+        for (final String key : missingKeys) {
+            blackhole.consume(caseInsensitiveMap.get(key));
+        }
+    }
+}
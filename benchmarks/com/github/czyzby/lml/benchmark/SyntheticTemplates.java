@@ -0,0 +1,78 @@
+package com.github.czyzby.lml.benchmark;
+
+/** Generates LML templates used by the benchmarks. Templates consist only of tags that do not require any skin
+ * resources, so they can be parsed by a parser with an empty skin.
+ *
+ * @author MJ */
+public class SyntheticTemplates {
+    /** Amount of regular tags in the small template. */
+    public static final int SMALL = 10;
+    /** Amount of regular tags in the medium template. */
+    public static final int MEDIUM = 250;
+    /** Amount of regular tags in the huge template. */
+    public static final int HUGE = 10000;
+
+    private SyntheticTemplates() {
+    }
+
+    /** @param size name of the template size: SMALL, MEDIUM or HUGE.
+     * @return amount of tags in the template of chosen size. */
+    public static int getTagsAmount(final String size) {
+        if ("SMALL".equals(size)) {
+            return SMALL;
+        } else if ("MEDIUM".equals(size)) {
+            return MEDIUM;
+        } else if ("HUGE".equals(size)) {
+            return HUGE;
+        }
+        throw new IllegalArgumentException("Unknown template size: " + size);
+    }
+
+    /** @param tagsAmount approximate amount of tags in the template.
+     * @return a template consisting of nested tables, containers and actors, with comments and multiple attributes per
+     *         tag. */
+    public static String createTemplate(final int tagsAmount) {
+        final StringBuilder builder = new StringBuilder(tagsAmount * 64);
+        builder.append("<!-- Synthetic template with ").append(tagsAmount).append(" tags. -->\n");
+        builder.append("<table id=root fillParent=true defaultPad=2>\n");
+        int tags = 1;
+        int tableIndex = 0;
+        while (tags < tagsAmount) {
+            builder.append("  <table id=table").append(tableIndex).append(" fill=true expand=true row=true>\n");
+            tags++;
+            for (int index = 0; index < 8 && tags < tagsAmount; index++, tags++) {
+                if (index % 3 == 0) {
+                    builder.append("    <container padLeft=4 fill=true><actor id=actor").append(tableIndex)
+                            .append('_').append(index).append(" width=").append(index * 10)
+                            .append(" height=32 visible=true/></container>\n");
+                    tags++;
+                } else {
+                    builder.append("    <actor width=").append(index).append(" height=").append(tableIndex % 50)
+                            .append(" colspan=1 growX=true").append(index == 7 ? " row=true" : "").append("/>\n");
+                }
+            }
+            builder.append("  </table>\n");
+            tableIndex++;
+        }
+        builder.append("</table>");
+        return builder.toString();
+    }
+
+    /** @param iterations amount of loop iterations in each macro.
+     * @return a template with nested loops: forEach, nested forEach and a custom macro invoked by the loops. */
+    public static String createMacroTemplate(final int iterations) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("<@macro cell \"\" id width=10><container fill=true><actor id={id} width={width}/></container>")
+                .append("</@macro>\n");
+        builder.append("<table>\n");
+        builder.append("  <@forEach element=item[0,").append(iterations - 1).append("]>\n");
+        builder.append("    <@cell id={element} width={forEach:index}/>\n");
+        builder.append("  </@forEach>\n");
+        builder.append("  <@nested x=x[0,").append(iterations - 1).append("] y=y[0,").append(iterations - 1)
+                .append("]>\n");
+        builder.append("    <actor id={x}{y} width={nested:index} row={=({nested:index} % 8) == 7}/>\n");
+        builder.append("  </@nested>\n");
+        builder.append("</table>");
+        return builder.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.czyzby.lml.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+/** Common base for LML processors. Visits all classes compiled along with the processor (including nested classes)
+ * and generates a single helper class for each supported class. Generated classes are placed in the package of their
+ * class, named after its binary name with a processor-specific suffix. Processors never claim any annotations.
+ *
+ * @author MJ */
+public abstract class AbstractLmlProcessor extends AbstractProcessor {
+    private final Set<String> processedClasses = new HashSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+        for (final Element element : roundEnvironment.getRootElements()) {
+            processElement(element);
+        }
+        return false;
+    }
+
+    private void processElement(final Element element) {
+        if (!element.getKind().isClass() && !element.getKind().isInterface()) {
+            return;
+        }
+        final TypeElement type = (TypeElement) element;
+        if (element.getKind().isClass() && !type.getModifiers().contains(Modifier.ABSTRACT) && isReferenceable(type)
+                && isSupported(type)) {
+            final String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+            if (processedClasses.add(name)) {
+                writeSource(type, name + getSuffix());
+            }
+        }
+        for (final Element enclosedElement : type.getEnclosedElements()) {
+            processElement(enclosedElement);
+        }
+    }
+
+    /** @param type class or one of its enclosing classes.
+     * @return true if generated classes are able to reference the class. */
+    private static boolean isReferenceable(final TypeElement type) {
+        Element currentElement = type;
+        while (currentElement instanceof TypeElement) {
+            final TypeElement currentType = (TypeElement) currentElement;
+            if (currentType.getModifiers().contains(Modifier.PRIVATE)
+                    || currentType.getNestingKind() == NestingKind.LOCAL
+                    || currentType.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            currentElement = currentType.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private void writeSource(final TypeElement type, final String generatedName) {
+        try {
+            final String source = createSource(type, generatedName);
+            if (source == null) {
+                return;
+            }
+            final JavaFileObject file = processingEnv.getFiler().createSourceFile(generatedName, type);
+            final Writer writer = file.openWriter();
+            try {
+                writer.write(source);
+            } finally {
+                writer.close();
+            }
+        } catch (final IOException exception) {
+            processingEnv.getMessager().printMessage(Kind.ERROR,
+                    "Unable to generate class: " + generatedName + ". " + exception.getMessage(), type);
+        }
+    }
+
+    /** @return appended to the binary name of the processed class to get the name of the generated class. */
+    protected abstract String getSuffix();
+
+    /** @param type non-abstract class that can be referenced by generated classes.
+     * @return true if a class should be generated for the type. */
+    protected abstract boolean isSupported(TypeElement type);
+
+    /** @param type supported class.
+     * @param generatedName binary name of the generated class.
+     * @return source code of the generated class or null if the class should not be generated (for example, due to
+     *         compilation errors reported by the processor). */
+    protected abstract String createSource(TypeElement type, String generatedName);
+}
@@ -0,0 +1,228 @@
+package com.github.czyzby.lml.processor;
+
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+
+/** Common base for classes creating source code of generated classes. Generated classes are placed in the package of
+ * the processed class and reference all types by their fully qualified names.
+ *
+ * @author MJ */
+abstract class AbstractSourceWriter {
+    protected final ProcessingEnvironment processingEnvironment;
+    protected final Types types;
+    /** Processed class. */
+    protected final TypeElement type;
+    /** Canonical name of the processed class. */
+    protected final String typeName;
+    protected final String packageName;
+    /** Binary name of the generated class. */
+    protected final String generatedName;
+    protected final StringBuilder builder = new StringBuilder();
+
+    /** @param processingEnvironment current processing environment.
+     * @param type processed class.
+     * @param generatedName binary name of the generated class. */
+    public AbstractSourceWriter(final ProcessingEnvironment processingEnvironment, final TypeElement type,
+            final String generatedName) {
+        this.processingEnvironment = processingEnvironment;
+        types = processingEnvironment.getTypeUtils();
+        this.type = type;
+        typeName = type.getQualifiedName().toString();
+        packageName = getPackageName(type);
+        this.generatedName = generatedName;
+    }
+
+    /** @return simple name of the generated class. */
+    protected String getGeneratedSimpleName() {
+        return generatedName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+    }
+
+    /** @param description will be appended to the class comment.
+     * @param superTypes "extends" and "implements" clauses of the generated class. */
+    protected void writeClassStart(final String description, final String superTypes) {
+        if (!packageName.isEmpty()) {
+            builder.append("package ").append(packageName).append(";\n\n");
+        }
+        builder.append("/** ").append(description).append(" of {@link ").append(typeName)
+                .append("}. Generated by gdx-lml-processor - do not modify. */\n");
+        // Generated code uses erased types of generic members. Javac ignores "all", so the keys are listed:
+        builder.append("@java.lang.SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+        builder.append("public class ").append(getGeneratedSimpleName()).append(' ').append(superTypes)
+                .append(" {\n");
+    }
+
+    protected void writeClassEnd() {
+        builder.append("}\n");
+    }
+
+    /** @param type class.
+     * @return its superclass or null. */
+    protected TypeElement getSuperclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+    }
+
+    /** @param type class.
+     * @return true if the class is java.lang.Object. */
+    protected static boolean isObject(final TypeElement type) {
+        return type.getQualifiedName().contentEquals(Object.class.getName());
+    }
+
+    /** @param type any type.
+     * @return true if the type is java.lang.Object. */
+    protected static boolean isObject(final TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && isObject((TypeElement) ((DeclaredType) type).asElement());
+    }
+
+    /** @param element annotated element.
+     * @param annotationName qualified name of the annotation type.
+     * @return annotation of the selected type or null if the element is not annotated. */
+    protected static AnnotationMirror getAnnotation(final Element element, final String annotationName) {
+        for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotationName.equals(((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+                    .toString())) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /** @param annotation contains the value.
+     * @param name name of the annotation element.
+     * @return value of the annotation element, including default values. Might be null. */
+    protected Object getAnnotationValue(final AnnotationMirror annotation, final String name) {
+        for (final Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnvironment
+                .getElementUtils().getElementValuesWithDefaults(annotation).entrySet()) {
+            if (name.equals(entry.getKey().getSimpleName().toString())) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /** @param annotation contains the value.
+     * @param name name of the annotation element of String[] type.
+     * @return array of strings stored by the annotation. */
+    protected String[] getStringArray(final AnnotationMirror annotation, final String name) {
+        final Object values = getAnnotationValue(annotation, name);
+        if (!(values instanceof List<?>)) {
+            return new String[0];
+        }
+        final List<?> valuesList = (List<?>) values;
+        final String[] strings = new String[valuesList.size()];
+        for (int index = 0; index < strings.length; index++) {
+            strings[index] = String.valueOf(((AnnotationValue) valuesList.get(index)).getValue());
+        }
+        return strings;
+    }
+
+    /** @return true if the member can be referenced by the generated class. */
+    protected boolean isAccessible(final Element member) {
+        final Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        } else if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        } // Protected or package-private members can be accessed only from the same package:
+        return packageName.equals(getPackageName(member.getEnclosingElement()));
+    }
+
+    /** @param type declared type.
+     * @return true if the type can be referenced by the generated class. */
+    protected boolean isAccessible(final TypeMirror type) {
+        final TypeMirror erasure = types.erasure(type);
+        if (erasure.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        Element element = ((DeclaredType) erasure).asElement();
+        while (element instanceof TypeElement) {
+            if (!isAccessible(element)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    protected String getPackageName(final Element element) {
+        return processingEnvironment.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+    }
+
+    /** @return true if the type is a class or an enum (rather than an interface, array or primitive). */
+    protected static boolean isClass(final TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        final ElementKind kind = ((DeclaredType) type).asElement().getKind();
+        return kind == ElementKind.CLASS || kind == ElementKind.ENUM;
+    }
+
+    /** @param member field or method of the processed class.
+     * @param instance name of the variable with the processed class instance.
+     * @return static members are referenced with the class name, others with the instance. */
+    protected String getOwner(final Element member, final String instance) {
+        return member.getModifiers().contains(Modifier.STATIC) ? typeName : instance;
+    }
+
+    /** @param method will be invoked.
+     * @param indent indentation of the statement.
+     * @param invocation statement invoking the method, without a semicolon.
+     * @param returnResult if true, result of the method will be returned (null for void methods). */
+    protected void writeInvocation(final ExecutableElement method, final String indent, final String invocation,
+            final boolean returnResult) {
+        // Checked exceptions are wrapped, as in the reflection-based invocations:
+        final boolean throwsExceptions = !method.getThrownTypes().isEmpty();
+        final String invocationIndent = throwsExceptions ? indent + "    " : indent;
+        if (throwsExceptions) {
+            builder.append(indent).append("try {\n");
+        }
+        if (!returnResult) {
+            builder.append(invocationIndent).append(invocation).append(";\n");
+        } else if (method.getReturnType().getKind() == TypeKind.VOID) {
+            builder.append(invocationIndent).append(invocation).append(";\n");
+            builder.append(invocationIndent).append("return null;\n");
+        } else {
+            builder.append(invocationIndent).append("return ").append(invocation).append(";\n");
+        }
+        if (throwsExceptions) {
+            builder.append(indent).append("} catch (final java.lang.RuntimeException exception) {\n");
+            builder.append(indent).append("    throw exception;\n");
+            builder.append(indent).append("} catch (final java.lang.Exception exception) {\n");
+            builder.append(indent).append("    throw new com.badlogic.gdx.utils.GdxRuntimeException(")
+                    .append(quote("Unable to invoke method: " + method.getSimpleName() + "."))
+                    .append(", exception);\n");
+            builder.append(indent).append("}\n");
+        }
+    }
+
+    /** @param value will be converted to a Java string literal.
+     * @return quoted and escaped value. */
+    protected static String quote(final String value) {
+        final StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int index = 0; index < value.length(); index++) {
+            final char character = value.charAt(index);
+            if (character == '"' || character == '\\') {
+                quoted.append('\\').append(character);
+            } else if (character < ' ' || character > '~') {
+                quoted.append(String.format("\\u%04x", (int) character));
+            } else {
+                quoted.append(character);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
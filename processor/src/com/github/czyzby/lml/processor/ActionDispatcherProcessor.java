@@ -0,0 +1,41 @@
+package com.github.czyzby.lml.processor;
+
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.element.TypeElement;
+
+/** Generates action dispatchers of all non-abstract ActionContainer implementations compiled along with this
+ * processor. Each dispatcher is a class in the package of its container, named after the container class with
+ * "_LmlActionDispatcher" suffix (for example, "MyView_LmlActionDispatcher" or "Outer$Inner_LmlActionDispatcher").
+ * Dispatchers resolve actions with switch statements and invoke container methods directly, so LML parser does not
+ * have to scan container classes with reflection. Actions that cannot be invoked directly (for example, private
+ * methods) are still resolved with reflection.
+ *
+ * <p>
+ * This processor does not depend on LML classes - it refers to them by their names, so it can be used without gdx-lml
+ * on the processor path.
+ *
+ * @author MJ */
+@SupportedAnnotationTypes("*")
+public class ActionDispatcherProcessor extends AbstractLmlProcessor {
+    /** Name of the interface implemented by action containers. */
+    public static final String ACTION_CONTAINER = "com.github.czyzby.lml.parser.action.ActionContainer";
+    /** Has to match ActionDispatchers.DISPATCHER_SUFFIX from gdx-lml. */
+    public static final String DISPATCHER_SUFFIX = "_LmlActionDispatcher";
+
+    @Override
+    protected String getSuffix() {
+        return DISPATCHER_SUFFIX;
+    }
+
+    @Override
+    protected boolean isSupported(final TypeElement type) {
+        final TypeElement actionContainer = processingEnv.getElementUtils().getTypeElement(ACTION_CONTAINER);
+        return actionContainer != null && processingEnv.getTypeUtils()
+                .isAssignable(processingEnv.getTypeUtils().erasure(type.asType()), actionContainer.asType());
+    }
+
+    @Override
+    protected String createSource(final TypeElement type, final String generatedName) {
+        return new ActionDispatcherWriter(processingEnv, type, generatedName).write();
+    }
+}
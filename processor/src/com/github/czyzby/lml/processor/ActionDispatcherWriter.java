@@ -0,0 +1,284 @@
+package com.github.czyzby.lml.processor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+
+/** Creates source code of an action dispatcher of a single container class. Mirrors action resolution of the LML
+ * parser: container class and its superclasses are scanned in the same order, so the same methods and fields are
+ * chosen for each action ID.
+ *
+ * @author MJ */
+class ActionDispatcherWriter extends AbstractSourceWriter {
+    private static final String LML_ACTION = "com.github.czyzby.lml.annotation.LmlAction";
+    private static final String ACTOR_CONSUMER = "com.github.czyzby.lml.parser.action.ActorConsumer";
+    private static final String ACTION_DISPATCHERS = "com.github.czyzby.lml.parser.action.ActionDispatchers";
+    private static final String USE_REFLECTION = ACTION_DISPATCHERS + ".USE_REFLECTION";
+    private static final String CONSUMER_TYPE = ACTOR_CONSUMER + "<java.lang.Object, java.lang.Object>";
+
+    /** Annotated methods mapped by lower case IDs. Superclasses override mappings of their subclasses, as in the
+     * reflection-based resolution. */
+    private final Map<String, ExecutableElement> annotatedMethods = new LinkedHashMap<String, ExecutableElement>();
+    /** Methods with one or zero parameters, in the order of class hierarchy. */
+    private final Map<String, List<ExecutableElement>> methods = new LinkedHashMap<String, List<ExecutableElement>>();
+    private final Map<String, VariableElement> annotatedFields = new LinkedHashMap<String, VariableElement>();
+    /** Fields mapped by their names, declared by the most specific class. */
+    private final Map<String, VariableElement> fields = new LinkedHashMap<String, VariableElement>();
+
+    /** @param processingEnvironment current processing environment.
+     * @param containerType class of the action container.
+     * @param dispatcherName binary name of the generated class. */
+    public ActionDispatcherWriter(final ProcessingEnvironment processingEnvironment, final TypeElement containerType,
+            final String dispatcherName) {
+        super(processingEnvironment, containerType, dispatcherName);
+        // Methods of java.lang.Object (like wait or notify) are not actions, as in the reflection-based resolution:
+        TypeElement currentType = containerType;
+        while (currentType != null && !isObject(currentType)) {
+            mapMembers(currentType);
+            currentType = getSuperclass(currentType);
+        }
+    }
+
+    private void mapMembers(final TypeElement type) {
+        for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            for (final String actionId : getActionIds(method)) {
+                annotatedMethods.put(toLowerCase(actionId), method);
+            }
+            if (method.getParameters().size() <= 1) {
+                final String name = method.getSimpleName().toString();
+                List<ExecutableElement> namedMethods = methods.get(name);
+                if (namedMethods == null) {
+                    namedMethods = new ArrayList<ExecutableElement>(2);
+                    methods.put(name, namedMethods);
+                }
+                namedMethods.add(method);
+            }
+        }
+        for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            for (final String actionId : getActionIds(field)) {
+                annotatedFields.put(toLowerCase(actionId), field);
+            }
+            final String name = field.getSimpleName().toString();
+            if (!fields.containsKey(name)) {
+                fields.put(name, field);
+            }
+        }
+    }
+
+    private String[] getActionIds(final Element element) {
+        final AnnotationMirror annotation = getAnnotation(element, LML_ACTION);
+        return annotation == null ? new String[0] : getStringArray(annotation, "value");
+    }
+
+    /** @param actionId will be converted. Has to match ActionDispatchers.toLowerCase(String) from gdx-lml.
+     * @return lower case action ID. */
+    private static String toLowerCase(final String actionId) {
+        final char[] characters = actionId.toCharArray();
+        for (int index = 0; index < characters.length; index++) {
+            characters[index] = Character.toLowerCase(characters[index]);
+        }
+        return new String(characters);
+    }
+
+    /** @return source code of the dispatcher. */
+    public String write() {
+        writeClassStart("Action dispatcher", "implements com.github.czyzby.lml.parser.action.ActionDispatcher");
+        builder.append("    @java.lang.Override\n");
+        builder.append("    public ").append(ACTOR_CONSUMER).append("<?, ?> getAction(\n");
+        builder.append("            final com.github.czyzby.lml.parser.action.ActionContainer actionContainer,\n");
+        builder.append("            final java.lang.String actionId, final java.lang.Object forActor) {\n");
+        builder.append("        final ").append(typeName).append(" container = (").append(typeName)
+                .append(") actionContainer;\n");
+        builder.append("        final java.lang.String lowerCaseId = ").append(ACTION_DISPATCHERS)
+                .append(".toLowerCase(actionId);\n");
+        writeAnnotatedMethods();
+        writeMethods();
+        writeFields();
+        builder.append("        return null;\n");
+        builder.append("    }\n");
+        writeClassEnd();
+        return builder.toString();
+    }
+
+    private void writeAnnotatedMethods() {
+        if (annotatedMethods.isEmpty()) {
+            return;
+        }
+        builder.append("        switch (lowerCaseId) {\n");
+        for (final Entry<String, ExecutableElement> entry : annotatedMethods.entrySet()) {
+            final ExecutableElement method = entry.getValue();
+            builder.append("            case ").append(quote(entry.getKey())).append(":\n");
+            if (!isAccessible(method) || method.getParameters().size() > 1 || method.getParameters().size() == 1
+                    && !isAccessible(method.getParameters().get(0).asType())) {
+                writeReflectionCase();
+            } else {
+                writeMethodConsumer(method, "                ");
+            }
+        }
+        builder.append("        }\n");
+    }
+
+    private void writeMethods() {
+        if (methods.isEmpty()) {
+            return;
+        }
+        builder.append("        switch (actionId) {\n");
+        for (final Entry<String, List<ExecutableElement>> entry : methods.entrySet()) {
+            builder.append("            case ").append(quote(entry.getKey())).append(":\n");
+            writeMethodCase(entry.getValue());
+        }
+        builder.append("        }\n");
+    }
+
+    /** @param namedMethods all methods with the same name and one or zero parameters, in class hierarchy order. */
+    private void writeMethodCase(final List<ExecutableElement> namedMethods) {
+        // Methods that can be chosen by the parser: no-arg method and methods consuming classes (rather than
+        // interfaces or primitives), declared by the most specific class.
+        final List<ExecutableElement> consumingMethods = new ArrayList<ExecutableElement>();
+        final List<TypeMirror> parameterTypes = new ArrayList<TypeMirror>();
+        ExecutableElement noArgMethod = null;
+        for (final ExecutableElement method : namedMethods) {
+            if (method.getParameters().isEmpty()) {
+                if (noArgMethod == null) {
+                    noArgMethod = method;
+                }
+                continue;
+            }
+            final TypeMirror parameterType = types.erasure(method.getParameters().get(0).asType());
+            if (!isClass(parameterType) || containsType(parameterTypes, parameterType)) {
+                if (parameterType.getKind() == TypeKind.ARRAY) {
+                    writeReflectionCase();
+                    return;
+                }
+                continue;
+            }
+            if (!isAccessible(method) || !isAccessible(parameterType)) {
+                writeReflectionCase();
+                return;
+            }
+            parameterTypes.add(parameterType);
+            consumingMethods.add(method);
+        }
+        if (noArgMethod != null && !isAccessible(noArgMethod)) {
+            writeReflectionCase();
+            return;
+        }
+        // Parser looks for methods consuming actor's class, then its superclass and so on - subclasses go first:
+        while (!consumingMethods.isEmpty()) {
+            final int index = getMostSpecificTypeIndex(parameterTypes);
+            final ExecutableElement method = consumingMethods.remove(index);
+            builder.append("                if (forActor instanceof ").append(parameterTypes.remove(index))
+                    .append(") {\n");
+            writeMethodConsumer(method, "                    ");
+            builder.append("                }\n");
+        }
+        if (noArgMethod == null) {
+            builder.append("                break;\n");
+        } else {
+            writeMethodConsumer(noArgMethod, "                ");
+        }
+    }
+
+    private void writeReflectionCase() {
+        builder.append("                return ").append(USE_REFLECTION).append(";\n");
+    }
+
+    private boolean containsType(final List<TypeMirror> typesList, final TypeMirror type) {
+        for (final TypeMirror listedType : typesList) {
+            if (types.isSameType(listedType, type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int getMostSpecificTypeIndex(final List<TypeMirror> typesList) {
+        for (int index = 0; index < typesList.size(); index++) {
+            boolean hasSubtype = false;
+            for (int otherIndex = 0; otherIndex < typesList.size(); otherIndex++) {
+                if (otherIndex != index && types.isSubtype(typesList.get(otherIndex), typesList.get(index))) {
+                    hasSubtype = true;
+                    break;
+                }
+            }
+            if (!hasSubtype) {
+                return index;
+            }
+        }
+        return 0;
+    }
+
+    private void writeFields() {
+        if (annotatedFields.isEmpty() && fields.isEmpty()) {
+            return;
+        }
+        builder.append("        if (com.github.czyzby.lml.util.Lml.EXTRACT_FIELDS_AS_METHODS) {\n");
+        if (!annotatedFields.isEmpty()) {
+            builder.append("            switch (lowerCaseId) {\n");
+            for (final Entry<String, VariableElement> entry : annotatedFields.entrySet()) {
+                writeFieldCase(entry.getKey(), entry.getValue());
+            }
+            builder.append("            }\n");
+        }
+        if (!fields.isEmpty()) {
+            builder.append("            switch (actionId) {\n");
+            for (final Entry<String, VariableElement> entry : fields.entrySet()) {
+                writeFieldCase(entry.getKey(), entry.getValue());
+            }
+            builder.append("            }\n");
+        }
+        builder.append("        }\n");
+    }
+
+    private void writeFieldCase(final String actionId, final VariableElement field) {
+        builder.append("                case ").append(quote(actionId)).append(":\n");
+        if (!isAccessible(field)) {
+            builder.append("                    return ").append(USE_REFLECTION).append(";\n");
+            return;
+        }
+        writeConsumerStart("                    ");
+        builder.append("                            return ").append(getOwner(field, "container")).append('.')
+                .append(field.getSimpleName()).append(";\n");
+        writeConsumerEnd("                    ");
+    }
+
+    private void writeMethodConsumer(final ExecutableElement method, final String indent) {
+        writeConsumerStart(indent);
+        final StringBuilder invocation = new StringBuilder();
+        invocation.append(getOwner(method, "container")).append('.').append(method.getSimpleName()).append('(');
+        if (!method.getParameters().isEmpty()) {
+            final TypeMirror parameterType = types.erasure(method.getParameters().get(0).asType());
+            if (isObject(parameterType)) {
+                invocation.append("actor");
+            } else {
+                invocation.append('(').append(parameterType).append(") actor");
+            }
+        }
+        invocation.append(')');
+        writeInvocation(method, indent + "        ", invocation.toString(), true);
+        writeConsumerEnd(indent);
+    }
+
+    private void writeConsumerStart(final String indent) {
+        builder.append(indent).append("return new ").append(CONSUMER_TYPE).append("() {\n");
+        builder.append(indent).append("    @java.lang.Override\n");
+        builder.append(indent).append("    public java.lang.Object consume(final java.lang.Object actor) {\n");
+    }
+
+    private void writeConsumerEnd(final String indent) {
+        builder.append(indent).append("    }\n");
+        builder.append(indent).append("};\n");
+    }
+}
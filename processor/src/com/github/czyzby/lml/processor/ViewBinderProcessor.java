@@ -0,0 +1,47 @@
+package com.github.czyzby.lml.processor;
+
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+
+/** Generates view binders of all non-abstract classes with fields or methods (including inherited ones) annotated with
+ * LmlActor, OnChange, LmlInject, LmlBefore or LmlAfter. Each binder is a class in the package of its view, named after
+ * the view class with "_LmlViewBinder" suffix. Binders assign fields and invoke methods directly, so LML parser does
+ * not have to scan view classes with reflection each time a view is filled. Private members are still accessed with
+ * reflection, but each of them is looked up only once.
+ *
+ * <p>
+ * This processor does not depend on LML classes - it refers to them by their names, so it can be used without gdx-lml
+ * on the processor path.
+ *
+ * @author MJ */
+@SupportedAnnotationTypes("*")
+public class ViewBinderProcessor extends AbstractLmlProcessor {
+    /** Has to match ViewBinders.BINDER_SUFFIX from gdx-lml. */
+    public static final String BINDER_SUFFIX = "_LmlViewBinder";
+
+    @Override
+    protected String getSuffix() {
+        return BINDER_SUFFIX;
+    }
+
+    @Override
+    protected boolean isSupported(final TypeElement type) {
+        TypeElement currentType = type;
+        while (currentType != null && !Object.class.getName().equals(currentType.getQualifiedName().toString())) {
+            for (final Element member : currentType.getEnclosedElements()) {
+                if (ViewBinderWriter.isBound(member)) {
+                    return true;
+                }
+            }
+            final Element superclass = processingEnv.getTypeUtils().asElement(currentType.getSuperclass());
+            currentType = superclass instanceof TypeElement ? (TypeElement) superclass : null;
+        }
+        return false;
+    }
+
+    @Override
+    protected String createSource(final TypeElement type, final String generatedName) {
+        return new ViewBinderWriter(processingEnv, type, generatedName).write();
+    }
+}
@@ -0,0 +1,364 @@
+package com.github.czyzby.lml.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/** Creates source code of a view binder of a single view class. Mirrors annotation processing of the LML parser: view
+ * class and its superclasses are scanned in the same order and fields are handled the same way. Fields that cannot be
+ * assigned directly (for example, private or final fields) are processed by the parser with reflection.
+ *
+ * @author MJ */
+class ViewBinderWriter extends AbstractSourceWriter {
+    private static final String LML_ACTOR = "com.github.czyzby.lml.annotation.LmlActor";
+    private static final String ON_CHANGE = "com.github.czyzby.lml.annotation.OnChange";
+    private static final String LML_INJECT = "com.github.czyzby.lml.annotation.LmlInject";
+    private static final String LML_BEFORE = "com.github.czyzby.lml.annotation.LmlBefore";
+    private static final String LML_AFTER = "com.github.czyzby.lml.annotation.LmlAfter";
+    private static final String LML_PARSER = "com.github.czyzby.lml.parser.LmlParser";
+    private static final String ACTOR = "com.badlogic.gdx.scenes.scene2d.Actor";
+    private static final String ARRAY = "com.badlogic.gdx.utils.Array";
+    private static final String OBJECT_SET = "com.badlogic.gdx.utils.ObjectSet";
+    private static final String OBJECT_MAP = "com.badlogic.gdx.utils.ObjectMap";
+    private static final String[] ACTOR_COLLECTIONS = { ARRAY, OBJECT_SET, OBJECT_MAP };
+    private static final String INDENT = "        ";
+
+    /** Annotated members in the order of class hierarchy: starting with the view class. */
+    private final List<Element> members = new ArrayList<Element>();
+    /** Depths of declaring classes of the members: 0 for the view class, 1 for its superclass, etc. */
+    private final List<Integer> depths = new ArrayList<Integer>();
+    private final StringBuilder constants = new StringBuilder();
+    private int fieldsAmount;
+    private int methodsAmount;
+    private int constantsAmount;
+    private boolean valid = true;
+
+    /** @param processingEnvironment current processing environment.
+     * @param viewType class of the view.
+     * @param binderName binary name of the generated class. */
+    public ViewBinderWriter(final ProcessingEnvironment processingEnvironment, final TypeElement viewType,
+            final String binderName) {
+        super(processingEnvironment, viewType, binderName);
+        TypeElement currentType = viewType;
+        int depth = 0;
+        while (currentType != null && !isObject(currentType)) {
+            for (final Element member : currentType.getEnclosedElements()) {
+                if (isBound(member)) {
+                    members.add(member);
+                    depths.add(depth);
+                }
+            }
+            currentType = getSuperclass(currentType);
+            depth++;
+        }
+    }
+
+    /** @param member field or method.
+     * @return true if the member has to be handled by the view binder. */
+    public static boolean isBound(final Element member) {
+        if (member.getKind() == ElementKind.FIELD) {
+            return getAnnotation(member, LML_ACTOR) != null || getAnnotation(member, ON_CHANGE) != null
+                    || getAnnotation(member, LML_INJECT) != null;
+        } else if (member.getKind() == ElementKind.METHOD) {
+            return getAnnotation(member, LML_BEFORE) != null || getAnnotation(member, LML_AFTER) != null;
+        }
+        return false;
+    }
+
+    /** @return source code of the binder or null if annotations are invalid. */
+    public String write() {
+        writeClassStart("View binder",
+                "extends com.github.czyzby.lml.parser.view.AbstractViewBinder<" + typeName + ">");
+        final int constructorIndex = builder.length();
+        writeMethodsInvocation("invokeBeforeMethods", LML_BEFORE);
+        writeBind();
+        writeMethodsInvocation("invokeAfterMethods", LML_AFTER);
+        builder.append(constants);
+        writeClassEnd();
+        builder.insert(constructorIndex, "    public " + getGeneratedSimpleName() + "() {\n        super("
+                + fieldsAmount + ", " + methodsAmount + ");\n    }\n");
+        return valid ? builder.toString() : null;
+    }
+
+    private void writeMethodsInvocation(final String binderMethod, final String annotation) {
+        boolean hasMethods = false;
+        for (int index = 0; index < members.size(); index++) {
+            final Element member = members.get(index);
+            if (member.getKind() != ElementKind.METHOD || getAnnotation(member, annotation) == null) {
+                continue;
+            }
+            if (!hasMethods) {
+                hasMethods = true;
+                builder.append("\n    @java.lang.Override\n");
+                builder.append("    public void ").append(binderMethod).append("(final ").append(typeName)
+                        .append(" view, final ").append(LML_PARSER).append(" parser) {\n");
+            }
+            writeMethodInvocation((ExecutableElement) member, depths.get(index));
+        }
+        if (hasMethods) {
+            builder.append("    }\n");
+        }
+    }
+
+    private void writeMethodInvocation(final ExecutableElement method, final int depth) {
+        final boolean consumesParser;
+        if (method.getParameters().isEmpty()) {
+            consumesParser = false;
+        } else if (method.getParameters().size() == 1 && LML_PARSER
+                .equals(types.erasure(method.getParameters().get(0).asType()).toString())) {
+            consumesParser = true;
+        } else {
+            error("Only no-arg or single-arg methods consuming LmlParser can be annotated.", method);
+            return;
+        }
+        if (isAccessible(method)) {
+            writeInvocation(method, INDENT, getOwner(method, "view") + "." + method.getSimpleName() + "("
+                    + (consumesParser ? "parser" : "") + ")", false);
+        } else {
+            builder.append(INDENT).append("invokeMethod(view, ").append(methodsAmount++).append(", ").append(depth)
+                    .append(", ").append(quote(method.getSimpleName().toString())).append(", ")
+                    .append(consumesParser ? "parser" : "null").append(");\n");
+        }
+    }
+
+    private void writeBind() {
+        boolean hasFields = false;
+        for (int index = 0; index < members.size(); index++) {
+            final Element member = members.get(index);
+            if (member.getKind() != ElementKind.FIELD) {
+                continue;
+            }
+            if (!hasFields) {
+                hasFields = true;
+                builder.append("\n    @java.lang.Override\n");
+                builder.append("    public void bind(final ").append(typeName)
+                        .append(" view, final com.github.czyzby.lml.parser.view.ViewBindingContext context) {\n");
+            }
+            writeFieldBinding((VariableElement) member, depths.get(index));
+        }
+        if (hasFields) {
+            builder.append("    }\n");
+        }
+    }
+
+    private void writeFieldBinding(final VariableElement field, final int depth) {
+        final AnnotationMirror actorData = getAnnotation(field, LML_ACTOR);
+        final AnnotationMirror onChangeData = getAnnotation(field, ON_CHANGE);
+        final AnnotationMirror injectionData = getAnnotation(field, LML_INJECT);
+        if (actorData != null && getStringArray(actorData, "value").length == 0) {
+            error("Actor IDs array in @LmlActor annotation cannot be empty.", field);
+            return;
+        }
+        if (actorData != null && !canInjectActors(field) || injectionData != null && !canInject(field, injectionData)) {
+            // Parser will process all annotations of the field with reflection:
+            builder.append(INDENT).append("context.processField(view, ");
+            writeFieldLookUp(field, depth);
+            builder.append(");\n");
+            return;
+        }
+        if (actorData != null) {
+            writeActorsInjection(field, getStringArray(actorData, "value"));
+        }
+        if (onChangeData != null) {
+            builder.append(INDENT).append("context.processOnChange(view, ");
+            writeFieldLookUp(field, depth);
+            builder.append(", ").append(quote(String.valueOf(getAnnotationValue(onChangeData, "value"))))
+                    .append(");\n");
+        }
+        if (injectionData != null) {
+            writeInjection(field, injectionData);
+        }
+    }
+
+    private void writeFieldLookUp(final VariableElement field, final int depth) {
+        builder.append("getField(view, ").append(fieldsAmount++).append(", ").append(depth).append(", ")
+                .append(quote(field.getSimpleName().toString())).append(')');
+    }
+
+    /** @return true if the field can be assigned by the binder. */
+    private boolean isAssignable(final VariableElement field) {
+        return isAccessible(field) && !field.getModifiers().contains(Modifier.FINAL)
+                && isAccessible(field.asType());
+    }
+
+    /** @return name of the actor collection matching the field type; null if the field stores a single actor. */
+    private String getActorCollection(final VariableElement field) {
+        final TypeMirror fieldType = types.erasure(field.asType());
+        for (final String collection : ACTOR_COLLECTIONS) {
+            if (collection.equals(fieldType.toString())) {
+                return collection;
+            }
+        }
+        return null;
+    }
+
+    private boolean canInjectActors(final VariableElement field) {
+        if (!isAssignable(field)) {
+            return false;
+        }
+        final TypeMirror fieldType = types.erasure(field.asType());
+        for (final String collection : ACTOR_COLLECTIONS) {
+            final TypeElement collectionType = getTypeElement(collection);
+            if (collectionType != null && types.isSubtype(fieldType, types.erasure(collectionType.asType()))) {
+                // Only fields of the exact collection types are assigned directly. (Parser does not create instances
+                // of collections' subclasses.)
+                return collection.equals(fieldType.toString());
+            }
+        }
+        final TypeElement actorType = getTypeElement(ACTOR);
+        return actorType != null && isCastable(actorType.asType(), fieldType);
+    }
+
+    private void writeActorsInjection(final VariableElement field, final String[] actorIds) {
+        final String constant = "ACTOR_IDS_" + constantsAmount++;
+        if (constants.length() == 0) {
+            constants.append('\n');
+        }
+        constants.append("    private static final java.lang.String[] ").append(constant).append(" = { ");
+        for (int index = 0; index < actorIds.length; index++) {
+            if (index > 0) {
+                constants.append(", ");
+            }
+            constants.append(quote(actorIds[index]));
+        }
+        constants.append(" };\n");
+
+        final String collection = getActorCollection(field);
+        builder.append(INDENT).append(getOwner(field, "view")).append('.').append(field.getSimpleName())
+                .append(" = ");
+        appendCast(getActorsType(collection), field);
+        if (ARRAY.equals(collection)) {
+            builder.append("context.getArrayOfActors(").append(constant).append(");\n");
+        } else if (OBJECT_SET.equals(collection)) {
+            builder.append("context.getSetOfActors(").append(constant).append(");\n");
+        } else if (OBJECT_MAP.equals(collection)) {
+            builder.append("context.getMapOfActors(").append(constant).append(");\n");
+        } else {
+            builder.append("context.getActor(").append(constant).append(", view, ")
+                    .append(quote(field.getSimpleName().toString())).append(");\n");
+        }
+    }
+
+    /** @param collection name of the actor collection class or null.
+     * @return type of the value returned by the binding context: collection of actors or a single actor. */
+    private TypeMirror getActorsType(final String collection) {
+        final TypeMirror actorType = getType(ACTOR);
+        if (collection == null) {
+            return actorType;
+        } else if (OBJECT_MAP.equals(collection)) {
+            return types.getDeclaredType(getTypeElement(collection), getType(String.class.getName()), actorType);
+        }
+        return types.getDeclaredType(getTypeElement(collection), actorType);
+    }
+
+    private TypeElement getTypeElement(final String className) {
+        return processingEnvironment.getElementUtils().getTypeElement(className);
+    }
+
+    private TypeMirror getType(final String className) {
+        return getTypeElement(className).asType();
+    }
+
+    /** Appends a cast to the field type unless the value can be assigned without it. Generic fields are cast to their
+     * erased type, as the values are not convertible to other parameterizations; the resulting unchecked assignment
+     * is suppressed by the generated class annotation.
+     *
+     * @param valueType type of the assigned value.
+     * @param field will store the value. */
+    private void appendCast(final TypeMirror valueType, final VariableElement field) {
+        if (!types.isAssignable(valueType, field.asType())) {
+            builder.append('(').append(types.erasure(field.asType())).append(") ");
+        }
+    }
+
+    /** @return true if a value of the first type can be cast to the second type without compilation errors. */
+    private boolean isCastable(final TypeMirror type, final TypeMirror targetType) {
+        if (type.getKind() != TypeKind.DECLARED || targetType.getKind() != TypeKind.DECLARED) {
+            return false;
+        } else if (types.isSubtype(type, targetType) || types.isSubtype(targetType, type)) {
+            return true;
+        }
+        // Unrelated types: casting is allowed between interfaces and non-final classes.
+        final Element element = types.asElement(type);
+        final Element targetElement = types.asElement(targetType);
+        return element.getKind() == ElementKind.INTERFACE && !targetElement.getModifiers().contains(Modifier.FINAL)
+                || targetElement.getKind() == ElementKind.INTERFACE
+                        && !element.getModifiers().contains(Modifier.FINAL);
+    }
+
+    /** @return type of the injected value: class passed to the annotation or field type. */
+    private TypeMirror getInjectedType(final VariableElement field, final AnnotationMirror injectionData) {
+        final Object value = getAnnotationValue(injectionData, "value");
+        if (value instanceof TypeMirror && ((TypeMirror) value).getKind() != TypeKind.VOID) {
+            return types.erasure((TypeMirror) value);
+        }
+        return types.erasure(field.asType());
+    }
+
+    private boolean canInject(final VariableElement field, final AnnotationMirror injectionData) {
+        if (!isAssignable(field)) {
+            return false;
+        }
+        final TypeMirror fieldType = types.erasure(field.asType());
+        final TypeMirror injectedType = getInjectedType(field, injectionData);
+        if (LML_PARSER.equals(injectedType.toString())) {
+            return isCastable(injectedType, fieldType);
+        } else if (injectedType.getKind() != TypeKind.DECLARED || !isAccessible(injectedType)
+                || !types.isAssignable(injectedType, fieldType)) {
+            return false;
+        }
+        // Injected type has to be instantiated with a public no-arg constructor:
+        final TypeElement injectedClass = (TypeElement) ((DeclaredType) injectedType).asElement();
+        if (injectedClass.getKind() != ElementKind.CLASS || injectedClass.getModifiers().contains(Modifier.ABSTRACT)
+                || injectedClass.getNestingKind() == NestingKind.MEMBER
+                        && !injectedClass.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        for (final ExecutableElement constructor : ElementFilter.constructorsIn(injectedClass.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)
+                    && constructor.getThrownTypes().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeInjection(final VariableElement field, final AnnotationMirror injectionData) {
+        final String fieldReference = getOwner(field, "view") + "." + field.getSimpleName();
+        final TypeMirror injectedType = getInjectedType(field, injectionData);
+        if (LML_PARSER.equals(injectedType.toString())) {
+            builder.append(INDENT).append(fieldReference).append(" = ");
+            appendCast(injectedType, field);
+            builder.append("context.getParser();\n");
+            return;
+        }
+        if (Boolean.TRUE.equals(getAnnotationValue(injectionData, "newInstance"))) {
+            builder.append(INDENT).append(fieldReference).append(" = new ").append(injectedType).append("();\n");
+        } else {
+            builder.append(INDENT).append("if (").append(fieldReference).append(" == null) {\n");
+            builder.append(INDENT).append("    ").append(fieldReference).append(" = new ").append(injectedType)
+                    .append("();\n");
+            builder.append(INDENT).append("}\n");
+        }
+        builder.append(INDENT).append("context.bind(").append(fieldReference).append(");\n");
+    }
+
+    private void error(final String message, final Element element) {
+        valid = false;
+        processingEnvironment.getMessager().printMessage(Kind.ERROR, message, element);
+    }
+}
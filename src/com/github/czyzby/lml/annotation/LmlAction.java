@@ -7,8 +7,9 @@ import java.lang.annotation.Target;
 
 /** Allows to select an {@link com.github.czyzby.lml.parser.action.ActionContainer}'s action with a custom ID
  * instead of its method or field name. This allows containers to be refactored without breaking the templates. Also,
- * this has another significant advantage: action containers are scanned and processed upon registration and its
- * annotated methods and fields will be mapped immediately, making action look-up very cheap. Other, unannotated methods
+ * this has another significant advantage: action containers are scanned and processed once per class and its
+ * annotated methods and fields are mapped by their IDs, making action look-up very cheap. (Containers with an
+ * {@link com.github.czyzby.lml.parser.action.ActionDispatcher} generated by gdx-lml-processor are not scanned at all.) Other, unannotated methods
  * will have to be found by reflection look-up based on parameter superclass tree, which might be much slower and
  * error-prone. Annotate methods and fields expected to be used in LML templates, unless you're prototyping, not going
  * to refactor or obfuscate your code, or simply want to write less boilerplate code by reducing the amount of
@@ -0,0 +1,38 @@
+package com.github.czyzby.lml.parser;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+
+/** Handle of a view created over multiple frames. Returned by
+ * {@link LmlParser#createViewIncrementally(Object, com.badlogic.gdx.files.FileHandle, long)}. Call {@link #update()}
+ * once per frame (on the rendering thread) until it returns true: each call processes template nodes until its time
+ * budget is spent. The view is filled and its {@link com.github.czyzby.lml.annotation.LmlAfter}-annotated methods are
+ * invoked only after the last node is processed.
+ *
+ * <p>
+ * Note that a single root-level node is never split between frames: large macros (like loops) are always processed
+ * in one update. Parser can be used to parse other templates between the updates.
+ *
+ * @author MJ
+ *
+ * @param <View> class of the created view. */
+public interface IncrementalViewCreation<View> {
+    /** Processes template nodes until the time budget is spent. At least one node is processed per call.
+     *
+     * @return true if the view is finished.
+     * @throws IllegalStateException if a previous update failed due to a parsing exception. */
+    boolean update();
+
+    /** @return true if all template nodes were processed and the view was filled. */
+    boolean isFinished();
+
+    /** @return percent of processed template nodes, in [0, 1] range. */
+    float getProgress();
+
+    /** @return view that is being created. Its fields annotated with {@link com.github.czyzby.lml.annotation.LmlActor}
+     *         are filled only after the creation is finished. */
+    View getView();
+
+    /** @return root actors parsed so far. Complete after the creation is finished. */
+    Array<Actor> getActors();
+}
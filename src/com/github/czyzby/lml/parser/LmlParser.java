@@ -1,11 +1,19 @@
 package com.github.czyzby.lml.parser;
 
+import java.io.Reader;
+
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
 import com.github.czyzby.lml.parser.action.ActorConsumer;
+import com.github.czyzby.lml.parser.template.LmlTemplate;
+import com.github.czyzby.lml.parser.template.LmlTemplateCache;
+import com.github.czyzby.lml.parser.template.LmlTemplateCompiler;
+import com.github.czyzby.lml.parser.template.LmlTemplatePlan;
 
 /** Common interface for all LML parsers. Provides methods allowing to configure template parsing. Note that
  * implementations are consider NOT thread-safe and templates should be either handled by multiple parsers or one by
@@ -49,6 +57,21 @@ public interface LmlParser {
      *            clean and need a way to quickly comment-out huge portions of templates, set this value to true. */
     void setNestedComments(boolean nestedComments);
 
+    /** @param listener will be notified about parsing events, along with their timings. Null to remove the current
+     *            listener. */
+    void setListener(LmlParserListener listener);
+
+    /** @return listener notified about parsing events. Null if not set. Used by tags and attributes to report
+     *         processing times. */
+    LmlParserListener getListener();
+
+    /** @return name of the currently parsed template. Null if no template is being parsed. */
+    String getCurrentTemplateName();
+
+    /** @return approximate line of the currently parsed element in its original template, starting with 1. 0 if no
+     *         template is being parsed. */
+    int getCurrentLine();
+
     /** @param lmlTemplate will be parsed.
      * @return parsed root actors, in the order that they appear in the template. */
     Array<Actor> parseTemplate(String lmlTemplate);
@@ -57,6 +80,19 @@ public interface LmlParser {
      * @return parsed root actors, in the order that they appear in the template. */
     Array<Actor> parseTemplate(FileHandle lmlTemplateFile);
 
+    /** @param lmlTemplateReader will be read in chunks as the template is parsed, without loading the whole template
+     *            into memory. Closed once the template is fully read.
+     * @param templateName name of the template, used for debugging purposes.
+     * @return parsed root actors, in the order that they appear in the template. */
+    Array<Actor> parseTemplate(Reader lmlTemplateReader, String templateName);
+
+    /** @param lmlTemplate will be parsed. Its characters are read directly, without converting it to a string or
+     *            compiling it - this allows to parse custom sequences, like memory-mapped files, without copying their
+     *            whole content to the heap.
+     * @param templateName name of the template, used for debugging purposes.
+     * @return parsed root actors, in the order that they appear in the template. */
+    Array<Actor> parseTemplate(CharSequence lmlTemplate, String templateName);
+
     /** @param stage will have the parsed actors appended.
      * @param lmlTemplate will be parsed. Actors parsed from the template will be added directly into the stage. */
     void fillStage(Stage stage, String lmlTemplate);
@@ -98,6 +134,132 @@ public interface LmlParser {
      * @param <View> class of the view to be initiated. */
     <View> View createView(Class<View> viewClass, FileHandle lmlTemplateFile);
 
+    /** Parses a part of the view's template that was not parsed along with the rest of the view, like the content of a
+     * lazy macro. For the duration of parsing, the view is registered as an action container and actor consumer (if it
+     * implements {@link LmlView} and these interfaces), so the template can reference the view's actions. Unlike
+     * {@link #createView(Object, String)}, this method does not fill the view's fields, invoke its annotated methods
+     * or modify its stage.
+     *
+     * @param view was (or is being) created by this parser. If null, the template is parsed as a regular template.
+     * @param lmlTemplate will be parsed.
+     * @return parsed root actors, in the order that they appear in the template.
+     * @param <View> class of the view.
+     * @see #getCurrentView() */
+    <View> Array<Actor> parseViewTemplate(View view, String lmlTemplate);
+
+    /** @return view that is currently created, reloaded or parsed by this parser or null if a regular template is
+     *         being parsed. If multiple views are created at once (for example, incrementally), the most recently
+     *         started one is returned. */
+    Object getCurrentView();
+
+    /** @param lmlTemplate will be compiled. Current syntax and comments settings are used.
+     * @return immutable, compiled form of the template that can be instantiated multiple times without re-reading its
+     *         text. Does not depend on LML data: arguments are resolved each time the template is instantiated.
+     * @see #instantiate(LmlTemplate) */
+    LmlTemplate compile(String lmlTemplate);
+
+    /** @param lmlTemplate will be compiled. Current syntax and comments settings are used.
+     * @param templateName name of the template, used for debugging purposes.
+     * @return immutable, compiled form of the template that can be instantiated multiple times without re-reading its
+     *         text. Does not depend on LML data: arguments are resolved each time the template is instantiated.
+     * @see #instantiate(LmlTemplate) */
+    LmlTemplate compile(String lmlTemplate, String templateName);
+
+    /** @param lmlTemplateFile will be read and compiled. Current syntax and comments settings are used.
+     * @return immutable, compiled form of the template that can be instantiated multiple times without re-reading its
+     *         text. Does not depend on LML data: arguments are resolved each time the template is instantiated.
+     * @see #instantiate(LmlTemplate) */
+    LmlTemplate compile(FileHandle lmlTemplateFile);
+
+    /** @return a template compiler using current syntax and parser settings. Templates compiled by it can be
+     *         instantiated by this parser. */
+    LmlTemplateCompiler getTemplateCompiler();
+
+    /** @return cache of template files and compiled templates used by the parser. Might be null if caching is turned
+     *         off. */
+    LmlTemplateCache getTemplateCache();
+
+    /** @param template compiled template. Should be compiled with the same syntax as the one used by this parser.
+     * @return parsed root actors, in the order that they appear in the template. */
+    Array<Actor> instantiate(LmlTemplate template);
+
+    /** @param template compiled template. Should be compiled with the same syntax as the one used by this parser.
+     * @param view an instance of view object, containing annotated fields and methods that need to be filled and
+     *            invoked. See LML annotations for more data.
+     * @return array of actors parsed from the template.
+     * @see LmlView
+     * @param <View> class of the view to be initiated. */
+    <View> Array<Actor> instantiate(LmlTemplate template, View view);
+
+    /** Reloads a view created by this parser, replacing its template with a new version. Parts of the template that
+     * were not modified are not parsed again: their actors are reused, keeping their state (like listeners, scroll
+     * positions or text field contents), and attached to the new parents. Other actors are created from scratch.
+     * Requires the view to be previously created by this parser with reloading turned on (see
+     * {@link com.github.czyzby.lml.parser.impl.AbstractLmlParser#setReloadable(boolean)}); otherwise the view is
+     * created from scratch.
+     *
+     * @param view an instance of view object, containing annotated fields and methods that need to be filled and
+     *            invoked. See LML annotations for more data.
+     * @param lmlTemplate new version of the template. Will be compiled.
+     * @return root actors parsed from the template. Some of them might be reused: reused root actors stay attached
+     *         to their current parents (like stages). Previous root actors that were not reused are removed from their
+     *         parents.
+     * @param <View> class of the view. */
+    <View> Array<Actor> reload(View view, String lmlTemplate);
+
+    /** @param view an instance of view object, previously created by this parser.
+     * @param lmlTemplateFile will be read and compiled.
+     * @return root actors parsed from the template. Some of them might be reused.
+     * @see #reload(Object, String)
+     * @param <View> class of the view. */
+    <View> Array<Actor> reload(View view, FileHandle lmlTemplateFile);
+
+    /** @param view an instance of view object, previously created by this parser.
+     * @param template compiled new version of the view's template.
+     * @return root actors parsed from the template. Some of them might be reused.
+     * @see #reload(Object, String)
+     * @param <View> class of the view. */
+    <View> Array<Actor> reload(View view, LmlTemplate template);
+
+    /** Performs the first phase of view creation: reads and compiles the template. This method does not create any
+     * actors and does not access LML data, so it can be safely invoked on a thread other than the rendering one -
+     * unless the syntax is modified at the same time.
+     *
+     * @param lmlTemplateFile will be read and compiled.
+     * @return a plan which should be materialized on the rendering thread to create the actors.
+     * @see #prepareAsync(FileHandle, AsyncExecutor) */
+    LmlTemplatePlan prepare(FileHandle lmlTemplateFile);
+
+    /** @param lmlTemplateFile will be read and compiled by the executor, as in {@link #prepare(FileHandle)}. Syntax and
+     *            settings of the parser are captured when this method is invoked, so they can be modified while the
+     *            template is compiled.
+     * @param executor will prepare the template. Note that on GWT tasks are executed immediately, on the current
+     *            thread.
+     * @return result that will contain the plan once the template is prepared. Call
+     *         {@link LmlTemplatePlan#materialize(Object)} on the rendering thread to create the actors. */
+    AsyncResult<LmlTemplatePlan> prepareAsync(FileHandle lmlTemplateFile, AsyncExecutor executor);
+
+    /** @param view an instance of view object, containing annotated fields and methods that need to be filled and
+     *            invoked. See LML annotations for more data.
+     * @param lmlTemplateFile will be read and compiled immediately. Actors will be created incrementally.
+     * @param budgetMillis approximate time in milliseconds that each {@link IncrementalViewCreation#update()} call can
+     *            spend on creating actors.
+     * @return handle that should be updated each frame until the view is finished.
+     * @param <View> class of the view to be initiated. */
+    <View> IncrementalViewCreation<View> createViewIncrementally(View view, FileHandle lmlTemplateFile,
+            long budgetMillis);
+
+    /** @param view an instance of view object, containing annotated fields and methods that need to be filled and
+     *            invoked. See LML annotations for more data. {@link com.github.czyzby.lml.annotation.LmlBefore}
+     *            methods are invoked immediately, {@link com.github.czyzby.lml.annotation.LmlAfter} methods - after the
+     *            last update.
+     * @param template compiled template. Should be compiled with the same syntax as the one used by this parser.
+     * @param budgetMillis approximate time in milliseconds that each {@link IncrementalViewCreation#update()} call can
+     *            spend on creating actors.
+     * @return handle that should be updated each frame until the view is finished.
+     * @param <View> class of the view to be initiated. */
+    <View> IncrementalViewCreation<View> createViewIncrementally(View view, LmlTemplate template, long budgetMillis);
+
     /** @param rawLmlData unparsed part of LML template that should be parsed to actual string value. Mostly for
      *            internal use, although can be very useful for checking how each text part is parsed in your current
      *            parser setup.
@@ -229,9 +391,28 @@ public interface LmlParser {
      * @param optionalCause original cause of the message. */
     void throwErrorIfStrict(String message, Throwable optionalCause);
 
+    /** Utility internal method. Splits raw tag data into tag name and its unparsed attributes.
+     *
+     * @param rawTagData unparsed LML tag data, without tag opening and closing markers.
+     * @return tag entities: tag name (with optional macro marker) followed by unparsed attributes. If the tag comes
+     *         from a compiled template, pre-split entities might be returned. Should not be modified. */
+    String[] extractTagEntities(String rawTagData);
+
     /** Utility internal method. If parsing is currently in progress, this method allows to append the actor to the
      * result collection that will be eventually returned (or used to fill stage/view).
      *
      * @param actor will be added to the result collection and optionally mapped by its ID, if it has one. */
     void addActor(Actor actor);
+
+    /** Utility internal method. If parsing is currently in progress, this method processes nodes of the compiled
+     * template part as if they were placed in the parsed template at the current position. Allows macros to instantiate
+     * their content multiple times without appending its text to the template reader and parsing it again.
+     *
+     * @param templatePart compiled part of a template, usually a macro content.
+     * @param macroArguments will be replaced in dynamic nodes and macro contents of the template part before they are
+     *            processed. Can be null.
+     * @return true if the part was processed. False if the template reader contains data that has to be parsed before
+     *         the part; in this case, the part should be appended to the template reader as text.
+     * @throws IllegalStateException if no template is currently parsed. */
+    boolean processTemplatePart(LmlTemplate templatePart, ObjectMap<String, String> macroArguments);
 }
@@ -0,0 +1,61 @@
+package com.github.czyzby.lml.parser;
+
+import com.github.czyzby.lml.parser.tag.LmlTag;
+
+/** Instrumentation interface of {@link LmlParser}: notified about parsing events, along with the time that it took to
+ * process them. Can be used to find expensive templates, tags, attributes and macros without attaching a profiler.
+ * Timings are measured with {@link com.badlogic.gdx.utils.TimeUtils#nanoTime()} and include all nested events - for
+ * example, tag creation time includes processing of its attributes. Parsers do not measure anything if no listener is
+ * registered.
+ *
+ * <p>
+ * Parsing location (template name and line) of the currently processed element can be obtained with
+ * {@link LmlParser#getCurrentTemplateName()} and {@link LmlParser#getCurrentLine()}. Listener methods are invoked on
+ * the thread that parses the template; if a listener is shared by multiple parsers, it has to be thread-safe.
+ *
+ * @author MJ
+ * @see LmlParser#setListener(LmlParserListener)
+ * @see com.github.czyzby.lml.util.LmlParserBuilder#listener(LmlParserListener) */
+public interface LmlParserListener {
+    /** @param parser is about to parse or instantiate a template.
+     * @param templateName name of the template. */
+    void onTemplateStart(LmlParser parser, String templateName);
+
+    /** @param parser successfully parsed or instantiated a template.
+     * @param templateName name of the template.
+     * @param nanos total time of parsing, including nested templates parsed by macros. For views created over
+     *            multiple frames, this is the sum of all updates. */
+    void onTemplateEnd(LmlParser parser, String templateName, long nanos);
+
+    /** @param parser created the tag.
+     * @param tag regular tag. If it spawns an actor, the actor is already created and its attributes are processed.
+     * @param nanos time of tag creation, including attributes processing. */
+    void onTagCreated(LmlParser parser, LmlTag tag, long nanos);
+
+    /** @param parser closed the tag. Not invoked for macros.
+     * @param tag regular tag that was just closed. It might not be attached to its parent yet.
+     * @param nanos time of tag closing. */
+    void onTagClosed(LmlParser parser, LmlTag tag, long nanos);
+
+    /** @param parser processed the attribute.
+     * @param tag contains the attribute.
+     * @param attributeName name of the processed attribute.
+     * @param nanos time of attribute processing. */
+    void onAttributeProcessed(LmlParser parser, LmlTag tag, String attributeName, long nanos);
+
+    /** @param parser evaluated the macro.
+     * @param macroTag was just closed.
+     * @param expandedLength amount of characters that the macro appended to the template or processed in place. Note
+     *            that appended characters are parsed after the macro is closed, so their parsing time is not included.
+     *            Content processed in place - like the compiled content of loop macros - is included.
+     * @param nanos time of macro creation and closing, including reading of its content. */
+    void onMacroExpanded(LmlParser parser, LmlTag macroTag, int expandedLength, long nanos);
+
+    /** @param parser parsed the action. Note that most actions are invoked after parsing (for example, by listeners),
+     *            so the parser might no longer process the template that referenced the action.
+     * @param actionId raw action ID, as it appears in the template.
+     * @param templateName name of the template that referenced the action. Might be null.
+     * @param actor action argument. Might be null.
+     * @param nanos time of action invocation. */
+    void onActionInvoked(LmlParser parser, String actionId, String templateName, Object actor, long nanos);
+}
@@ -1,5 +1,7 @@
 package com.github.czyzby.lml.parser;
 
+import java.io.Reader;
+
 import com.badlogic.gdx.files.FileHandle;
 
 /** Common interface for readers that queue and parse LML templates. Allows to read template files character by
@@ -32,6 +34,16 @@ public interface LmlTemplateReader {
      * @param template will become currently parsed part of the template. */
     void append(String template);
 
+    /** Registers template (or a part of it) to the reader. TemplateReader should work as a FIFO queue - if another
+     * template is being currently parsed and one of append() methods is used, the previous template will be queued and
+     * parsed AFTER the newer text. This allows, for example, to include separate files from within the templates by
+     * using macros.
+     *
+     * @param template will become currently parsed part of the template. Its characters are accessed directly, so it
+     *            does not have to be converted to a string.
+     * @param templateName can be used to identify the template. */
+    void append(CharSequence template, String templateName);
+
     /** Registers template (or a part of it) to the reader. TemplateReader should work as a FIFO queue - if another
      * template is being currently parsed and one of append() methods is used, the previous template will be queued and
      * parsed AFTER the newer text. This allows, for example, to include separate files from within the templates by
@@ -49,6 +61,16 @@ public interface LmlTemplateReader {
      * @param templateFile will be read and become currently parsed part of the template. */
     void append(FileHandle templateFile);
 
+    /** Registers template (or a part of it) to the reader. TemplateReader should work as a FIFO queue - if another
+     * template is being currently parsed and one of append() methods is used, the previous template will be queued and
+     * parsed AFTER the newer text. Contrary to other append() methods, the template does not have to be fully read
+     * before parsing: its content is consumed in chunks as the parsing progresses, which limits memory usage in case
+     * of huge templates. The reader will be closed once it is fully read or the template reader is cleared.
+     *
+     * @param reader will be read and become currently parsed part of the template.
+     * @param templateName can be used to identify the template. */
+    void append(Reader reader, String templateName);
+
     /** @return true if currently parsed template has more characters. */
     boolean hasNextCharacter();
 
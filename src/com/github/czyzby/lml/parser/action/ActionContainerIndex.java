@@ -0,0 +1,172 @@
+package com.github.czyzby.lml.parser.action;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.Method;
+import com.github.czyzby.kiwi.util.gdx.reflection.Reflection;
+import com.github.czyzby.lml.annotation.LmlAction;
+import com.github.czyzby.lml.util.collection.CaseInsensitiveStringMap;
+
+/** Contains methods and fields of an {@link ActionContainer} class, mapped by their names and {@link LmlAction}
+ * annotations. Built once per container class and shared by all {@link ActionContainerWrapper} instances wrapping
+ * containers of the same class, so the class hierarchy is scanned only once. Lookups do not use reflection and never
+ * throw exceptions. Fields are indexed on first field lookup, since fields extraction might cause problems on GWT -
+ * see {@link com.github.czyzby.lml.util.Lml#EXTRACT_FIELDS_AS_METHODS}. Members of {@link Object} (like wait or
+ * notify) are not indexed, so they cannot be referenced as actions.
+ *
+ * <p>
+ * Indexes can be safely used by multiple threads.
+ *
+ * @author MJ */
+public class ActionContainerIndex {
+    private static final ObjectMap<Class<?>, ActionContainerIndex> INDEXES = new ObjectMap<Class<?>, ActionContainerIndex>();
+
+    private final Class<?> containerClass;
+    private final ObjectMap<String, Method> annotatedMethods = new CaseInsensitiveStringMap<Method>();
+    /** Methods with one or zero parameters, in the order of class hierarchy: starting with the container class. */
+    private final ObjectMap<String, Array<IndexedMethod>> methods = new ObjectMap<String, Array<IndexedMethod>>();
+    private ObjectMap<String, Field> annotatedFields;
+    /** Fields mapped by their names. If the name is used by multiple classes, the field of the most specific class is
+     * used. */
+    private ObjectMap<String, Field> fields;
+
+    /** @param containerClass its methods and fields will be indexed, along with methods and fields of its
+     *            superclasses. */
+    public ActionContainerIndex(final Class<?> containerClass) {
+        this.containerClass = containerClass;
+        try {
+            Class<?> currentClass = containerClass;
+            while (currentClass != null && currentClass != Object.class) {
+                mapClassMethods(currentClass);
+                currentClass = currentClass.getSuperclass();
+            }
+        } catch (final Exception exception) {
+            throw new GdxRuntimeException("Unable to map ActionContainer methods.", exception);
+        }
+    }
+
+    /** @param containerClass class of an action container.
+     * @return index of the container class. Created and cached if not present yet. */
+    public static ActionContainerIndex getIndex(final Class<?> containerClass) {
+        synchronized (INDEXES) {
+            ActionContainerIndex index = INDEXES.get(containerClass);
+            if (index == null) {
+                index = new ActionContainerIndex(containerClass);
+                INDEXES.put(containerClass, index);
+            }
+            return index;
+        }
+    }
+
+    /** Clears cached indexes of all container classes. Indexes are rebuilt on demand. */
+    public static void clearIndexes() {
+        synchronized (INDEXES) {
+            INDEXES.clear();
+        }
+    }
+
+    private void mapClassMethods(final Class<?> containerClass) {
+        for (final Method method : ClassReflection.getDeclaredMethods(containerClass)) {
+            final LmlAction actionData = Reflection.getAnnotation(method, LmlAction.class);
+            if (actionData != null) {
+                for (final String actionId : actionData.value()) {
+                    annotatedMethods.put(actionId, method);
+                }
+            }
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            if (parameterTypes.length <= 1) {
+                Array<IndexedMethod> namedMethods = methods.get(method.getName());
+                if (namedMethods == null) {
+                    namedMethods = new Array<IndexedMethod>(2);
+                    methods.put(method.getName(), namedMethods);
+                }
+                namedMethods.add(new IndexedMethod(method, parameterTypes.length == 0 ? null : parameterTypes[0]));
+            }
+        }
+    }
+
+    /** Indexes fields of the container class and its superclasses, unless they are already indexed. */
+    private synchronized void mapFields() {
+        if (fields != null) {
+            return;
+        }
+        annotatedFields = new CaseInsensitiveStringMap<Field>();
+        fields = new ObjectMap<String, Field>();
+        try {
+            Class<?> currentClass = containerClass;
+            while (currentClass != null && currentClass != Object.class) {
+                mapClassFields(currentClass);
+                currentClass = currentClass.getSuperclass();
+            }
+        } catch (final Exception exception) {
+            throw new GdxRuntimeException("Unable to map ActionContainer fields.", exception);
+        }
+    }
+
+    private void mapClassFields(final Class<?> containerClass) {
+        for (final Field field : ClassReflection.getDeclaredFields(containerClass)) {
+            final LmlAction actionData = Reflection.getAnnotation(field, LmlAction.class);
+            if (actionData != null) {
+                for (final String actionId : actionData.value()) {
+                    annotatedFields.put(actionId, field);
+                }
+            }
+            if (!fields.containsKey(field.getName())) {
+                fields.put(field.getName(), field);
+            }
+        }
+    }
+
+    /** @param methodId ID of the referenced method.
+     * @return method annotated with {@link LmlAction} using the selected ID or null if none. */
+    public Method getNamedMethod(final String methodId) {
+        return annotatedMethods.get(methodId);
+    }
+
+    /** @param fieldId ID of the referenced field.
+     * @return field annotated with {@link LmlAction} using the selected ID or null if none. */
+    public synchronized Field getNamedField(final String fieldId) {
+        mapFields();
+        return annotatedFields.get(fieldId);
+    }
+
+    /** @param methodName name of the possibly contained method.
+     * @param parameterClass exact class of the expected parameter. If null, method with no parameters is returned.
+     * @return method with passed name, declared by the most specific class. Might be null. */
+    public Method getMethod(final String methodName, final Class<?> parameterClass) {
+        final Array<IndexedMethod> namedMethods = methods.get(methodName);
+        if (namedMethods != null) {
+            for (int index = 0, size = namedMethods.size; index < size; index++) {
+                final IndexedMethod method = namedMethods.get(index);
+                if (method.parameterClass == parameterClass) {
+                    return method.method;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** @param fieldName name of the field.
+     * @return field with the selected name, declared by the most specific class. Might be null. */
+    public synchronized Field getField(final String fieldName) {
+        mapFields();
+        return fields.get(fieldName);
+    }
+
+    /** Stores a method along with its parameter type, since extracting parameter types might require copying an
+     * array.
+     *
+     * @author MJ */
+    private static class IndexedMethod {
+        private final Method method;
+        private final Class<?> parameterClass;
+
+        public IndexedMethod(final Method method, final Class<?> parameterClass) {
+            this.method = method;
+            this.parameterClass = parameterClass;
+        }
+    }
+}
@@ -1,124 +1,105 @@
 package com.github.czyzby.lml.parser.action;
 
-import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.ObjectMap;
-import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.badlogic.gdx.utils.reflect.Field;
 import com.badlogic.gdx.utils.reflect.Method;
-import com.badlogic.gdx.utils.reflect.ReflectionException;
-import com.github.czyzby.kiwi.util.common.Exceptions;
-import com.github.czyzby.kiwi.util.gdx.reflection.Reflection;
-import com.github.czyzby.lml.annotation.LmlAction;
-import com.github.czyzby.lml.util.Lml;
-import com.github.czyzby.lml.util.collection.IgnoreCaseStringMap;
 
 /** Wraps around an {@link ActionContainer}, providing access to its methods and fields. Mostly for internal parsing
- * use.
+ * use. Methods and fields are looked up in {@link ActionContainerIndex} of the container class, which is created on
+ * first lookup - containers with a generated {@link ActionDispatcher} might never need it. Actions resolved by the
+ * parser can be cached in the wrapper.
  *
  * @author MJ */
 public class ActionContainerWrapper {
+    /** Cached in place of actions that were not found in the container. */
+    public static final ActorConsumer<?, ?> MISSING_ACTION = new ActorConsumer<Object, Object>() {
+        @Override
+        public Object consume(final Object actor) {
+            throw new IllegalStateException("Missing action marker cannot be invoked.");
+        }
+    };
+    /** Used as the class of null actors in the actions cache. */
+    private static final Class<?> NO_ACTOR = Void.class;
+
     private final ActionContainer actionContainer;
-    private final ObjectMap<String, Method> annotatedMethods = new IgnoreCaseStringMap<Method>();
-    private final ObjectMap<String, Field> annotatedFields = new IgnoreCaseStringMap<Field>();
+    private final ActionDispatcher dispatcher;
+    private ActionContainerIndex index;
+    /** Resolved actions mapped by action IDs and classes of the actors that they were resolved for. */
+    private final ObjectMap<String, ObjectMap<Class<?>, ActorConsumer<?, ?>>> actions = new ObjectMap<String, ObjectMap<Class<?>, ActorConsumer<?, ?>>>();
 
     public ActionContainerWrapper(final ActionContainer actionContainer) {
         this.actionContainer = actionContainer;
-        mapAnnotatedMethods();
+        dispatcher = ActionDispatchers.getDispatcher(actionContainer.getClass());
     }
 
-    private void mapAnnotatedMethods() {
-        try {
-            Class<?> containerClass = actionContainer.getClass();
-            while (containerClass != null) {
-                mapClassMethods(containerClass);
-                mapClassFields(containerClass);
-                containerClass = containerClass.getSuperclass();
-            }
-        } catch (final Exception exception) {
-            throw new GdxRuntimeException("Unable to map ActionContainer methods.", exception);
-        }
+    /** @return wrapped action container. */
+    public ActionContainer getActionContainer() {
+        return actionContainer;
     }
 
-    private void mapClassMethods(final Class<?> containerClass) {
-        for (final Method method : ClassReflection.getDeclaredMethods(containerClass)) {
-            final LmlAction actionData = Reflection.getAnnotation(method, LmlAction.class);
-            if (actionData != null) {
-                for (final String actionId : actionData.value()) {
-                    annotatedMethods.put(actionId, method);
-                }
-            }
-        }
+    /** @return dispatcher of the container class or null if the class does not have one.
+     * @see ActionDispatchers */
+    public ActionDispatcher getDispatcher() {
+        return dispatcher;
     }
 
-    private void mapClassFields(final Class<?> containerClass) {
-        if (!Lml.EXTRACT_FIELDS_AS_METHODS) {
-            return;
-        }
-        for (final Field field : ClassReflection.getDeclaredFields(containerClass)) {
-            final LmlAction actionData = Reflection.getAnnotation(field, LmlAction.class);
-            if (actionData != null) {
-                for (final String actionId : actionData.value()) {
-                    annotatedFields.put(actionId, field);
-                }
-            }
+    /** @return index of the container class. Obtained on the first invocation. */
+    public synchronized ActionContainerIndex getIndex() {
+        if (index == null) {
+            index = ActionContainerIndex.getIndex(actionContainer.getClass());
         }
-    }
-
-    /** @return wrapped action container. */
-    public ActionContainer getActionContainer() {
-        return actionContainer;
+        return index;
     }
 
     /** @param methodId ID of the referenced method.
      * @return method referenced directly with the selected ID or null if none. */
     public Method getNamedMethod(final String methodId) {
-        return annotatedMethods.get(methodId);
+        return getIndex().getNamedMethod(methodId);
     }
 
     /** @param fieldId ID of the referenced field.
      * @return field referenced directly with the selected ID or null if none. */
     public Field getNamedField(final String fieldId) {
-        return annotatedFields.get(fieldId);
+        return getIndex().getNamedField(fieldId);
     }
 
     /** @param methodName name of the possibly contained method.
      * @param parameterClass class of the expected parameter. Optional.
      * @return method with passed name and one or zero parameters. Might be null. */
     public Method getMethod(final String methodName, final Class<?> parameterClass) {
-        Class<?> containerClass = actionContainer.getClass();
-        while (containerClass != null) {
-            try {
-                // If this does not throw an exception, the method is found. Null check is not needed.
-                return getDeclaredMethod(containerClass, methodName, parameterClass);
-            } catch (final Exception exception) {
-                Exceptions.ignore(exception); // Expected. Method unavailable.
-            }
-            containerClass = containerClass.getSuperclass();
-        }
-        return null;
-    }
-
-    private static Method getDeclaredMethod(final Class<?> containerClass, final String methodName,
-            final Class<?> parameterClass) throws ReflectionException {
-        if (parameterClass == null) {
-            return ClassReflection.getDeclaredMethod(containerClass, methodName);
-        }
-        return ClassReflection.getDeclaredMethod(containerClass, methodName, parameterClass);
+        return getIndex().getMethod(methodName, parameterClass);
     }
 
     /** @param fieldName name of the field.
      * @return field with the selected name or null. */
     public Field getField(final String fieldName) {
-        Class<?> containerClass = actionContainer.getClass();
-        while (containerClass != null) {
-            try {
-                // If this does not throw an exception, the field is found. Null check is not needed.
-                return ClassReflection.getDeclaredField(actionContainer.getClass(), fieldName);
-            } catch (final Exception exception) {
-                Exceptions.ignore(exception); // Expected. Field unavailable.
-            }
-            containerClass = containerClass.getSuperclass();
+        return getIndex().getField(fieldName);
+    }
+
+    /** @param actionId ID of the action.
+     * @param forActor action argument. Might be null.
+     * @return action cached with {@link #cacheAction(String, Object, ActorConsumer)} for actors of the same class,
+     *         {@link #MISSING_ACTION} if the action was not found or null if the action was not resolved yet. */
+    public synchronized ActorConsumer<?, ?> getCachedAction(final String actionId, final Object forActor) {
+        final ObjectMap<Class<?>, ActorConsumer<?, ?>> actorActions = actions.get(actionId);
+        return actorActions == null ? null : actorActions.get(forActor == null ? NO_ACTOR : forActor.getClass());
+    }
+
+    /** @param actionId ID of the action.
+     * @param forActor action argument. Might be null. Action will be cached for all actors of the same class.
+     * @param action resolved action. Null if the action is not present in the container. */
+    public synchronized void cacheAction(final String actionId, final Object forActor,
+            final ActorConsumer<?, ?> action) {
+        ObjectMap<Class<?>, ActorConsumer<?, ?>> actorActions = actions.get(actionId);
+        if (actorActions == null) {
+            actorActions = new ObjectMap<Class<?>, ActorConsumer<?, ?>>(4);
+            actions.put(actionId, actorActions);
         }
-        return null;
+        actorActions.put(forActor == null ? NO_ACTOR : forActor.getClass(), action == null ? MISSING_ACTION : action);
+    }
+
+    /** Clears resolved actions cache. */
+    public synchronized void clearCachedActions() {
+        actions.clear();
     }
-}
\ No newline at end of file
+}
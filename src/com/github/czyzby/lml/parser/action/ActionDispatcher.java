@@ -0,0 +1,26 @@
+package com.github.czyzby.lml.parser.action;
+
+/** Resolves actions of a specific {@link ActionContainer} class without reflection. Dispatchers are usually generated
+ * at compile time by the LML annotation processor (gdx-lml-processor artifact), which creates a dispatcher for each
+ * action container class; generated dispatchers use switch statements on action IDs and invoke container methods
+ * directly. Dispatchers are found by {@link ActionDispatchers}; if a container class has no dispatcher, its actions
+ * are resolved with reflection.
+ *
+ * <p>
+ * Dispatchers have to follow the rules of reflection-based action resolution: methods with IDs selected by
+ * {@link com.github.czyzby.lml.annotation.LmlAction} annotation (ignoring case) have the highest priority, followed
+ * by methods with matching names consuming actor's class (or one of its superclasses) and no-arg methods. If
+ * {@link com.github.czyzby.lml.util.Lml#EXTRACT_FIELDS_AS_METHODS} is on, annotated fields and fields with matching
+ * names are checked last.
+ *
+ * @author MJ
+ * @see ActionDispatchers#register(Class, ActionDispatcher) */
+public interface ActionDispatcher {
+    /** @param actionContainer instance of the class that this dispatcher was created for.
+     * @param actionId ID of the action, as it appears in the template.
+     * @param forActor will be used as action argument. Might be null.
+     * @return action invoking container's method or returning its field value; null if the container does not
+     *         contain the action; {@link ActionDispatchers#USE_REFLECTION} if the action might be present, but it
+     *         cannot be invoked directly (for example, it is private). */
+    ActorConsumer<?, ?> getAction(ActionContainer actionContainer, String actionId, Object forActor);
+}
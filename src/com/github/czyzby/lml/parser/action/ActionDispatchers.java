@@ -0,0 +1,99 @@
+package com.github.czyzby.lml.parser.action;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+
+/** Manages {@link ActionDispatcher} instances of action container classes. Dispatchers generated by the LML annotation
+ * processor are found by their class names: container's class name with {@link #DISPATCHER_SUFFIX}. Note that on
+ * GWT generated dispatchers have to be included in reflection data (or registered manually with
+ * {@link #register(Class, ActionDispatcher)}) to be found.
+ *
+ * <p>
+ * Dispatchers (and their absence) are cached for each container class. This class can be safely used by multiple
+ * threads.
+ *
+ * @author MJ */
+public class ActionDispatchers {
+    /** Appended to action container class name to get the name of its generated dispatcher class. */
+    public static final String DISPATCHER_SUFFIX = "_LmlActionDispatcher";
+    /** Returned by dispatchers when the action should be resolved with reflection. Cannot be invoked. */
+    public static final ActorConsumer<?, ?> USE_REFLECTION = new ActorConsumer<Object, Object>() {
+        @Override
+        public Object consume(final Object actor) {
+            throw new IllegalStateException("Reflection marker cannot be invoked.");
+        }
+    };
+    /** Cached in place of dispatchers of classes that do not have one. */
+    private static final ActionDispatcher NO_DISPATCHER = new ActionDispatcher() {
+        @Override
+        public ActorConsumer<?, ?> getAction(final ActionContainer actionContainer, final String actionId,
+                final Object forActor) {
+            return USE_REFLECTION;
+        }
+    };
+    private static final ObjectMap<Class<?>, ActionDispatcher> DISPATCHERS = new ObjectMap<Class<?>, ActionDispatcher>();
+
+    private ActionDispatchers() {
+    }
+
+    /** @param containerClass class of an action container.
+     * @return dispatcher of the class (registered manually or generated at compile time) or null if the class has no
+     *         dispatcher. Note that dispatchers of superclasses are not used. */
+    public static ActionDispatcher getDispatcher(final Class<?> containerClass) {
+        synchronized (DISPATCHERS) {
+            ActionDispatcher dispatcher = DISPATCHERS.get(containerClass);
+            if (dispatcher == null) {
+                dispatcher = createDispatcher(containerClass);
+                DISPATCHERS.put(containerClass, dispatcher == null ? NO_DISPATCHER : dispatcher);
+            }
+            return dispatcher == NO_DISPATCHER ? null : dispatcher;
+        }
+    }
+
+    private static ActionDispatcher createDispatcher(final Class<?> containerClass) {
+        try {
+            final Class<?> dispatcherClass = ClassReflection.forName(containerClass.getName() + DISPATCHER_SUFFIX);
+            return (ActionDispatcher) ClassReflection.newInstance(dispatcherClass);
+        } catch (final Exception exception) {
+            return null; // No generated dispatcher.
+        }
+    }
+
+    /** @param containerClass class of action containers.
+     * @param dispatcher will be used to resolve actions of the container class, replacing the generated dispatcher
+     *            (if any). */
+    public static void register(final Class<?> containerClass, final ActionDispatcher dispatcher) {
+        if (dispatcher == null) {
+            throw new IllegalArgumentException("Dispatcher cannot be null.");
+        }
+        synchronized (DISPATCHERS) {
+            DISPATCHERS.put(containerClass, dispatcher);
+        }
+    }
+
+    /** Clears cached dispatchers, including manually registered ones. */
+    public static void clearDispatchers() {
+        synchronized (DISPATCHERS) {
+            DISPATCHERS.clear();
+        }
+    }
+
+    /** Used by generated dispatchers to normalize {@link com.github.czyzby.lml.annotation.LmlAction} IDs. Converts
+     * each character separately, without depending on the default locale.
+     *
+     * @param actionId ID of an action.
+     * @return action ID converted to lower case. */
+    public static String toLowerCase(final String actionId) {
+        for (int index = 0, length = actionId.length(); index < length; index++) {
+            final char character = actionId.charAt(index);
+            if (Character.toLowerCase(character) != character) {
+                final char[] characters = actionId.toCharArray();
+                for (int lowerCaseIndex = index; lowerCaseIndex < length; lowerCaseIndex++) {
+                    characters[lowerCaseIndex] = Character.toLowerCase(characters[lowerCaseIndex]);
+                }
+                return new String(characters);
+            }
+        }
+        return actionId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.czyzby.lml.parser.action;
+
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.Method;
+
+/** Creates {@link ActorConsumer} instances invoking methods and extracting fields of {@link ActionContainer}s. Used by
+ * the parser after the action is resolved; since resolved actions are cached, each action is created once per
+ * container and actor class.
+ *
+ * @author MJ
+ * @see com.github.czyzby.lml.parser.impl.action.DefaultActorConsumerFactory */
+public interface ActorConsumerFactory {
+    /** @param method will be invoked by the action. Has one or zero parameters.
+     * @param methodOwner instance of the action container.
+     * @return a new action invoking the method. */
+    ActorConsumer<?, ?> createMethodConsumer(Method method, Object methodOwner);
+
+    /** @param field its value will be returned by the action.
+     * @param fieldOwner instance of the action container.
+     * @return a new action returning current value of the field. */
+    ActorConsumer<?, ?> createFieldConsumer(Field field, Object fieldOwner);
+}
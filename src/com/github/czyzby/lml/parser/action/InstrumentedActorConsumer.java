@@ -0,0 +1,48 @@
+package com.github.czyzby.lml.parser.action;
+
+import com.badlogic.gdx.utils.TimeUtils;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.LmlParserListener;
+
+/** Wraps around an action, reporting its invocation times to the current listener of the parser. Returned by parsers
+ * that have a {@link LmlParserListener} registered. If the listener is removed, the action is invoked directly.
+ *
+ * @author MJ
+ *
+ * @param <ReturnType> type of value returned by the action.
+ * @param <Widget> type of action argument. */
+public class InstrumentedActorConsumer<ReturnType, Widget> implements ActorConsumer<ReturnType, Widget> {
+    private final ActorConsumer<ReturnType, Widget> action;
+    private final LmlParser parser;
+    private final String actionId;
+    private final String templateName;
+
+    /** @param action will be invoked.
+     * @param parser parsed the action. Its listener will be notified about the invocations.
+     * @param actionId raw ID of the action.
+     * @param templateName name of the template that referenced the action. Might be null. */
+    public InstrumentedActorConsumer(final ActorConsumer<ReturnType, Widget> action, final LmlParser parser,
+            final String actionId, final String templateName) {
+        this.action = action;
+        this.parser = parser;
+        this.actionId = actionId;
+        this.templateName = templateName;
+    }
+
+    /** @return wrapped action. */
+    public ActorConsumer<ReturnType, Widget> getAction() {
+        return action;
+    }
+
+    @Override
+    public ReturnType consume(final Widget actor) {
+        final LmlParserListener listener = parser.getListener();
+        if (listener == null) {
+            return action.consume(actor);
+        }
+        final long start = TimeUtils.nanoTime();
+        final ReturnType result = action.consume(actor);
+        listener.onActionInvoked(parser, actionId, templateName, actor, TimeUtils.nanoTime() - start);
+        return result;
+    }
+}
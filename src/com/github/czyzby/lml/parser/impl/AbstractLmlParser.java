@@ -1,5 +1,6 @@
 package com.github.czyzby.lml.parser.impl;
 
+import java.io.Reader;
 import java.lang.annotation.Annotation;
 
 import com.badlogic.gdx.Preferences;
@@ -11,6 +12,9 @@ import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.I18NBundle;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.badlogic.gdx.utils.reflect.Field;
 import com.badlogic.gdx.utils.reflect.Method;
@@ -26,24 +30,42 @@ import com.github.czyzby.lml.annotation.LmlBefore;
 import com.github.czyzby.lml.annotation.LmlInject;
 import com.github.czyzby.lml.annotation.OnChange;
 import com.github.czyzby.lml.annotation.processor.OnChangeProcessor;
+import com.github.czyzby.lml.parser.IncrementalViewCreation;
 import com.github.czyzby.lml.parser.LmlData;
 import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.LmlParserListener;
 import com.github.czyzby.lml.parser.LmlSyntax;
 import com.github.czyzby.lml.parser.LmlTemplateReader;
 import com.github.czyzby.lml.parser.LmlView;
 import com.github.czyzby.lml.parser.action.ActionContainer;
 import com.github.czyzby.lml.parser.action.ActionContainerWrapper;
+import com.github.czyzby.lml.parser.action.ActionDispatcher;
+import com.github.czyzby.lml.parser.action.ActionDispatchers;
 import com.github.czyzby.lml.parser.action.ActorConsumer;
-import com.github.czyzby.lml.parser.impl.action.FieldActorConsumer;
-import com.github.czyzby.lml.parser.impl.action.MethodActorConsumer;
+import com.github.czyzby.lml.parser.action.ActorConsumerFactory;
+import com.github.czyzby.lml.parser.action.InstrumentedActorConsumer;
+import com.github.czyzby.lml.parser.impl.action.DefaultActorConsumerFactory;
+import com.github.czyzby.lml.parser.impl.view.DefaultViewMetadataCache;
+import com.github.czyzby.lml.parser.template.LmlTemplate;
+import com.github.czyzby.lml.parser.template.LmlTemplateCache;
+import com.github.czyzby.lml.parser.template.LmlTemplateCompiler;
+import com.github.czyzby.lml.parser.template.LmlTemplatePlan;
+import com.github.czyzby.lml.parser.view.ViewBinder;
+import com.github.czyzby.lml.parser.view.ViewBinders;
+import com.github.czyzby.lml.parser.view.ViewBindingContext;
+import com.github.czyzby.lml.parser.view.ViewFieldMetadata;
+import com.github.czyzby.lml.parser.view.ViewFieldMetadata.ActorsContainer;
+import com.github.czyzby.lml.parser.view.ViewMetadata;
+import com.github.czyzby.lml.parser.view.ViewMetadataCache;
+import com.github.czyzby.lml.parser.view.ViewMethodMetadata;
 import com.github.czyzby.lml.util.Lml;
 import com.github.czyzby.lml.util.LmlParsingException;
 import com.github.czyzby.lml.util.LmlUtilities;
 import com.github.czyzby.lml.util.collection.IgnoreCaseStringMap;
 
 /** Abstract base for all LML parsers. Manages required getters and setters. Allows to focus on the actual parsing
- * implementation by providing abstract method {@link #parseTemplate()} and implementing all specific parsing methods
- * with the expected behavior.
+ * implementation by providing abstract methods {@link #parseTemplate()} and {@link #instantiateTemplate(LmlTemplate)}
+ * and implementing all specific parsing methods with the expected behavior.
  *
  * @author MJ */
 public abstract class AbstractLmlParser implements LmlParser {
@@ -51,14 +73,23 @@ public abstract class AbstractLmlParser implements LmlParser {
     protected LmlData data;
     protected LmlSyntax syntax;
     protected LmlTemplateReader templateReader;
+    protected LmlTemplateCache templateCache;
 
     // Settings:
     protected boolean strict;
     protected boolean nestedComments;
+    protected boolean reloadable;
+    protected LmlParserListener listener;
+    protected ActorConsumerFactory actorConsumerFactory = DefaultActorConsumerFactory.INSTANCE;
+    protected ViewMetadataCache viewMetadataCache = new DefaultViewMetadataCache();
     private int debugLines = 3;
 
     // Cached parsing results:
     protected final ObjectMap<String, Actor> actorsByIds = createActorsByIdsMap();
+    private final ViewBindingContext viewBindingContext = new ParserViewBindingContext();
+    /** Views that are currently created, reloaded or parsed, in the order of their registration. */
+    private final Array<Object> currentViews = GdxArrays.newArray();
+
 
     /** @param data contains skin, actions, i18n bundles and other data needed to parse LML templates.
      * @param syntax determines syntax of LML templates.
@@ -73,6 +104,38 @@ public abstract class AbstractLmlParser implements LmlParser {
         this.strict = strict;
     }
 
+    /** @return compiled template that is currently instantiated or null if no compiled template is being processed.
+     *         Used for error reporting. */
+    protected LmlTemplate getCurrentTemplate() {
+        return null;
+    }
+
+    /** @return index of the currently processed node of the compiled template in the original template content. Used
+     *         for error reporting. */
+    protected int getCurrentTemplateOffset() {
+        return 0;
+    }
+
+    /** Opens a registration scope for the parsed template if the current syntax is {@link DefaultLmlSyntax#freeze()
+     * frozen}: the syntax is replaced with a {@link ScopedLmlSyntax} that stores tags, macros and attributes registered
+     * by the template. Thanks to this, the frozen syntax is never modified and can be shared by parsers working on
+     * different threads.
+     *
+     * @return syntax that was used before opening the scope. Should be passed to {@link #closeSyntaxScope(LmlSyntax)}
+     *         after parsing. */
+    protected LmlSyntax openSyntaxScope() {
+        final LmlSyntax originalSyntax = syntax;
+        if (originalSyntax instanceof DefaultLmlSyntax && ((DefaultLmlSyntax) originalSyntax).isFrozen()) {
+            syntax = new ScopedLmlSyntax(originalSyntax);
+        }
+        return originalSyntax;
+    }
+
+    /** @param originalSyntax syntax used before the registration scope was opened. Will be restored. */
+    protected void closeSyntaxScope(final LmlSyntax originalSyntax) {
+        syntax = originalSyntax;
+    }
+
     /** @return a new instance of map that will hold actors mapped by their IDs. Returns an ignoring case map by
      *         default. Warning: invoked during construction. */
     protected IgnoreCaseStringMap<Actor> createActorsByIdsMap() {
@@ -94,6 +157,29 @@ public abstract class AbstractLmlParser implements LmlParser {
         this.nestedComments = nestedComments;
     }
 
+    @Override
+    public void setListener(final LmlParserListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public LmlParserListener getListener() {
+        return listener;
+    }
+
+    @Override
+    public String getCurrentTemplateName() {
+        final LmlTemplate currentTemplate = getCurrentTemplate();
+        return currentTemplate == null ? templateReader.getCurrentTemplateName() : currentTemplate.getName();
+    }
+
+    @Override
+    public int getCurrentLine() {
+        final LmlTemplate currentTemplate = getCurrentTemplate();
+        return currentTemplate == null ? templateReader.getCurrentLine()
+                : currentTemplate.getLine(getCurrentTemplateOffset());
+    }
+
     @Override
     public void setData(final LmlData lmlData) {
         data = lmlData;
@@ -124,24 +210,249 @@ public abstract class AbstractLmlParser implements LmlParser {
         return syntax;
     }
 
+    /** @param reloadable if true, views created by this parser keep data needed to reload them with
+     *            {@link #reload(Object, String)}: compiled template and actors created by its tags. Should be turned
+     *            on only during development, as references to the views and all their actors are kept by the parser.
+     *            False by default. */
+    public void setReloadable(final boolean reloadable) {
+        this.reloadable = reloadable;
+    }
+
+    /** @return true if views created by this parser can be reloaded. */
+    public boolean isReloadable() {
+        return reloadable;
+    }
+
+    /** @param templateCache will be used to store content of template files and compiled templates, so they do not
+     *            have to be read or compiled multiple times. Can be shared by multiple parsers. Null by default; pass
+     *            null to turn off caching.
+     * @see com.github.czyzby.lml.parser.template.DefaultLmlTemplateCache */
+    public void setTemplateCache(final LmlTemplateCache templateCache) {
+        this.templateCache = templateCache;
+    }
+
+    /** @return current template cache. Might be null if caching is turned off. */
+    @Override
+    public LmlTemplateCache getTemplateCache() {
+        return templateCache;
+    }
+
+    /** @param actorConsumerFactory will be used to create actions invoking methods and fields of action containers.
+     *            Uses LibGDX reflection by default. Cannot be null.
+     * @see com.github.czyzby.lml.parser.impl.action.jvm.MethodHandleActorConsumerFactory */
+    public void setActorConsumerFactory(final ActorConsumerFactory actorConsumerFactory) {
+        if (actorConsumerFactory == null) {
+            throw new IllegalArgumentException("Actor consumer factory cannot be null.");
+        }
+        this.actorConsumerFactory = actorConsumerFactory;
+    }
+
+    /** @return factory used to create actions invoking methods and fields of action containers. */
+    public ActorConsumerFactory getActorConsumerFactory() {
+        return actorConsumerFactory;
+    }
+
+    /** @param viewMetadataCache will be used to store annotated fields and methods of view classes, so their
+     *            hierarchies are scanned with reflection only once. Each parser uses its own
+     *            {@link DefaultViewMetadataCache} by default. Cannot be null.
+     * @see com.github.czyzby.lml.parser.impl.view.jvm.WeakViewMetadataCache */
+    public void setViewMetadataCache(final ViewMetadataCache viewMetadataCache) {
+        if (viewMetadataCache == null) {
+            throw new IllegalArgumentException("View metadata cache cannot be null.");
+        }
+        this.viewMetadataCache = viewMetadataCache;
+    }
+
+    /** @return cache storing annotated fields and methods of view classes. */
+    public ViewMetadataCache getViewMetadataCache() {
+        return viewMetadataCache;
+    }
+
     /** Actual implementation of LML template parsing. Template is already passed to the template reader and is ready to
-     * be read and processed.
+     * be read and processed. Note that templates passed to {@link #parseTemplate(String)} and
+     * {@link #parseTemplate(FileHandle)} are compiled and processed by {@link #instantiateTemplate(LmlTemplate)}
+     * instead.
      *
      * @return parsed actors. */
     protected abstract Array<Actor> parseTemplate();
 
     @Override
     public Array<Actor> parseTemplate(final String lmlTemplate) {
-        templateReader.append(lmlTemplate, "original template passed as string");
-        return parseTemplate();
+        // Compiled templates are scanned in bulk by the lexer and do not require per-character reading.
+        return instantiateTemplate(compile(lmlTemplate));
     }
 
     @Override
     public Array<Actor> parseTemplate(final FileHandle lmlTemplateFile) {
-        templateReader.append(lmlTemplateFile);
+        return instantiateTemplate(compile(lmlTemplateFile));
+    }
+
+    @Override
+    public Array<Actor> parseTemplate(final Reader lmlTemplateReader, final String templateName) {
+        // Streamed templates are not compiled: they are parsed as they are read.
+        templateReader.append(lmlTemplateReader, templateName);
         return parseTemplate();
     }
 
+    @Override
+    public Array<Actor> parseTemplate(final CharSequence lmlTemplate, final String templateName) {
+        templateReader.append(lmlTemplate, templateName);
+        return parseTemplate();
+    }
+
+    /** Actual implementation of compiled LML template instantiation.
+     *
+     * @param template compiled template.
+     * @return parsed actors. */
+    protected abstract Array<Actor> instantiateTemplate(LmlTemplate template);
+
+    @Override
+    public LmlTemplate compile(final String lmlTemplate) {
+        return compile(lmlTemplate, "original template passed as string");
+    }
+
+    @Override
+    public LmlTemplate compile(final String lmlTemplate, final String templateName) {
+        if (templateCache == null) {
+            return createTemplateCompiler().compile(lmlTemplate, templateName);
+        }
+        return templateCache.getTemplate(lmlTemplate, templateName, createTemplateCompiler());
+    }
+
+    @Override
+    public LmlTemplate compile(final FileHandle lmlTemplateFile) {
+        return compile(lmlTemplateFile, createTemplateCompiler(), templateCache);
+    }
+
+    /** @param lmlTemplateFile will be read and compiled.
+     * @param compiler will compile the template.
+     * @param templateCache optional cache of compiled templates. Can be null.
+     * @return compiled template. Does not access the state of the parser, so it can be invoked on any thread. */
+    protected static LmlTemplate compile(final FileHandle lmlTemplateFile, final LmlTemplateCompiler compiler,
+            final LmlTemplateCache templateCache) {
+        if (templateCache == null) {
+            return compiler.compile(lmlTemplateFile.readString(), lmlTemplateFile.name());
+        }
+        return templateCache.getTemplate(lmlTemplateFile, compiler);
+    }
+
+    /** @return a template compiler using current syntax and parser settings. Can be used to read and write serialized
+     *         templates compatible with this parser. */
+    @Override
+    public LmlTemplateCompiler getTemplateCompiler() {
+        return createTemplateCompiler();
+    }
+
+    /** @return a new instance of template compiler, using current syntax and parser settings. */
+    protected LmlTemplateCompiler createTemplateCompiler() {
+        return new LmlTemplateCompiler(syntax, strict, nestedComments);
+    }
+
+    @Override
+    public Array<Actor> instantiate(final LmlTemplate template) {
+        return instantiateTemplate(template);
+    }
+
+    @Override
+    public <View> Array<Actor> instantiate(final LmlTemplate template, final View view) {
+        doBeforeViewTemplateParsing(view);
+        final Array<Actor> actors = instantiateViewTemplate(view, template);
+        fillView(view, actors);
+        doAfterViewTemplateParsing(view);
+        return actors;
+    }
+
+    /** @param view will be filled with the template's actors.
+     * @param template compiled template of the view.
+     * @return parsed root actors. By default, the template is instantiated with
+     *         {@link #instantiateTemplate(LmlTemplate)}.
+     * @param <View> class of the view. */
+    protected <View> Array<Actor> instantiateViewTemplate(final View view, final LmlTemplate template) {
+        return instantiateTemplate(template);
+    }
+
+    @Override
+    public <View> Array<Actor> reload(final View view, final String lmlTemplate) {
+        return reload(view, compile(lmlTemplate));
+    }
+
+    @Override
+    public <View> Array<Actor> reload(final View view, final FileHandle lmlTemplateFile) {
+        return reload(view, compile(lmlTemplateFile));
+    }
+
+    @Override
+    public <View> Array<Actor> reload(final View view, final LmlTemplate template) {
+        doBeforeViewTemplateParsing(view);
+        final Array<Actor> actors = reloadViewTemplate(view, template);
+        fillView(view, actors);
+        doAfterViewTemplateParsing(view);
+        return actors;
+    }
+
+    /** Actual implementation of view reloading. Should detach previous root actors of the view that are not reused.
+     *
+     * @param view was previously created by this parser.
+     * @param template new version of the view's template.
+     * @return parsed root actors.
+     * @param <View> class of the view. */
+    protected abstract <View> Array<Actor> reloadViewTemplate(View view, LmlTemplate template);
+
+    @Override
+    public <View> IncrementalViewCreation<View> createViewIncrementally(final View view,
+            final FileHandle lmlTemplateFile, final long budgetMillis) {
+        return createViewIncrementally(view, compile(lmlTemplateFile), budgetMillis);
+    }
+
+    @Override
+    public <View> IncrementalViewCreation<View> createViewIncrementally(final View view, final LmlTemplate template,
+            final long budgetMillis) {
+        doBeforeViewTemplateParsing(view);
+        return instantiateTemplateIncrementally(template, view, budgetMillis);
+    }
+
+    /** Actual implementation of incremental compiled LML template instantiation. Should invoke
+     * {@link #finishViewCreation(Object, Array)} after the last node is processed.
+     *
+     * @param template compiled template.
+     * @param view will be filled after the template is instantiated.
+     * @param budgetMillis approximate time in milliseconds of a single update.
+     * @return incremental instantiation handle.
+     * @param <View> class of the view. */
+    protected abstract <View> IncrementalViewCreation<View> instantiateTemplateIncrementally(LmlTemplate template,
+            View view, long budgetMillis);
+
+    /** @param view its fields will be filled and {@link LmlAfter}-annotated methods invoked.
+     * @param actors parsed root actors.
+     * @param <View> class of the view. */
+    protected <View> void finishViewCreation(final View view, final Array<Actor> actors) {
+        fillView(view, actors);
+        doAfterViewTemplateParsing(view);
+    }
+
+    @Override
+    public LmlTemplatePlan prepare(final FileHandle lmlTemplateFile) {
+        return new LmlTemplatePlan(this, compile(lmlTemplateFile));
+    }
+
+    @Override
+    public AsyncResult<LmlTemplatePlan> prepareAsync(final FileHandle lmlTemplateFile, final AsyncExecutor executor) {
+        // Parser settings are mutable, so they are captured on the current thread rather than read by the task:
+        final LmlTemplateCompiler compiler = createTemplateCompiler();
+        final LmlTemplateCache cache = templateCache;
+        return executor.submit(new AsyncTask<LmlTemplatePlan>() {
+            @Override
+            public LmlTemplatePlan call() throws Exception {
+                return new LmlTemplatePlan(AbstractLmlParser.this, compile(lmlTemplateFile, compiler, cache));
+            }
+        });
+    }
+
+    @Override
+    public String[] extractTagEntities(final String rawTagData) {
+        return LmlUtilities.extractTagEntities(rawTagData);
+    }
+
     @Override
     public void fillStage(final Stage stage, final String lmlTemplate) {
         LmlUtilities.appendActorsToStage(stage, parseTemplate(lmlTemplate));
@@ -155,7 +466,7 @@ public abstract class AbstractLmlParser implements LmlParser {
     @Override
     public <View> Array<Actor> createView(final View view, final String lmlTemplate) {
         doBeforeViewTemplateParsing(view);
-        final Array<Actor> actors = parseTemplate(lmlTemplate);
+        final Array<Actor> actors = instantiateViewTemplate(view, compile(lmlTemplate));
         fillView(view, actors);
         doAfterViewTemplateParsing(view);
         return actors;
@@ -164,7 +475,7 @@ public abstract class AbstractLmlParser implements LmlParser {
     @Override
     public <View> Array<Actor> createView(final View view, final FileHandle lmlTemplateFile) {
         doBeforeViewTemplateParsing(view);
-        final Array<Actor> actors = parseTemplate(lmlTemplateFile);
+        final Array<Actor> actors = instantiateViewTemplate(view, compile(lmlTemplateFile));
         fillView(view, actors);
         doAfterViewTemplateParsing(view);
         return actors;
@@ -184,10 +495,37 @@ public abstract class AbstractLmlParser implements LmlParser {
         return view;
     }
 
+    @Override
+    public <View> Array<Actor> parseViewTemplate(final View view, final String lmlTemplate) {
+        if (view == null || currentViews.contains(view, true)) {
+            // View actions are already available.
+            return parseTemplate(lmlTemplate);
+        }
+        registerView(view);
+        try {
+            return parseTemplate(lmlTemplate);
+        } finally {
+            unregisterView(view);
+        }
+    }
+
+    @Override
+    public Object getCurrentView() {
+        return currentViews.size == 0 ? null : currentViews.peek();
+    }
+
     /** @param view by default, registers the view as an {@link ActionContainer} and {@link ActorConsumer} if it
      *            implements any of these interfaces. Will have {@link LmlBefore}-annotated methods invoked.
      * @param <View> class of the managed view. */
     protected <View> void doBeforeViewTemplateParsing(final View view) {
+        registerView(view);
+        invokeAnnotatedViewMethods(view, LmlBefore.class);
+    }
+
+    /** @param view will be available as {@link #getCurrentView()}. Registered as an {@link ActionContainer} and
+     *            {@link ActorConsumer} if it implements {@link LmlView} and any of these interfaces. */
+    private void registerView(final Object view) {
+        currentViews.add(view);
         if (view instanceof LmlView) {
             final String containerId = ((LmlView) view).getViewId();
             if (view instanceof ActionContainer) {
@@ -197,7 +535,21 @@ public abstract class AbstractLmlParser implements LmlParser {
                 data.addActorConsumer(containerId, (ActorConsumer<?, ?>) view);
             }
         }
-        invokeAnnotatedViewMethods(view, LmlBefore.class);
+    }
+
+    /** @param view will no longer be available as {@link #getCurrentView()}. Its action container and actor consumer
+     *            are unregistered. */
+    private void unregisterView(final Object view) {
+        currentViews.removeValue(view, true);
+        if (view instanceof LmlView) {
+            final String containerId = ((LmlView) view).getViewId();
+            if (view instanceof ActionContainer) {
+                data.removeActionContainer(containerId);
+            }
+            if (view instanceof ActorConsumer<?, ?>) {
+                data.removeActorConsumer(containerId);
+            }
+        }
     }
 
     /** @param view if implements {@link LmlView}, actors will be added to its stage. Its field annotations will be
@@ -215,21 +567,32 @@ public abstract class AbstractLmlParser implements LmlParser {
      *            implements these interfaces. Invokes {@link LmlAfter}-annotated methods.
      * @param <View> class of the managed view. */
     protected <View> void doAfterViewTemplateParsing(final View view) {
-        if (view instanceof LmlView) {
-            final String containerId = ((LmlView) view).getViewId();
-            if (view instanceof ActionContainer) {
-                data.removeActionContainer(containerId);
-            }
-            if (view instanceof ActorConsumer<?, ?>) {
-                data.removeActorConsumer(containerId);
-            }
-        }
+        unregisterView(view);
         invokeAnnotatedViewMethods(view, LmlAfter.class);
     }
 
     // LmlBefore + LmlAfter support:
 
+    /** @param view its methods annotated with the selected annotation will be invoked. If the view has a
+     *            {@link ViewBinder}, {@link LmlBefore} and {@link LmlAfter} methods are invoked by the binder;
+     *            otherwise methods cached by {@link #getViewMetadataCache()} are used. Methods with other annotations
+     *            are found by scanning the view class hierarchy with reflection.
+     * @param annotation annotation type.
+     * @param <View> class of the managed view. */
     protected <View> void invokeAnnotatedViewMethods(final View view, final Class<? extends Annotation> annotation) {
+        if (annotation == LmlBefore.class || annotation == LmlAfter.class) {
+            final ViewBinder<View> binder = getViewBinder(view);
+            if (binder == null) {
+                final ViewMetadata metadata = viewMetadataCache.getMetadata(view.getClass());
+                invokeAnnotatedViewMethods(view, annotation == LmlBefore.class ? metadata.getBeforeMethods()
+                        : metadata.getAfterMethods(), annotation);
+            } else if (annotation == LmlBefore.class) {
+                binder.invokeBeforeMethods(view, this);
+            } else {
+                binder.invokeAfterMethods(view, this);
+            }
+            return;
+        }
         Class<?> handledClass = view.getClass();
         try {
             while (handledClass != null && !handledClass.equals(Object.class)) {
@@ -245,55 +608,144 @@ public abstract class AbstractLmlParser implements LmlParser {
         }
     }
 
+    /** @param view will have its methods invoked.
+     * @param methods cached annotated methods of the view class.
+     * @param annotation type of the methods' annotation. Used for error messages.
+     * @param <View> class of the managed view. */
+    protected <View> void invokeAnnotatedViewMethods(final View view, final Array<ViewMethodMetadata> methods,
+            final Class<? extends Annotation> annotation) {
+        try {
+            for (final ViewMethodMetadata method : methods) {
+                invokeAnnotatedViewMethod(view, method);
+            }
+        } catch (final Exception exception) {
+            throw new GdxRuntimeException("Unable to invoke method annotated with: " + annotation, exception);
+        }
+    }
+
+    /** Invokes a method with an annotation other than {@link LmlBefore} and {@link LmlAfter}. Metadata of such methods
+     * is not stored by the {@link ViewMetadataCache}, and the methods are found by scanning the view class with
+     * reflection on each call anyway, so their metadata is created on demand.
+     *
+     * @param view will have the method invoked.
+     * @param method annotated method of the view class.
+     * @param <View> class of the managed view.
+     * @throws ReflectionException if unable to invoke the method.
+     * @see #invokeAnnotatedViewMethod(Object, ViewMethodMetadata) */
     protected <View> void invokeAnnotatedViewMethod(final View view, final Method method) throws ReflectionException {
-        final Class<?>[] parameterTypes = method.getParameterTypes();
-        if (parameterTypes == null || parameterTypes.length == 0) {
-            Reflection.invokeMethod(method, view, (Object[]) Strings.EMPTY_ARRAY);
-        } else if (parameterTypes.length == 1 && LmlParser.class.equals(parameterTypes[0])) {
-            Reflection.invokeMethod(method, view, new Object[] { this });
-        } else {
+        invokeAnnotatedViewMethod(view, new ViewMethodMetadata(method));
+    }
+
+    /** @param view will have the method invoked.
+     * @param method metadata of an annotated method of the view class. Invalid methods are rejected.
+     * @param <View> class of the managed view.
+     * @throws ReflectionException if unable to invoke the method. */
+    protected <View> void invokeAnnotatedViewMethod(final View view, final ViewMethodMetadata method)
+            throws ReflectionException {
+        if (!method.isValid()) {
             throw new GdxRuntimeException(
                     "Only no-arg or single-arg methods consuming LmlParser can be annotated. Found invalid args on annotated method: "
-                            + method);
+                            + method.getMethod());
+        } else if (method.isConsumingParser()) {
+            Reflection.invokeMethod(method.getMethod(), view, new Object[] { this });
+        } else {
+            Reflection.invokeMethod(method.getMethod(), view, (Object[]) Strings.EMPTY_ARRAY);
         }
     }
 
+    /** @param view instance of a view.
+     * @return binder of the view class or null if the class has no binder.
+     * @param <View> class of the managed view.
+     * @see ViewBinders */
+    @SuppressWarnings("unchecked")
+    protected <View> ViewBinder<View> getViewBinder(final View view) {
+        return ViewBinders.getBinder((Class<View>) view.getClass());
+    }
+
     // LmlActor + OnChange + LmlInject support:
 
+    /** @param view its annotated fields will be processed. If the view has a {@link ViewBinder}, fields are processed
+     *            by the binder; otherwise view class hierarchy is scanned with reflection.
+     * @param <View> class of the managed view. */
     protected <View> void processViewFieldAnnotations(final View view) {
-        Class<?> handledClass = view.getClass();
-        while (handledClass != null && !handledClass.equals(Object.class)) {
-            for (final Field field : ClassReflection.getDeclaredFields(handledClass)) {
-                processLmlActorAnnotation(view, field);
-                processOnChangeAnnotation(view, field);
-                processLmlInjectAnnotation(view, field);
-            }
-            handledClass = handledClass.getSuperclass();
+        final ViewBinder<View> binder = getViewBinder(view);
+        if (binder != null) {
+            binder.bind(view, viewBindingContext);
+            return;
+        }
+        for (final ViewFieldMetadata field : viewMetadataCache.getMetadata(view.getClass()).getFields()) {
+            processViewFieldAnnotations(view, field);
+        }
+    }
+
+    /** @param view owner of the field.
+     * @param field cached data of the annotated field.
+     * @param <View> class of the managed view. */
+    protected <View> void processViewFieldAnnotations(final View view, final ViewFieldMetadata field) {
+        if (field.getActorData() != null) {
+            processLmlActorAnnotation(view, field.getField(), field.getActorData(), field.getActorsContainer());
         }
+        if (field.getOnChangeData() != null) {
+            processOnChangeAnnotation(view, field.getField(), field.getOnChangeData().value());
+        }
+        if (field.getInjectionData() != null) {
+            processLmlInjectAnnotation(view, field.getField(), field.getInjectionData());
+        }
+    }
+
+    /** @param view owner of the field.
+     * @param field its annotations will be processed.
+     * @param <View> class of the managed view. */
+    protected <View> void processViewFieldAnnotations(final View view, final Field field) {
+        processLmlActorAnnotation(view, field);
+        processOnChangeAnnotation(view, field);
+        processLmlInjectAnnotation(view, field);
     }
 
     protected <View> void processLmlActorAnnotation(final View view, final Field field) {
         if (Reflection.isAnnotationPresent(field, LmlActor.class)) {
-            final LmlActor actorData = Reflection.getAnnotation(field, LmlActor.class);
-            final String[] actorIds = actorData.value();
-            if (actorIds.length == 0) {
-                throwErrorIfStrict("Actor IDs array in @LmlActor annotation cannot be empty. Found no IDs in field: "
-                        + field + " of view: " + view);
-                return;
-            }
-            if (Reflection.isExtending(field.getType(), Array.class)) {
+            processLmlActorAnnotation(view, field, Reflection.getAnnotation(field, LmlActor.class),
+                    ActorsContainer.of(field.getType()));
+        }
+    }
+
+    /** @param view owner of the field.
+     * @param field annotated with {@link LmlActor}.
+     * @param actorData annotation of the field.
+     * @param actorsContainer type of actors container expected by the field.
+     * @param <View> class of the managed view. */
+    protected <View> void processLmlActorAnnotation(final View view, final Field field, final LmlActor actorData,
+            final ActorsContainer actorsContainer) {
+        final String[] actorIds = actorData.value();
+        if (actorIds.length == 0) {
+            throwErrorIfStrict("Actor IDs array in @LmlActor annotation cannot be empty. Found no IDs in field: "
+                    + field + " of view: " + view);
+            return;
+        }
+        switch (actorsContainer) {
+            case ARRAY:
                 injectArrayOfActors(view, field, actorIds);
-            } else if (Reflection.isExtending(field.getType(), ObjectSet.class)) {
+                break;
+            case SET:
                 injectSetOfActors(view, field, actorIds);
-            } else if (Reflection.isExtending(field.getType(), ObjectMap.class)) {
+                break;
+            case MAP:
                 injectMapOfActors(view, field, actorIds);
-            } else {
+                break;
+            default:
                 injectSingleActor(view, field, actorIds);
-            }
         }
     }
 
     private <View> void injectSingleActor(final View view, final Field field, final String[] actorIds) {
+        injectFieldValueGracefully(field, view, findSingleActor(actorIds, view, field));
+    }
+
+    /** @param actorIds value of {@link LmlActor} annotation.
+     * @param view owner of the field. Used for error messages.
+     * @param field injected field or its name. Used for error messages.
+     * @return actor mapped to the only ID or null. */
+    protected Actor findSingleActor(final String[] actorIds, final Object view, final Object field) {
         // Converting, as the ID might be a bundle line, preference or argument.
         final Array<String> ids = convertActorIds(actorIds);
         if (GdxArrays.sizeOf(ids) != 1) {
@@ -302,18 +754,30 @@ public abstract class AbstractLmlParser implements LmlParser {
                     "Invalid amount of actors passed to LmlActor annotation. If you want to inject multiple actors, use Array, ObjectSet or ObjectMap field type. Found: \""
                             + ids + "\" after parsing on field: " + field + " of view: " + view);
         }
-        injectFieldValueGracefully(field, view, actorsByIds.get(ids.first()));
+        return actorsByIds.get(ids.first());
     }
 
     protected <View> void injectMapOfActors(final View view, final Field field, final String[] actorIds) {
+        injectFieldValueGracefully(field, view, findMapOfActors(actorIds));
+    }
+
+    /** @param actorIds value of {@link LmlActor} annotation.
+     * @return new map with actors mapped to the IDs. */
+    protected ObjectMap<String, Actor> findMapOfActors(final String[] actorIds) {
         final ObjectMap<String, Actor> actorContainer = new IgnoreCaseStringMap<Actor>();
         for (final String actorId : convertActorIds(actorIds)) {
             actorContainer.put(actorId, actorsByIds.get(actorId));
         }
-        injectFieldValueGracefully(field, view, actorContainer);
+        return actorContainer;
     }
 
     protected <View> void injectSetOfActors(final View view, final Field field, final String[] actorIds) {
+        injectFieldValueGracefully(field, view, findSetOfActors(actorIds));
+    }
+
+    /** @param actorIds value of {@link LmlActor} annotation.
+     * @return new set with actors mapped to the IDs. */
+    protected ObjectSet<Actor> findSetOfActors(final String[] actorIds) {
         final ObjectSet<Actor> actorContainer = new ObjectSet<Actor>();
         for (final String actorId : convertActorIds(actorIds)) {
             final Actor actor = actorsByIds.get(actorId);
@@ -321,15 +785,21 @@ public abstract class AbstractLmlParser implements LmlParser {
                 actorContainer.add(actor);
             }
         }
-        injectFieldValueGracefully(field, view, actorContainer);
+        return actorContainer;
     }
 
     protected <View> void injectArrayOfActors(final View view, final Field field, final String[] actorIds) {
+        injectFieldValueGracefully(field, view, findArrayOfActors(actorIds));
+    }
+
+    /** @param actorIds value of {@link LmlActor} annotation.
+     * @return new array with actors mapped to the IDs. */
+    protected Array<Actor> findArrayOfActors(final String[] actorIds) {
         final Array<Actor> actorContainer = new Array<Actor>();
         for (final String actorId : convertActorIds(actorIds)) {
             actorContainer.add(actorsByIds.get(actorId));
         }
-        injectFieldValueGracefully(field, view, actorContainer);
+        return actorContainer;
     }
 
     /** @param actorIds each element of this array might be a LML array which needs to be processed.
@@ -360,38 +830,52 @@ public abstract class AbstractLmlParser implements LmlParser {
 
     protected <View> void processOnChangeAnnotation(final View view, final Field field) {
         if (Reflection.isAnnotationPresent(field, OnChange.class)) {
-            final Actor actor = actorsByIds.get(Reflection.getAnnotation(field, OnChange.class).value());
-            for (final OnChangeProcessor onChangeProcessor : data.getOnChangeProcessors()) {
-                if (onChangeProcessor.canProcess(field, actor)) {
-                    onChangeProcessor.process(field, view, actor);
-                    return;
-                }
+            processOnChangeAnnotation(view, field, Reflection.getAnnotation(field, OnChange.class).value());
+        }
+    }
+
+    /** @param view owner of the field.
+     * @param field annotated with {@link OnChange}.
+     * @param actorId value of the annotation. */
+    protected void processOnChangeAnnotation(final Object view, final Field field, final String actorId) {
+        final Actor actor = actorsByIds.get(actorId);
+        for (final OnChangeProcessor onChangeProcessor : data.getOnChangeProcessors()) {
+            if (onChangeProcessor.canProcess(field, actor)) {
+                onChangeProcessor.process(field, view, actor);
+                return;
             }
         }
     }
 
     protected <View> void processLmlInjectAnnotation(final View view, final Field field) {
         if (Reflection.isAnnotationPresent(field, LmlInject.class)) {
-            try {
-                final LmlInject injectionData = Reflection.getAnnotation(field, LmlInject.class);
-                final Class<?> injectedValueType = getLmlInjectedValueType(field, injectionData);
-                if (LmlParser.class.equals(injectedValueType)) {
-                    // Injected type equals LmlParser - parser injection was requested:
-                    Reflection.setFieldValue(field, view, this);
-                    return;
-                }
-                Object value = Reflection.getFieldValue(field, view);
-                if (value == null || injectionData.newInstance()) {
-                    value = Reflection.newInstance(injectedValueType);
-                    Reflection.setFieldValue(field, view, value);
-                }
-                // Processing field's value annotations:
-                processViewFieldAnnotations(value);
-            } catch (final ReflectionException exception) {
-                throw new GdxRuntimeException(
-                        "Unable to inject value of LmlInject-annotated field: " + field + " of view: " + view,
-                        exception);
+            processLmlInjectAnnotation(view, field, Reflection.getAnnotation(field, LmlInject.class));
+        }
+    }
+
+    /** @param view owner of the field.
+     * @param field annotated with {@link LmlInject}.
+     * @param injectionData annotation of the field.
+     * @param <View> class of the managed view. */
+    protected <View> void processLmlInjectAnnotation(final View view, final Field field,
+            final LmlInject injectionData) {
+        try {
+            final Class<?> injectedValueType = getLmlInjectedValueType(field, injectionData);
+            if (LmlParser.class.equals(injectedValueType)) {
+                // Injected type equals LmlParser - parser injection was requested:
+                Reflection.setFieldValue(field, view, this);
+                return;
+            }
+            Object value = Reflection.getFieldValue(field, view);
+            if (value == null || injectionData.newInstance()) {
+                value = Reflection.newInstance(injectedValueType);
+                Reflection.setFieldValue(field, view, value);
             }
+            // Processing field's value annotations:
+            processViewFieldAnnotations(value);
+        } catch (final ReflectionException exception) {
+            throw new GdxRuntimeException(
+                    "Unable to inject value of LmlInject-annotated field: " + field + " of view: " + view, exception);
         }
     }
 
@@ -556,6 +1040,20 @@ public abstract class AbstractLmlParser implements LmlParser {
     @Override
     @SuppressWarnings("unchecked")
     public <ActorType> ActorConsumer<?, ActorType> parseAction(final String rawLmlData, final ActorType forActor) {
+        final ActorConsumer<?, ActorType> action = findAction(rawLmlData, forActor);
+        if (action == null || listener == null) {
+            return action;
+        }
+        return new InstrumentedActorConsumer<Object, ActorType>((ActorConsumer<Object, ActorType>) action, this,
+                rawLmlData, getCurrentTemplateName());
+    }
+
+    /** @param rawLmlData unparsed LML action ID.
+     * @param forActor will be used as potential action argument.
+     * @return action with the selected ID or null if not found.
+     * @param <ActorType> type of actor consumed by the action. */
+    @SuppressWarnings("unchecked")
+    protected <ActorType> ActorConsumer<?, ActorType> findAction(final String rawLmlData, final ActorType forActor) {
         String actionId = LmlUtilities.stripMarker(rawLmlData, syntax.getMethodInvocationMarker());
         final ActorConsumer<?, ?> namedActorConsumer = data.getActorConsumer(actionId);
         if (namedActorConsumer != null) {
@@ -582,22 +1080,49 @@ public abstract class AbstractLmlParser implements LmlParser {
     /** @param actionContainer action container that might contain the referenced method.
      * @param actionId name of the requested action.
      * @param forActor will be used as potential action argument.
-     * @return actor consumer constructed with container's method (or field) or null if action not found. */
+     * @return actor consumer constructed with container's method (or field) or null if action not found. Resolved
+     *         actions (and missing actions) are cached in the container wrapper for each actor class.
+     * @see #resolveActionFromContainer(ActionContainerWrapper, String, Object) */
     protected ActorConsumer<?, ?> extractActionFromContainer(final ActionContainerWrapper actionContainer,
             final String actionId, final Object forActor) {
+        final ActorConsumer<?, ?> cachedAction = actionContainer.getCachedAction(actionId, forActor);
+        if (cachedAction != null) {
+            return cachedAction == ActionContainerWrapper.MISSING_ACTION ? null : cachedAction;
+        }
+        final ActorConsumer<?, ?> action = resolveActionFromContainer(actionContainer, actionId, forActor);
+        actionContainer.cacheAction(actionId, forActor, action);
+        return action;
+    }
+
+    /** @param actionContainer action container that might contain the referenced method.
+     * @param actionId name of the requested action.
+     * @param forActor will be used as potential action argument.
+     * @return actor consumer constructed with container's method (or field) or null if action not found. Result is
+     *         not cached. If the container has an {@link ActionDispatcher}, it is used instead of reflection.
+     * @see ActionDispatchers */
+    protected ActorConsumer<?, ?> resolveActionFromContainer(final ActionContainerWrapper actionContainer,
+            final String actionId, final Object forActor) {
+        final ActionDispatcher dispatcher = actionContainer.getDispatcher();
+        if (dispatcher != null) {
+            final ActorConsumer<?, ?> action = dispatcher.getAction(actionContainer.getActionContainer(), actionId,
+                    forActor);
+            if (action != ActionDispatchers.USE_REFLECTION) {
+                return action;
+            }
+        }
         Method method = actionContainer.getNamedMethod(actionId);
         if (method == null) {
             method = findUnnamedMethod(actionContainer, actionId, forActor);
         }
         if (method != null) {
-            return new MethodActorConsumer(method, actionContainer.getActionContainer());
+            return actorConsumerFactory.createMethodConsumer(method, actionContainer.getActionContainer());
         } else if (Lml.EXTRACT_FIELDS_AS_METHODS) {
             Field field = actionContainer.getNamedField(actionId);
             if (field == null) {
                 field = actionContainer.getField(actionId);
             }
             if (field != null) {
-                return new FieldActorConsumer(field, actionContainer.getActionContainer());
+                return actorConsumerFactory.createFieldConsumer(field, actionContainer.getActionContainer());
             }
         }
         return null;
@@ -795,6 +1320,10 @@ public abstract class AbstractLmlParser implements LmlParser {
     }
 
     private String constructExceptionMessage(final String message) {
+        final LmlTemplate currentTemplate = getCurrentTemplate();
+        if (currentTemplate != null && templateReader.getOriginalSequence() == null) {
+            return constructCompiledTemplateExceptionMessage(message, currentTemplate);
+        }
         final StringBuilder errorMessage = new StringBuilder();
         errorMessage.append("Error occurred during parsing near line ");
         errorMessage.append(templateReader.getCurrentLine());
@@ -812,6 +1341,13 @@ public abstract class AbstractLmlParser implements LmlParser {
             errorMessage.append(
                     " of its content. Template part is most likely an evaluated macro or argument result, extracted from the original template.");
         }
+        if (currentTemplate != null) {
+            errorMessage.append(" Template part was evaluated from compiled template: \"");
+            errorMessage.append(currentTemplate.getName());
+            errorMessage.append("\" near line ");
+            errorMessage.append(currentTemplate.getLine(getCurrentTemplateOffset()));
+            errorMessage.append('.');
+        }
         errorMessage.append("\nREASON: ");
         errorMessage.append(message);
         errorMessage.append(
@@ -827,6 +1363,23 @@ public abstract class AbstractLmlParser implements LmlParser {
         return errorMessage.toString();
     }
 
+    private String constructCompiledTemplateExceptionMessage(final String message,
+            final LmlTemplate currentTemplate) {
+        final int line = currentTemplate.getLine(getCurrentTemplateOffset());
+        final StringBuilder errorMessage = new StringBuilder();
+        errorMessage.append("Error occurred during instantiation near line ");
+        errorMessage.append(line);
+        errorMessage.append(" of the compiled template: \"");
+        errorMessage.append(currentTemplate.getName());
+        errorMessage.append("\".\nREASON: ");
+        errorMessage.append(message);
+        errorMessage.append("\n\tCompiled template part:");
+        appendLastLines(errorMessage, currentTemplate.getSource(), line);
+        errorMessage.append(
+                "\n\n\tIf this is not enough to determine the error, call AbstractLmlParser#setLinesAmountPrintedOnException(int) with a suitable number.");
+        return errorMessage.toString();
+    }
+
     /** @return last lines of the currently parsed sequence for debugging purposes. */
     private String appendLastLines(final StringBuilder linesBuilder, final String sequence, final int line) {
         if (Strings.isEmpty(sequence)) {
@@ -867,4 +1420,49 @@ public abstract class AbstractLmlParser implements LmlParser {
         }
         this.debugLines = debugLines;
     }
+
+    /** Gives {@link ViewBinder} instances access to parsing results and annotation processing methods of the parser.
+     *
+     * @author MJ */
+    private class ParserViewBindingContext implements ViewBindingContext {
+        @Override
+        public LmlParser getParser() {
+            return AbstractLmlParser.this;
+        }
+
+        @Override
+        public Actor getActor(final String[] actorIds, final Object view, final String fieldName) {
+            return findSingleActor(actorIds, view, fieldName);
+        }
+
+        @Override
+        public Array<Actor> getArrayOfActors(final String[] actorIds) {
+            return findArrayOfActors(actorIds);
+        }
+
+        @Override
+        public ObjectSet<Actor> getSetOfActors(final String[] actorIds) {
+            return findSetOfActors(actorIds);
+        }
+
+        @Override
+        public ObjectMap<String, Actor> getMapOfActors(final String[] actorIds) {
+            return findMapOfActors(actorIds);
+        }
+
+        @Override
+        public void processOnChange(final Object view, final Field field, final String actorId) {
+            processOnChangeAnnotation(view, field, actorId);
+        }
+
+        @Override
+        public void processField(final Object owner, final Field field) {
+            processViewFieldAnnotations(owner, field);
+        }
+
+        @Override
+        public void bind(final Object value) {
+            processViewFieldAnnotations(value);
+        }
+    }
 }
@@ -23,7 +23,7 @@ import com.github.czyzby.lml.parser.impl.annotation.processor.SelectBoxOnChangeP
 import com.github.czyzby.lml.parser.impl.annotation.processor.SelectBoxSingleItemOnChangeProcessor;
 import com.github.czyzby.lml.parser.impl.annotation.processor.TextFieldOnChangeProcessor;
 import com.github.czyzby.lml.util.LmlUtilities;
-import com.github.czyzby.lml.util.collection.IgnoreCaseStringMap;
+import com.github.czyzby.lml.util.collection.CaseInsensitiveStringMap;
 
 /** Uses ignore-case maps to store LML parser arguments, i18n bundles, preferences, tooltip managers, actor consumers
  * and action containers. Provides Skin instance and registered on change processors.
@@ -35,13 +35,13 @@ public class DefaultLmlData implements LmlData {
     public static final String DEFAULT_KEY = Actors.DEFAULT_STYLE;
 
     private final Array<OnChangeProcessor> onChangeProcessors = GdxArrays.newArray();
-    private final ObjectMap<String, Skin> skins = new IgnoreCaseStringMap<Skin>();
-    private final ObjectMap<String, String> arguments = new IgnoreCaseStringMap<String>();
-    private final ObjectMap<String, I18NBundle> bundles = new IgnoreCaseStringMap<I18NBundle>();
-    private final ObjectMap<String, Preferences> preferences = new IgnoreCaseStringMap<Preferences>();
-    private final ObjectMap<String, TooltipManager> tooltipManagers = new IgnoreCaseStringMap<TooltipManager>();
-    private final ObjectMap<String, ActorConsumer<?, ?>> actorConsumers = new IgnoreCaseStringMap<ActorConsumer<?, ?>>();
-    private final ObjectMap<String, ActionContainerWrapper> actionContainers = new IgnoreCaseStringMap<ActionContainerWrapper>();
+    private final ObjectMap<String, Skin> skins = new CaseInsensitiveStringMap<Skin>();
+    private final ObjectMap<String, String> arguments = new CaseInsensitiveStringMap<String>();
+    private final ObjectMap<String, I18NBundle> bundles = new CaseInsensitiveStringMap<I18NBundle>();
+    private final ObjectMap<String, Preferences> preferences = new CaseInsensitiveStringMap<Preferences>();
+    private final ObjectMap<String, TooltipManager> tooltipManagers = new CaseInsensitiveStringMap<TooltipManager>();
+    private final ObjectMap<String, ActorConsumer<?, ?>> actorConsumers = new CaseInsensitiveStringMap<ActorConsumer<?, ?>>();
+    private final ObjectMap<String, ActionContainerWrapper> actionContainers = new CaseInsensitiveStringMap<ActionContainerWrapper>();
 
     /** Creates a new data container with default on change processors. If you have set global interface skin object
      * with Kiwi utilities, your selected skin will be used.
@@ -60,6 +60,30 @@ public class DefaultLmlData implements LmlData {
         addDefaultOnChangeProcessors();
     }
 
+    /** Creates a copy of the passed data container.
+     *
+     * @param data its registered values will be copied.
+     * @see #copy() */
+    protected DefaultLmlData(final DefaultLmlData data) {
+        onChangeProcessors.addAll(data.onChangeProcessors);
+        skins.putAll(data.skins);
+        arguments.putAll(data.arguments);
+        bundles.putAll(data.bundles);
+        preferences.putAll(data.preferences);
+        tooltipManagers.putAll(data.tooltipManagers);
+        actorConsumers.putAll(data.actorConsumers);
+        actionContainers.putAll(data.actionContainers);
+    }
+
+    /** @return a new data container with the same skins, arguments, i18n bundles, preferences, tooltip managers,
+     *         actions and on change processors. Arguments assigned during parsing (for example, by loop macros) do not
+     *         affect the original container, so each parser working on a separate thread can use its own copy of
+     *         shared data. Note that registered objects (like skins or action containers) are not copied. Synchronized,
+     *         since libGDX map iterators cannot be used by multiple threads at once. */
+    public synchronized DefaultLmlData copy() {
+        return new DefaultLmlData(this);
+    }
+
     /** Adds default on change processors. Warning: used by the constructor. */
     protected void addDefaultOnChangeProcessors() {
         onChangeProcessors.add(new ButtonOnChangeProcessor());
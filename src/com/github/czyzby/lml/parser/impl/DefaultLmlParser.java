@@ -1,27 +1,40 @@
 package com.github.czyzby.lml.parser.impl;
 
 import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.ui.Tree;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.github.czyzby.kiwi.util.common.Nullables;
 import com.github.czyzby.kiwi.util.common.Strings;
 import com.github.czyzby.kiwi.util.gdx.collection.GdxArrays;
+import com.github.czyzby.lml.parser.IncrementalViewCreation;
 import com.github.czyzby.lml.parser.LmlData;
 import com.github.czyzby.lml.parser.LmlSyntax;
 import com.github.czyzby.lml.parser.LmlTemplateReader;
+import com.github.czyzby.lml.parser.impl.tag.AbstractMacroLmlTag;
+import com.github.czyzby.lml.parser.impl.tag.ReusedActorLmlTag;
 import com.github.czyzby.lml.parser.impl.tag.macro.util.Equation;
 import com.github.czyzby.lml.parser.tag.LmlTag;
 import com.github.czyzby.lml.parser.tag.LmlTagProvider;
+import com.github.czyzby.lml.parser.template.LmlTemplate;
+import com.github.czyzby.lml.parser.template.LmlTemplateDiff;
+import com.github.czyzby.lml.parser.template.LmlTemplateNode;
 import com.github.czyzby.lml.util.LmlParsingException;
+import com.github.czyzby.lml.util.LmlUserObject;
 import com.github.czyzby.lml.util.LmlUtilities;
 
 /** Default implementation of LML parser.
  *
  * @author MJ */
 public class DefaultLmlParser extends AbstractLmlParser {
-    /** Helper variable. Keeps reference to currently nearest nested parent. Never a macro tag. */
-    private LmlTag currentParentTag;
-    /** Parsing result, cleared after each parsing. Kept as field to support {@link #addActor(Actor)}. */
-    private Array<Actor> actors;
+    /** State of the current parsing. Null if no template is being parsed. */
+    private ParsingContext context;
+    /** Data needed to reload views. Filled only if the parser is reloadable. */
+    private final IdentityMap<Object, ViewSnapshot> viewSnapshots = new IdentityMap<Object, ViewSnapshot>();
 
     /** Creates a new strict parser with default syntax and reader.
      *
@@ -59,19 +72,38 @@ public class DefaultLmlParser extends AbstractLmlParser {
         super(data, syntax, templateReader, strict);
     }
 
+    @Override
+    public void setReloadable(final boolean reloadable) {
+        super.setReloadable(reloadable);
+        if (!reloadable) {
+            viewSnapshots.clear();
+        }
+    }
+
+    /** @param view if the parser is reloadable, it keeps references to the view's template and actors. This method
+     *            removes them. The view can no longer be reloaded, unless it is created again. */
+    public void forgetView(final Object view) {
+        viewSnapshots.remove(view);
+    }
+
     @Override
     public void addActor(final Actor actor) {
-        if (actors == null) {
+        if (context == null) {
             throw new IllegalStateException("Actors can be added to result collection only during parsing.");
         }
-        actors.add(actor);
+        context.actors.add(actor);
         mapActorById(actor);
     }
 
     @Override
     protected Array<Actor> parseTemplate() {
+        final ParsingContext previousContext = beginParsing(null);
         try {
-            return parse();
+            final String templateName = templateReader.getCurrentTemplateName();
+            final long start = notifyTemplateStart(templateName);
+            final Array<Actor> actors = parse();
+            notifyTemplateEnd(templateName, start);
+            return actors;
         } catch (final LmlParsingException exception) {
             // Expected exception.
             throw exception;
@@ -80,46 +112,408 @@ public class DefaultLmlParser extends AbstractLmlParser {
             throwError("Unable to parse passed template due to an unexpected exception.", exception);
             return null;
         } finally {
-            currentParentTag = null; // Making sure there are no tags from invalid templates.
             templateReader.clear(); // If an exception was thrown, we no longer want to parse the template content;
                                     // if no error occurred, template reader has no data and this is a safe no-op.
-            actors = null; // Nulling out helper actors array reference. This is the parsing result we want to return.
+            endParsing(previousContext); // Making sure there are no tags from invalid templates.
+        }
+    }
+
+    /** @param templateName name of the template that is about to be parsed.
+     * @return start time of template parsing in nanoseconds if a listener is registered; 0 otherwise. */
+    private long notifyTemplateStart(final String templateName) {
+        if (listener == null) {
+            return 0L;
+        }
+        listener.onTemplateStart(this, templateName);
+        return TimeUtils.nanoTime();
+    }
+
+    /** @param templateName name of the template that was just parsed.
+     * @param start start time of template parsing, as returned by {@link #notifyTemplateStart(String)}. */
+    private void notifyTemplateEnd(final String templateName, final long start) {
+        if (listener != null) {
+            listener.onTemplateEnd(this, templateName, TimeUtils.nanoTime() - start);
         }
     }
 
+    /** Prepares a new parsing context. If the syntax is frozen, a new registration scope is opened.
+     *
+     * @param template compiled template that is going to be instantiated. Null if the template is parsed from the
+     *            reader.
+     * @return previous parsing context, if the parser was already parsing another template. Should be passed to
+     *         {@link #endParsing(ParsingContext)}. */
+    protected ParsingContext beginParsing(final LmlTemplate template) {
+        final ParsingContext previousContext = context;
+        context = createParsingContext();
+        context.template = template;
+        context.originalSyntax = openSyntaxScope();
+        return previousContext;
+    }
+
+    /** @return a new instance of parsing state container. */
+    protected ParsingContext createParsingContext() {
+        return new ParsingContext();
+    }
+
+    /** Discards the current parsing context, closing its registration scope.
+     *
+     * @param previousContext will be restored. Null if no other template was being parsed. */
+    protected void endParsing(final ParsingContext previousContext) {
+        closeSyntaxScope(context.originalSyntax);
+        context = previousContext;
+    }
+
+    @Override
+    protected LmlTemplate getCurrentTemplate() {
+        return context == null ? null : context.template;
+    }
+
+    @Override
+    protected int getCurrentTemplateOffset() {
+        return context == null ? 0 : context.templateOffset;
+    }
+
     /** Does the actual parsing
      *
      * @return actor parsed from LML template currently stored in the template reader. */
     protected Array<Actor> parse() {
-        actors = GdxArrays.newArray(Actor.class);
-        final StringBuilder builder = new StringBuilder();
+        readTemplate(context.textBuilder);
+        if (context.currentParentTag != null) {
+            throwError('"' + context.currentParentTag.getTagName() + "\" tag was never closed.");
+        }
+        return context.actors;
+    }
+
+    /** Parses all characters currently stored in the template reader.
+     *
+     * @param builder contains text that was not yet passed to any tag. Text left after the last tag will remain in the
+     *            builder. */
+    protected void readTemplate(final StringBuilder builder) {
+        final char argumentOpening = syntax.getArgumentOpening();
+        final char tagOpening = syntax.getTagOpening();
         while (templateReader.hasNextCharacter()) {
             final char character = templateReader.nextCharacter();
-            if (character == syntax.getArgumentOpening()) {
+            if (character == argumentOpening) {
                 // Found an argument opening. This needs to be replaced.
                 processArgument();
-            } else if (character == syntax.getTagOpening()) {
+            } else if (character == tagOpening) {
                 // Tag was just opened. This might be a comment, though.
                 if (isNextCharacterCommentOpening()) {
                     processComment();
                     continue;
                 }
                 // This is not a comment, since we're there. Parsing a new tag.
-                if (currentParentTag != null) {
-                    currentParentTag.handleDataBetweenTags(builder.toString());
-                }
-                Strings.clearBuilder(builder);
+                flushText(builder);
                 processTag(builder);
             } else { // Just your regular letter outside of a tag:
                 builder.append(character);
             }
         }
-        if (currentParentTag != null) {
-            throwError('"' + currentParentTag.getTagName() + "\" tag was never closed.");
+    }
+
+    /** @param builder contains text between tags. Will be passed to the current parent (if there is any) and cleared. */
+    private void flushText(final StringBuilder builder) {
+        if (context.currentParentTag != null) {
+            context.currentParentTag.handleDataBetweenTags(builder.toString());
+        }
+        Strings.clearBuilder(builder);
+    }
+
+    @Override
+    protected Array<Actor> instantiateTemplate(final LmlTemplate template) {
+        return instantiateTemplate(template, null, null);
+    }
+
+    @Override
+    protected <View> Array<Actor> instantiateViewTemplate(final View view, final LmlTemplate template) {
+        return reloadable ? instantiateTemplate(template, view, null) : instantiateTemplate(template);
+    }
+
+    @Override
+    protected <View> Array<Actor> reloadViewTemplate(final View view, final LmlTemplate template) {
+        final ViewSnapshot snapshot = viewSnapshots.get(view);
+        if (snapshot == null) {
+            // View was not created by this parser or the parser was not reloadable at the time.
+            return instantiateViewTemplate(view, template);
+        }
+        final Array<Actor> actors = instantiateTemplate(template, view,
+                LmlTemplateDiff.findUnchangedSubtrees(snapshot.template, snapshot.nodeActors, template,
+                        getSyntax()));
+        for (final Actor previousRootActor : snapshot.rootActors) {
+            if (!actors.contains(previousRootActor, true)) {
+                // Replaced root actor: detached from its parent (usually a stage).
+                previousRootActor.remove();
+            }
         }
         return actors;
     }
 
+    /** @param template will be instantiated.
+     * @param view if not null, actors created by template tags will be tracked, so the view can be reloaded.
+     * @param reusableActors optional actors that should be reused instead of instantiating template subtrees, mapped by
+     *            indexes of the subtrees' root nodes.
+     * @return parsed root actors. */
+    private Array<Actor> instantiateTemplate(final LmlTemplate template, final Object view,
+            final IntMap<Actor> reusableActors) {
+        final ParsingContext previousContext = beginParsing(template);
+        try {
+            if (view != null) {
+                context.nodeActors = new IntMap<Actor>();
+                context.reusableActors = reusableActors;
+            }
+            final long start = notifyTemplateStart(template.getName());
+            final StringBuilder builder = context.textBuilder;
+            for (int index = 0, size = template.size(); index < size; index++) {
+                if (reusableActors != null) {
+                    final Actor actor = reusableActors.get(index);
+                    if (actor != null && canReuseActor(context.currentParentTag, actor)) {
+                        flushText(builder);
+                        reuseActor(template.getNode(index), actor);
+                        context.nodeActors.put(index, actor);
+                        index = LmlTemplateDiff.getSubtreeEnd(template, index);
+                        continue;
+                    }
+                }
+                processNode(index, builder);
+            }
+            if (context.currentParentTag != null) {
+                throwError('"' + context.currentParentTag.getTagName() + "\" tag was never closed.");
+            }
+            if (view != null) {
+                viewSnapshots.put(view,
+                        new ViewSnapshot(template, context.nodeActors, new Array<Actor>(context.actors)));
+            }
+            notifyTemplateEnd(template.getName(), start);
+            return context.actors;
+        } catch (final LmlParsingException exception) {
+            // Expected exception.
+            throw exception;
+        } catch (final Exception exception) {
+            // Unexpected exception. Rethrowing as our own to point the error line.
+            throwError("Unable to instantiate passed template due to an unexpected exception.", exception);
+            return null;
+        } finally {
+            templateReader.clear();
+            endParsing(previousContext);
+        }
+    }
+
+    /** @param parentTag will become the new parent of the actor. Null if the actor is a root.
+     * @param actor was created by an unchanged part of the reloaded template.
+     * @return true if the actor can be attached to the parent without being recreated. By default, returns false for
+     *         tree nodes, as they require additional data created along with their tags. */
+    protected boolean canReuseActor(final LmlTag parentTag, final Actor actor) {
+        return parentTag == null || !(parentTag.getActor() instanceof Tree);
+    }
+
+    /** @param node template node that originally created the actor.
+     * @param actor will be attached to the current parent or added to the result collection. */
+    private void reuseActor(final LmlTemplateNode node, final Actor actor) {
+        if (context.currentParentTag != null) {
+            // Root actors stay attached to their current parents (usually stages). Children are detached from the
+            // previous parents, which are going to be discarded; their cells are no longer valid.
+            actor.remove();
+            final LmlUserObject userObject = LmlUtilities.getOptionalLmlUserObject(actor);
+            if (userObject != null) {
+                userObject.setCell(null);
+            }
+        }
+        context.preparedTagData = node.getData();
+        context.preparedTagEntities = node.getEntities();
+        final LmlTag tag;
+        try {
+            tag = new ReusedActorLmlTag(this, context.currentParentTag, node.getData(), actor);
+        } finally {
+            context.preparedTagData = null;
+            context.preparedTagEntities = null;
+        }
+        if (context.currentParentTag == null) {
+            context.actors.add(actor);
+        } else {
+            context.currentParentTag.handleChild(tag);
+        }
+        mapReusedActorIds(actor);
+    }
+
+    /** @param actor reused actor. Will be mapped by its ID along with all its children. */
+    private void mapReusedActorIds(final Actor actor) {
+        mapActorById(actor);
+        if (actor instanceof Group) {
+            for (final Actor child : ((Group) actor).getChildren()) {
+                mapReusedActorIds(child);
+            }
+        }
+    }
+
+    @Override
+    protected <View> IncrementalViewCreation<View> instantiateTemplateIncrementally(final LmlTemplate template,
+            final View view, final long budgetMillis) {
+        return new IncrementalInstantiation<View>(template, view, budgetMillis);
+    }
+
+    /** @param index index of the compiled template node that should be processed.
+     * @param builder contains text that was not yet passed to any tag. */
+    private void processNode(final int index, final StringBuilder builder) {
+        final LmlTemplateNode node = context.template.getNode(index);
+        context.templateOffset = node.getOffset();
+        if (node.isDynamic()) {
+            // Node contains arguments. Parsing its content as a regular template.
+            templateReader.append(node.getData(), context.template.getName());
+            readTemplate(builder);
+            return;
+        }
+        switch (node.getType()) {
+            case TEXT:
+                builder.append(node.getData());
+                return;
+            case TAG:
+                flushText(builder);
+                final LmlTag tag = processRegularTag(node.getName(), node.getData(), node.getEntities());
+                if (context.nodeActors != null && tag.getActor() != null && !tag.isAttachable()) {
+                    context.nodeActors.put(index, tag.getActor());
+                }
+                break;
+            case CLOSING_TAG:
+                flushText(builder);
+                processClosedTag(node.getName());
+                break;
+            case MACRO:
+                flushText(builder);
+                processCompiledMacro(node, node.getContent());
+                break;
+        }
+        if (templateReader.hasNextCharacter()) {
+            // Macros and tags might have appended some text to parse.
+            readTemplate(builder);
+        }
+    }
+
+    @Override
+    public boolean processTemplatePart(final LmlTemplate templatePart, final ObjectMap<String, String> macroArguments) {
+        if (context == null) {
+            throw new IllegalStateException("Template parts can be processed only during parsing.");
+        } else if (templateReader.hasNextCharacter()) {
+            // Reader contains the rest of the currently parsed template. Reading appended dynamic nodes would also
+            // consume the data that should be parsed after the part.
+            return false;
+        }
+        final StringBuilder builder = context.textBuilder;
+        for (int index = 0, size = templatePart.size(); index < size; index++) {
+            final LmlTemplateNode node = templatePart.getNode(index);
+            if (node.isDynamic()) {
+                // Node contains macro or regular arguments. Parsing its content as a regular template.
+                templateReader.append(replaceArguments(node.getData(), macroArguments), templatePart.getName());
+                readTemplate(builder);
+                continue;
+            }
+            switch (node.getType()) {
+                case TEXT:
+                    builder.append(node.getData());
+                    continue;
+                case TAG:
+                    flushText(builder);
+                    processRegularTag(node.getName(), node.getData(), node.getEntities());
+                    break;
+                case CLOSING_TAG:
+                    flushText(builder);
+                    processClosedTag(node.getName());
+                    break;
+                case MACRO:
+                    // Tag data of static macros has no arguments, but their content might.
+                    flushText(builder);
+                    processCompiledMacro(node, replaceArguments(node.getContent(), macroArguments));
+                    break;
+            }
+            if (templateReader.hasNextCharacter()) {
+                // Macros and tags might have appended some text to parse.
+                readTemplate(builder);
+            }
+        }
+        return true;
+    }
+
+    /** @param content might contain macro arguments. Can be null.
+     * @param macroArguments optional macro arguments.
+     * @return content with replaced macro arguments. */
+    private String replaceArguments(final String content, final ObjectMap<String, String> macroArguments) {
+        if (content == null || macroArguments == null || macroArguments.size == 0) {
+            return content;
+        }
+        return LmlUtilities.replaceArguments(content, macroArguments, syntax);
+    }
+
+    /** @param node compiled, static macro node.
+     * @param content content of the macro. Might differ from the node's content if macro arguments were replaced. Null
+     *            if the macro is a child. */
+    private void processCompiledMacro(final LmlTemplateNode node, final String content) {
+        final LmlTagProvider tagProvider = syntax.getMacroTagProvider(node.getName());
+        if (tagProvider == null) {
+            throwError("No macro tag provider found for name: " + node.getName());
+        }
+        final long start = listener == null ? 0L : TimeUtils.nanoTime();
+        final LmlTag macroTag = createTag(tagProvider, node.getData(), node.getEntities());
+        if (macroTag.isChild() || content == null) {
+            closeMacro(macroTag, start);
+            return;
+        }
+        if (Strings.isNotEmpty(content)) {
+            macroTag.handleDataBetweenTags(content);
+        }
+        closeMacro(macroTag, start);
+    }
+
+    /** @param macroTag will be closed.
+     * @param start time of macro processing start in nanoseconds. Used only if a listener is registered. */
+    private void closeMacro(final LmlTag macroTag, final long start) {
+        macroTag.closeTag();
+        if (listener != null) {
+            final int expandedLength = macroTag instanceof AbstractMacroLmlTag
+                    ? ((AbstractMacroLmlTag) macroTag).getAppendedTextLength() : 0;
+            listener.onMacroExpanded(this, macroTag, expandedLength, TimeUtils.nanoTime() - start);
+        }
+    }
+
+    /** @param tag regular tag. Will be closed. */
+    private void closeTag(final LmlTag tag) {
+        if (listener == null) {
+            tag.closeTag();
+            return;
+        }
+        final long start = TimeUtils.nanoTime();
+        tag.closeTag();
+        listener.onTagClosed(this, tag, TimeUtils.nanoTime() - start);
+    }
+
+    /** @param tagProvider will create the tag.
+     * @param rawTagData raw data of the tag.
+     * @param entities optional pre-split tag data. If null, tag data will be split by the tag.
+     * @return a new tag instance. */
+    private LmlTag createTag(final LmlTagProvider tagProvider, final String rawTagData, final String[] entities) {
+        if (entities == null) {
+            return tagProvider.create(this, context.currentParentTag, rawTagData);
+        }
+        context.preparedTagData = rawTagData;
+        context.preparedTagEntities = entities;
+        try {
+            return tagProvider.create(this, context.currentParentTag, rawTagData);
+        } finally {
+            context.preparedTagData = null;
+            context.preparedTagEntities = null;
+        }
+    }
+
+    @Override
+    public String[] extractTagEntities(final String rawTagData) {
+        if (context != null && context.preparedTagEntities != null && rawTagData == context.preparedTagData) {
+            // Tag data comes from a compiled template and was already split.
+            final String[] entities = context.preparedTagEntities;
+            context.preparedTagData = null;
+            context.preparedTagEntities = null;
+            return entities;
+        }
+        return super.extractTagEntities(rawTagData);
+    }
+
     /** Found an argument opening sign. Have to find argument's name and replace it in the template. */
     private void processArgument() {
         final StringBuilder argumentNameBuilder = new StringBuilder();
@@ -130,9 +524,9 @@ public class DefaultLmlParser extends AbstractLmlParser {
                 if (Strings.startsWith(argument, syntax.getEquationMarker())) {
                     // Starts with an equation sign. Evaluating.
                     final String equation = LmlUtilities.stripMarker(argument);
-                    templateReader
-                            .append(new Equation(this, currentParentTag == null ? null : currentParentTag.getActor())
-                                    .getResult(equation), equation + " equation");
+                    final Actor parentActor = context.currentParentTag == null ? null
+                            : context.currentParentTag.getActor();
+                    templateReader.append(new Equation(this, parentActor).getResult(equation), equation + " equation");
                 } else { // Regular argument. Looking for value mapped to the selected key.
                     templateReader.append(Nullables.toString(data.getArgument(argument)), argument + " argument");
                 }
@@ -227,7 +621,7 @@ public class DefaultLmlParser extends AbstractLmlParser {
             // Regular tag.
             final String tagName = LmlUtilities // Stripping last character if the tag is immediately closed: <tag/>.
                     .stripEnding(rawTagData.substring(0, tagNameEndIndex), syntax.getClosedTagMarker()).trim();
-            processRegularTag(tagName, rawTagData);
+            processRegularTag(tagName, rawTagData, null);
         }
     }
 
@@ -245,39 +639,41 @@ public class DefaultLmlParser extends AbstractLmlParser {
 
     /** @param closedTagName is the currently closed tag. */
     private void processClosedTag(final String closedTagName) {
-        if (currentParentTag == null) {
+        if (context.currentParentTag == null) {
             throwErrorIfStrict("There were no open tags, and yet: \"" + closedTagName + "\" is a closed parental tag.");
             return;
-        } else if (!currentParentTag.getTagName().equals(closedTagName)) {
-            if (strict || !strict && !currentParentTag.getTagName().equalsIgnoreCase(closedTagName)) {
-                throwError("Tag: \"" + closedTagName + "\" was closed, but: \"" + currentParentTag.getTagName()
+        } else if (!context.currentParentTag.getTagName().equals(closedTagName)) {
+            if (strict || !strict && !context.currentParentTag.getTagName().equalsIgnoreCase(closedTagName)) {
+                throwError("Tag: \"" + closedTagName + "\" was closed, but: \"" + context.currentParentTag.getTagName()
                         + "\" was expected.");
             }
         }
-        currentParentTag.closeTag();
-        final LmlTag grandParent = currentParentTag.getParent();
+        closeTag(context.currentParentTag);
+        final LmlTag grandParent = context.currentParentTag.getParent();
         if (grandParent == null) { // Tag was a root.
-            if (currentParentTag.getActor() != null) {
-                actors.add(currentParentTag.getActor());
+            if (context.currentParentTag.getActor() != null) {
+                context.actors.add(context.currentParentTag.getActor());
             }
         } else { // Tag had a parent.
-            grandParent.handleChild(currentParentTag);
+            grandParent.handleChild(context.currentParentTag);
         }
-        mapActorById(currentParentTag.getActor());
-        currentParentTag = grandParent;
+        mapActorById(context.currentParentTag.getActor());
+        context.currentParentTag = grandParent;
     }
 
     /** @param macroName name of the macro tag to be parsed.
      * @param rawTagData raw data of the macro tag.
-     * @param builder used to append data between macro tags. Cleared afterwards. */
+     * @param builder used to append data between macro tags. Cleared before the content is passed to the macro, as
+     *            the macro might process its content in place. */
     private void processMacro(final String macroName, final String rawTagData, final StringBuilder builder) {
         final LmlTagProvider tagProvider = syntax.getMacroTagProvider(macroName);
         if (tagProvider == null) {
             throwError("No macro tag provider found for name: " + macroName);
         }
-        final LmlTag macroTag = tagProvider.create(this, currentParentTag, rawTagData);
+        final long start = listener == null ? 0L : TimeUtils.nanoTime();
+        final LmlTag macroTag = tagProvider.create(this, context.currentParentTag, rawTagData);
         if (macroTag.isChild()) { // Immediately closing the tag, since it's a child.
-            macroTag.closeTag();
+            closeMacro(macroTag, start);
             return;
         }
         int sameNameNestedMacrosAmount = 1; // We start with just our own macro.
@@ -309,11 +705,11 @@ public class DefaultLmlParser extends AbstractLmlParser {
             throwError("Macro tag not closed: " + macroTag.getTagName());
         }
         final String content = builder.toString();
+        Strings.clearBuilder(builder);
         if (Strings.isNotEmpty(content)) {
             macroTag.handleDataBetweenTags(content);
         }
-        Strings.clearBuilder(builder);
-        macroTag.closeTag();
+        closeMacro(macroTag, start);
     }
 
     /** @param charactersAmount amount of characters to be removed from the reader. */
@@ -356,7 +752,8 @@ public class DefaultLmlParser extends AbstractLmlParser {
                 final String closedTagName = tagNameBuilder.toString().trim();
                 if (macroTag.getTagName().equals(closedTagName)
                         || !strict && macroTag.getTagName().equalsIgnoreCase(closedTagName)) {
-                    return additionalIndexesToPeek;
+                    return character == syntax.getTagClosing() ? additionalIndexesToPeek
+                            : getTagClosingIndexesAmount(additionalIndexesToPeek);
                 }
                 // Names don't match.
                 return -1;
@@ -368,6 +765,17 @@ public class DefaultLmlParser extends AbstractLmlParser {
         return -1;
     }
 
+    /** @param additionalIndexesToPeek current character pointer, inside a tag.
+     * @return amount of characters that have to be burned to remove the whole tag, including its closing marker. */
+    private int getTagClosingIndexesAmount(int additionalIndexesToPeek) {
+        while (templateReader.hasNextCharacter(additionalIndexesToPeek)) {
+            if (templateReader.peekCharacter(additionalIndexesToPeek++) == syntax.getTagClosing()) {
+                break;
+            }
+        }
+        return additionalIndexesToPeek;
+    }
+
     /** @param additionalIndexesToPeek current character pointer to check.
      * @return true if currently parsed macro tag is a child. */
     private boolean isCurrentMacroTagChild(int additionalIndexesToPeek) {
@@ -402,28 +810,193 @@ public class DefaultLmlParser extends AbstractLmlParser {
     }
 
     /** @param tagName name of the tag to be parsed.
-     * @param rawTagData raw data of a regular widget tag. */
-    private void processRegularTag(final String tagName, final String rawTagData) {
+     * @param rawTagData raw data of a regular widget tag.
+     * @param entities optional pre-split tag data.
+     * @return created tag. */
+    private LmlTag processRegularTag(final String tagName, final String rawTagData, final String[] entities) {
         final LmlTagProvider tagProvider = syntax.getTagProvider(tagName);
         if (tagProvider == null) {
             throwError("No tag parser found for name: " + tagName);
         }
-        final LmlTag tag = tagProvider.create(this, currentParentTag, rawTagData);
+        final long start = listener == null ? 0L : TimeUtils.nanoTime();
+        final LmlTag tag = createTag(tagProvider, rawTagData, entities);
+        if (listener != null) {
+            listener.onTagCreated(this, tag, TimeUtils.nanoTime() - start);
+        }
         if (tag.isParent()) {
-            currentParentTag = tag;
+            context.currentParentTag = tag;
         } else {
             // The tag is a child, so we're closing it immediately.
-            tag.closeTag();
-            if (currentParentTag != null) {
+            closeTag(tag);
+            if (context.currentParentTag != null) {
                 // Tag is child - adding to current parent:
-                currentParentTag.handleChild(tag);
+                context.currentParentTag.handleChild(tag);
             } else {
                 // Tag is a root - adding to the result:
                 if (tag.getActor() != null) {
-                    actors.add(tag.getActor());
+                    context.actors.add(tag.getActor());
                 }
             }
             mapActorById(tag.getActor());
         }
+        return tag;
+    }
+
+    /** Instantiates a compiled template over multiple updates. Keeps its own parsing context and registration scope,
+     * which are restored only for the duration of each update, so the parser can be used to parse other templates
+     * between the updates.
+     *
+     * @author MJ
+     *
+     * @param <View> class of the created view. */
+    protected class IncrementalInstantiation<View> implements IncrementalViewCreation<View> {
+        private final LmlTemplate template;
+        private final View view;
+        private final long budgetNanos;
+        private final ParsingContext parsingContext;
+        private final LmlSyntax parsingSyntax;
+        private int nodeIndex;
+        /** Total processing time of all updates. Measured only if a listener is registered. */
+        private long processingNanos;
+        private boolean started;
+        private boolean finished;
+        private boolean failed;
+
+        /** @param template will be instantiated.
+         * @param view will be filled after the template is instantiated.
+         * @param budgetMillis approximate time in milliseconds of a single update. */
+        public IncrementalInstantiation(final LmlTemplate template, final View view, final long budgetMillis) {
+            this.template = template;
+            this.view = view;
+            budgetNanos = budgetMillis * 1000000L;
+            final ParsingContext previousContext = beginParsing(template);
+            parsingContext = context;
+            parsingSyntax = syntax;
+            endParsing(previousContext);
+        }
+
+        @Override
+        public boolean update() {
+            if (finished) {
+                return true;
+            } else if (failed) {
+                throw new IllegalStateException("View creation failed and cannot be continued.");
+            }
+            final ParsingContext previousContext = context;
+            final LmlSyntax previousSyntax = syntax;
+            context = parsingContext;
+            syntax = parsingSyntax;
+            final long start = TimeUtils.nanoTime();
+            try {
+                if (!started) {
+                    started = true;
+                    if (listener != null) {
+                        listener.onTemplateStart(DefaultLmlParser.this, template.getName());
+                    }
+                }
+                final long deadline = start + budgetNanos;
+                for (final int size = template.size(); nodeIndex < size;) {
+                    processNode(nodeIndex++, context.textBuilder);
+                    if (TimeUtils.nanoTime() >= deadline) {
+                        break;
+                    }
+                }
+                if (nodeIndex >= template.size()) {
+                    if (context.currentParentTag != null) {
+                        throwError('"' + context.currentParentTag.getTagName() + "\" tag was never closed.");
+                    }
+                    finished = true;
+                }
+                processingNanos += TimeUtils.nanoTime() - start;
+                if (finished && listener != null) {
+                    listener.onTemplateEnd(DefaultLmlParser.this, template.getName(), processingNanos);
+                }
+            } catch (final LmlParsingException exception) {
+                failed = true;
+                throw exception;
+            } catch (final Exception exception) {
+                failed = true;
+                throwError("Unable to instantiate passed template due to an unexpected exception.", exception);
+            } finally {
+                templateReader.clear();
+                context = previousContext;
+                syntax = previousSyntax;
+            }
+            if (finished) {
+                finishViewCreation(view, parsingContext.actors);
+            }
+            return finished;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public float getProgress() {
+            final int size = template.size();
+            return size == 0 ? (finished ? 1f : 0f) : (float) nodeIndex / size;
+        }
+
+        @Override
+        public View getView() {
+            return view;
+        }
+
+        @Override
+        public Array<Actor> getActors() {
+            return parsingContext.actors;
+        }
+    }
+
+    /** Contains state of a single parsing. A new context is created each time a template is parsed or instantiated and
+     * discarded afterwards, so no parsing state outlives the parsed template. Can be extended to store additional
+     * state of custom parser implementations.
+     *
+     * @author MJ
+     * @see DefaultLmlParser#createParsingContext() */
+    protected static class ParsingContext {
+        /** Parsing result. Kept in the context to support {@link DefaultLmlParser#addActor(Actor)}. */
+        protected final Array<Actor> actors = GdxArrays.newArray(Actor.class);
+        /** Contains text that was not yet passed to any tag. Shared by the whole parsing, so text processed in place of
+         * macros is merged with the text that follows them. */
+        protected final StringBuilder textBuilder = new StringBuilder();
+        /** Keeps reference to currently nearest nested parent. Never a macro tag. */
+        protected LmlTag currentParentTag;
+        /** Compiled template that is currently instantiated. Null if the template is parsed from the reader. */
+        protected LmlTemplate template;
+        /** Character offset of the currently processed node of the compiled template in its source. Used to report
+         * the line of the node. */
+        protected int templateOffset;
+        /** Keep pre-split entities of the compiled tag that is currently being created. */
+        protected String preparedTagData;
+        protected String[] preparedTagEntities;
+        /** Syntax used by the parser before the parsing. Restored after the parsing. */
+        protected LmlSyntax originalSyntax;
+        /** Actors created by regular tags of the compiled template, mapped by node indexes. Null if not tracked. */
+        protected IntMap<Actor> nodeActors;
+        /** Actors reused by a reloaded view, mapped by indexes of template nodes that they replace. Null if the
+         * template is not reloaded. */
+        protected IntMap<Actor> reusableActors;
+    }
+
+    /** Contains data needed to reload a view.
+     *
+     * @author MJ */
+    protected static class ViewSnapshot {
+        /** The last template used to create the view. */
+        protected final LmlTemplate template;
+        /** Actors created by regular tags of the template, mapped by node indexes. */
+        protected final IntMap<Actor> nodeActors;
+        /** Root actors of the view. Detached from their parents if they are not reused after reloading. */
+        protected final Array<Actor> rootActors;
+
+        public ViewSnapshot(final LmlTemplate template, final IntMap<Actor> nodeActors,
+                final Array<Actor> rootActors) {
+            this.template = template;
+            this.nodeActors = nodeActors;
+            this.rootActors = rootActors;
+        }
     }
 }
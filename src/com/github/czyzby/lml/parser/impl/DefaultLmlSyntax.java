@@ -254,6 +254,7 @@ import com.github.czyzby.lml.parser.impl.tag.macro.provider.ImportClasspathLmlMa
 import com.github.czyzby.lml.parser.impl.tag.macro.provider.ImportExternallLmlMacroTagProvider;
 import com.github.czyzby.lml.parser.impl.tag.macro.provider.ImportInternalLmlMacroTagProvider;
 import com.github.czyzby.lml.parser.impl.tag.macro.provider.ImportLocalLmlMacroTagProvider;
+import com.github.czyzby.lml.parser.impl.tag.macro.provider.LazyLmlMacroTagProvider;
 import com.github.czyzby.lml.parser.impl.tag.macro.provider.LoggerDebugLmlMacroTagProvider;
 import com.github.czyzby.lml.parser.impl.tag.macro.provider.LoggerErrorLmlMacroTagProvider;
 import com.github.czyzby.lml.parser.impl.tag.macro.provider.LoggerInfoLmlMacroTagProvider;
@@ -270,7 +271,7 @@ import com.github.czyzby.lml.parser.tag.LmlActorBuilder;
 import com.github.czyzby.lml.parser.tag.LmlAttribute;
 import com.github.czyzby.lml.parser.tag.LmlBuildingAttribute;
 import com.github.czyzby.lml.parser.tag.LmlTagProvider;
-import com.github.czyzby.lml.util.collection.IgnoreCaseStringMap;
+import com.github.czyzby.lml.util.collection.CaseInsensitiveStringMap;
 
 /** Represents default LML syntax. This class can be overridden to change some parts of LML syntax; note that core LML
  * syntax structures change would basically require another parser implementation, but if all you need is to change
@@ -281,18 +282,28 @@ public class DefaultLmlSyntax implements LmlSyntax {
     /** Default syntax object instance. Since tag providers are usually stateless and immutable, this instance can be
      * shared among multiple LML parsers. However, macro tag providers can be created at runtime by using custom macros
      * created directly in LML templates. Note that because of this there MIGHT be collisions if multiple templates
-     * define custom macros with the same name, so use concurrently with care. */
+     * define custom macros with the same name, so use concurrently with care - or create a separate syntax instance
+     * and {@link #freeze()} it. */
     public static final LmlSyntax INSTANCE = new DefaultLmlSyntax();
 
     /** Key: tag name (ignoring case); value: tag provider. */
-    private final ObjectMap<String, LmlTagProvider> tagProviders = new IgnoreCaseStringMap<LmlTagProvider>();
+    private final ObjectMap<String, LmlTagProvider> tagProviders = new CaseInsensitiveStringMap<LmlTagProvider>();
     /** Key: tag name (ignoring case); value: macro tag provider. */
-    private final ObjectMap<String, LmlTagProvider> macroTagProviders = new IgnoreCaseStringMap<LmlTagProvider>();
+    private final ObjectMap<String, LmlTagProvider> macroTagProviders = new CaseInsensitiveStringMap<LmlTagProvider>();
     /** Key: class of actor; value: map with attributes assigned to the widget (key: attribute name, ignoring case). */
     private final ObjectMap<Class<?>, ObjectMap<String, LmlAttribute<?>>> attributeProcessors = getLazyMapOfIgnoreCaseMaps();
     /** Key: class of actor builder; value: map with building attributes assigned to the builder (key: attribute name,
      * ignoring case, value: processor). */
     private final ObjectMap<Class<?>, ObjectMap<String, LmlBuildingAttribute<?>>> buildingAttributeProcessors = getLazyMapOfIgnoreCaseMaps();
+    /** Marks attributes that have no processors in the resolved processors caches. */
+    private static final Object NO_PROCESSOR = new Object();
+    /** Resolved attribute processors, mapped by actor classes and attribute names. */
+    private final ResolvedProcessors<LmlAttribute<?>> resolvedAttributeProcessors = new ResolvedProcessors<LmlAttribute<?>>(
+            attributeProcessors);
+    /** Resolved building attribute processors, mapped by builder classes and attribute names. */
+    private final ResolvedProcessors<LmlBuildingAttribute<?>> resolvedBuildingAttributeProcessors = new ResolvedProcessors<LmlBuildingAttribute<?>>(
+            buildingAttributeProcessors);
+    private volatile boolean frozen;
 
     /** Constructs a new instance of default syntax, with default tag and attributes registered. */
     public DefaultLmlSyntax() {
@@ -300,15 +311,39 @@ public class DefaultLmlSyntax implements LmlSyntax {
         registerAttributes();
     }
 
+    /** Freezes the syntax: from now on, tags, macros and attributes can no longer be registered or removed, and the
+     * syntax can be safely shared by multiple parsers working on different threads. Parsers using a frozen syntax
+     * register tags, macros and attributes defined in templates (for example, with macros like "macro" or "newTag")
+     * in a {@link ScopedLmlSyntax} that is discarded after the template is parsed. This means that global custom
+     * macros should be defined before freezing the syntax - for example, by parsing a template with macro definitions.
+     * Freezing cannot be undone. */
+    public void freeze() {
+        frozen = true;
+    }
+
+    /** @return true if the syntax was frozen and cannot be modified.
+     * @see #freeze() */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /** @throws IllegalStateException if the syntax is frozen. */
+    protected void validateNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException(
+                    "Syntax is frozen and cannot be modified. Register tags, macros and attributes before freezing it.");
+        }
+    }
+
     /** @return a new instance of object map storing maps with keys as values, ignoring their case. Utility provider. */
     private static <Key, Value> ObjectMap<Key, ObjectMap<String, Value>> getLazyMapOfIgnoreCaseMaps() {
-        // This map returns a new IgnoreCaseStringMap on each get(Key) call if there is no map assigned to the passed
+        // This map returns a new CaseInsensitiveStringMap on each get(Key) call if there is no map assigned to the passed
         // key. This is very convenient for maps of collections, as you do not have to go through the whole lazy
         // initiation process.
         return LazyObjectMap.newMap(new ObjectProvider<ObjectMap<String, Value>>() {
             @Override
             public ObjectMap<String, Value> provide() {
-                return new IgnoreCaseStringMap<Value>();
+                return new CaseInsensitiveStringMap<Value>();
             }
         });
     }
@@ -383,6 +418,7 @@ public class DefaultLmlSyntax implements LmlSyntax {
                 "internalImport", "internalInclude", "internalRequire", "internalTemplate");
         addMacroTagProvider(new ImportLocalLmlMacroTagProvider(), "localImport", "localInclude", "localRequire",
                 "localTemplate");
+        addMacroTagProvider(new LazyLmlMacroTagProvider(), "lazy", "lazyLoad", "deferred");
         addMacroTagProvider(new LoggerDebugLmlMacroTagProvider(), "debug", "logDebug", "trace", "logTrace");
         addMacroTagProvider(new LoggerErrorLmlMacroTagProvider(), "logError");
         addMacroTagProvider(new LoggerInfoLmlMacroTagProvider(), "log", "logInfo", "info");
@@ -859,6 +895,7 @@ public class DefaultLmlSyntax implements LmlSyntax {
 
     @Override
     public void addTagProvider(final LmlTagProvider provider, final String... supportedTagNames) {
+        validateNotFrozen();
         for (final String name : supportedTagNames) {
             tagProviders.put(name, provider);
         }
@@ -866,6 +903,7 @@ public class DefaultLmlSyntax implements LmlSyntax {
 
     @Override
     public void removeTagProvider(final String tagName) {
+        validateNotFrozen();
         tagProviders.remove(tagName);
     }
 
@@ -876,6 +914,7 @@ public class DefaultLmlSyntax implements LmlSyntax {
 
     @Override
     public void addMacroTagProvider(final LmlTagProvider provider, final String... supportedTagNames) {
+        validateNotFrozen();
         for (final String name : supportedTagNames) {
             macroTagProviders.put(name, provider);
         }
@@ -883,6 +922,7 @@ public class DefaultLmlSyntax implements LmlSyntax {
 
     @Override
     public void removeMacroTagProvider(final String tagName) {
+        validateNotFrozen();
         macroTagProviders.remove(tagName);
     }
 
@@ -896,63 +936,127 @@ public class DefaultLmlSyntax implements LmlSyntax {
     @SuppressWarnings("unchecked")
     public <Actor> LmlAttribute<Actor> getAttributeProcessor(final Class<Actor> forActorType,
             final String attributeName) {
-        Class<?> actorClass = forActorType;
-        while (actorClass != null) {
-            if (attributeProcessors.containsKey(actorClass)) {
-                final ObjectMap<String, LmlAttribute<?>> processors = attributeProcessors.get(actorClass);
-                if (processors.containsKey(attributeName)) {
-                    return (LmlAttribute<Actor>) processors.get(attributeName);
+        return (LmlAttribute<Actor>) resolvedAttributeProcessors.get(forActorType, attributeName);
+    }
+
+    /** @param processors registered processors, mapped by their handled types.
+     * @param type class of the actor or builder.
+     * @param attributeName name of the attribute.
+     * @return processor assigned to the class or its closest superclass or null if the attribute is not supported.
+     * @param <Processor> type of attribute processors. */
+    private static <Processor> Processor findProcessor(
+            final ObjectMap<Class<?>, ObjectMap<String, Processor>> processors, final Class<?> type,
+            final String attributeName) {
+        Class<?> currentClass = type;
+        while (currentClass != null) {
+            if (processors.containsKey(currentClass)) {
+                final ObjectMap<String, Processor> classProcessors = processors.get(currentClass);
+                if (classProcessors.containsKey(attributeName)) {
+                    return classProcessors.get(attributeName);
                 }
             }
-            actorClass = actorClass.getSuperclass();
+            currentClass = currentClass.getSuperclass();
         }
         return null;
     }
 
     @Override
     public <Actor> void addAttributeProcessor(final LmlAttribute<Actor> attributeProcessor, final String... names) {
+        validateNotFrozen();
         final ObjectMap<String, LmlAttribute<?>> processors = attributeProcessors
                 .get(attributeProcessor.getHandledType());
         for (final String name : names) {
             processors.put(name, attributeProcessor);
         }
+        resolvedAttributeProcessors.clear();
     }
 
     @Override
     public void removeAttributeProcessor(final String name, final Class<?> handledActorType) {
+        validateNotFrozen();
         attributeProcessors.get(handledActorType).remove(name);
+        resolvedAttributeProcessors.clear();
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <Builder extends LmlActorBuilder> LmlBuildingAttribute<Builder> getBuildingAttributeProcessor(
             final Builder builder, final String attributeName) {
-        Class<?> builderClass = builder.getClass();
-        while (builderClass != null) {
-            if (buildingAttributeProcessors.containsKey(builderClass)) {
-                final ObjectMap<String, LmlBuildingAttribute<?>> processors = buildingAttributeProcessors
-                        .get(builderClass);
-                if (processors.containsKey(attributeName)) {
-                    return (LmlBuildingAttribute<Builder>) processors.get(attributeName);
-                }
-            }
-            builderClass = builderClass.getSuperclass();
-        }
-        return null;
+        return (LmlBuildingAttribute<Builder>) resolvedBuildingAttributeProcessors.get(builder.getClass(),
+                attributeName);
     }
 
     @Override
     public <Builder extends LmlActorBuilder> void addBuildingAttributeProcessor(
             final LmlBuildingAttribute<Builder> buildingAttributeProcessor, final String... names) {
+        validateNotFrozen();
         final ObjectMap<String, LmlBuildingAttribute<?>> processors = buildingAttributeProcessors
                 .get(buildingAttributeProcessor.getBuilderType());
         for (final String name : names) {
             processors.put(name, buildingAttributeProcessor);
         }
+        resolvedBuildingAttributeProcessors.clear();
     }
 
     @Override
     public void removeBuildingAttributeProcessor(final String name, final Class<?> handledActorType) {
+        validateNotFrozen();
         buildingAttributeProcessors.get(handledActorType).remove(name);
+        resolvedBuildingAttributeProcessors.clear();
+    }
+
+    /** Caches attribute processors resolved for the queried classes, including the negative results. Published maps
+     * are never modified: new entries are added to copies of the maps, so lookups require no synchronization and the
+     * cache can be safely used by multiple threads. Since entries are added only the first time an attribute is
+     * requested for a class, copying is rare.
+     *
+     * @author MJ
+     *
+     * @param <Processor> type of cached processors. */
+    private static class ResolvedProcessors<Processor> {
+        private final ObjectMap<Class<?>, ObjectMap<String, Processor>> processors;
+        private volatile ObjectMap<Class<?>, ObjectMap<String, Object>> resolved = new ObjectMap<Class<?>, ObjectMap<String, Object>>();
+
+        public ResolvedProcessors(final ObjectMap<Class<?>, ObjectMap<String, Processor>> processors) {
+            this.processors = processors;
+        }
+
+        /** @param type class of the actor or builder.
+         * @param attributeName name of the attribute.
+         * @return processor assigned to the class or its closest superclass or null if the attribute is not
+         *         supported. */
+        @SuppressWarnings("unchecked")
+        public Processor get(final Class<?> type, final String attributeName) {
+            final ObjectMap<String, Object> classProcessors = resolved.get(type);
+            if (classProcessors != null) {
+                final Object processor = classProcessors.get(attributeName);
+                if (processor != null) {
+                    return processor == NO_PROCESSOR ? null : (Processor) processor;
+                }
+            }
+            return resolve(type, attributeName);
+        }
+
+        private synchronized Processor resolve(final Class<?> type, final String attributeName) {
+            final Processor processor = findProcessor(processors, type, attributeName);
+            final ObjectMap<Class<?>, ObjectMap<String, Object>> currentResolved = resolved;
+            final ObjectMap<String, Object> currentClassProcessors = currentResolved.get(type);
+            final ObjectMap<String, Object> classProcessors = currentClassProcessors == null
+                    ? new CaseInsensitiveStringMap<Object>()
+                    : new CaseInsensitiveStringMap<Object>(currentClassProcessors);
+            classProcessors.put(attributeName, processor == null ? NO_PROCESSOR : processor);
+            // Not using copy constructor: it doubles the capacity of the copied map.
+            final ObjectMap<Class<?>, ObjectMap<String, Object>> newResolved = new ObjectMap<Class<?>, ObjectMap<String, Object>>(
+                    currentResolved.size + 1);
+            newResolved.putAll(currentResolved);
+            newResolved.put(type, classProcessors);
+            resolved = newResolved;
+            return processor;
+        }
+
+        /** Clears resolved processors. Should be called each time processors are modified. */
+        public synchronized void clear() {
+            resolved = new ObjectMap<Class<?>, ObjectMap<String, Object>>();
+        }
     }
 }
@@ -1,7 +1,11 @@
 package com.github.czyzby.lml.parser.impl;
 
+import java.io.IOException;
+import java.io.Reader;
+
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.github.czyzby.kiwi.util.common.Strings;
 import com.github.czyzby.kiwi.util.gdx.collection.GdxArrays;
 import com.github.czyzby.kiwi.util.gdx.collection.pooled.PooledList;
@@ -9,11 +13,20 @@ import com.github.czyzby.lml.parser.LmlTemplateReader;
 
 /** Standard template reader, working on plain char sequences (which mostly comes down to simple strings). Does not do
  * buffered reading of template files which will be fine for most templates. However, if you do have enormous files to
- * read or if this implementation causes significant performance penalties, consider using a custom template reader.
+ * read, consider appending them with {@link #append(Reader, String)}: such templates are read in chunks as the
+ * parsing progresses.
  *
  * @author MJ */
 public class DefaultLmlTemplateReader implements LmlTemplateReader {
-    protected final PooledList<CharSequenceEntry> sequencesQueue = new PooledList<CharSequenceEntry>();
+    /** Size of chunks read from templates appended with {@link #append(Reader, String)}. */
+    public static final int CHUNK_SIZE = 8192;
+
+    /** Uses its own node pool rather than the global default one, so readers of parsers used on different threads do
+     * not share any state. */
+    protected final PooledList<CharSequenceEntry> sequencesQueue = new PooledList<CharSequenceEntry>(
+            PooledList.newNodePool(8, 64));
+    /** Chunk buffers that are not currently used by any streamed template. */
+    private final Array<char[]> buffers = GdxArrays.newArray(char[].class);
 
     /** First sequence appended to the reader since the time it was empty. Basically, any time the reader is empty and
      * gets a sequence, it will be set as the original one to determine current line number. */
@@ -47,6 +60,27 @@ public class DefaultLmlTemplateReader implements LmlTemplateReader {
         appendSequence(template, null);
     }
 
+    @Override
+    public void append(final CharSequence template, final String templateName) {
+        appendSequence(template, templateName);
+    }
+
+    @Override
+    public void append(final Reader reader, final String templateName) {
+        queueCurrentSequence();
+        setCurrentSequence(new ReaderEntry(reader, templateName, obtainBuffer()));
+    }
+
+    /** @return a chunk buffer. Reused if possible. */
+    protected char[] obtainBuffer() {
+        return buffers.size == 0 ? new char[CHUNK_SIZE] : buffers.pop();
+    }
+
+    /** @param buffer is no longer used and can be reused by another streamed template. */
+    protected void freeBuffer(final char[] buffer) {
+        buffers.add(buffer);
+    }
+
     /** Actual appending method, referenced by all others.
      *
      * @param sequence should be appended to the reader and set as currently parsed sequence.
@@ -113,6 +147,9 @@ public class DefaultLmlTemplateReader implements LmlTemplateReader {
 
     /** Dequeues last sequence, if any. */
     protected void getSequenceFromQueue() {
+        if (currentSequence != null) {
+            currentSequence.dispose();
+        }
         setCurrentSequence(sequencesQueue.removeFirst());
     }
 
@@ -121,7 +158,8 @@ public class DefaultLmlTemplateReader implements LmlTemplateReader {
         if (currentSequence == null) {
             return false;
         }
-        if (currentSequence.charsLeft() > additionalIndexes) {
+        final int currentCharsLeft = currentSequence.charsLeft(additionalIndexes + 1);
+        if (currentCharsLeft > additionalIndexes) {
             // There are enough characters in the current sequence alone.
             return true;
         }
@@ -129,9 +167,9 @@ public class DefaultLmlTemplateReader implements LmlTemplateReader {
             // There aren't enough characters in the current sequence and there are no sequences left.
             return false;
         }
-        int indexesLeft = additionalIndexes - currentSequence.charsLeft();
+        int indexesLeft = additionalIndexes - currentCharsLeft;
         for (final CharSequenceEntry sequence : sequencesQueue) {
-            indexesLeft -= sequence.charsLeft();
+            indexesLeft -= sequence.charsLeft(indexesLeft + 1);
             if (indexesLeft < 0) {
                 // Stored sequences had enough characters.
                 return true;
@@ -142,12 +180,13 @@ public class DefaultLmlTemplateReader implements LmlTemplateReader {
 
     @Override
     public char peekCharacter(final int additionalIndexes) {
-        if (currentSequence.charsLeft() > additionalIndexes) {
+        final int currentCharsLeft = currentSequence.charsLeft(additionalIndexes + 1);
+        if (currentCharsLeft > additionalIndexes) {
             return currentSequence.peekChar(additionalIndexes);
         }
-        int indexesLeft = additionalIndexes - currentSequence.charsLeft();
+        int indexesLeft = additionalIndexes - currentCharsLeft;
         for (final CharSequenceEntry sequence : sequencesQueue) {
-            final int charactersLeft = sequence.charsLeft();
+            final int charactersLeft = sequence.charsLeft(indexesLeft + 1);
             if (charactersLeft > indexesLeft) {
                 return sequence.peekChar(indexesLeft);
             }
@@ -179,12 +218,12 @@ public class DefaultLmlTemplateReader implements LmlTemplateReader {
 
     @Override
     public String getCurrentSequence() {
-        return currentSequence == null ? null : currentSequence.sequence.toString();
+        return currentSequence == null ? null : currentSequence.toString();
     }
 
     @Override
     public String getOriginalSequence() {
-        return originalSequence == null ? null : originalSequence.sequence.toString();
+        return originalSequence == null ? null : originalSequence.toString();
     }
 
     @Override
@@ -194,6 +233,12 @@ public class DefaultLmlTemplateReader implements LmlTemplateReader {
 
     @Override
     public void clear() {
+        if (currentSequence != null) {
+            currentSequence.dispose();
+        }
+        for (final CharSequenceEntry sequence : sequencesQueue) {
+            sequence.dispose();
+        }
         currentSequence = null;
         originalSequence = null;
         sequencesQueue.clear();
@@ -219,7 +264,7 @@ public class DefaultLmlTemplateReader implements LmlTemplateReader {
 
     private static void appendDebugMessage(final StringBuilder builder, final CharSequenceEntry sequence) {
         builder.append('\n').append(sequence.name).append(": line ").append(sequence.getLine())
-                .append(" of template part: \n").append(sequence.sequence);
+                .append(" of template part: \n").append(sequence);
     }
 
     /** Data container for a single template part.
@@ -242,6 +287,15 @@ public class DefaultLmlTemplateReader implements LmlTemplateReader {
             length = sequence.length();
         }
 
+        /** Constructor for entries that do not store their content as a single sequence.
+         *
+         * @param name name of the template. */
+        protected CharSequenceEntry(final String name) {
+            this.name = name;
+            sequence = null;
+            length = 0;
+        }
+
         /** @return next character stored in sequence. Modifies iteration index. */
         public char nextChar() {
             return sequence.charAt(index++);
@@ -263,6 +317,17 @@ public class DefaultLmlTemplateReader implements LmlTemplateReader {
             return length - index;
         }
 
+        /** @param required amount of characters that the caller needs to access.
+         * @return amount of unparsed characters. Entries that do not know their total length can return a lower value,
+         *         but only if it is not lower than the required amount. */
+        public int charsLeft(final int required) {
+            return charsLeft();
+        }
+
+        /** Invoked when the entry is no longer used by the reader. Should free its resources. */
+        public void dispose() {
+        }
+
         /** @return true if the sequence has any characters left. */
         public boolean hasNext() {
             return index < length;
@@ -293,4 +358,123 @@ public class DefaultLmlTemplateReader implements LmlTemplateReader {
             return sequence.toString();
         }
     }
+
+    /** Template part consumed from a {@link Reader} in chunks, as the parsing progresses. Keeps only the currently
+     * parsed chunk in memory.
+     *
+     * @author MJ */
+    protected class ReaderEntry extends CharSequenceEntry {
+        private Reader reader;
+        private char[] buffer;
+        /** Index of the current character in the buffer. */
+        private int bufferIndex;
+        /** Index after the last read character in the buffer. */
+        private int bufferEnd;
+
+        public ReaderEntry(final Reader reader, final String name, final char[] buffer) {
+            super(name);
+            this.reader = reader;
+            this.buffer = buffer;
+        }
+
+        /** @param required amount of unparsed characters that should be available in the buffer.
+         * @return amount of unparsed characters in the buffer. Lower than required only if the whole template was
+         *         read. */
+        private int fill(final int required) {
+            int available = bufferEnd - bufferIndex;
+            if (available >= required || reader == null) {
+                return available;
+            }
+            if (required > buffer.length) {
+                final char[] resizedBuffer = new char[Math.max(required, buffer.length * 2)];
+                System.arraycopy(buffer, bufferIndex, resizedBuffer, 0, available);
+                buffer = resizedBuffer;
+            } else if (bufferIndex > 0) {
+                System.arraycopy(buffer, bufferIndex, buffer, 0, available);
+            }
+            bufferIndex = 0;
+            bufferEnd = available;
+            try {
+                while (available < required) {
+                    final int read = reader.read(buffer, bufferEnd, buffer.length - bufferEnd);
+                    if (read < 0) {
+                        closeReader();
+                        break;
+                    }
+                    bufferEnd += read;
+                    available += read;
+                }
+            } catch (final IOException exception) {
+                throw new GdxRuntimeException("Unable to read template: " + getName(), exception);
+            }
+            return available;
+        }
+
+        private void closeReader() {
+            try {
+                reader.close();
+            } catch (final IOException exception) {
+                // Template was fully read. Ignored.
+            }
+            reader = null;
+        }
+
+        @Override
+        public char nextChar() {
+            fill(1);
+            return buffer[bufferIndex++];
+        }
+
+        @Override
+        public char currentChar() {
+            fill(1);
+            return buffer[bufferIndex];
+        }
+
+        @Override
+        public char peekChar(final int additionalIndexes) {
+            fill(additionalIndexes + 1);
+            return buffer[bufferIndex + additionalIndexes];
+        }
+
+        @Override
+        public int charsLeft() {
+            return fill(1);
+        }
+
+        @Override
+        public int charsLeft(final int required) {
+            return fill(required);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return fill(1) > 0;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return fill(1) == 0;
+        }
+
+        @Override
+        public void dispose() {
+            if (reader != null) {
+                closeReader();
+            }
+            if (buffer != null) {
+                if (buffer.length == CHUNK_SIZE) {
+                    freeBuffer(buffer);
+                }
+                buffer = null;
+                bufferIndex = bufferEnd = 0;
+            }
+        }
+
+        @Override
+        public String toString() {
+            // Only the currently buffered part of the template is available.
+            return buffer == null ? "" : new String(buffer, bufferIndex, bufferEnd - bufferIndex);
+        }
+    }
 }
@@ -0,0 +1,276 @@
+package com.github.czyzby.lml.parser.impl;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.github.czyzby.lml.parser.LmlSyntax;
+import com.github.czyzby.lml.parser.tag.LmlActorBuilder;
+import com.github.czyzby.lml.parser.tag.LmlAttribute;
+import com.github.czyzby.lml.parser.tag.LmlBuildingAttribute;
+import com.github.czyzby.lml.parser.tag.LmlTagProvider;
+import com.github.czyzby.lml.util.collection.CaseInsensitiveStringMap;
+
+/** Wraps around another syntax, delegating all markers and lookups to it. Tags, macros and attributes registered in
+ * this syntax are stored locally, without modifying the wrapped syntax; local registrations take precedence over the
+ * wrapped syntax entries. Used by parsers to scope registrations done in templates (for example, by "macro" or
+ * "newTag" macros) when the shared syntax is {@link DefaultLmlSyntax#freeze() frozen}: scoped syntax is created before
+ * a template is parsed and discarded afterwards.
+ *
+ * <p>
+ * Scoped syntax is meant to be used by a single parser and is not thread-safe.
+ *
+ * @author MJ */
+public class ScopedLmlSyntax implements LmlSyntax {
+    private final LmlSyntax syntax;
+    private final ObjectMap<String, LmlTagProvider> tagProviders = new CaseInsensitiveStringMap<LmlTagProvider>();
+    private final ObjectMap<String, LmlTagProvider> macroTagProviders = new CaseInsensitiveStringMap<LmlTagProvider>();
+    private final ObjectMap<Class<?>, ObjectMap<String, LmlAttribute<?>>> attributeProcessors = new ObjectMap<Class<?>, ObjectMap<String, LmlAttribute<?>>>();
+    private final ObjectMap<Class<?>, ObjectMap<String, LmlBuildingAttribute<?>>> buildingAttributeProcessors = new ObjectMap<Class<?>, ObjectMap<String, LmlBuildingAttribute<?>>>();
+
+    /** @param syntax will be wrapped. Provides markers and all entries that were not registered locally. */
+    public ScopedLmlSyntax(final LmlSyntax syntax) {
+        this.syntax = syntax;
+    }
+
+    /** @return wrapped syntax. */
+    public LmlSyntax getSyntax() {
+        return syntax;
+    }
+
+    @Override
+    public char getTagOpening() {
+        return syntax.getTagOpening();
+    }
+
+    @Override
+    public char getTagClosing() {
+        return syntax.getTagClosing();
+    }
+
+    @Override
+    public char getClosedTagMarker() {
+        return syntax.getClosedTagMarker();
+    }
+
+    @Override
+    public char getCommentOpening() {
+        return syntax.getCommentOpening();
+    }
+
+    @Override
+    public char getSchemaCommentMarker() {
+        return syntax.getSchemaCommentMarker();
+    }
+
+    @Override
+    public char getCommentClosing() {
+        return syntax.getCommentClosing();
+    }
+
+    @Override
+    public char getArgumentOpening() {
+        return syntax.getArgumentOpening();
+    }
+
+    @Override
+    public char getArgumentClosing() {
+        return syntax.getArgumentClosing();
+    }
+
+    @Override
+    public char getMacroMarker() {
+        return syntax.getMacroMarker();
+    }
+
+    @Override
+    public char getIdSeparatorMarker() {
+        return syntax.getIdSeparatorMarker();
+    }
+
+    @Override
+    public char getPreferenceMarker() {
+        return syntax.getPreferenceMarker();
+    }
+
+    @Override
+    public char getBundleLineMarker() {
+        return syntax.getBundleLineMarker();
+    }
+
+    @Override
+    public char getBundleLineArgumentMarker() {
+        return syntax.getBundleLineArgumentMarker();
+    }
+
+    @Override
+    public char getAttributeSeparator() {
+        return syntax.getAttributeSeparator();
+    }
+
+    @Override
+    public char getMethodInvocationMarker() {
+        return syntax.getMethodInvocationMarker();
+    }
+
+    @Override
+    public char getArrayElementSeparator() {
+        return syntax.getArrayElementSeparator();
+    }
+
+    @Override
+    public char getRangeArrayOpening() {
+        return syntax.getRangeArrayOpening();
+    }
+
+    @Override
+    public char getRangeArraySeparator() {
+        return syntax.getRangeArraySeparator();
+    }
+
+    @Override
+    public char getRangeArrayClosing() {
+        return syntax.getRangeArrayClosing();
+    }
+
+    @Override
+    public char getEquationMarker() {
+        return syntax.getEquationMarker();
+    }
+
+    @Override
+    public LmlTagProvider getTagProvider(final String tagName) {
+        final LmlTagProvider provider = tagProviders.get(tagName);
+        return provider == null ? syntax.getTagProvider(tagName) : provider;
+    }
+
+    @Override
+    public void addTagProvider(final LmlTagProvider provider, final String... supportedTagNames) {
+        for (final String name : supportedTagNames) {
+            tagProviders.put(name, provider);
+        }
+    }
+
+    /** @param tagName tag provider registered in this syntax with this name will be removed. Providers of the wrapped
+     *            syntax are not affected. */
+    @Override
+    public void removeTagProvider(final String tagName) {
+        tagProviders.remove(tagName);
+    }
+
+    @Override
+    public LmlTagProvider getMacroTagProvider(final String tagName) {
+        final LmlTagProvider provider = macroTagProviders.get(tagName);
+        return provider == null ? syntax.getMacroTagProvider(tagName) : provider;
+    }
+
+    @Override
+    public void addMacroTagProvider(final LmlTagProvider provider, final String... supportedTagNames) {
+        for (final String name : supportedTagNames) {
+            macroTagProviders.put(name, provider);
+        }
+    }
+
+    /** @param tagName macro tag provider registered in this syntax with this name will be removed. Providers of the
+     *            wrapped syntax are not affected. */
+    @Override
+    public void removeMacroTagProvider(final String tagName) {
+        macroTagProviders.remove(tagName);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <Actor> LmlAttribute<Actor> getAttributeProcessor(final Actor forActor, final String attributeName) {
+        return (LmlAttribute<Actor>) getAttributeProcessor(forActor.getClass(), attributeName);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <Actor> LmlAttribute<Actor> getAttributeProcessor(final Class<Actor> forActorType,
+            final String attributeName) {
+        if (attributeProcessors.size > 0) {
+            final LmlAttribute<?> processor = findProcessor(attributeProcessors, forActorType, attributeName);
+            if (processor != null) {
+                return (LmlAttribute<Actor>) processor;
+            }
+        }
+        return syntax.getAttributeProcessor(forActorType, attributeName);
+    }
+
+    @Override
+    public <Actor> void addAttributeProcessor(final LmlAttribute<Actor> attributeProcessor, final String... names) {
+        ObjectMap<String, LmlAttribute<?>> processors = attributeProcessors.get(attributeProcessor.getHandledType());
+        if (processors == null) {
+            processors = new CaseInsensitiveStringMap<LmlAttribute<?>>();
+            attributeProcessors.put(attributeProcessor.getHandledType(), processors);
+        }
+        for (final String name : names) {
+            processors.put(name, attributeProcessor);
+        }
+    }
+
+    /** @param name attribute processor registered in this syntax with this name will be removed. Processors of the
+     *            wrapped syntax are not affected.
+     * @param handledActorType removed attribute processor must handle this exact base actor type. */
+    @Override
+    public void removeAttributeProcessor(final String name, final Class<?> handledActorType) {
+        final ObjectMap<String, LmlAttribute<?>> processors = attributeProcessors.get(handledActorType);
+        if (processors != null) {
+            processors.remove(name);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <Builder extends LmlActorBuilder> LmlBuildingAttribute<Builder> getBuildingAttributeProcessor(
+            final Builder builder, final String attributeName) {
+        if (buildingAttributeProcessors.size > 0) {
+            final LmlBuildingAttribute<?> processor = findProcessor(buildingAttributeProcessors, builder.getClass(),
+                    attributeName);
+            if (processor != null) {
+                return (LmlBuildingAttribute<Builder>) processor;
+            }
+        }
+        return syntax.getBuildingAttributeProcessor(builder, attributeName);
+    }
+
+    @Override
+    public <Builder extends LmlActorBuilder> void addBuildingAttributeProcessor(
+            final LmlBuildingAttribute<Builder> buildingAttributeProcessor, final String... names) {
+        ObjectMap<String, LmlBuildingAttribute<?>> processors = buildingAttributeProcessors
+                .get(buildingAttributeProcessor.getBuilderType());
+        if (processors == null) {
+            processors = new CaseInsensitiveStringMap<LmlBuildingAttribute<?>>();
+            buildingAttributeProcessors.put(buildingAttributeProcessor.getBuilderType(), processors);
+        }
+        for (final String name : names) {
+            processors.put(name, buildingAttributeProcessor);
+        }
+    }
+
+    /** @param name building attribute processor registered in this syntax with this name will be removed. Processors
+     *            of the wrapped syntax are not affected.
+     * @param handledActorType removed building attribute processor must handle this exact base actor type. */
+    @Override
+    public void removeBuildingAttributeProcessor(final String name, final Class<?> handledActorType) {
+        final ObjectMap<String, LmlBuildingAttribute<?>> processors = buildingAttributeProcessors
+                .get(handledActorType);
+        if (processors != null) {
+            processors.remove(name);
+        }
+    }
+
+    private static <Processor> Processor findProcessor(
+            final ObjectMap<Class<?>, ObjectMap<String, Processor>> processors, final Class<?> type,
+            final String attributeName) {
+        Class<?> currentClass = type;
+        while (currentClass != null) {
+            final ObjectMap<String, Processor> classProcessors = processors.get(currentClass);
+            if (classProcessors != null) {
+                final Processor processor = classProcessors.get(attributeName);
+                if (processor != null) {
+                    return processor;
+                }
+            }
+            currentClass = currentClass.getSuperclass();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.czyzby.lml.parser.impl.action;
+
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.Method;
+import com.github.czyzby.lml.parser.action.ActorConsumer;
+import com.github.czyzby.lml.parser.action.ActorConsumerFactory;
+
+/** Creates actions using LibGDX reflection API: {@link MethodActorConsumer} and {@link FieldActorConsumer}. Works on
+ * every platform, including GWT.
+ *
+ * @author MJ */
+public class DefaultActorConsumerFactory implements ActorConsumerFactory {
+    /** Stateless. Can be shared by multiple parsers. */
+    public static final DefaultActorConsumerFactory INSTANCE = new DefaultActorConsumerFactory();
+
+    @Override
+    public ActorConsumer<?, ?> createMethodConsumer(final Method method, final Object methodOwner) {
+        return new MethodActorConsumer(method, methodOwner);
+    }
+
+    @Override
+    public ActorConsumer<?, ?> createFieldConsumer(final Field field, final Object fieldOwner) {
+        return new FieldActorConsumer(field, fieldOwner);
+    }
+}
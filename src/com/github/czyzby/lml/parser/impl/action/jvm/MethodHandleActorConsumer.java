@@ -0,0 +1,43 @@
+package com.github.czyzby.lml.parser.impl.action.jvm;
+
+import java.lang.invoke.MethodHandle;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.github.czyzby.lml.parser.action.ActorConsumer;
+
+/** Invokes a {@link MethodHandle} of (Object)Object type, usually bound to a method or field of an action container.
+ * Stateless, so it can be safely invoked by multiple threads and re-entrant callbacks.
+ *
+ * @author MJ
+ * @see MethodHandleActorConsumerFactory */
+public class MethodHandleActorConsumer implements ActorConsumer<Object, Object> {
+    private final MethodHandle handle;
+    private final Object member;
+    private final Object owner;
+
+    /** @param handle has to be of (Object)Object type.
+     * @param member method or field wrapped by the handle. Used for debugging.
+     * @param owner instance of the action container. Used for debugging. */
+    public MethodHandleActorConsumer(final MethodHandle handle, final Object member, final Object owner) {
+        this.handle = handle;
+        this.member = member;
+        this.owner = owner;
+    }
+
+    @Override
+    public Object consume(final Object actor) {
+        try {
+            return handle.invokeExact(actor);
+        } catch (final Error error) {
+            throw error;
+        } catch (final Throwable exception) {
+            throw new GdxRuntimeException("Unable to invoke: " + member + " of object: " + owner
+                    + (actor == null ? "" : " with argument: " + actor), exception);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MethodHandleActorConsumer: " + member;
+    }
+}
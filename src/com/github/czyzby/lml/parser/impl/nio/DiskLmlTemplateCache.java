@@ -0,0 +1,155 @@
+package com.github.czyzby.lml.parser.impl.nio;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.github.czyzby.lml.parser.template.CompiledTemplateReader;
+import com.github.czyzby.lml.parser.template.CompiledTemplateWriter;
+import com.github.czyzby.lml.parser.template.DefaultLmlTemplateCache;
+import com.github.czyzby.lml.parser.template.LmlTemplate;
+import com.github.czyzby.lml.parser.template.LmlTemplateCompiler;
+
+/** Extends {@link DefaultLmlTemplateCache} with a persistent storage of compiled templates. Each time a template is
+ * not found in memory, its compiled form is looked up in the cache directory by a hash of template content and
+ * compiler signature; if it is missing, the template is compiled and saved with {@link CompiledTemplateWriter}, so it
+ * does not have to be parsed after the application restarts. Outdated compiled templates are never loaded, since
+ * modified templates produce different hashes; consider clearing the directory with {@link #clearDirectory()} from
+ * time to time.
+ *
+ * <p>
+ * This cache relies on java.nio.file API and is not available on GWT.
+ *
+ * @author MJ */
+public class DiskLmlTemplateCache extends DefaultLmlTemplateCache {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path directory;
+    private int diskHits;
+
+    /** @param directory will store compiled templates. Created if it does not exist. Uses default cache limits. */
+    public DiskLmlTemplateCache(final Path directory) {
+        this(directory, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_SIZE);
+    }
+
+    /** @param directory will store compiled templates. Created if it does not exist.
+     * @param maxEntries maximum amount of templates cached in memory. Has to be positive.
+     * @param maxSize maximum approximate size of data cached in memory in bytes. Has to be positive. */
+    public DiskLmlTemplateCache(final Path directory, final int maxEntries, final long maxSize) {
+        super(maxEntries, maxSize);
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (final IOException exception) {
+            throw new GdxRuntimeException("Unable to create templates cache directory: " + directory, exception);
+        }
+    }
+
+    /** @return directory storing compiled templates. */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /** @return amount of templates loaded from the cache directory instead of being compiled. */
+    public synchronized int getDiskHits() {
+        return diskHits;
+    }
+
+    @Override
+    public synchronized void resetStatistics() {
+        super.resetStatistics();
+        diskHits = 0;
+    }
+
+    @Override
+    protected LmlTemplate compile(final String template, final String templateName,
+            final LmlTemplateCompiler compiler) {
+        final Path compiledFile = directory.resolve(getHash(template, compiler) + CompiledTemplateWriter.EXTENSION);
+        if (Files.isRegularFile(compiledFile)) {
+            try {
+                final LmlTemplate compiledTemplate = new CompiledTemplateReader(compiler)
+                        .read(Files.readAllBytes(compiledFile));
+                synchronized (this) {
+                    diskHits++;
+                }
+                return compiledTemplate;
+            } catch (final Exception exception) {
+                // Corrupted or written by an incompatible version. Will be replaced.
+            }
+        }
+        final LmlTemplate compiledTemplate = compiler.compile(template, templateName);
+        save(compiledTemplate, compiledFile, compiler);
+        return compiledTemplate;
+    }
+
+    /** @param template will be saved.
+     * @param compiledFile will store the template.
+     * @param compiler was used to compile the template. */
+    protected void save(final LmlTemplate template, final Path compiledFile, final LmlTemplateCompiler compiler) {
+        final byte[] data = new CompiledTemplateWriter(compiler).write(template);
+        try {
+            // Writing to a temporary file first, so other processes never see partially written templates.
+            final Path temporaryFile = Files.createTempFile(directory, "lml", ".tmp");
+            try {
+                Files.write(temporaryFile, data);
+                try {
+                    Files.move(temporaryFile, compiledFile, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (final AtomicMoveNotSupportedException exception) {
+                    Files.move(temporaryFile, compiledFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (final IOException exception) {
+            // Cache is only an optimization: the template was compiled anyway.
+        }
+    }
+
+    /** @param template raw template content.
+     * @param compiler will be used to compile the template.
+     * @return hash identifying compiled form of the template. */
+    protected String getHash(final String template, final LmlTemplateCompiler compiler) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new GdxRuntimeException("SHA-1 is not supported.", exception);
+        }
+        digest.update(compiler.getSignature().getBytes(UTF_8));
+        digest.update((byte) 0);
+        digest.update(template.getBytes(UTF_8));
+        final byte[] hash = digest.digest();
+        final char[] characters = new char[hash.length * 2];
+        for (int index = 0; index < hash.length; index++) {
+            characters[index * 2] = HEX[hash[index] >> 4 & 0xF];
+            characters[index * 2 + 1] = HEX[hash[index] & 0xF];
+        }
+        return new String(characters);
+    }
+
+    /** Removes all compiled templates from the cache directory. Templates cached in memory are not affected. */
+    public void clearDirectory() {
+        try {
+            final DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                    "*" + CompiledTemplateWriter.EXTENSION);
+            try {
+                for (final Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            } finally {
+                files.close();
+            }
+        } catch (final IOException exception) {
+            throw new GdxRuntimeException("Unable to clear templates cache directory: " + directory, exception);
+        }
+    }
+}
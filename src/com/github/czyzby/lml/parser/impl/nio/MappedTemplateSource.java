@@ -0,0 +1,188 @@
+package com.github.czyzby.lml.parser.impl.nio;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Exposes a memory-mapped template file as a {@link CharSequence}, which can be passed directly to
+ * {@link com.github.czyzby.lml.parser.LmlTemplateReader#append(CharSequence, String)} or
+ * {@link com.github.czyzby.lml.parser.LmlParser#parseTemplate(CharSequence, String)}. Contrary to
+ * {@link FileHandle#readString()}, file content is not copied to the heap: characters of single-byte templates
+ * (ISO-8859-1, US-ASCII or UTF-8 files that contain only ASCII characters) are read straight from the mapped memory.
+ * Other templates are decoded lazily, when their characters are first accessed.
+ *
+ * <p>
+ * Memory mapping is not available on every platform: this class should be used only on desktop and headless
+ * backends, and only for files that are stored directly on the disk - see {@link #isMappable(FileHandle)}. Mapped
+ * memory is released when the source is garbage-collected.
+ *
+ * @author MJ */
+public class MappedTemplateSource implements CharSequence {
+    /** Charset used if none is given. */
+    public static final String DEFAULT_CHARSET = "UTF-8";
+
+    private final String name;
+    private final ByteBuffer buffer;
+    private final Charset charset;
+    private boolean analyzed;
+    /** Null if characters are read directly from the buffer. */
+    private CharBuffer decoded;
+
+    /** @param name name of the template, used for debugging purposes.
+     * @param buffer contains encoded template. Its content between position and limit is used.
+     * @param charset encoding of the template. */
+    public MappedTemplateSource(final String name, final ByteBuffer buffer, final Charset charset) {
+        this.name = name;
+        this.buffer = buffer.slice();
+        this.charset = charset;
+    }
+
+    /** @param templateFile will be mapped. Assumed to be encoded in UTF-8.
+     * @return a new template source using the file's content.
+     * @throws GdxRuntimeException if unable to map the file.
+     * @see #isMappable(FileHandle) */
+    public static MappedTemplateSource map(final FileHandle templateFile) {
+        return map(templateFile, DEFAULT_CHARSET);
+    }
+
+    /** @param templateFile will be mapped.
+     * @param charset encoding of the template file.
+     * @return a new template source using the file's content.
+     * @throws GdxRuntimeException if unable to map the file.
+     * @see #isMappable(FileHandle) */
+    public static MappedTemplateSource map(final FileHandle templateFile, final String charset) {
+        if (!isMappable(templateFile)) {
+            throw new GdxRuntimeException("Template file cannot be memory-mapped: " + templateFile);
+        }
+        return new MappedTemplateSource(templateFile.name(), mapFile(templateFile.file()), Charset.forName(charset));
+    }
+
+    /** @param templateFile a template file.
+     * @return true if the file is stored directly on the disk and can be mapped. Classpath files and files packed in
+     *         archives cannot be mapped. */
+    public static boolean isMappable(final FileHandle templateFile) {
+        return templateFile.type() != FileType.Classpath && templateFile.file().isFile();
+    }
+
+    private static ByteBuffer mapFile(final File file) {
+        RandomAccessFile input = null;
+        try {
+            input = new RandomAccessFile(file, "r");
+            final FileChannel channel = input.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new GdxRuntimeException("Template file is too big to be mapped: " + file);
+            }
+            // Mapping stays valid after the channel is closed.
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+        } catch (final IOException exception) {
+            throw new GdxRuntimeException("Unable to map template file: " + file, exception);
+        } finally {
+            if (input != null) {
+                try {
+                    input.close();
+                } catch (final IOException exception) {
+                    // Mapping was already created or failed. Ignored.
+                }
+            }
+        }
+    }
+
+    /** @return name of the template, used for debugging purposes. */
+    public String getName() {
+        return name;
+    }
+
+    /** @return true if the template had to be decoded. False if its characters are read directly from the mapped
+     *         memory. */
+    public boolean isDecoded() {
+        analyze();
+        return decoded != null;
+    }
+
+    /** Checks if the template has to be decoded. Invoked on first access. */
+    private void analyze() {
+        if (analyzed) {
+            return;
+        }
+        analyzed = true;
+        if (!isSingleByte()) {
+            decoded = decode();
+        }
+    }
+
+    /** @return true if each byte of the template is a single character in ISO-8859-1 encoding. */
+    private boolean isSingleByte() {
+        final String charsetName = charset.name();
+        if ("ISO-8859-1".equals(charsetName) || "US-ASCII".equals(charsetName)) {
+            return true;
+        }
+        return "UTF-8".equals(charsetName) && isAscii();
+    }
+
+    /** @return true if the template contains no multi-byte UTF-8 characters. */
+    private boolean isAscii() {
+        for (int index = 0, length = buffer.limit(); index < length; index++) {
+            if (buffer.get(index) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CharBuffer decode() {
+        try {
+            return charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE).decode(buffer.duplicate());
+        } catch (final CharacterCodingException exception) {
+            throw new GdxRuntimeException("Unable to decode template: " + name, exception);
+        }
+    }
+
+    @Override
+    public int length() {
+        analyze();
+        return decoded == null ? buffer.limit() : decoded.limit();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        analyze();
+        return decoded == null ? (char) (buffer.get(index) & 0xFF) : decoded.get(index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        analyze();
+        if (decoded != null) {
+            return decoded.subSequence(start, end);
+        }
+        final ByteBuffer part = buffer.duplicate();
+        part.position(start);
+        part.limit(end);
+        return new MappedTemplateSource(name, part, charset);
+    }
+
+    @Override
+    public String toString() {
+        analyze();
+        if (decoded != null) {
+            return decoded.toString();
+        }
+        final int length = buffer.limit();
+        final char[] characters = new char[length];
+        for (int index = 0; index < length; index++) {
+            characters[index] = (char) (buffer.get(index) & 0xFF);
+        }
+        return new String(characters);
+    }
+}
@@ -5,9 +5,11 @@ import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Tree;
 import com.badlogic.gdx.utils.ObjectMap.Entry;
 import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.github.czyzby.kiwi.util.common.Strings;
 import com.github.czyzby.kiwi.util.gdx.collection.GdxSets;
 import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.LmlParserListener;
 import com.github.czyzby.lml.parser.LmlSyntax;
 import com.github.czyzby.lml.parser.tag.LmlActorBuilder;
 import com.github.czyzby.lml.parser.tag.LmlBuildingAttribute;
@@ -52,12 +54,21 @@ public abstract class AbstractActorLmlTag extends AbstractLmlTag {
             return;
         }
         final LmlSyntax syntax = getParser().getSyntax();
+        final LmlParserListener listener = getParser().getListener();
         for (final Entry<String, String> attribute : getNamedAttributes()) {
             // Processing building attributes:
             final LmlBuildingAttribute<LmlActorBuilder> buildingAttributeProcessor = syntax
                     .getBuildingAttributeProcessor(builder, attribute.key);
-            if (buildingAttributeProcessor != null // This is the actual processing method:
-                    && buildingAttributeProcessor.process(getParser(), this, builder, attribute.value)) {
+            if (buildingAttributeProcessor == null) {
+                continue;
+            }
+            final long start = listener == null ? 0L : TimeUtils.nanoTime();
+            // This is the actual processing method:
+            final boolean processed = buildingAttributeProcessor.process(getParser(), this, builder, attribute.value);
+            if (listener != null) {
+                listener.onAttributeProcessed(getParser(), this, attribute.key, TimeUtils.nanoTime() - start);
+            }
+            if (processed) {
                 // If processing returns true, the attribute is fully parsed and can be omitted during attribute parsing
                 // after the actor is initiated. If it returns false, it is expected that the attribute will be
                 // eventually parsed by a second processor, after the widget is created.
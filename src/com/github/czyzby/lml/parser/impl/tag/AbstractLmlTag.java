@@ -16,10 +16,6 @@ import com.github.czyzby.lml.util.collection.IgnoreCaseStringMap;
  * @author MJ
  * @see AbstractMacroLmlTag */
 public abstract class AbstractLmlTag implements LmlTag {
-    private static final CharSequence ESCAPED_SPACE = "\\ ";
-    private static final CharSequence SPACE = " ";
-    private static final CharSequence UNUSUAL_ENOUGH = "%$&";
-
     private final LmlParser parser;
     private final Array<String> attributes;
     private final ObjectMap<String, String> namedAttributes;
@@ -30,26 +26,27 @@ public abstract class AbstractLmlTag implements LmlTag {
     public AbstractLmlTag(final LmlParser parser, final LmlTag parentTag, final String rawTagData) {
         this.parser = parser;
         this.parentTag = parentTag;
-        final String[] entities = extractTagEntities(rawTagData);
+        // Entities array might be shared (for example, by compiled templates) and cannot be modified.
+        final String[] entities = parser.extractTagEntities(rawTagData);
         final String tagName = entities[0];
         macro = Strings.startsWith(tagName, parser.getSyntax().getMacroMarker());
         this.tagName = LmlUtilities.stripMarker(tagName, parser.getSyntax().getMacroMarker());
-        final String lastAttribute = entities[entities.length - 1];
+        String lastAttribute = entities[entities.length - 1];
         if (Strings.endsWith(lastAttribute, parser.getSyntax().getClosedTagMarker())) {
             // The tag ends with a closing marker, which means it is a child.
             parent = false;
-            entities[entities.length - 1] = LmlUtilities.stripEnding(lastAttribute);
+            lastAttribute = LmlUtilities.stripEnding(lastAttribute);
         } else {
             parent = true;
         }
-        if (hasAttributes(entities)) {
+        if (hasAttributes(entities, lastAttribute)) {
             attributes = GdxArrays.newArray(String.class);
             if (supportsNamedAttributes() || supportsOptionalNamedAttributes()) {
                 namedAttributes = new IgnoreCaseStringMap<String>();
             } else {
                 namedAttributes = null;
             }
-            fillAttributes(parser, entities);
+            fillAttributes(parser, entities, lastAttribute);
         } else {
             attributes = null;
             namedAttributes = null;
@@ -66,27 +63,17 @@ public abstract class AbstractLmlTag implements LmlTag {
         return false;
     }
 
-    private static boolean hasAttributes(final String[] entities) {
+    private static boolean hasAttributes(final String[] entities, final String lastAttribute) {
         return // The first entity is name, so at least 2 entities are required:
         entities.length > 1
                 // The last entity might be empty if it was tag closing marker:
-                || Strings.isEmpty(entities[entities.length - 1]) && entities.length > 2;
-    }
-
-    private static String[] extractTagEntities(final String rawTagData) {
-        // No pattern-matcher on GWT.
-        final String[] entities = rawTagData.replace(ESCAPED_SPACE, UNUSUAL_ENOUGH)
-                .split(Strings.WHITESPACE_SPLITTER_REGEX);
-        for (int index = 0, length = entities.length; index < length; index++) {
-            entities[index] = entities[index].replace(UNUSUAL_ENOUGH, SPACE);
-        }
-        return entities;
+                || Strings.isEmpty(lastAttribute) && entities.length > 2;
     }
 
-    private void fillAttributes(final LmlParser parser, final String[] entities) {
+    private void fillAttributes(final LmlParser parser, final String[] entities, final String lastAttribute) {
         // Starting from 1, since 0 index is the tag name.
-        for (int index = 1, length = entities.length; index < length; index++) {
-            final String rawAttribute = entities[index];
+        for (int index = 1, length = entities.length, lastIndex = length - 1; index < length; index++) {
+            final String rawAttribute = index == lastIndex ? lastAttribute : entities[index];
             if (Strings.isBlank(rawAttribute)) {
                 continue;
             }
@@ -103,12 +90,25 @@ public abstract class AbstractLmlTag implements LmlTag {
                     // Supports optionally: parsing another attribute.
                     continue;
                 }
-                final String attributeName = entity.substring(0, separatorIndex);
-                final String attributeValue = LmlUtilities
-                        .stripQuotation(entity.substring(separatorIndex + 1, entity.length()));
-                namedAttributes.put(attributeName, attributeValue);
+                namedAttributes.put(entity.substring(0, separatorIndex),
+                        extractAttributeValue(entity, separatorIndex + 1));
+            }
+        }
+    }
+
+    /** @param entity contains attribute name and value.
+     * @param valueStart index of the first character after attribute separator.
+     * @return attribute value without quotation, if quotation was present. Does not create intermediate strings. */
+    private static String extractAttributeValue(final String entity, int valueStart) {
+        int valueEnd = entity.length();
+        if (valueEnd - valueStart >= 2) {
+            final char firstCharacter = entity.charAt(valueStart);
+            if ((firstCharacter == '\'' || firstCharacter == '"') && entity.charAt(valueEnd - 1) == firstCharacter) {
+                valueStart++;
+                valueEnd--;
             }
         }
+        return entity.substring(valueStart, valueEnd);
     }
 
     @Override
@@ -5,13 +5,16 @@ import com.badlogic.gdx.utils.ObjectMap;
 import com.github.czyzby.kiwi.util.common.Strings;
 import com.github.czyzby.kiwi.util.tuple.immutable.Pair;
 import com.github.czyzby.lml.parser.LmlParser;
-import com.github.czyzby.lml.parser.LmlSyntax;
 import com.github.czyzby.lml.parser.tag.LmlTag;
+import com.github.czyzby.lml.parser.template.LmlTemplate;
+import com.github.czyzby.lml.util.LmlUtilities;
 
 /** Common base for macro tags.
  *
  * @author MJ */
 public abstract class AbstractMacroLmlTag extends AbstractLmlTag {
+    private int appendedTextLength;
+
     public AbstractMacroLmlTag(final LmlParser parser, final LmlTag parentTag, final String rawTagData) {
         super(parser, parentTag, rawTagData);
     }
@@ -30,36 +33,11 @@ public abstract class AbstractMacroLmlTag extends AbstractLmlTag {
      * @param macroArguments map of private macro arguments. This should be a separate map than these managed by LML
      *            data container, as regular LML arguments should not be parsed directly by the macro - marco replaces
      *            only its own arguments.
-     * @return content with replaced arguments. */
+     * @return content with replaced arguments. Content is compiled once and cached, so replacing arguments in the same
+     *         content multiple times does not scan it again.
+     * @see com.github.czyzby.lml.parser.impl.tag.macro.util.ArgumentTemplate */
     protected String replaceArguments(final String content, final ObjectMap<String, String> macroArguments) {
-        final StringBuilder contentBuilder = new StringBuilder(content.length());
-        final StringBuilder argumentNameBuilder = new StringBuilder();
-        final LmlSyntax syntax = getParser().getSyntax();
-        MAIN_LOOP:
-        for (int index = 0, length = content.length(); index < length; index++) {
-            final char character = content.charAt(index);
-            if (character == syntax.getArgumentOpening()) {
-                Strings.clearBuilder(argumentNameBuilder);
-                // Character is an argument opening. It might be a regular LML parser argument - which is not ours to
-                // replace - but it might also be a macro argument, so we need to investigate.
-                for (int argumentIndex = index + 1; argumentIndex < length; argumentIndex++) {
-                    final char argumentCharacter = content.charAt(argumentIndex);
-                    if (argumentCharacter == syntax.getArgumentClosing()) {
-                        final String argumentName = argumentNameBuilder.toString();
-                        if (macroArguments.containsKey(argumentName)) {
-                            // Argument name found and present in macro argument. Appending argument value:
-                            contentBuilder.append(macroArguments.get(argumentName));
-                            // Skipping argument declaration, jumping to index after argument closing marker:
-                            index = argumentIndex;
-                            continue MAIN_LOOP;
-                        }
-                    }
-                    argumentNameBuilder.append(argumentCharacter);
-                }
-            }
-            contentBuilder.append(character);
-        }
-        return contentBuilder.toString();
+        return LmlUtilities.replaceArguments(content, macroArguments, getParser().getSyntax());
     }
 
     /** @param content will be split into two non-null strings according to the passed separator. If the separator does
@@ -85,9 +63,31 @@ public abstract class AbstractMacroLmlTag extends AbstractLmlTag {
 
     /** @param macroResult will be appended to the template reader. */
     protected void appendTextToParse(final String macroResult) {
+        appendedTextLength += Strings.isEmpty(macroResult) ? 0 : macroResult.length();
         getParser().getTemplateReader().append(macroResult, "'" + getTagName() + "' macro result");
     }
 
+    /** @param templatePart compiled macro content. Will be processed in place of the macro, without appending its text
+     *            to the template reader.
+     * @param macroArguments will be replaced in the dynamic parts of the content.
+     * @return true if the content was processed. False if the parser cannot process it right now - in this case, the
+     *         content should be appended as text with {@link #appendTextToParse(String)}.
+     * @see LmlParser#processTemplatePart(LmlTemplate, ObjectMap) */
+    protected boolean processTemplatePart(final LmlTemplate templatePart,
+            final ObjectMap<String, String> macroArguments) {
+        if (getParser().processTemplatePart(templatePart, macroArguments)) {
+            appendedTextLength += templatePart.getSource().length();
+            return true;
+        }
+        return false;
+    }
+
+    /** @return amount of characters appended to the template reader or processed in place of the macro by this macro.
+     *         Used to report macro expansion sizes. */
+    public int getAppendedTextLength() {
+        return appendedTextLength;
+    }
+
     @Override
     public void handleChild(final LmlTag childTag) {
         // Should never happen.
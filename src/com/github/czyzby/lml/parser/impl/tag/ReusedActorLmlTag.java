@@ -0,0 +1,80 @@
+package com.github.czyzby.lml.parser.impl.tag;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.ObjectMap.Entry;
+import com.github.czyzby.kiwi.util.gdx.collection.GdxMaps;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.impl.attribute.table.cell.AbstractCellLmlAttribute;
+import com.github.czyzby.lml.parser.tag.LmlAttribute;
+import com.github.czyzby.lml.parser.tag.LmlTag;
+
+/** Wraps around an actor reused from a previous instantiation of a template, when a view is reloaded. The actor is
+ * not modified: only its cell attributes are processed again (in case it is added to a table), since its cell belongs
+ * to the previous parent. Behaves like a regular child tag.
+ *
+ * @author MJ
+ * @see LmlParser#reload(Object, String) */
+public class ReusedActorLmlTag extends AbstractLmlTag {
+    private final Actor actor;
+
+    /** @param parser parses the reloaded template.
+     * @param parentTag new parent of the actor. Might be null.
+     * @param rawTagData data of the tag that originally created the actor.
+     * @param actor reused actor. Should not have any parent. */
+    public ReusedActorLmlTag(final LmlParser parser, final LmlTag parentTag, final String rawTagData,
+            final Actor actor) {
+        super(parser, parentTag, rawTagData);
+        this.actor = actor;
+        if (parentTag != null) {
+            processCellAttributes();
+        }
+    }
+
+    private void processCellAttributes() {
+        if (GdxMaps.isEmpty(getNamedAttributes())) {
+            return;
+        }
+        for (final Entry<String, String> attribute : getNamedAttributes()) {
+            final LmlAttribute<Actor> attributeProcessor = getParser().getSyntax().getAttributeProcessor(actor,
+                    attribute.key);
+            if (attributeProcessor instanceof AbstractCellLmlAttribute) {
+                attributeProcessor.process(getParser(), this, actor, attribute.value);
+            }
+        }
+    }
+
+    @Override
+    protected boolean supportsNamedAttributes() {
+        return true;
+    }
+
+    @Override
+    public boolean isParent() {
+        return false;
+    }
+
+    @Override
+    public boolean isChild() {
+        return true;
+    }
+
+    @Override
+    public Actor getActor() {
+        return actor;
+    }
+
+    @Override
+    public void handleDataBetweenTags(final String rawData) {
+        // Reused actors are never parents.
+    }
+
+    @Override
+    public void handleChild(final LmlTag childTag) {
+        // Reused actors are never parents.
+    }
+
+    @Override
+    public void closeTag() {
+        // Reused actors are already complete.
+    }
+}
@@ -6,6 +6,9 @@ import com.github.czyzby.kiwi.util.gdx.collection.GdxArrays;
 import com.github.czyzby.lml.parser.LmlParser;
 import com.github.czyzby.lml.parser.impl.tag.AbstractMacroLmlTag;
 import com.github.czyzby.lml.parser.tag.LmlTag;
+import com.github.czyzby.lml.parser.template.DefaultLmlTemplateCache;
+import com.github.czyzby.lml.parser.template.LmlTemplate;
+import com.github.czyzby.lml.parser.template.LmlTemplateCache;
 import com.github.czyzby.lml.util.collection.IgnoreCaseStringMap;
 
 /** Import macros are used to read other templates and append their content into the currently passed template. There
@@ -22,14 +25,44 @@ import com.github.czyzby.lml.util.collection.IgnoreCaseStringMap;
  * the second, every argument named contentArg (by default, arguments are represented like this: {contentArg}) will be
  * replaced with the text between import tags: " Content ".
  *
+ * <p>
+ * Imported templates are cached in one of three ways:
+ * <ul>
+ * <li>If the parser has a template cache, imported templates are stored in the cache of the parser.
+ * <li>If the parser has no template cache, but a default import cache was set with
+ * {@link #setDefaultImportCache(LmlTemplateCache)}, imported templates are stored in the default cache shared by all
+ * parsers.
+ * <li>Otherwise, imported templates are not cached: files are read each time they are imported. This is the default.
+ * </ul>
+ * Cached templates are read and compiled once. They are identified by file type and path and validated with the file
+ * modification time. Compiled templates are processed in place of the macro whenever possible, so their text is not
+ * parsed again.
+ *
  * @author MJ */
 public abstract class AbstractImportLmlMacroTag extends AbstractMacroLmlTag {
+    /** Used by import macros of parsers without a template cache. Optional. */
+    private static volatile LmlTemplateCache defaultImportCache;
     private String content;
 
     public AbstractImportLmlMacroTag(final LmlParser parser, final LmlTag parentTag, final String rawTagData) {
         super(parser, parentTag, rawTagData);
     }
 
+    /** @param importCache will be used to store imported templates of parsers that do not have their own template
+     *            cache. Shared by all parsers, so it has to be thread-safe if parsers are used by multiple threads - like
+     *            {@link DefaultLmlTemplateCache}. By default, there is no shared cache and imported templates of
+     *            parsers without a template cache are read each time they are imported. Pass null to turn the shared
+     *            cache off. */
+    public static void setDefaultImportCache(final LmlTemplateCache importCache) {
+        defaultImportCache = importCache;
+    }
+
+    /** @return cache used to store imported templates of parsers that do not have their own template cache. Null by
+     *         default. */
+    public static LmlTemplateCache getDefaultImportCache() {
+        return defaultImportCache;
+    }
+
     @Override
     public void handleDataBetweenTags(final String rawMacroContent) {
         content = rawMacroContent;
@@ -42,17 +75,33 @@ public abstract class AbstractImportLmlMacroTag extends AbstractMacroLmlTag {
             return;
         }
         final FileHandle template = getFileHandle(getTemplateFileName());
-        final String textToAppend;
+        ObjectMap<String, String> arguments = null;
         if (isReplacingArguments()) {
             if (content == null) {
                 getParser().throwErrorIfStrict(
                         "Import macros with content name attribute (second attribute) have to be parental and contain some content that can be replaced in the imported template. Remove second import attribute or add data between macro tags.");
             }
-            textToAppend = replaceArguments(template.readString(), getArguments());
-        } else {
-            textToAppend = template.readString();
+            arguments = getArguments();
         }
-        appendTextToParse(textToAppend);
+        final LmlTemplateCache importCache = getImportCache();
+        if (importCache == null) {
+            final String text = template.readString();
+            appendTextToParse(arguments == null ? text : replaceArguments(text, arguments));
+            return;
+        }
+        final LmlTemplate compiledTemplate = importCache.getTemplate(template, getParser().getTemplateCompiler());
+        if (!processTemplatePart(compiledTemplate, arguments)) {
+            // Parser cannot process the template in place. Appending cached template text:
+            final String text = compiledTemplate.getSource();
+            appendTextToParse(arguments == null ? text : replaceArguments(text, arguments));
+        }
+    }
+
+    /** @return cache used to store imported templates. By default, returns the template cache of the parser or the
+     *         default import cache if the parser has no cache. Might be null if neither cache is available. */
+    protected LmlTemplateCache getImportCache() {
+        final LmlTemplateCache templateCache = getParser().getTemplateCache();
+        return templateCache == null ? defaultImportCache : templateCache;
     }
 
     /** @return arguments to replace in the imported template. */
@@ -1,13 +1,18 @@
 package com.github.czyzby.lml.parser.impl.tag.macro;
 
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.github.czyzby.kiwi.util.common.Strings;
+import com.github.czyzby.kiwi.util.gdx.collection.GdxArrays;
 import com.github.czyzby.lml.parser.LmlParser;
 import com.github.czyzby.lml.parser.impl.tag.AbstractMacroLmlTag;
+import com.github.czyzby.lml.parser.impl.tag.macro.util.ArgumentTemplate;
 import com.github.czyzby.lml.parser.tag.LmlTag;
+import com.github.czyzby.lml.parser.template.LmlTemplate;
 import com.github.czyzby.lml.util.collection.IgnoreCaseStringMap;
 
-/** Abstract base for loop and iteration-based macros.
+/** Abstract base for loop and iteration-based macros. Macro content is compiled once and its nodes are processed for
+ * each iteration with replaced loop arguments, rather than parsing a copy of the content text for each iteration.
  *
  * @author MJ */
 public abstract class AbstractLoopLmlMacroTag extends AbstractMacroLmlTag {
@@ -20,12 +25,30 @@ public abstract class AbstractLoopLmlMacroTag extends AbstractMacroLmlTag {
 
     @Override
     public void handleDataBetweenTags(final String rawMacroContent) {
-        final StringBuilder contentBuilder = new StringBuilder(rawMacroContent.length());
+        // Evaluating all iterations first, as the loop state should not be affected by the parsed content:
+        final Array<ObjectMap<String, String>> iterations = GdxArrays.newArray();
         final ObjectMap<String, String> arguments = new IgnoreCaseStringMap<String>();
         while (hasNext()) {
             arguments.put(indexArgument, String.valueOf(getIndex()));
             next(arguments);
-            contentBuilder.append(replaceArguments(rawMacroContent, arguments));
+            iterations.add(new IgnoreCaseStringMap<String>(arguments));
+        }
+        if (iterations.size == 0) {
+            return;
+        }
+        // Content is compiled once and its nodes are processed for each iteration with replaced loop arguments:
+        final LmlTemplate content = getParser().compile(rawMacroContent, "'" + getTagName() + "' macro result");
+        if (content.isEmpty() || processTemplatePart(content, iterations.first())) {
+            for (int index = 1; index < iterations.size; index++) {
+                processTemplatePart(content, iterations.get(index));
+            }
+            return;
+        }
+        // Parser cannot process the content in place. Appending the whole loop result as text:
+        final ArgumentTemplate argumentTemplate = ArgumentTemplate.compile(rawMacroContent, getParser().getSyntax());
+        final StringBuilder contentBuilder = new StringBuilder(rawMacroContent.length());
+        for (final ObjectMap<String, String> iterationArguments : iterations) {
+            contentBuilder.append(argumentTemplate.replace(iterationArguments));
         }
         if (Strings.isNotEmpty(contentBuilder)) {
             appendTextToParse(contentBuilder.toString());
@@ -0,0 +1,61 @@
+package com.github.czyzby.lml.parser.impl.tag.macro;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.github.czyzby.kiwi.util.common.Strings;
+import com.github.czyzby.kiwi.util.gdx.collection.GdxArrays;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.impl.tag.AbstractMacroLmlTag;
+import com.github.czyzby.lml.parser.impl.tag.MockLmlTag;
+import com.github.czyzby.lml.parser.tag.LmlTag;
+import com.github.czyzby.lml.scene2d.ui.reflected.LazyContainer;
+import com.github.czyzby.lml.util.LmlUtilities;
+
+/** Lazy macro delays parsing of its content. Instead of creating actors, it adds a {@link LazyContainer} that keeps
+ * the unparsed content and creates its actors the first time it is drawn or when it is explicitly realized with
+ * {@link LmlUtilities#realize(Actor)}. This allows to avoid creating big parts of views that might never be shown,
+ * like inactive tabs, collapsed panels or rarely used dialogs. Optional macro attribute becomes the container's ID.
+ * For example: <blockquote>
+ *
+ * <pre>
+ * &lt;tabbedPane&gt;
+ *     &lt;tab title="Settings"&gt;&lt;@lazy settingsContent&gt;
+ *         &lt;table&gt;(...)&lt;/table&gt;
+ *     &lt;/@lazy&gt;&lt;/tab&gt;
+ * &lt;/tabbedPane&gt;
+ * </pre>
+ *
+ * </blockquote>Table will be created only when the tab is shown for the first time - during rendering of that frame,
+ * unless the container is realized earlier. Note that arguments in the macro content are replaced when the content is
+ * parsed, not when the macro is processed. Actions of the view that contains the macro are available in its content.
+ *
+ * @author MJ */
+public class LazyLmlMacroTag extends AbstractMacroLmlTag {
+    private String content;
+
+    public LazyLmlMacroTag(final LmlParser parser, final LmlTag parentTag, final String rawTagData) {
+        super(parser, parentTag, rawTagData);
+    }
+
+    @Override
+    public void handleDataBetweenTags(final String rawMacroContent) {
+        content = rawMacroContent;
+    }
+
+    @Override
+    public void closeTag() {
+        // View is captured, so its actions are available when the content is parsed after the view is created:
+        final LazyContainer container = new LazyContainer(getParser(),
+                content == null ? Strings.EMPTY_STRING : content, getParser().getCurrentView());
+        if (GdxArrays.isNotEmpty(getAttributes())) {
+            final String id = getAttributes().first();
+            LmlUtilities.setActorId(container, id);
+            getParser().getActorsMappedByIds().put(id, container);
+        }
+        final LmlTag parent = getParent();
+        if (parent != null) {
+            parent.handleChild(new MockLmlTag(container, parent));
+        } else {
+            getParser().addActor(container);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.czyzby.lml.parser.impl.tag.macro.provider;
+
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.impl.tag.macro.LazyLmlMacroTag;
+import com.github.czyzby.lml.parser.tag.LmlTag;
+import com.github.czyzby.lml.parser.tag.LmlTagProvider;
+
+/** Provides lazy macro tags.
+ *
+ * @author MJ */
+public class LazyLmlMacroTagProvider implements LmlTagProvider {
+    @Override
+    public LmlTag create(final LmlParser parser, final LmlTag parentTag, final String rawTagData) {
+        return new LazyLmlMacroTag(parser, parentTag, rawTagData);
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.czyzby.lml.parser.impl.tag.macro.util;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.github.czyzby.kiwi.util.common.Nullables;
+import com.github.czyzby.kiwi.util.gdx.collection.GdxArrays;
+import com.github.czyzby.lml.parser.LmlSyntax;
+import com.github.czyzby.lml.util.collection.CaseInsensitiveStringMap;
+import com.github.czyzby.lml.util.collection.IgnoreCaseStringMap;
+import com.github.czyzby.lml.util.collection.LruCache;
+
+/** Macro content compiled into literal segments and argument slots. Allows to replace macro arguments multiple times
+ * without scanning the content again: each replacement looks up every slot name once and joins the segments with a
+ * single, presized builder. Compiled contents are cached by their text (see {@link #compile(String, LmlSyntax)}), so
+ * custom macros, imports and loops do not compile the same content more than once.
+ *
+ * <p>
+ * An argument slot is an argument opening followed by the argument name and an argument closing; names cannot contain
+ * argument markers. Arguments that are not present in the replaced map are kept as they are, since they might be
+ * regular LML arguments. Compiled contents are immutable and can be used by multiple threads.
+ *
+ * @author MJ */
+public class ArgumentTemplate {
+    /** Maximum amount of cached compiled contents. When exceeded, least recently used contents are evicted. */
+    public static final int MAX_CACHED_TEMPLATES = 512;
+    /** Compiled contents mapped by their text. */
+    private static final LruCache<String, ArgumentTemplate> CACHE = new LruCache<String, ArgumentTemplate>(
+            MAX_CACHED_TEMPLATES);
+
+    private final String content;
+    private final char argumentOpening;
+    private final char argumentClosing;
+    /** Literal parts of the content. There is always one more segment than argument slots. */
+    private final String[] segments;
+    /** Names of the arguments, in the order of their slots. */
+    private final String[] names;
+    /** Lower-case names of the arguments, used to query ignore-case maps. */
+    private final String[] lowerCaseNames;
+    /** Total length of all segments. */
+    private final int segmentsLength;
+
+    /** @param content will be compiled.
+     * @param argumentOpening opens argument slots.
+     * @param argumentClosing closes argument slots. */
+    public ArgumentTemplate(final String content, final char argumentOpening, final char argumentClosing) {
+        this.content = content;
+        this.argumentOpening = argumentOpening;
+        this.argumentClosing = argumentClosing;
+        final Array<String> contentSegments = GdxArrays.newArray(String.class);
+        final Array<String> argumentNames = GdxArrays.newArray(String.class);
+        final int length = content.length();
+        int segmentStart = 0;
+        for (int index = content.indexOf(argumentOpening); index >= 0; index = content.indexOf(argumentOpening,
+                index + 1)) {
+            final int nameEnd = getNameEnd(index + 1);
+            if (nameEnd < length && content.charAt(nameEnd) == argumentClosing) {
+                contentSegments.add(content.substring(segmentStart, index));
+                argumentNames.add(content.substring(index + 1, nameEnd));
+                segmentStart = nameEnd + 1;
+                index = nameEnd;
+            }
+        }
+        contentSegments.add(content.substring(segmentStart));
+        segments = contentSegments.toArray();
+        names = argumentNames.toArray();
+        lowerCaseNames = new String[names.length];
+        int totalLength = 0;
+        for (int index = 0; index < names.length; index++) {
+            lowerCaseNames[index] = names[index].toLowerCase();
+            totalLength += segments[index].length();
+        }
+        segmentsLength = totalLength + segments[names.length].length();
+    }
+
+    /** @param nameStart index of the first character after an argument opening.
+     * @return index of the first argument marker after the name or content length if there are no markers. */
+    private int getNameEnd(final int nameStart) {
+        for (int index = nameStart, length = content.length(); index < length; index++) {
+            final char character = content.charAt(index);
+            if (character == argumentClosing || character == argumentOpening) {
+                return index;
+            }
+        }
+        return content.length();
+    }
+
+    /** @param content will be compiled. Cannot be null.
+     * @param syntax determines argument markers.
+     * @return compiled content. Cached by its text: compiling the same content multiple times returns the same
+     *         instance, unless it was evicted from the cache or the syntax uses different argument markers. Contents
+     *         are compiled without locking the cache. */
+    public static ArgumentTemplate compile(final String content, final LmlSyntax syntax) {
+        ArgumentTemplate template = CACHE.get(content);
+        if (template == null || !template.isCompatible(syntax)) {
+            template = new ArgumentTemplate(content, syntax.getArgumentOpening(), syntax.getArgumentClosing());
+            CACHE.put(content, template);
+        }
+        return template;
+    }
+
+    /** Removes all cached compiled contents. */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    /** @param syntax LML syntax.
+     * @return true if the content was compiled with the same argument markers as used by the syntax. */
+    public boolean isCompatible(final LmlSyntax syntax) {
+        return syntax.getArgumentOpening() == argumentOpening && syntax.getArgumentClosing() == argumentClosing;
+    }
+
+    /** @return original, compiled content. */
+    public String getContent() {
+        return content;
+    }
+
+    /** @return amount of argument slots in the content. */
+    public int getArgumentsAmount() {
+        return names.length;
+    }
+
+    /** @param macroArguments map of private macro arguments. Arguments that are not present in the map are not
+     *            replaced. Can be null.
+     * @return content with replaced arguments. If no arguments were replaced, the original content instance is
+     *         returned. */
+    public String replace(final ObjectMap<String, String> macroArguments) {
+        if (names.length == 0 || macroArguments == null || macroArguments.size == 0) {
+            return content;
+        }
+        // Keys of ignore-case maps are stored in lower case, so lower-case names can be queried without conversions:
+        final String[] keys = macroArguments instanceof IgnoreCaseStringMap
+                || macroArguments instanceof CaseInsensitiveStringMap ? lowerCaseNames : names;
+        final String[] values = new String[keys.length];
+        int length = segmentsLength;
+        boolean replaced = false;
+        for (int index = 0; index < keys.length; index++) {
+            final String key = keys[index];
+            final String value = macroArguments.get(key);
+            if (value != null || macroArguments.containsKey(key)) {
+                values[index] = value == null ? Nullables.DEFAULT_NULL_STRING : value;
+                length += values[index].length();
+                replaced = true;
+            } else { // Not a macro argument. Keeping the slot as it is.
+                length += names[index].length() + 2;
+            }
+        }
+        if (!replaced) {
+            return content;
+        }
+        final StringBuilder builder = new StringBuilder(length);
+        for (int index = 0; index < values.length; index++) {
+            builder.append(segments[index]);
+            if (values[index] == null) {
+                builder.append(argumentOpening).append(names[index]).append(argumentClosing);
+            } else {
+                builder.append(values[index]);
+            }
+        }
+        return builder.append(segments[values.length]).toString();
+    }
+
+    @Override
+    public String toString() {
+        return content;
+    }
+}
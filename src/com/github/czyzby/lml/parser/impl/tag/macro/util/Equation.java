@@ -6,17 +6,32 @@ import com.github.czyzby.kiwi.util.common.Nullables;
 import com.github.czyzby.kiwi.util.common.Strings;
 import com.github.czyzby.lml.parser.LmlParser;
 import com.github.czyzby.lml.util.LmlUtilities;
+import com.github.czyzby.lml.util.collection.LruCache;
 
 /** Allows to evaluate string equations at runtime. Supports String, float, int and boolean types, determined upon
  * parsing. See {@link DefaultOperator} for supported operations.
  *
+ * <p>
+ * Equations are compiled into trees of operators and values (see {@link #compile(String)}), which are cached by their
+ * content - evaluating the same equation multiple times (for example, by a while macro) only resolves its values that
+ * reference LML data (like bundle lines or methods) and invokes the operators.
+ *
  * @author MJ */
 // I think that this is currently by far the most dragon-ish class in LML, as the logic is pretty complex and I decided
 // to keep most variables method-scoped for easy nested equations. Also, I didn't really want the internal classes to
 // flood even further than it already is with LML attributes, tags and macros, since this functionality will probably be
 // rarely extended. So, basically: here be dragons. Kind of.
 public class Equation {
-    private static final IntMap<Operator> OPERATORS = new IntMap<Operator>();
+    /** Maximum amount of cached compiled equations. When exceeded, least recently used equations are evicted. */
+    public static final int MAX_CACHED_EQUATIONS = 512;
+    /** Registered operators, mapped by their signs. Never modified after publication: registering an operator replaces
+     * the map with a modified copy, so equations can be safely evaluated by multiple threads. */
+    private static volatile IntMap<Operator> operators = new IntMap<Operator>();
+    /** Compiled equations mapped by their content. */
+    private static final LruCache<String, CompiledEquation> CACHE = new LruCache<String, CompiledEquation>(
+            MAX_CACHED_EQUATIONS);
+    /** Compiles cached equations. */
+    private static final Equation COMPILER;
     private final LmlParser parser;
     private final Actor actor;
 
@@ -24,6 +39,7 @@ public class Equation {
         for (final Operator operator : DefaultOperator.values()) {
             registerOperator(operator);
         }
+        COMPILER = new Equation();
     }
 
     /** Constructs a new equation without LML syntax support. */
@@ -32,9 +48,34 @@ public class Equation {
     }
 
     /** @param operator will be registered and handled during equation parsing. Be careful not to override default
-     *            operators. */
-    public static void registerOperator(final Operator operator) {
-        OPERATORS.put(operator.getSign(), operator);
+     *            operators. Clears compiled equations cache. */
+    public static synchronized void registerOperator(final Operator operator) {
+        final IntMap<Operator> newOperators = new IntMap<Operator>(operators.size + 1);
+        newOperators.putAll(operators);
+        newOperators.put(operator.getSign(), operator);
+        operators = newOperators;
+        clearCache();
+    }
+
+    /** @param equation will be compiled. Values referencing LML data (bundle lines, preferences, methods, etc.) are not
+     *            resolved - they are parsed each time the equation is evaluated.
+     * @return compiled equation. Compiled equations are cached by their content and can be safely shared by multiple
+     *         threads.
+     * @throws IllegalStateException if the equation is invalid.
+     * @see #getResult(CompiledEquation)
+     * @see #getBooleanResult(CompiledEquation) */
+    public static CompiledEquation compile(final String equation) {
+        CompiledEquation compiledEquation = CACHE.get(equation);
+        if (compiledEquation == null) {
+            compiledEquation = new CompiledEquation(equation, COMPILER.compileEquation(equation));
+            CACHE.put(equation, compiledEquation);
+        }
+        return compiledEquation;
+    }
+
+    /** Removes all cached compiled equations. */
+    public static void clearCache() {
+        CACHE.clear();
     }
 
     /** @param parser will be used to parse values.
@@ -65,22 +106,43 @@ public class Equation {
      * @return result of the equation as string. */
     public String getResult(final String equation) {
         try {
-            return Nullables.toString(parseEquation(equation));
+            return getCompiledEquation(equation).getRoot().evaluate(this).getString();
         } catch (final RuntimeException exception) {
             throwException(exception);
         }
         return null;
     }
 
-    private Object parseEquation(final String equation) {
+    /** @param equation will be evaluated.
+     * @return result of the equation as string. */
+    public String getResult(final CompiledEquation equation) {
+        try {
+            return equation.getRoot().evaluate(this).getString();
+        } catch (final RuntimeException exception) {
+            throwException(exception);
+        }
+        return null;
+    }
+
+    /** @param equation will be compiled.
+     * @return compiled equation. By default, returns cached equations compiled with {@link #compile(String)}. Override
+     *         to compile equations with {@link #compileEquation(String)} if this class modifies equation parsing. */
+    protected CompiledEquation getCompiledEquation(final String equation) {
+        return compile(equation);
+    }
+
+    /** @param equation will be compiled.
+     * @return root node of the compiled equation.
+     * @throws IllegalStateException if the equation is invalid. */
+    protected Node compileEquation(final String equation) {
         Element firstNode = new OperatorElement(DefaultOperator.NO_OP, null, null);
-        // Separating equation into values (boolean, int, float, String) and operators:
+        // Separating equation into values and operators:
         findEquationElements(equation, firstNode);
         // Merging neighbor operators (for example, != will be parsed as one operator: NOT_EQUALS):
         firstNode = mergeOperatorElements(firstNode);
-        // Executing operators:
-        firstNode = evaluateOperators(firstNode, findMaxPriority(firstNode));
-        return convertToResult(firstNode);
+        // Replacing operators with nodes holding their arguments:
+        firstNode = compileOperators(firstNode, findMaxPriority(firstNode));
+        return convertToNode(firstNode);
     }
 
     protected void findEquationElements(final String equation, final Element firstNode) {
@@ -109,7 +171,7 @@ public class Equation {
                 if (nested != 0) {
                     throw new IllegalStateException("Invalid amount of parenthesis in equation: " + equation);
                 }
-                node = new ValueElement(parseEquation(valueBuilder.toString()), lastNode, null);
+                node = new NodeElement(compileEquation(valueBuilder.toString()), lastNode, null);
             } else if (isOperator(character)) {
                 node = new OperatorElement(getOperator(character), lastNode, null);
             } else {
@@ -130,7 +192,7 @@ public class Equation {
                 if (Strings.isBlank(valueBuilder)) {
                     continue;
                 }
-                node = new ValueElement(buildValue(valueBuilder), lastNode, null);
+                node = new NodeElement(new ValueNode(buildValue(valueBuilder)), lastNode, null);
             }
             lastNode.setNext(node);
             lastNode = node;
@@ -138,12 +200,9 @@ public class Equation {
     }
 
     private String buildValue(final StringBuilder valueBuilder) {
-        String value = valueBuilder.toString().trim().replace("\\n", "\n");
+        final String value = valueBuilder.toString().trim().replace("\\n", "\n");
         if (isInQuotation(value)) {
-            value = LmlUtilities.stripQuotation(value);
-        }
-        if (parser != null) {
-            return parser.parseString(value, actor);
+            return LmlUtilities.stripQuotation(value);
         }
         return value;
     }
@@ -199,7 +258,7 @@ public class Equation {
         return priority;
     }
 
-    private Element evaluateOperators(Element firstNode, final int maxPriority) {
+    private Element compileOperators(Element firstNode, final int maxPriority) {
         for (int currentPriority = maxPriority; currentPriority <= maxPriority
                 && currentPriority >= 0; currentPriority--) {
             for (Element element = firstNode; element != null;) {
@@ -209,7 +268,7 @@ public class Equation {
                 }
                 Element resultElement = null;
                 if (element.getOperator().getDoubleArgumentPriority() == currentPriority) {
-                    // Evaluating double argument expression.
+                    // Compiling double argument expression.
                     validateEvaluatedElement(element);
                     if (isSingleArgument(element)) {
                         // Has only two arguments...
@@ -220,12 +279,13 @@ public class Equation {
                                             + element.previous() + " and followed by " + element.next());
                         }
                     } else {
-                        final Object result = evaluateDoubleArgumentOperator(element);
-                        resultElement = new ValueElement(result, element.previous().previous(), element.next().next());
+                        final Node node = new DoubleArgumentNode(element.getOperator(), getNode(element.previous()),
+                                getNode(element.next()));
+                        resultElement = new NodeElement(node, element.previous().previous(), element.next().next());
                     }
                 }
                 if (resultElement == null && element.getOperator().getSingleArgumentPriority() == currentPriority) {
-                    // Evaluating a single argument expression.
+                    // Compiling a single argument expression.
                     validateEvaluatedElement(element);
                     if (element.getOperator().getDoubleArgumentPriority() >= 0 && !isSingleArgument(element)) {
                         // It is a single argument-handling operator, but it also parses double arguments and now its
@@ -236,8 +296,8 @@ public class Equation {
                         element = element.next();
                         continue;
                     }
-                    final Object result = evaluateSingleArgumentOperator(element);
-                    resultElement = new ValueElement(result, element.previous(), element.next().next());
+                    final Node node = new SingleArgumentNode(element.getOperator(), getNode(element.next()));
+                    resultElement = new NodeElement(node, element.previous(), element.next().next());
                 } else {
                     resultElement = resultElement == null ? element.next() : resultElement;
                 }
@@ -250,6 +310,12 @@ public class Equation {
         return firstNode;
     }
 
+    /** @param element value element.
+     * @return node stored by the element. */
+    protected static Node getNode(final Element element) {
+        return ((NodeElement) element).getNode();
+    }
+
     protected boolean isSingleArgument(final Element element) {
         return !element.hasPrevious() || element.hasPrevious() && element.previous().isOperator();
     }
@@ -266,34 +332,7 @@ public class Equation {
         }
     }
 
-    protected Object evaluateDoubleArgumentOperator(final Element element) {
-        final Operator operator = element.getOperator();
-        final Element leftArgument = element.previous();
-        final Element rightArgument = element.next();
-        if (leftArgument.isBoolean() && rightArgument.isBoolean()) {
-            return operator.process(leftArgument.getBoolean(), rightArgument.getBoolean());
-        } else if (leftArgument.isInt() && rightArgument.isInt()) {
-            return operator.process(leftArgument.getInt(), rightArgument.getInt());
-        } else if (leftArgument.isFloat() && rightArgument.isFloat()) {
-            return operator.process(leftArgument.getFloat(), rightArgument.getFloat());
-        }
-        return operator.process(leftArgument.getString(), rightArgument.getString());
-    }
-
-    protected Object evaluateSingleArgumentOperator(final Element element) {
-        final Operator operator = element.getOperator();
-        final Element argument = element.next();
-        if (argument.isBoolean()) {
-            return operator.process(argument.getBoolean());
-        } else if (argument.isInt()) {
-            return operator.process(argument.getInt());
-        } else if (argument.isFloat()) {
-            return operator.process(argument.getFloat());
-        }
-        return operator.process(argument.getString());
-    }
-
-    protected Object convertToResult(final Element firstNode) {
+    protected Node convertToNode(final Element firstNode) {
         if (firstNode.isOperator()) {
             throw new IllegalStateException(
                     "No logical values in the equation. Equation cannot be empty or contain only operators.");
@@ -303,15 +342,15 @@ public class Equation {
                     "Equation could not have been evaluated to a single value. Most likely not enough operators were given. Leftover nodes: "
                             + printNodes(firstNode));
         }
-        return firstNode.getString();
+        return getNode(firstNode);
     }
 
     protected Operator getOperator(final char character) {
-        return OPERATORS.get(character);
+        return operators.get(character);
     }
 
     protected boolean isOperator(final char character) {
-        return OPERATORS.containsKey(character);
+        return operators.containsKey(character);
     }
 
     /** Utility method that calls {@link #getResult(String)} and converts returned value to a boolean.
@@ -319,7 +358,30 @@ public class Equation {
      * @param equation will be evaluated.
      * @return true if: returned value is boolean true, a positive number or non-null string. */
     public boolean getBooleanResult(final String equation) {
-        final Element result = new ValueElement(getResult(equation), null, null);
+        try {
+            return toBoolean(getCompiledEquation(equation).getRoot().evaluate(this));
+        } catch (final RuntimeException exception) {
+            throwException(exception);
+        }
+        return false;
+    }
+
+    /** Utility method that evaluates the compiled equation and converts its result to a boolean.
+     *
+     * @param equation will be evaluated.
+     * @return true if: returned value is boolean true, a positive number or non-null string. */
+    public boolean getBooleanResult(final CompiledEquation equation) {
+        try {
+            return toBoolean(equation.getRoot().evaluate(this));
+        } catch (final RuntimeException exception) {
+            throwException(exception);
+        }
+        return false;
+    }
+
+    /** @param result evaluated value.
+     * @return true if value is boolean true, a positive number or non-null string. */
+    protected boolean toBoolean(final Value result) {
         if (result.isBoolean()) {
             return result.getBoolean();
         } else if (result.isInt()) {
@@ -568,58 +630,270 @@ public class Equation {
         }
     }
 
-    /** Holds actual equation values.
+    /** Holds compiled values and expressions.
      *
      * @author MJ */
-    protected static class ValueElement extends AbstractElement {
-        private final String value;
+    protected static class NodeElement extends AbstractElement {
+        private final Node node;
 
-        public ValueElement(final Object value, final Element previous, final Element next) {
-            this(Nullables.toString(value, Strings.EMPTY_STRING), previous, next);
+        public NodeElement(final Node node, final Element previous, final Element next) {
+            super(previous, next);
+            this.node = node;
         }
 
-        public ValueElement(final String value, final Element previous, final Element next) {
-            super(previous, next);
-            if (value == null || value.equalsIgnoreCase(Nullables.DEFAULT_NULL_STRING)) {
-                this.value = Strings.EMPTY_STRING;
-            } else {
-                this.value = value;
-            }
+        /** @return compiled value or expression. */
+        public Node getNode() {
+            return node;
         }
 
         @Override
-        public boolean isBoolean() {
-            return Strings.isBoolean(value);
+        public String getString() {
+            return node.toString();
+        }
+    }
+
+    /** Reusable compiled equation. Immutable; can be evaluated by multiple equation instances (and threads) at once.
+     *
+     * @author MJ
+     * @see Equation#compile(String) */
+    public static class CompiledEquation {
+        private final String equation;
+        private final Node root;
+
+        public CompiledEquation(final String equation, final Node root) {
+            this.equation = equation;
+            this.root = root;
+        }
+
+        /** @return content of the compiled equation. */
+        public String getEquation() {
+            return equation;
+        }
+
+        /** @return root node of the equation tree. */
+        public Node getRoot() {
+            return root;
         }
 
         @Override
-        public boolean isInt() {
-            return Strings.isInt(value);
+        public String toString() {
+            return equation;
+        }
+    }
+
+    /** Common base for nodes of compiled equations.
+     *
+     * @author MJ */
+    public static abstract class Node {
+        /** @param equation evaluates the node. Its parser is used to resolve values.
+         * @return result of the node. */
+        protected abstract Value evaluate(Equation equation);
+    }
+
+    /** Holds a single value of the equation. Values are parsed by the LML parser each time the equation is evaluated,
+     * unless the parser returns them unchanged - in which case type of the value does not have to be determined again.
+     *
+     * @author MJ */
+    protected static class ValueNode extends Node {
+        private final String rawValue;
+        private final Value value;
+
+        public ValueNode(final String rawValue) {
+            this.rawValue = rawValue;
+            value = Value.of(rawValue);
         }
 
         @Override
-        public boolean isFloat() {
-            return Strings.isFloat(value);
+        protected Value evaluate(final Equation equation) {
+            final String parsedValue = equation.parseValue(rawValue);
+            // Plain values are returned as-is by the parser:
+            return parsedValue == rawValue ? value : Value.of(parsedValue);
         }
 
         @Override
-        public boolean getBoolean() {
-            return Boolean.valueOf(value);
+        public String toString() {
+            return rawValue;
+        }
+    }
+
+    /** Holds an operator with one argument.
+     *
+     * @author MJ */
+    protected static class SingleArgumentNode extends Node {
+        private final Operator operator;
+        private final Node argument;
+
+        public SingleArgumentNode(final Operator operator, final Node argument) {
+            this.operator = operator;
+            this.argument = argument;
         }
 
         @Override
-        public float getFloat() {
-            return Float.valueOf(value);
+        protected Value evaluate(final Equation equation) {
+            final Value value = argument.evaluate(equation);
+            if (value.isBoolean()) {
+                return Value.of(operator.process(value.getBoolean()));
+            } else if (value.isInt()) {
+                return Value.of(operator.process(value.getInt()));
+            } else if (value.isFloat()) {
+                return Value.of(operator.process(value.getFloat()));
+            }
+            return Value.of(operator.process(value.getString()));
         }
 
         @Override
-        public int getInt() {
-            return Integer.valueOf(value);
+        public String toString() {
+            return operator + "(" + argument + ")";
+        }
+    }
+
+    /** Holds an operator with two arguments.
+     *
+     * @author MJ */
+    protected static class DoubleArgumentNode extends Node {
+        private final Operator operator;
+        private final Node leftArgument;
+        private final Node rightArgument;
+
+        public DoubleArgumentNode(final Operator operator, final Node leftArgument, final Node rightArgument) {
+            this.operator = operator;
+            this.leftArgument = leftArgument;
+            this.rightArgument = rightArgument;
+        }
+
+        @Override
+        protected Value evaluate(final Equation equation) {
+            final Value leftValue = leftArgument.evaluate(equation);
+            final Value rightValue = rightArgument.evaluate(equation);
+            if (leftValue.isBoolean() && rightValue.isBoolean()) {
+                return Value.of(operator.process(leftValue.getBoolean(), rightValue.getBoolean()));
+            } else if (leftValue.isInt() && rightValue.isInt()) {
+                return Value.of(operator.process(leftValue.getInt(), rightValue.getInt()));
+            } else if (leftValue.isFloat() && rightValue.isFloat()) {
+                return Value.of(operator.process(leftValue.getFloat(), rightValue.getFloat()));
+            }
+            return Value.of(operator.process(leftValue.getString(), rightValue.getString()));
         }
 
         @Override
+        public String toString() {
+            return operator + "(" + leftArgument + ", " + rightArgument + ")";
+        }
+    }
+
+    /** Typed result of a node. Numbers and booleans are parsed once, when the value is created; results of operators
+     * keep their primitive values, so they do not have to be converted to strings and parsed again. Type of the value
+     * is determined as if it was a string: for example, "1.0E10" float is treated as a string, since it is not
+     * recognized as a float by the parser. Immutable.
+     *
+     * @author MJ */
+    public static final class Value {
+        private static final int STRING = 0, BOOLEAN = 1, INT = 2, FLOAT = 3;
+        private static final Value EMPTY = new Value(Strings.EMPTY_STRING, STRING, false, 0, 0f, true);
+        private static final Value TRUE = new Value(Boolean.TRUE.toString(), BOOLEAN, true, 0, 0f, true);
+        private static final Value FALSE = new Value(Boolean.FALSE.toString(), BOOLEAN, false, 0, 0f, true);
+
+        private final String string;
+        private final int type;
+        private final boolean booleanValue;
+        private final int intValue;
+        private final float floatValue;
+        /** False if the number could not have been parsed and has to be parsed (throwing an exception) on use. */
+        private final boolean parsed;
+
+        private Value(final String string, final int type, final boolean booleanValue, final int intValue,
+                final float floatValue, final boolean parsed) {
+            this.string = string;
+            this.type = type;
+            this.booleanValue = booleanValue;
+            this.intValue = intValue;
+            this.floatValue = floatValue;
+            this.parsed = parsed;
+        }
+
+        /** @param value result of an operator. Might be null.
+         * @return typed value. */
+        public static Value of(final Object value) {
+            if (value instanceof Boolean) {
+                return (Boolean) value ? TRUE : FALSE;
+            } else if (value instanceof Integer) {
+                final int intValue = (Integer) value;
+                return new Value(null, INT, false, intValue, intValue, true);
+            } else if (value instanceof Float) {
+                final String string = value.toString();
+                if (Strings.isFloat(string)) {
+                    return new Value(string, FLOAT, false, 0, (Float) value, true);
+                } // Infinity, NaN and exponent notation are not recognized as floats:
+                return new Value(string, STRING, false, 0, 0f, true);
+            }
+            return of(Nullables.toString(value, Strings.EMPTY_STRING));
+        }
+
+        /** @param value string value. Might be null.
+         * @return typed value. Null and "null" are converted to an empty string. */
+        public static Value of(final String value) {
+            if (value == null || value.isEmpty() || value.equalsIgnoreCase(Nullables.DEFAULT_NULL_STRING)) {
+                return EMPTY;
+            } else if (Strings.isBoolean(value)) {
+                return new Value(value, BOOLEAN, Boolean.parseBoolean(value), 0, 0f, true);
+            } else if (Strings.isInt(value)) {
+                try {
+                    final int intValue = Integer.parseInt(value);
+                    return new Value(value, INT, false, intValue, intValue, true);
+                } catch (final NumberFormatException exception) {
+                    // Out of int range - can still be used as a float.
+                    return new Value(value, INT, false, 0, Float.parseFloat(value), false);
+                }
+            } else if (Strings.isFloat(value)) {
+                try {
+                    return new Value(value, FLOAT, false, 0, Float.parseFloat(value), true);
+                } catch (final NumberFormatException exception) {
+                    return new Value(value, FLOAT, false, 0, 0f, false);
+                }
+            }
+            return new Value(value, STRING, false, 0, 0f, true);
+        }
+
+        /** @return true if the value is a boolean. */
+        public boolean isBoolean() {
+            return type == BOOLEAN;
+        }
+
+        /** @return true if the value is an int. */
+        public boolean isInt() {
+            return type == INT;
+        }
+
+        /** @return true if the value is a float or an int. */
+        public boolean isFloat() {
+            return type == FLOAT || type == INT;
+        }
+
+        /** @return stored value as boolean. */
+        public boolean getBoolean() {
+            return booleanValue;
+        }
+
+        /** @return stored value as int.
+         * @throws NumberFormatException if the value is out of int range. */
+        public int getInt() {
+            return parsed ? intValue : Integer.parseInt(string);
+        }
+
+        /** @return stored value as float.
+         * @throws NumberFormatException if the value is not a valid float. */
+        public float getFloat() {
+            return parsed || type == INT ? floatValue : Float.parseFloat(string);
+        }
+
+        /** @return stored value as string. */
         public String getString() {
-            return value;
+            return string == null ? String.valueOf(intValue) : string;
+        }
+
+        @Override
+        public String toString() {
+            return getString();
         }
     }
 
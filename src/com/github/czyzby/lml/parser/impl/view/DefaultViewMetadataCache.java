@@ -0,0 +1,30 @@
+package com.github.czyzby.lml.parser.impl.view;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.github.czyzby.lml.parser.view.ViewMetadata;
+import com.github.czyzby.lml.parser.view.ViewMetadataCache;
+
+/** Default implementation of {@link ViewMetadataCache}. Stores metadata in a map, so it works on all platforms
+ * (including GWT), but keeps view classes strongly referenced until it is cleared or garbage collected along with the
+ * parser. By default, each parser uses its own instance. Thread-safe.
+ *
+ * @author MJ
+ * @see com.github.czyzby.lml.parser.impl.view.jvm.WeakViewMetadataCache */
+public class DefaultViewMetadataCache implements ViewMetadataCache {
+    private final ObjectMap<Class<?>, ViewMetadata> metadata = new ObjectMap<Class<?>, ViewMetadata>();
+
+    @Override
+    public synchronized ViewMetadata getMetadata(final Class<?> viewClass) {
+        ViewMetadata viewMetadata = metadata.get(viewClass);
+        if (viewMetadata == null) {
+            viewMetadata = new ViewMetadata(viewClass);
+            metadata.put(viewClass, viewMetadata);
+        }
+        return viewMetadata;
+    }
+
+    @Override
+    public synchronized void clear() {
+        metadata.clear();
+    }
+}
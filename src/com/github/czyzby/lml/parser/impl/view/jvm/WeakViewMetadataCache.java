@@ -0,0 +1,41 @@
+package com.github.czyzby.lml.parser.impl.view.jvm;
+
+import com.github.czyzby.lml.parser.view.ViewMetadata;
+import com.github.czyzby.lml.parser.view.ViewMetadataCache;
+
+/** Stores {@link ViewMetadata} with a {@link ClassValue}: metadata is attached to the view class itself, so it does not
+ * prevent the class (and its class loader) from being unloaded, even though the metadata references class members.
+ * Lock-free after the metadata of a class is computed. Can be safely shared by multiple parsers - see
+ * {@link #INSTANCE}.
+ *
+ * <p>
+ * {@link ClassValue} is not available on GWT and older Android versions, so this cache has to be explicitly chosen
+ * with {@link com.github.czyzby.lml.parser.impl.AbstractLmlParser#setViewMetadataCache(ViewMetadataCache)}.
+ *
+ * @author MJ */
+public class WeakViewMetadataCache implements ViewMetadataCache {
+    /** Shared instance. Note that clearing it affects all parsers using it. */
+    public static final WeakViewMetadataCache INSTANCE = new WeakViewMetadataCache();
+
+    private volatile ClassValue<ViewMetadata> metadata = createClassValue();
+
+    private static ClassValue<ViewMetadata> createClassValue() {
+        return new ClassValue<ViewMetadata>() {
+            @Override
+            protected ViewMetadata computeValue(final Class<?> viewClass) {
+                return new ViewMetadata(viewClass);
+            }
+        };
+    }
+
+    @Override
+    public ViewMetadata getMetadata(final Class<?> viewClass) {
+        return metadata.get(viewClass);
+    }
+
+    @Override
+    public void clear() {
+        // ClassValue cannot be cleared for all classes - replacing it, so previous values can be collected:
+        metadata = createClassValue();
+    }
+}
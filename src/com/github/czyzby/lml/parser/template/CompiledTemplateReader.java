@@ -0,0 +1,190 @@
+package com.github.czyzby.lml.parser.template;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.github.czyzby.lml.parser.template.LmlTemplateNode.NodeType;
+
+/** Loads templates serialized with {@link CompiledTemplateWriter}. Compiled templates are restored directly from
+ * their nodes: no template text is parsed.
+ *
+ * @author MJ
+ * @see CompiledTemplateWriter */
+public class CompiledTemplateReader {
+    private static final NodeType[] NODE_TYPES = NodeType.values();
+    private final LmlTemplateCompiler compiler;
+
+    /** @param compiler will be used to validate the loaded templates. Only templates serialized with a compatible
+     *            compiler (with the same signature) can be loaded. */
+    public CompiledTemplateReader(final LmlTemplateCompiler compiler) {
+        this.compiler = compiler;
+    }
+
+    /** @param file contains a serialized template.
+     * @return loaded template.
+     * @throws GdxRuntimeException if the file is not a valid compiled template or it was compiled with different
+     *             syntax. */
+    public LmlTemplate read(final FileHandle file) {
+        return read(file.readBytes());
+    }
+
+    /** @param input contains a serialized template. Will be fully read and closed.
+     * @return loaded template.
+     * @throws GdxRuntimeException if the data is not a valid compiled template or it was compiled with different
+     *             syntax. */
+    public LmlTemplate read(final InputStream input) {
+        try {
+            return read(StreamUtils.copyStreamToByteArray(input));
+        } catch (final IOException exception) {
+            throw new GdxRuntimeException("Unable to read compiled template.", exception);
+        } finally {
+            StreamUtils.closeQuietly(input);
+        }
+    }
+
+    /** @param data serialized template.
+     * @return loaded template.
+     * @throws GdxRuntimeException if the data is not a valid compiled template or it was compiled with different
+     *             syntax. */
+    public LmlTemplate read(final byte[] data) {
+        try {
+            return new Input(data).readTemplate();
+        } catch (final GdxRuntimeException exception) {
+            throw exception;
+        } catch (final RuntimeException exception) {
+            throw new GdxRuntimeException("Compiled template data is corrupted.", exception);
+        }
+    }
+
+    /** @param data serialized template.
+     * @return true if the data contains a template in the current format, compiled with a compatible compiler. */
+    public boolean isCompatible(final byte[] data) {
+        try {
+            final Input input = new Input(data);
+            return input.readHeader() && compiler.getSignature().equals(input.readString());
+        } catch (final RuntimeException exception) {
+            return false;
+        }
+    }
+
+    /** Reads a single template.
+     *
+     * @author MJ */
+    private class Input {
+        private final byte[] data;
+        private int position;
+        private String[] strings;
+
+        public Input(final byte[] data) {
+            this.data = data;
+        }
+
+        /** @return true if the data starts with magic number and current format version. */
+        public boolean readHeader() {
+            return readInt() == CompiledTemplateWriter.MAGIC && readVarInt() == CompiledTemplateWriter.VERSION;
+        }
+
+        public LmlTemplate readTemplate() {
+            if (!readHeader()) {
+                throw new GdxRuntimeException("Data is not a compiled LML template or its version is not supported.");
+            }
+            final String signature = readString();
+            if (!compiler.getSignature().equals(signature)) {
+                throw new GdxRuntimeException("Template was compiled with incompatible syntax or settings.");
+            }
+            final String name = readNullableString();
+            final String source = readNullableString();
+
+            strings = new String[readLength()];
+            for (int index = 0; index < strings.length; index++) {
+                strings[index] = readString();
+            }
+
+            final LmlTemplateNode[] nodes = new LmlTemplateNode[readLength()];
+            for (int index = 0; index < nodes.length; index++) {
+                nodes[index] = readNode();
+            }
+            return new LmlTemplate(name, source, nodes);
+        }
+
+        private LmlTemplateNode readNode() {
+            final int header = data[position++];
+            final NodeType type = NODE_TYPES[header & CompiledTemplateWriter.TYPE_MASK];
+            final boolean dynamic = (header & CompiledTemplateWriter.DYNAMIC_FLAG) != 0;
+            final boolean parent = (header & CompiledTemplateWriter.PARENT_FLAG) != 0;
+            final int offset = readVarInt();
+            final String name = readReference();
+            final String nodeData = readReference();
+            final String content = readReference();
+            String[] entities = null;
+            if ((header & CompiledTemplateWriter.ENTITIES_FLAG) != 0) {
+                entities = new String[readLength()];
+                for (int index = 0; index < entities.length; index++) {
+                    entities[index] = readReference();
+                }
+            }
+            if (dynamic) {
+                return type == NodeType.TEXT ? LmlTemplateNode.dynamicText(nodeData, offset)
+                        : LmlTemplateNode.dynamicTag(type, name, nodeData, parent, offset);
+            }
+            switch (type) {
+                case TEXT:
+                    return LmlTemplateNode.text(nodeData, offset);
+                case TAG:
+                    return LmlTemplateNode.tag(name, nodeData, entities, parent, offset);
+                case CLOSING_TAG:
+                    return LmlTemplateNode.closingTag(name, offset);
+                default:
+                    return LmlTemplateNode.macro(name, nodeData, entities, content, offset);
+            }
+        }
+
+        private String readReference() {
+            final int reference = readVarInt();
+            return reference == 0 ? null : strings[reference - 1];
+        }
+
+        private String readNullableString() {
+            return data[position++] == 0 ? null : readString();
+        }
+
+        private String readString() {
+            final char[] characters = new char[readLength()];
+            for (int index = 0; index < characters.length; index++) {
+                characters[index] = (char) readVarInt();
+            }
+            return new String(characters);
+        }
+
+        /** @return length of an array or string. As each element takes at least one byte, lengths exceeding the
+         *         amount of remaining bytes are rejected before allocating the array.
+         * @throws GdxRuntimeException if the length is corrupted. */
+        private int readLength() {
+            final int length = readVarInt();
+            if (length < 0 || length > data.length - position) {
+                throw new GdxRuntimeException("Compiled template data is corrupted: invalid length: " + length);
+            }
+            return length;
+        }
+
+        private int readInt() {
+            return (data[position++] & 0xFF) << 24 | (data[position++] & 0xFF) << 16 | (data[position++] & 0xFF) << 8
+                    | data[position++] & 0xFF;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[position++];
+                value |= (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.github.czyzby.lml.parser.template;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.github.czyzby.kiwi.util.gdx.collection.GdxArrays;
+
+/** Serializes compiled {@link LmlTemplate}s into a compact binary format (by convention, stored in files with
+ * {@link #EXTENSION} extension), which can be loaded with {@link CompiledTemplateReader} without any text parsing. All
+ * tag names, attributes and text parts are interned in a single strings table, so repeated attributes are stored only
+ * once; numbers are stored as variable-length integers.
+ *
+ * <p>
+ * Serialized templates contain signature of the compiler used to create them: they can be loaded only by a
+ * compatible compiler (using the same syntax markers and settings).
+ *
+ * @author MJ
+ * @see CompiledTemplateReader */
+public class CompiledTemplateWriter {
+    /** Extension of compiled template files. */
+    public static final String EXTENSION = ".lmlc";
+    /** First 4 bytes of every compiled template: "LMLC". */
+    public static final int MAGIC = 0x4C4D4C43;
+    /** Current version of the format. Templates stored with a different version cannot be loaded. */
+    public static final int VERSION = 1;
+
+    // Node header flags. The lowest 2 bits store node type.
+    static final int TYPE_MASK = 0x3;
+    static final int DYNAMIC_FLAG = 0x4;
+    static final int PARENT_FLAG = 0x8;
+    static final int ENTITIES_FLAG = 0x10;
+
+    private final LmlTemplateCompiler compiler;
+    private boolean includeSource = true;
+
+    /** @param compiler was used to compile the serialized templates. Its signature is stored in the templates. */
+    public CompiledTemplateWriter(final LmlTemplateCompiler compiler) {
+        this.compiler = compiler;
+    }
+
+    /** @param includeSource if true (default), original template content is stored along with the compiled nodes. It
+     *            is used only to construct meaningful error messages (containing line numbers), so it can be omitted
+     *            to reduce size of the compiled templates. */
+    public void setIncludeSource(final boolean includeSource) {
+        this.includeSource = includeSource;
+    }
+
+    /** @param template will be serialized.
+     * @return serialized template. */
+    public byte[] write(final LmlTemplate template) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(estimateSize(template));
+        try {
+            write(template, output);
+        } catch (final IOException exception) {
+            throw new GdxRuntimeException("Unable to serialize template: " + template.getName(), exception);
+        }
+        return output.toByteArray();
+    }
+
+    /** @param template will be serialized.
+     * @param file will contain the serialized template. Overridden if exists. */
+    public void write(final LmlTemplate template, final FileHandle file) {
+        final OutputStream output = file.write(false);
+        try {
+            write(template, output);
+        } catch (final IOException exception) {
+            throw new GdxRuntimeException("Unable to write template: " + template.getName() + " to file: " + file,
+                    exception);
+        } finally {
+            StreamUtils.closeQuietly(output);
+        }
+    }
+
+    /** @param template will be serialized.
+     * @param output will receive the serialized template. Not closed.
+     * @throws IOException if unable to write to the stream. */
+    public void write(final LmlTemplate template, final OutputStream output) throws IOException {
+        writeInt(output, MAGIC);
+        writeVarInt(output, VERSION);
+        writeString(output, compiler.getSignature());
+        writeNullableString(output, template.getName());
+        writeNullableString(output, includeSource ? template.getSource() : null);
+
+        final ObjectIntMap<String> indexes = new ObjectIntMap<String>();
+        final Array<String> strings = GdxArrays.newArray(String.class);
+        for (int index = 0, size = template.size(); index < size; index++) {
+            final LmlTemplateNode node = template.getNode(index);
+            intern(node.getName(), indexes, strings);
+            intern(node.getData(), indexes, strings);
+            intern(node.getContent(), indexes, strings);
+            final String[] entities = node.getEntities();
+            if (entities != null) {
+                for (final String entity : entities) {
+                    intern(entity, indexes, strings);
+                }
+            }
+        }
+        writeVarInt(output, strings.size);
+        for (final String string : strings) {
+            writeString(output, string);
+        }
+
+        writeVarInt(output, template.size());
+        for (int index = 0, size = template.size(); index < size; index++) {
+            writeNode(output, template.getNode(index), indexes);
+        }
+    }
+
+    private static void intern(final String string, final ObjectIntMap<String> indexes, final Array<String> strings) {
+        if (string != null && !indexes.containsKey(string)) {
+            indexes.put(string, strings.size);
+            strings.add(string);
+        }
+    }
+
+    private static void writeNode(final OutputStream output, final LmlTemplateNode node,
+            final ObjectIntMap<String> indexes) throws IOException {
+        final String[] entities = node.getEntities();
+        int header = node.getType().ordinal();
+        if (node.isDynamic()) {
+            header |= DYNAMIC_FLAG;
+        }
+        if (node.isParent()) {
+            header |= PARENT_FLAG;
+        }
+        if (entities != null) {
+            header |= ENTITIES_FLAG;
+        }
+        output.write(header);
+        writeVarInt(output, node.getOffset());
+        writeReference(output, node.getName(), indexes);
+        writeReference(output, node.getData(), indexes);
+        writeReference(output, node.getContent(), indexes);
+        if (entities != null) {
+            writeVarInt(output, entities.length);
+            for (final String entity : entities) {
+                writeReference(output, entity, indexes);
+            }
+        }
+    }
+
+    /** Strings references are shifted by 1: 0 is used for null. */
+    private static void writeReference(final OutputStream output, final String string,
+            final ObjectIntMap<String> indexes) throws IOException {
+        writeVarInt(output, string == null ? 0 : indexes.get(string, -1) + 1);
+    }
+
+    private static void writeNullableString(final OutputStream output, final String string) throws IOException {
+        if (string == null) {
+            output.write(0);
+        } else {
+            output.write(1);
+            writeString(output, string);
+        }
+    }
+
+    private static void writeString(final OutputStream output, final String string) throws IOException {
+        final int length = string.length();
+        writeVarInt(output, length);
+        for (int index = 0; index < length; index++) {
+            writeVarInt(output, string.charAt(index));
+        }
+    }
+
+    private static void writeInt(final OutputStream output, final int value) throws IOException {
+        output.write(value >>> 24);
+        output.write(value >>> 16 & 0xFF);
+        output.write(value >>> 8 & 0xFF);
+        output.write(value & 0xFF);
+    }
+
+    /** @param output will receive the value.
+     * @param value non-negative integer. Stored in 7-bit groups: values lower than 128 (including ASCII characters)
+     *            take a single byte.
+     * @throws IOException if unable to write. */
+    static void writeVarInt(final OutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+
+    private static int estimateSize(final LmlTemplate template) {
+        final String source = template.getSource();
+        return 64 + (source == null ? 0 : source.length() * 2);
+    }
+}
@@ -0,0 +1,333 @@
+package com.github.czyzby.lml.parser.template;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.github.czyzby.lml.util.collection.LruMap;
+
+/** Default implementation of {@link LmlTemplateCache}. Template files are identified by their type and path and
+ * validated with their modification time (if available - files without modification time, like internal or classpath
+ * files in some backends, are considered immutable). Templates passed as strings are identified by their content.
+ * Cache is bounded by both amount of entries and approximate size (in bytes) of stored data; least recently used
+ * entries are evicted first (see {@link LruMap}). Entries are created only after a template is successfully read or
+ * compiled, so failed requests leave no data behind. The cache can be safely shared by multiple parsers: its state is guarded by the cache
+ * instance lock, but template files are read and compiled outside of it, so threads requesting different templates do
+ * not block each other. If the same template is compiled by multiple threads at once, the first compiled instance is
+ * cached and returned to all of them.
+ *
+ * @author MJ */
+public class DefaultLmlTemplateCache implements LmlTemplateCache {
+    /** Default maximum amount of cached templates. */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+    /** Default maximum approximate size of cached data in bytes: 4 MB. */
+    public static final long DEFAULT_MAX_SIZE = 4L * 1024L * 1024L;
+    /** Approximate size of a single compiled template node, used to estimate cached data size. */
+    protected static final int NODE_SIZE = 64;
+
+    /** Templates passed as strings are mapped by their content, template files - by {@link FileKey} instances. */
+    private final Entries entries;
+    private final long maxSize;
+    private volatile boolean validateModificationTime = true;
+    private long size;
+
+    // Statistics:
+    private int hits;
+    private int misses;
+
+    /** Creates a new cache with default limits: {@link #DEFAULT_MAX_ENTRIES} and {@link #DEFAULT_MAX_SIZE}. */
+    public DefaultLmlTemplateCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_SIZE);
+    }
+
+    /** @param maxEntries maximum amount of cached templates. Has to be positive.
+     * @param maxSize maximum approximate size of cached data in bytes. Has to be positive. Note that a template will
+     *            always be cached, even if it exceeds this limit on its own. */
+    public DefaultLmlTemplateCache(final int maxEntries, final long maxSize) {
+        if (maxEntries <= 0 || maxSize <= 0L) {
+            throw new IllegalArgumentException("Cache limits have to be positive.");
+        }
+        entries = new Entries(maxEntries);
+        this.maxSize = maxSize;
+    }
+
+    /** @param validateModificationTime if true (default), modification time of template files will be checked each
+     *            time a file is requested and outdated entries will be reloaded. Set to false to avoid any file system
+     *            access when the templates are known not to change - for example, in release builds. */
+    public void setValidateModificationTime(final boolean validateModificationTime) {
+        this.validateModificationTime = validateModificationTime;
+    }
+
+    @Override
+    public String getText(final FileHandle templateFile) {
+        final FileKey key = new FileKey(getKey(templateFile));
+        final long lastModified = getLastModified(templateFile);
+        synchronized (this) {
+            final CacheEntry entry = getFileEntry(key, lastModified);
+            if (entry != null && entry.text != null) {
+                hits++;
+                return entry.text;
+            }
+            misses++;
+        }
+        final String text = templateFile.readString();
+        synchronized (this) {
+            final CacheEntry entry = getPublishedFileEntry(key, lastModified);
+            if (entry == null) {
+                return text;
+            } else if (entry.text == null) {
+                entry.text = text;
+                updateSize(entry);
+            }
+            return entry.text;
+        }
+    }
+
+    @Override
+    public LmlTemplate getTemplate(final FileHandle templateFile, final LmlTemplateCompiler compiler) {
+        final FileKey key = new FileKey(getKey(templateFile));
+        final long lastModified = getLastModified(templateFile);
+        String text = null;
+        synchronized (this) {
+            final CacheEntry entry = getFileEntry(key, lastModified);
+            if (entry != null) {
+                if (entry.template != null && compiler.isCompatible(entry.compiler)) {
+                    hits++;
+                    return entry.template;
+                }
+                text = entry.text;
+            }
+            misses++;
+        }
+        if (text == null) {
+            text = templateFile.readString();
+        }
+        final LmlTemplate template = compile(text, templateFile.name(), compiler);
+        synchronized (this) {
+            final CacheEntry entry = getPublishedFileEntry(key, lastModified);
+            return entry == null ? template : publish(entry, text, template, compiler);
+        }
+    }
+
+    @Override
+    public LmlTemplate getTemplate(final String template, final String templateName,
+            final LmlTemplateCompiler compiler) {
+        synchronized (this) {
+            final CacheEntry entry = entries.get(template);
+            if (entry != null && entry.template != null && compiler.isCompatible(entry.compiler)) {
+                hits++;
+                return entry.template;
+            }
+            misses++;
+        }
+        final LmlTemplate compiledTemplate = compile(template, templateName, compiler);
+        synchronized (this) {
+            CacheEntry entry = entries.get(template);
+            if (entry == null) {
+                entry = new CacheEntry();
+                entries.put(template, entry);
+            }
+            return publish(entry, template, compiledTemplate, compiler);
+        }
+    }
+
+    /** @param entry will store the template, unless it already contains a compatible template.
+     * @param text raw template content.
+     * @param template compiled template.
+     * @param compiler compiled the template.
+     * @return the cached template. If another thread compiled the template in the meantime, its instance is kept. */
+    private LmlTemplate publish(final CacheEntry entry, final String text, final LmlTemplate template,
+            final LmlTemplateCompiler compiler) {
+        if (entry.template != null && compiler.isCompatible(entry.compiler)) {
+            return entry.template;
+        }
+        if (entry.text == null) {
+            entry.text = text;
+        }
+        entry.template = template;
+        entry.compiler = compiler;
+        updateSize(entry);
+        return template;
+    }
+
+    /** Invoked each time a template is not found in the cache. Invoked without the cache lock, so it might be invoked
+     * by multiple threads at once.
+     *
+     * @param template raw template content.
+     * @param templateName name of the template, used for debugging purposes.
+     * @param compiler should be used to compile the template.
+     * @return compiled template. */
+    protected LmlTemplate compile(final String template, final String templateName,
+            final LmlTemplateCompiler compiler) {
+        return compiler.compile(template, templateName);
+    }
+
+    /** @param templateFile a template file.
+     * @return modification time of the file or 0 if it should not be validated. Accesses the file system, so it is
+     *         never invoked while the cache is locked. */
+    private long getLastModified(final FileHandle templateFile) {
+        return validateModificationTime ? templateFile.lastModified() : 0L;
+    }
+
+    /** @param key key of a template file.
+     * @param lastModified current modification time of the file.
+     * @return an up-to-date entry of the file, moved to the front of the recently used list, or null if the file is not
+     *         cached. Outdated entries are removed. */
+    private CacheEntry getFileEntry(final FileKey key, final long lastModified) {
+        final CacheEntry entry = entries.get(key);
+        if (entry != null && validateModificationTime && entry.lastModified != lastModified) {
+            // File was modified since it was cached. Removing outdated data.
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /** @param key key of a template file.
+     * @param lastModified modification time of the file at the time it was read.
+     * @return entry that should store data read from the file. Created if the file is not cached yet. Null if the data
+     *         should not be cached, as a newer version of the file was already cached by another thread. */
+    private CacheEntry getPublishedFileEntry(final FileKey key, final long lastModified) {
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            entry = new CacheEntry();
+            entry.lastModified = lastModified;
+            entries.put(key, entry);
+        } else if (validateModificationTime && entry.lastModified != lastModified) {
+            if (entry.lastModified > lastModified) {
+                return null;
+            }
+            // File was modified after the cached version was read. Clearing outdated data.
+            entry.clear();
+            entry.lastModified = lastModified;
+            updateSize(entry);
+        }
+        return entry;
+    }
+
+    /** @param templateFile a template file.
+     * @return key of the file used in the cache. */
+    protected String getKey(final FileHandle templateFile) {
+        return templateFile.type() + ":" + templateFile.path();
+    }
+
+    @Override
+    public synchronized void invalidate(final FileHandle templateFile) {
+        entries.remove(new FileKey(getKey(templateFile)));
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        size = 0L;
+    }
+
+    @Override
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    @Override
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized void resetStatistics() {
+        hits = misses = 0;
+    }
+
+    /** @return amount of currently cached templates. */
+    public synchronized int getEntriesAmount() {
+        return entries.size();
+    }
+
+    /** @return approximate size of currently cached data in bytes. */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /** @param entry its size will be recalculated. Entries will be evicted if cache limits are exceeded. */
+    private void updateSize(final CacheEntry entry) {
+        size -= entry.size;
+        entry.size = estimateSize(entry.text, entry.template);
+        size += entry.size;
+        entries.evict();
+    }
+
+    /** @param text cached raw template content. Might be null.
+     * @param template cached compiled template. Might be null.
+     * @return approximate size of cached data in bytes. */
+    protected long estimateSize(final String text, final LmlTemplate template) {
+        long estimatedSize = text == null ? 0L : text.length() * 2L; // UTF-16 chars.
+        if (template != null) {
+            if (template.getSource() != null && template.getSource() != text) {
+                estimatedSize += template.getSource().length() * 2L;
+            }
+            estimatedSize += (long) template.size() * NODE_SIZE;
+        }
+        return estimatedSize;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "DefaultLmlTemplateCache[entries: " + getEntriesAmount() + ", size: " + size + ", hits: " + hits
+                + ", misses: " + misses + "]";
+    }
+
+    /** Contains cached data of a single template.
+     *
+     * @author MJ */
+    protected static class CacheEntry {
+        private long lastModified;
+        private String text;
+        private LmlTemplate template;
+        private LmlTemplateCompiler compiler;
+        private long size;
+
+        /** Removes cached data. */
+        public void clear() {
+            text = null;
+            template = null;
+            compiler = null;
+        }
+    }
+
+    /** Key of a template file. Never equal to a string, so files cannot be confused with templates passed as strings
+     * that happen to match the file key.
+     *
+     * @author MJ */
+    private static class FileKey {
+        private final String key;
+
+        public FileKey(final String key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return object == this || object instanceof FileKey && ((FileKey) object).key.equals(key);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() * 31 + 1;
+        }
+    }
+
+    /** Cached entries in recently used order. Also evicted when cached data exceeds the maximum size.
+     *
+     * @author MJ */
+    private class Entries extends LruMap<Object, CacheEntry> {
+        public Entries(final int maxEntries) {
+            super(maxEntries);
+        }
+
+        @Override
+        protected boolean isOverLimit() {
+            return super.isOverLimit() || size > maxSize;
+        }
+
+        @Override
+        protected void onRemove(final Object key, final CacheEntry entry) {
+            size -= entry.size;
+        }
+    }
+}
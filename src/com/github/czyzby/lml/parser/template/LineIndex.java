@@ -0,0 +1,40 @@
+package com.github.czyzby.lml.parser.template;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/** Utility for lazy line numbers computation. Converts template content into an index of line starting offsets,
+ * allowing to find a line of any character with a binary search.
+ *
+ * @author MJ */
+final class LineIndex {
+    private LineIndex() {
+    }
+
+    /** @param source template content.
+     * @return sorted offsets of lines beginnings. First line always starts at 0. */
+    static int[] create(final String source) {
+        final IntArray lineStarts = new IntArray();
+        lineStarts.add(0);
+        for (int index = source.indexOf('\n'); index >= 0; index = source.indexOf('\n', index + 1)) {
+            lineStarts.add(index + 1);
+        }
+        return lineStarts.toArray();
+    }
+
+    /** @param lineStarts index created with {@link #create(String)}.
+     * @param offset index of a character in the template.
+     * @return line of the character. Lines are counted from 1. */
+    static int getLine(final int[] lineStarts, final int offset) {
+        int low = 0;
+        int high = lineStarts.length - 1;
+        while (low < high) {
+            final int middle = low + high + 1 >>> 1;
+            if (lineStarts[middle] <= offset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low + 1;
+    }
+}
@@ -0,0 +1,275 @@
+package com.github.czyzby.lml.parser.template;
+
+import com.github.czyzby.lml.parser.LmlSyntax;
+import com.github.czyzby.lml.util.LmlParsingException;
+
+/** Splits LML template content into tokens: plain text, tags, comments and arguments. Syntax markers are copied into
+ * lookup tables when the lexer is created, so the template is scanned without any syntax method calls; plain text
+ * and tag content are skipped in bulk up to the next special character. Tokens are not allocated: their type is
+ * returned by {@link #next()} and their boundaries are available through {@link #getTokenStart()} and
+ * {@link #getTokenEnd()}. Line numbers are not counted during scanning - they are computed on demand with
+ * {@link #getLine(int)}.
+ *
+ * <p>
+ * Lexer handles a single template and is not thread-safe.
+ *
+ * @author MJ */
+public class LmlLexer {
+    private static final int TABLE_SIZE = 128;
+
+    private final char tagOpening;
+    private final char tagClosing;
+    private final char argumentOpening;
+    private final char argumentClosing;
+    private final char commentOpening;
+    private final char commentClosing;
+    private final char schemaCommentMarker;
+    private final boolean nestedComments;
+    /** Characters that end plain text. */
+    private final boolean[] textMarkers = new boolean[TABLE_SIZE];
+    /** Characters that have a special meaning inside tags. */
+    private final boolean[] tagMarkers = new boolean[TABLE_SIZE];
+
+    private final String source;
+    private final int length;
+    private int position;
+    private int tokenStart;
+    private int tokenEnd;
+    private boolean tagWithArguments;
+    private boolean tagWithComments;
+    private int[] lineStarts;
+
+    /** @param syntax determines syntax of LML templates. Its markers are copied, so changing syntax does not affect the
+     *            lexer.
+     * @param nestedComments if true, comments will be treated as nested.
+     * @param source template content. */
+    public LmlLexer(final LmlSyntax syntax, final boolean nestedComments, final String source) {
+        tagOpening = syntax.getTagOpening();
+        tagClosing = syntax.getTagClosing();
+        argumentOpening = syntax.getArgumentOpening();
+        argumentClosing = syntax.getArgumentClosing();
+        commentOpening = syntax.getCommentOpening();
+        commentClosing = syntax.getCommentClosing();
+        schemaCommentMarker = syntax.getSchemaCommentMarker();
+        this.nestedComments = nestedComments;
+        this.source = source;
+        length = source.length();
+        mark(textMarkers, tagOpening);
+        mark(textMarkers, argumentOpening);
+        mark(tagMarkers, tagOpening);
+        mark(tagMarkers, tagClosing);
+        mark(tagMarkers, argumentOpening);
+    }
+
+    private static void mark(final boolean[] table, final char marker) {
+        if (marker < TABLE_SIZE) {
+            table[marker] = true;
+        }
+    }
+
+    /** @return type of the next token or {@link TokenType#END} if the template has no more characters. */
+    public TokenType next() {
+        if (position >= length) {
+            tokenStart = tokenEnd = length;
+            return TokenType.END;
+        }
+        tokenStart = position;
+        final char character = source.charAt(position);
+        final TokenType type;
+        if (character == tagOpening) {
+            if (isCommentOpening(position + 1)) {
+                position = skipComment(position + 2);
+                type = TokenType.COMMENT;
+            } else {
+                position = scanTag(position + 1);
+                type = TokenType.TAG;
+            }
+        } else if (character == argumentOpening) {
+            position = skipArgument(position + 1);
+            type = TokenType.ARGUMENT;
+        } else {
+            position = scanText(position + 1);
+            type = TokenType.TEXT;
+        }
+        tokenEnd = position;
+        return type;
+    }
+
+    private boolean isTextMarker(final char character) {
+        return character < TABLE_SIZE ? textMarkers[character]
+                : character == tagOpening || character == argumentOpening;
+    }
+
+    private boolean isTagMarker(final char character) {
+        return character < TABLE_SIZE ? tagMarkers[character]
+                : character == tagOpening || character == tagClosing || character == argumentOpening;
+    }
+
+    private boolean isCommentOpening(final int index) {
+        if (index >= length) {
+            return false;
+        }
+        final char character = source.charAt(index);
+        return character == commentOpening || character == schemaCommentMarker;
+    }
+
+    private boolean isCommentClosing(final char character) {
+        return character == commentClosing || character == schemaCommentMarker;
+    }
+
+    /** @param index first character after a text character.
+     * @return index of the first special character or template length. */
+    private int scanText(int index) {
+        while (index < length && !isTextMarker(source.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /** @param index first character after argument opening.
+     * @return index of the first character after argument closing or template length. */
+    private int skipArgument(final int index) {
+        final int argumentClosingIndex = source.indexOf(argumentClosing, index);
+        return argumentClosingIndex < 0 ? length : argumentClosingIndex + 1;
+    }
+
+    /** @param index first character after comment opening marker.
+     * @return index of the first character after the comment or template length. */
+    private int skipComment(int index) {
+        if (!nestedComments) {
+            // Looking for the first closing marker followed by tag closing.
+            for (int tagClosingIndex = source.indexOf(tagClosing, index + 1); tagClosingIndex >= 0; tagClosingIndex = source
+                    .indexOf(tagClosing, tagClosingIndex + 1)) {
+                if (isCommentClosing(source.charAt(tagClosingIndex - 1))) {
+                    return tagClosingIndex + 1;
+                }
+            }
+            return length;
+        }
+        int nestedCommentsAmount = 1;
+        while (index < length) {
+            final char character = source.charAt(index++);
+            if (isCommentClosing(character) && index < length && source.charAt(index) == tagClosing) {
+                index++;
+                if (--nestedCommentsAmount == 0) {
+                    return index;
+                }
+            }
+            if (character == tagOpening && isCommentOpening(index)) {
+                index++;
+                nestedCommentsAmount++;
+            }
+        }
+        return length;
+    }
+
+    /** @param index first character after tag opening.
+     * @return index of the first character after tag closing. */
+    private int scanTag(int index) {
+        tagWithArguments = tagWithComments = false;
+        while (index < length) {
+            final char character = source.charAt(index);
+            if (!isTagMarker(character)) {
+                index++;
+            } else if (character == tagClosing) {
+                return index + 1;
+            } else if (character == argumentOpening) {
+                tagWithArguments = true;
+                index = skipArgument(index + 1);
+            } else if (isCommentOpening(index + 1)) {
+                tagWithComments = true;
+                index = skipComment(index + 2);
+            } else {
+                index++; // Tag opening inside a tag that is not a comment.
+            }
+        }
+        throw new LmlParsingException("Unclosed tag: " + source.substring(tokenStart + 1) + " on line "
+                + getLine(tokenStart) + '.');
+    }
+
+    /** @return index of the first character of the last token. */
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    /** @return index of the first character after the last token. */
+    public int getTokenEnd() {
+        return tokenEnd;
+    }
+
+    /** @return true if the last tag token contains arguments. */
+    public boolean isTagWithArguments() {
+        return tagWithArguments;
+    }
+
+    /** @return true if the last tag token contains comments. */
+    public boolean isTagWithComments() {
+        return tagWithComments;
+    }
+
+    /** @return content of the last tag token without tag opening, tag closing and comments. */
+    public String getTagData() {
+        final int dataStart = tokenStart + 1;
+        final int dataEnd = tokenEnd - 1;
+        if (!tagWithComments) {
+            return source.substring(dataStart, dataEnd);
+        }
+        final StringBuilder builder = new StringBuilder(dataEnd - dataStart);
+        int index = dataStart;
+        while (index < dataEnd) {
+            final char character = source.charAt(index);
+            if (character == argumentOpening) {
+                final int argumentEnd = Math.min(skipArgument(index + 1), dataEnd);
+                builder.append(source, index, argumentEnd);
+                index = argumentEnd;
+            } else if (character == tagOpening && isCommentOpening(index + 1)) {
+                index = skipComment(index + 2);
+            } else {
+                builder.append(character);
+                index++;
+            }
+        }
+        return builder.toString();
+    }
+
+    /** @return current lexer position: index of the first character of the next token. */
+    public int getPosition() {
+        return position;
+    }
+
+    /** @param position next token will start at this index. Allows to skip parts of the template that were processed
+     *            separately. */
+    public void setPosition(final int position) {
+        this.position = position;
+    }
+
+    /** @return template content. */
+    public String getSource() {
+        return source;
+    }
+
+    /** @param offset index of a character in the template.
+     * @return line on which the character appears. Lines are counted from 1. */
+    public int getLine(final int offset) {
+        if (lineStarts == null) {
+            lineStarts = LineIndex.create(source);
+        }
+        return LineIndex.getLine(lineStarts, offset);
+    }
+
+    /** Types of template tokens.
+     *
+     * @author MJ */
+    public static enum TokenType {
+        /** Plain text without any markers. */
+        TEXT,
+        /** Regular tag, closing tag or macro tag. Might contain arguments and comments. */
+        TAG,
+        /** Comment or schema comment. */
+        COMMENT,
+        /** Argument with its opening and closing markers. */
+        ARGUMENT,
+        /** Returned when there are no more tokens. */
+        END;
+    }
+}
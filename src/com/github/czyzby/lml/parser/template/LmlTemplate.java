@@ -0,0 +1,106 @@
+package com.github.czyzby.lml.parser.template;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.github.czyzby.lml.parser.template.LmlTemplateNode.NodeType;
+
+/** Immutable, compiled form of an LML template. Contains a flattened tree of {@link LmlTemplateNode}s: text, tags,
+ * closing tags and macros in the order that they appear in the template. Comments are stripped, tag names are
+ * extracted and tag attributes are pre-split, so the template can be instantiated multiple times without re-reading
+ * its text. Compiled templates do not depend on the current state of LML data: arguments are resolved each time the
+ * template is instantiated.
+ *
+ * <p>
+ * Templates are usually created with {@link com.github.czyzby.lml.parser.LmlParser#compile(String)} and processed
+ * with {@link com.github.czyzby.lml.parser.LmlParser#instantiate(LmlTemplate)}. As long as they are compiled with
+ * the same syntax, templates can be safely shared between parsers.
+ *
+ * @author MJ
+ * @see LmlTemplateCompiler */
+public final class LmlTemplate {
+    private static final int NO_CLOSING_TAG = -1;
+
+    private final String name;
+    private final String source;
+    private final LmlTemplateNode[] nodes;
+    private final int[] closingIndexes;
+    private int[] lineStarts;
+
+    /** @param name name of the template, used for debugging purposes.
+     * @param source optional original template content. Used to construct meaningful exception messages.
+     * @param nodes compiled template nodes, in the order that they appear in the template. Should not be modified. */
+    public LmlTemplate(final String name, final String source, final LmlTemplateNode[] nodes) {
+        this.name = name;
+        this.source = source;
+        this.nodes = nodes;
+        closingIndexes = findClosingIndexes(nodes);
+    }
+
+    private static int[] findClosingIndexes(final LmlTemplateNode[] nodes) {
+        final int[] closingIndexes = new int[nodes.length];
+        final IntArray openedTags = new IntArray();
+        for (int index = 0, length = nodes.length; index < length; index++) {
+            final LmlTemplateNode node = nodes[index];
+            closingIndexes[index] = NO_CLOSING_TAG;
+            if (node.getType() == NodeType.TAG && node.isParent()) {
+                openedTags.add(index);
+            } else if (node.getType() == NodeType.CLOSING_TAG && openedTags.size > 0) {
+                // Tag names are validated during instantiation.
+                closingIndexes[openedTags.pop()] = index;
+            }
+        }
+        return closingIndexes;
+    }
+
+    /** @return name of the template, used for debugging purposes. */
+    public String getName() {
+        return name;
+    }
+
+    /** @return original template content or null if it was not kept. Should be used for debugging purposes only. */
+    public String getSource() {
+        return source;
+    }
+
+    /** @param offset index of a character in the original template, as returned by
+     *            {@link LmlTemplateNode#getOffset()}.
+     * @return line on which the character appears, counting from 1. 0 if the template source was not kept. Lines are
+     *         computed on demand, so this method should be used mostly for error reporting. */
+    public int getLine(final int offset) {
+        if (source == null) {
+            return 0;
+        }
+        int[] lines = lineStarts;
+        if (lines == null) {
+            lines = lineStarts = LineIndex.create(source);
+        }
+        return LineIndex.getLine(lines, offset);
+    }
+
+    /** @return amount of compiled nodes. */
+    public int size() {
+        return nodes.length;
+    }
+
+    /** @return true if the template contains no nodes. */
+    public boolean isEmpty() {
+        return nodes.length == 0;
+    }
+
+    /** @param index index of the node.
+     * @return node stored at the selected index. */
+    public LmlTemplateNode getNode(final int index) {
+        return nodes[index];
+    }
+
+    /** @param index index of a parental tag node.
+     * @return index of the node closing the selected tag or -1 if the node is not a parental regular tag or it was
+     *         never closed. */
+    public int getClosingIndex(final int index) {
+        return closingIndexes[index];
+    }
+
+    @Override
+    public String toString() {
+        return "LmlTemplate[" + name + ", " + nodes.length + " nodes]";
+    }
+}
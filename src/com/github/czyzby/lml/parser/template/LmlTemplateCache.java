@@ -0,0 +1,45 @@
+package com.github.czyzby.lml.parser.template;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/** Common interface for caches of LML templates. Stores raw content of template files and compiled templates, so
+ * reopening a view does not require reading, decoding or compiling the same template again. Caches are optional and
+ * can be registered with {@link com.github.czyzby.lml.parser.impl.AbstractLmlParser#setTemplateCache(LmlTemplateCache)}.
+ * Implementations are expected to be thread-safe, as they might be shared by multiple parsers.
+ *
+ * @author MJ
+ * @see DefaultLmlTemplateCache */
+public interface LmlTemplateCache {
+    /** @param templateFile LML template file.
+     * @return content of the file. If the content is not cached yet or the file was modified since it was cached, the
+     *         file will be read and its content will be cached. */
+    String getText(FileHandle templateFile);
+
+    /** @param templateFile LML template file.
+     * @param compiler will be used to compile the template if it is not cached yet, the file was modified since it was
+     *            cached or the template was compiled with incompatible settings.
+     * @return compiled template file. */
+    LmlTemplate getTemplate(FileHandle templateFile, LmlTemplateCompiler compiler);
+
+    /** @param template raw LML template. Its content is used as the key.
+     * @param templateName name of the template, used for debugging purposes if the template is compiled.
+     * @param compiler will be used to compile the template if it is not cached yet or was compiled with incompatible
+     *            settings.
+     * @return compiled template. */
+    LmlTemplate getTemplate(String template, String templateName, LmlTemplateCompiler compiler);
+
+    /** @param templateFile all cached data of this file will be removed. */
+    void invalidate(FileHandle templateFile);
+
+    /** Removes all cached templates. Does not reset hits and misses counters. */
+    void clear();
+
+    /** @return amount of requests that were handled with cached data. */
+    int getHits();
+
+    /** @return amount of requests that required reading or compiling the template. */
+    int getMisses();
+
+    /** Resets hits and misses counters. */
+    void resetStatistics();
+}
@@ -0,0 +1,300 @@
+package com.github.czyzby.lml.parser.template;
+
+import com.badlogic.gdx.utils.Array;
+import com.github.czyzby.kiwi.util.common.Strings;
+import com.github.czyzby.kiwi.util.gdx.collection.GdxArrays;
+import com.github.czyzby.lml.parser.LmlSyntax;
+import com.github.czyzby.lml.parser.template.LmlTemplateNode.NodeType;
+import com.github.czyzby.lml.util.LmlParsingException;
+import com.github.czyzby.lml.util.LmlUtilities;
+
+/** Converts raw LML templates into {@link LmlTemplate} instances. Reads the whole template once, stripping comments
+ * and splitting its content into text, tag and macro nodes. Compilation does not depend on LML data: parts of the
+ * template that contain arguments are kept as dynamic nodes and parsed by the LML parser each time the template is
+ * instantiated. Compiler itself keeps no state between compilations.
+ *
+ * @author MJ */
+public class LmlTemplateCompiler {
+    private final LmlSyntax syntax;
+    private final boolean strict;
+    private final boolean nestedComments;
+    private final String signature;
+
+    /** @param syntax determines syntax of LML templates.
+     * @param strict if true, macro tag names will be compared case-sensitively.
+     * @param nestedComments if true, comments will be treated as nested. */
+    public LmlTemplateCompiler(final LmlSyntax syntax, final boolean strict, final boolean nestedComments) {
+        this.syntax = syntax;
+        this.strict = strict;
+        this.nestedComments = nestedComments;
+        signature = new StringBuilder().append(syntax.getTagOpening()).append(syntax.getTagClosing())
+                .append(syntax.getClosedTagMarker()).append(syntax.getMacroMarker())
+                .append(syntax.getArgumentOpening()).append(syntax.getArgumentClosing())
+                .append(syntax.getCommentOpening()).append(syntax.getCommentClosing())
+                .append(syntax.getSchemaCommentMarker()).append(strict ? 'S' : '-').append(nestedComments ? 'N' : '-')
+                .toString();
+    }
+
+    /** @return syntax used to compile templates. */
+    public LmlSyntax getSyntax() {
+        return syntax;
+    }
+
+    /** @return true if macro tag names are compared case-sensitively. */
+    public boolean isStrict() {
+        return strict;
+    }
+
+    /** @return true if comments are treated as nested. */
+    public boolean isNestedComments() {
+        return nestedComments;
+    }
+
+    /** @param compiler another template compiler.
+     * @return true if both compilers produce the same templates from the same data, which means that templates compiled
+     *         by one of them can be used in place of the other's templates. Compilers are compared by their signatures
+     *         rather than syntax instances, as parsers might wrap their syntax in a new object each time they parse.
+     * @see #getSignature() */
+    public boolean isCompatible(final LmlTemplateCompiler compiler) {
+        return compiler == this || compiler != null && compiler.signature.equals(signature);
+    }
+
+    /** @return describes syntax markers and settings that affect the compilation. Compilers with equal signatures
+     *         produce the same templates, even if they use different syntax instances. Used to validate serialized
+     *         templates. */
+    public String getSignature() {
+        return signature;
+    }
+
+    /** @param template raw LML template.
+     * @param templateName name of the template, used for debugging purposes.
+     * @return compiled template.
+     * @throws LmlParsingException if the template has invalid structure. */
+    public LmlTemplate compile(final String template, final String templateName) {
+        return new Compilation(template, templateName).compile();
+    }
+
+    /** Holds state of a single template compilation.
+     *
+     * @author MJ */
+    protected class Compilation {
+        private final String source;
+        private final String templateName;
+        private final int length;
+        private final LmlLexer lexer;
+        private final Array<LmlTemplateNode> nodes = GdxArrays.newArray(LmlTemplateNode.class);
+        private final StringBuilder textBuilder = new StringBuilder();
+        /** Index of the first character of the currently collected text. -1 if there is no text. */
+        private int textStart = -1;
+        /** End of currently collected text if it is a single part of the template and was not copied to the builder. */
+        private int textEnd;
+        private boolean textInBuilder;
+        private boolean dynamicText;
+
+        public Compilation(final String source, final String templateName) {
+            this.source = source == null ? Strings.EMPTY_STRING : source;
+            this.templateName = templateName;
+            length = this.source.length();
+            lexer = new LmlLexer(syntax, nestedComments, this.source);
+        }
+
+        /** @return compiled template. */
+        public LmlTemplate compile() {
+            for (LmlLexer.TokenType token = lexer.next(); token != LmlLexer.TokenType.END; token = lexer.next()) {
+                switch (token) {
+                    case TEXT:
+                        appendText(lexer.getTokenStart(), lexer.getTokenEnd());
+                        break;
+                    case ARGUMENT:
+                        dynamicText = true;
+                        appendText(lexer.getTokenStart(), lexer.getTokenEnd());
+                        break;
+                    case TAG:
+                        flushText();
+                        processTagEntity(lexer.getTagData(), lexer.isTagWithArguments(), lexer.getTokenStart());
+                        break;
+                    default: // Comments are ignored. Text before and after a comment is merged.
+                        break;
+                }
+            }
+            // Text at the end of a whole template is never passed to any tag, but arguments might contain tags - and
+            // compiled macro contents are processed in place, so their text is merged with the following text.
+            flushText();
+            return new LmlTemplate(templateName, source, nodes.toArray());
+        }
+
+        /** @param start index of the first character of plain text or argument.
+         * @param end index of the first character after the text. */
+        private void appendText(final int start, final int end) {
+            if (textStart < 0) {
+                textStart = start;
+                textEnd = end;
+            } else if (!textInBuilder && start == textEnd) {
+                textEnd = end; // Text is still continuous.
+            } else {
+                if (!textInBuilder) {
+                    textInBuilder = true;
+                    Strings.clearBuilder(textBuilder);
+                    textBuilder.append(source, textStart, textEnd);
+                }
+                textBuilder.append(source, start, end);
+            }
+        }
+
+        /** Converts currently collected text into a node. */
+        private void flushText() {
+            if (textStart >= 0) {
+                final String text = textInBuilder ? textBuilder.toString() : source.substring(textStart, textEnd);
+                nodes.add(dynamicText ? LmlTemplateNode.dynamicText(text, textStart)
+                        : LmlTemplateNode.text(text, textStart));
+            }
+            textStart = -1;
+            textInBuilder = false;
+            dynamicText = false;
+        }
+
+        /** @param tagData comment-free tag data, without tag opening and closing.
+         * @param dynamic true if the tag data contains arguments.
+         * @param tagStart index of the tag opening. */
+        private void processTagEntity(final String tagData, final boolean dynamic, final int tagStart) {
+            final String rawTagData = tagData.trim();
+            final int tagNameEndIndex = getTagNameEndIndex(rawTagData);
+            final boolean parent = !Strings.endsWith(rawTagData, syntax.getClosedTagMarker());
+            if (Strings.startsWith(rawTagData, syntax.getClosedTagMarker())) {
+                final String closedTagName = rawTagData.substring(1, tagNameEndIndex).trim();
+                nodes.add(dynamic
+                        ? LmlTemplateNode.dynamicTag(NodeType.CLOSING_TAG, closedTagName, toTag(tagData), false,
+                                tagStart)
+                        : LmlTemplateNode.closingTag(closedTagName, tagStart));
+            } else if (Strings.startsWith(rawTagData, syntax.getMacroMarker())) {
+                final String macroName = LmlUtilities
+                        .stripEnding(rawTagData.substring(1, tagNameEndIndex), syntax.getClosedTagMarker()).trim();
+                final String[] entities = LmlUtilities.extractTagEntities(rawTagData);
+                final int contentStart = lexer.getTokenEnd();
+                final String content = parent ? readMacroContent(
+                        LmlUtilities.stripMarker(entities[0], syntax.getMacroMarker()), tagStart) : null;
+                if (dynamic) {
+                    final String macroSource = parent
+                            ? toTag(tagData) + source.substring(contentStart, lexer.getPosition()) : toTag(tagData);
+                    nodes.add(LmlTemplateNode.dynamicTag(NodeType.MACRO, macroName, macroSource, parent, tagStart));
+                } else {
+                    nodes.add(LmlTemplateNode.macro(macroName, rawTagData, entities, content, tagStart));
+                }
+            } else {
+                final String tagName = LmlUtilities
+                        .stripEnding(rawTagData.substring(0, tagNameEndIndex), syntax.getClosedTagMarker()).trim();
+                nodes.add(dynamic
+                        ? LmlTemplateNode.dynamicTag(NodeType.TAG, tagName, toTag(tagData), parent, tagStart)
+                        : LmlTemplateNode.tag(tagName, rawTagData, LmlUtilities.extractTagEntities(rawTagData),
+                                parent, tagStart));
+            }
+        }
+
+        /** @param tagData tag content.
+         * @return tag content with tag opening and closing. */
+        private String toTag(final String tagData) {
+            return syntax.getTagOpening() + tagData + syntax.getTagClosing();
+        }
+
+        /** @param rawTagData unparsed LML tag data.
+         * @return index that marks the end of tag's name. */
+        private int getTagNameEndIndex(final String rawTagData) {
+            final int spaceIndex = rawTagData.indexOf(' ');
+            return Strings.isCharacterPresent(spaceIndex) ? spaceIndex : rawTagData.length();
+        }
+
+        /** Collects content of the macro that was just opened, up to its closing tag, honoring nested macros with the
+         * same name. Lexer is moved to the first character after the macro closing tag.
+         *
+         * @param macroName name of the macro as extracted from its tag.
+         * @param tagStart index of the macro tag opening.
+         * @return unparsed macro content. */
+        private String readMacroContent(final String macroName, final int tagStart) {
+            final int contentStart = lexer.getTokenEnd();
+            final char tagOpening = syntax.getTagOpening();
+            int sameNameNestedMacrosAmount = 1; // We start with just our own macro.
+            for (int index = source.indexOf(tagOpening, contentStart); index >= 0 && index + 1 < length; index = source
+                    .indexOf(tagOpening, index + 1)) {
+                final char nextCharacter = source.charAt(index + 1);
+                if (nextCharacter == syntax.getClosedTagMarker()) {
+                    final int macroTagEnd = getSameMacroTagEnd(macroName, index + 1);
+                    if (macroTagEnd >= 0 && --sameNameNestedMacrosAmount == 0) {
+                        lexer.setPosition(macroTagEnd);
+                        return source.substring(contentStart, index);
+                    }
+                } else if (nextCharacter == syntax.getMacroMarker()) {
+                    if (getSameMacroTagEnd(macroName, index + 1) >= 0) {
+                        sameNameNestedMacrosAmount++;
+                    }
+                }
+            }
+            throw new LmlParsingException("Macro tag not closed: " + macroName + " on line " + lexer.getLine(tagStart)
+                    + " of: " + templateName);
+        }
+
+        /** @param macroName name of the currently parsed macro.
+         * @param fromIndex index of the first character after tag opening.
+         * @return index of the first character after the tag if it is a parental macro tag or a closing tag with the
+         *         same name; -1 otherwise. */
+        private int getSameMacroTagEnd(final String macroName, final int fromIndex) {
+            int characterIndex = fromIndex;
+            if (characterIndex < length && source.charAt(characterIndex) == syntax.getClosedTagMarker()) {
+                characterIndex++;
+            }
+            if (characterIndex >= length || source.charAt(characterIndex++) != syntax.getMacroMarker()) {
+                return -1; // This is a regular tag, so names cannot match.
+            }
+            final int nameStart = characterIndex;
+            while (characterIndex < length) {
+                final char character = source.charAt(characterIndex++);
+                if (character == syntax.getTagClosing() || character == syntax.getClosedTagMarker()
+                        || Strings.isWhitespace(character)) {
+                    if (character != syntax.getTagClosing() && isMacroTagChild(characterIndex - 1)) {
+                        return -1; // <@macro /> is immediately closed, so it is not nested.
+                    }
+                    final String tagName = source.substring(nameStart, characterIndex - 1).trim();
+                    if (macroName.equals(tagName) || !strict && macroName.equalsIgnoreCase(tagName)) {
+                        return character == syntax.getTagClosing() ? characterIndex : getTagEnd(characterIndex);
+                    }
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        /** @param fromIndex index of a character inside a tag.
+         * @return index of the first character after the tag closing or template length if the tag is not closed. */
+        private int getTagEnd(final int fromIndex) {
+            final int tagClosingIndex = source.indexOf(syntax.getTagClosing(), fromIndex);
+            return Strings.isCharacterPresent(tagClosingIndex) ? tagClosingIndex + 1 : length;
+        }
+
+        /** @param fromIndex index of a character inside a macro tag.
+         * @return true if the tag is closed immediately. */
+        private boolean isMacroTagChild(int fromIndex) {
+            while (fromIndex < length) {
+                final char character = source.charAt(fromIndex++);
+                if (character == syntax.getClosedTagMarker() && isLastCharacterInTag(fromIndex)) {
+                    return true;
+                } else if (character == syntax.getTagClosing()) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        /** @param fromIndex index of the character after a closed tag marker.
+         * @return true if the marker is followed only by whitespaces and tag closing. */
+        private boolean isLastCharacterInTag(int fromIndex) {
+            while (fromIndex < length) {
+                final char character = source.charAt(fromIndex++);
+                if (character == syntax.getTagClosing()) {
+                    return true;
+                } else if (!Strings.isWhitespace(character)) {
+                    return false;
+                }
+            }
+            return false;
+        }
+    }
+}
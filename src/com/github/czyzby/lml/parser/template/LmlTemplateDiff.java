@@ -0,0 +1,175 @@
+package com.github.czyzby.lml.parser.template;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.github.czyzby.kiwi.util.common.Nullables;
+import com.github.czyzby.lml.parser.LmlSyntax;
+import com.github.czyzby.lml.parser.template.LmlTemplateNode.NodeType;
+
+/** Compares compiled templates. Used to find parts of a template that were not modified since its previous version,
+ * so objects created from these parts (like actors) can be reused.
+ *
+ * @author MJ */
+public class LmlTemplateDiff {
+    private LmlTemplateDiff() {
+    }
+
+    /** @param oldTemplate previous version of the template.
+     * @param oldValues values assigned to indexes of regular tag nodes of the previous template. Only subtrees of these
+     *            nodes can be matched.
+     * @param newTemplate current version of the template.
+     * @param syntax used to parse both templates. Determines method invocation markers.
+     * @return values assigned to indexes of regular tag nodes of the new template. A value is assigned to a node only
+     *         if the node's whole subtree (the tag, its content and closing tag) is equal to a subtree of a tag with
+     *         the value in the previous version of the template and the subtree is static: it contains no arguments,
+     *         macros or method invocations, as their results might have changed since the previous parsing. Subtrees
+     *         are matched top-down, so the largest unchanged subtrees are found: if a tag is matched, its children are
+     *         not. Each old value is returned at most once, and never along with values of its ancestors or
+     *         descendants.
+     * @param <Value> type of values. */
+    public static <Value> IntMap<Value> findUnchangedSubtrees(final LmlTemplate oldTemplate,
+            final IntMap<Value> oldValues, final LmlTemplate newTemplate, final LmlSyntax syntax) {
+        final IntMap<Value> unchanged = new IntMap<Value>();
+        if (oldValues.size == 0) {
+            return unchanged;
+        }
+        final int[] oldHashes = hashNodes(oldTemplate);
+        final int[] newHashes = hashNodes(newTemplate);
+        final int[] oldVolatileNodes = countVolatileNodes(oldTemplate, syntax);
+        final int[] newVolatileNodes = countVolatileNodes(newTemplate, syntax);
+        // Candidates are sorted by their indexes, so equal subtrees are matched by their order in the templates.
+        final IntArray oldIndexes = oldValues.keys().toArray();
+        oldIndexes.sort();
+        final IntMap<IntArray> candidates = new IntMap<IntArray>(oldIndexes.size);
+        for (int index = 0; index < oldIndexes.size; index++) {
+            final int oldIndex = oldIndexes.get(index);
+            if (!isStatic(oldTemplate, oldVolatileNodes, oldIndex)) {
+                continue;
+            }
+            final int hash = hashSubtree(oldTemplate, oldHashes, oldIndex);
+            IntArray sameHashIndexes = candidates.get(hash);
+            if (sameHashIndexes == null) {
+                sameHashIndexes = new IntArray(1);
+                candidates.put(hash, sameHashIndexes);
+            }
+            sameHashIndexes.add(oldIndex);
+        }
+        final boolean[] used = new boolean[oldTemplate.size()];
+        for (int index = 0, size = newTemplate.size(); index < size; index++) {
+            final LmlTemplateNode node = newTemplate.getNode(index);
+            if (node.getType() != NodeType.TAG || !isStatic(newTemplate, newVolatileNodes, index)) {
+                continue; // Children of non-static subtrees might still be matched.
+            }
+            final IntArray sameHashIndexes = candidates.get(hashSubtree(newTemplate, newHashes, index));
+            if (sameHashIndexes == null) {
+                continue;
+            }
+            for (int candidate = 0; candidate < sameHashIndexes.size; candidate++) {
+                final int oldIndex = sameHashIndexes.get(candidate);
+                final int oldEnd = getSubtreeEnd(oldTemplate, oldIndex);
+                if (!isAnyUsed(used, oldIndex, oldEnd)
+                        && areSubtreesEqual(oldTemplate, oldIndex, oldEnd, newTemplate, index)) {
+                    unchanged.put(index, oldValues.get(oldIndex));
+                    for (int usedIndex = oldIndex; usedIndex <= oldEnd; usedIndex++) {
+                        used[usedIndex] = true;
+                    }
+                    index = getSubtreeEnd(newTemplate, index); // Skipping children of the matched tag.
+                    break;
+                }
+            }
+        }
+        return unchanged;
+    }
+
+    /** @param template compiled template.
+     * @param index index of a node.
+     * @return index of the last node of the subtree: closing tag index for parental tags, the same index for others. */
+    public static int getSubtreeEnd(final LmlTemplate template, final int index) {
+        final int closingIndex = template.getClosingIndex(index);
+        return closingIndex < 0 ? index : closingIndex;
+    }
+
+    /** @param template compiled template.
+     * @param syntax determines method invocation markers.
+     * @return amounts of volatile nodes preceding each index. The last element is the total amount of volatile nodes.
+     * @see #isVolatile(LmlTemplateNode, LmlSyntax) */
+    private static int[] countVolatileNodes(final LmlTemplate template, final LmlSyntax syntax) {
+        final int[] counts = new int[template.size() + 1];
+        for (int index = 0, size = template.size(); index < size; index++) {
+            counts[index + 1] = counts[index] + (isVolatile(template.getNode(index), syntax) ? 1 : 0);
+        }
+        return counts;
+    }
+
+    /** @param node template node.
+     * @param syntax determines method invocation markers.
+     * @return true if the node might produce different results each time it is parsed: it contains arguments, it is
+     *         a macro or its tag data might invoke methods. */
+    private static boolean isVolatile(final LmlTemplateNode node, final LmlSyntax syntax) {
+        return node.isDynamic() || node.getType() == NodeType.MACRO
+                || node.getType() == NodeType.TAG && node.getData().indexOf(syntax.getMethodInvocationMarker()) >= 0;
+    }
+
+    /** @param template compiled template.
+     * @param volatileNodes amounts of volatile nodes preceding each index.
+     * @param index index of the subtree root.
+     * @return true if no node of the subtree is volatile. */
+    private static boolean isStatic(final LmlTemplate template, final int[] volatileNodes, final int index) {
+        return volatileNodes[getSubtreeEnd(template, index) + 1] == volatileNodes[index];
+    }
+
+    private static int[] hashNodes(final LmlTemplate template) {
+        final int[] hashes = new int[template.size()];
+        for (int index = 0; index < hashes.length; index++) {
+            final LmlTemplateNode node = template.getNode(index);
+            int hash = node.getType().ordinal();
+            hash = 31 * hash + (node.isDynamic() ? 1 : 0);
+            hash = 31 * hash + (node.isParent() ? 1 : 0);
+            hash = 31 * hash + hash(node.getName());
+            hash = 31 * hash + hash(node.getData());
+            hashes[index] = 31 * hash + hash(node.getContent());
+        }
+        return hashes;
+    }
+
+    private static int hash(final String string) {
+        return string == null ? 0 : string.hashCode();
+    }
+
+    private static int hashSubtree(final LmlTemplate template, final int[] nodeHashes, final int index) {
+        int hash = 1;
+        for (int nodeIndex = index, end = getSubtreeEnd(template, index); nodeIndex <= end; nodeIndex++) {
+            hash = 31 * hash + nodeHashes[nodeIndex];
+        }
+        return hash;
+    }
+
+    private static boolean isAnyUsed(final boolean[] used, final int start, final int end) {
+        for (int index = start; index <= end; index++) {
+            if (used[index]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean areSubtreesEqual(final LmlTemplate oldTemplate, final int oldIndex, final int oldEnd,
+            final LmlTemplate newTemplate, final int newIndex) {
+        if (oldEnd - oldIndex != getSubtreeEnd(newTemplate, newIndex) - newIndex) {
+            return false;
+        }
+        for (int offset = 0, length = oldEnd - oldIndex; offset <= length; offset++) {
+            if (!areEqual(oldTemplate.getNode(oldIndex + offset), newTemplate.getNode(newIndex + offset))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean areEqual(final LmlTemplateNode oldNode, final LmlTemplateNode newNode) {
+        return oldNode.getType() == newNode.getType() && oldNode.isDynamic() == newNode.isDynamic()
+                && oldNode.isParent() == newNode.isParent() && Nullables.areEqual(oldNode.getName(), newNode.getName())
+                && Nullables.areEqual(oldNode.getData(), newNode.getData())
+                && Nullables.areEqual(oldNode.getContent(), newNode.getContent());
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.czyzby.lml.parser.template;
+
+/** A single, immutable element of a compiled {@link LmlTemplate}. Nodes are created by {@link LmlTemplateCompiler}
+ * and should not be constructed manually.
+ *
+ * <p>
+ * Static nodes (text without arguments, tags and macros with no arguments in their data) are fully processed during
+ * compilation: their names are extracted and attributes are split, so they can be passed directly to tag providers.
+ * Dynamic nodes contain LML arguments, which have to be resolved each time the template is instantiated; their
+ * original (comment-free) content is kept and passed to the template reader.
+ *
+ * @author MJ */
+public final class LmlTemplateNode {
+    private final NodeType type;
+    private final boolean dynamic;
+    private final boolean parent;
+    private final String name;
+    private final String data;
+    private final String content;
+    private final String[] entities;
+    private final int offset;
+
+    private LmlTemplateNode(final NodeType type, final boolean dynamic, final boolean parent, final String name,
+            final String data, final String content, final String[] entities, final int offset) {
+        this.type = type;
+        this.dynamic = dynamic;
+        this.parent = parent;
+        this.name = name;
+        this.data = data;
+        this.content = content;
+        this.entities = entities;
+        this.offset = offset;
+    }
+
+    /** @param text plain text between tags. Contains no arguments.
+     * @param offset index of the first character of the text in the original template.
+     * @return a new static text node. */
+    public static LmlTemplateNode text(final String text, final int offset) {
+        return new LmlTemplateNode(NodeType.TEXT, false, false, null, text, null, null, offset);
+    }
+
+    /** @param text unparsed text between tags that contains at least one argument.
+     * @param offset index of the first character of the text in the original template.
+     * @return a new dynamic text node. */
+    public static LmlTemplateNode dynamicText(final String text, final int offset) {
+        return new LmlTemplateNode(NodeType.TEXT, true, false, null, text, null, null, offset);
+    }
+
+    /** @param tagName name of the tag.
+     * @param rawTagData trimmed tag data, without opening and closing markers.
+     * @param entities pre-split tag data: tag name followed by unparsed attributes.
+     * @param parent true if the tag is not closed immediately.
+     * @param offset index of the first character of the tag in the original template.
+     * @return a new static regular tag node. */
+    public static LmlTemplateNode tag(final String tagName, final String rawTagData, final String[] entities,
+            final boolean parent, final int offset) {
+        return new LmlTemplateNode(NodeType.TAG, false, parent, tagName, rawTagData, null, entities, offset);
+    }
+
+    /** @param macroName name of the macro, without the macro marker.
+     * @param rawTagData trimmed macro tag data, without opening and closing markers.
+     * @param entities pre-split tag data: macro name followed by unparsed attributes.
+     * @param content unparsed data between macro tags. Null if the macro is a child.
+     * @param offset index of the first character of the macro in the original template.
+     * @return a new static macro node. */
+    public static LmlTemplateNode macro(final String macroName, final String rawTagData, final String[] entities,
+            final String content, final int offset) {
+        return new LmlTemplateNode(NodeType.MACRO, false, content != null, macroName, rawTagData, content, entities,
+                offset);
+    }
+
+    /** @param tagName name of the closed tag.
+     * @param offset index of the first character of the tag in the original template.
+     * @return a new static closing tag node. */
+    public static LmlTemplateNode closingTag(final String tagName, final int offset) {
+        return new LmlTemplateNode(NodeType.CLOSING_TAG, false, false, tagName, null, null, null, offset);
+    }
+
+    /** @param type type of the tag. Cannot be {@link NodeType#TEXT}.
+     * @param name name of the tag as it appears in the template. Might contain unresolved arguments.
+     * @param source whole tag data (including tag markers and content of macros) that will be parsed when the
+     *            template is instantiated.
+     * @param parent true if the tag is not closed immediately.
+     * @param offset index of the first character of the tag in the original template.
+     * @return a new dynamic tag node. */
+    public static LmlTemplateNode dynamicTag(final NodeType type, final String name, final String source,
+            final boolean parent, final int offset) {
+        return new LmlTemplateNode(type, true, parent, name, source, null, null, offset);
+    }
+
+    /** @return type of the node. */
+    public NodeType getType() {
+        return type;
+    }
+
+    /** @return true if the node contains arguments and has to be parsed by the template reader each time the template
+     *         is instantiated. */
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    /** @return true if this is a regular tag or a macro that is not closed immediately. */
+    public boolean isParent() {
+        return parent;
+    }
+
+    /** @return name of the tag or macro (without the marker). Null for text nodes. */
+    public String getName() {
+        return name;
+    }
+
+    /** @return for static tags and macros: trimmed raw tag data; for static text: the text itself; for dynamic nodes:
+     *         unparsed node content that should be passed to the template reader. */
+    public String getData() {
+        return data;
+    }
+
+    /** @return unparsed data between macro tags. Null if the node is not a static parental macro. */
+    public String getContent() {
+        return content;
+    }
+
+    /** @return pre-split tag data: tag name followed by unparsed attributes. Null for text, closing tags and dynamic
+     *         nodes. Should not be modified. */
+    public String[] getEntities() {
+        return entities;
+    }
+
+    /** @return index of the first character of the node in the original template.
+     * @see LmlTemplate#getLine(int) */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public String toString() {
+        return type + (dynamic ? " (dynamic)" : "") + ": " + (name == null ? data : name);
+    }
+
+    /** Types of compiled template nodes.
+     *
+     * @author MJ */
+    public static enum NodeType {
+        /** Plain text between tags. */
+        TEXT,
+        /** Opening of a regular tag or a child tag. */
+        TAG,
+        /** Closing of a regular parental tag. */
+        CLOSING_TAG,
+        /** Macro tag with its whole content. */
+        MACRO;
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.czyzby.lml.parser.template;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.github.czyzby.kiwi.util.gdx.reflection.Reflection;
+import com.github.czyzby.lml.parser.IncrementalViewCreation;
+import com.github.czyzby.lml.parser.LmlParser;
+
+/** Template prepared for instantiation: the template was already read and compiled (scanned for tags, with comments
+ * stripped and tag attributes pre-split), so only the actors have to be created. Plans are usually created with
+ * {@link LmlParser#prepareAsync(com.badlogic.gdx.files.FileHandle, com.badlogic.gdx.utils.async.AsyncExecutor)} on a
+ * separate thread, while {@link #materialize(Object)} methods should be invoked on the rendering thread, since
+ * Scene2D actors cannot be safely created elsewhere.
+ *
+ * <p>
+ * Arguments, macros and equations are still processed during materialization: they depend on the current state of
+ * LML data and views, which might change between the two phases.
+ *
+ * @author MJ
+ * @see LmlParser#prepare(com.badlogic.gdx.files.FileHandle) */
+public class LmlTemplatePlan {
+    private final LmlParser parser;
+    private final LmlTemplate template;
+
+    /** @param parser will be used to materialize the template.
+     * @param template compiled template. */
+    public LmlTemplatePlan(final LmlParser parser, final LmlTemplate template) {
+        this.parser = parser;
+        this.template = template;
+    }
+
+    /** @return parser that will be used to materialize the template. */
+    public LmlParser getParser() {
+        return parser;
+    }
+
+    /** @return compiled template. */
+    public LmlTemplate getTemplate() {
+        return template;
+    }
+
+    /** Should be invoked on the rendering thread.
+     *
+     * @return parsed root actors, in the order that they appear in the template. */
+    public Array<Actor> materialize() {
+        return parser.instantiate(template);
+    }
+
+    /** Should be invoked on the rendering thread.
+     *
+     * @param view an instance of view object, containing annotated fields and methods that need to be filled and
+     *            invoked. See LML annotations for more data.
+     * @return array of actors parsed from the template.
+     * @param <View> class of the view to be initiated. */
+    public <View> Array<Actor> materialize(final View view) {
+        return parser.instantiate(template, view);
+    }
+
+    /** Should be invoked on the rendering thread.
+     *
+     * @param viewClass class of the view, containing annotated fields and methods that need to be filled and invoked.
+     * @return a new instance of the view, created with no-argument constructor and filled.
+     * @param <View> class of the view to be initiated. */
+    public <View> View materialize(final Class<View> viewClass) {
+        final View view = Reflection.newInstance(viewClass);
+        materialize(view);
+        return view;
+    }
+
+    /** Should be invoked on the rendering thread, as well as the updates of the returned handle.
+     *
+     * @param view an instance of view object, containing annotated fields and methods that need to be filled and
+     *            invoked. See LML annotations for more data.
+     * @param budgetMillis approximate time in milliseconds of a single update.
+     * @return handle that should be updated each frame until the view is finished.
+     * @param <View> class of the view to be initiated.
+     * @see LmlParser#createViewIncrementally(Object, LmlTemplate, long) */
+    public <View> IncrementalViewCreation<View> materializeIncrementally(final View view, final long budgetMillis) {
+        return parser.createViewIncrementally(view, template, budgetMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "LmlTemplatePlan: " + template.getName();
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.czyzby.lml.parser.view;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.Method;
+import com.github.czyzby.kiwi.util.gdx.reflection.Reflection;
+import com.github.czyzby.lml.parser.LmlParser;
+
+/** Abstract base for generated {@link ViewBinder} implementations. Provides access to view members that cannot be
+ * referenced directly (for example, private fields): each member is found with a single reflection look-up and cached
+ * by the binder.
+ *
+ * <p>
+ * Members are referenced by their indexes (assigned by the binder) and depth of the declaring class in the view class
+ * hierarchy: 0 for the view class, 1 for its superclass, and so on.
+ *
+ * @author MJ
+ *
+ * @param <View> type of handled views. */
+public abstract class AbstractViewBinder<View> implements ViewBinder<View> {
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final Field[] fields;
+    private final Method[] methods;
+
+    /** @param fieldsAmount amount of fields accessed with reflection.
+     * @param methodsAmount amount of methods invoked with reflection. */
+    protected AbstractViewBinder(final int fieldsAmount, final int methodsAmount) {
+        fields = new Field[fieldsAmount];
+        methods = new Method[methodsAmount];
+    }
+
+    @Override
+    public void invokeBeforeMethods(final View view, final LmlParser parser) {
+    }
+
+    @Override
+    public void bind(final View view, final ViewBindingContext context) {
+    }
+
+    @Override
+    public void invokeAfterMethods(final View view, final LmlParser parser) {
+    }
+
+    /** @param view instance of the handled view class.
+     * @param depth depth of the declaring class in view's class hierarchy.
+     * @return view class or one of its superclasses. */
+    protected static Class<?> getDeclaringClass(final Object view, final int depth) {
+        Class<?> declaringClass = view.getClass();
+        for (int index = 0; index < depth; index++) {
+            declaringClass = declaringClass.getSuperclass();
+        }
+        return declaringClass;
+    }
+
+    /** @param view instance of the handled view class.
+     * @param index index of the field in the binder.
+     * @param depth depth of the declaring class in view's class hierarchy.
+     * @param fieldName name of the field.
+     * @return field with the selected name. Cached after the first look-up. */
+    protected Field getField(final Object view, final int index, final int depth, final String fieldName) {
+        Field field = fields[index];
+        if (field == null) {
+            final Class<?> declaringClass = getDeclaringClass(view, depth);
+            try {
+                field = ClassReflection.getDeclaredField(declaringClass, fieldName);
+            } catch (final Exception exception) {
+                throw new GdxRuntimeException("Unable to find field: " + fieldName + " of: " + declaringClass,
+                        exception);
+            }
+            fields[index] = field;
+        }
+        return field;
+    }
+
+    /** @param view instance of the handled view class. Will have its method invoked.
+     * @param index index of the method in the binder.
+     * @param depth depth of the declaring class in view's class hierarchy.
+     * @param methodName name of the method.
+     * @param parser if not null, method consumes a single {@link LmlParser} argument and the parser will be passed.
+     *            If null, method has no parameters. */
+    protected void invokeMethod(final Object view, final int index, final int depth, final String methodName,
+            final LmlParser parser) {
+        Method method = methods[index];
+        try {
+            if (method == null) {
+                final Class<?> declaringClass = getDeclaringClass(view, depth);
+                method = parser == null ? ClassReflection.getDeclaredMethod(declaringClass, methodName)
+                        : ClassReflection.getDeclaredMethod(declaringClass, methodName, LmlParser.class);
+                methods[index] = method;
+            }
+            Reflection.invokeMethod(method, view, parser == null ? NO_ARGUMENTS : new Object[] { parser });
+        } catch (final Exception exception) {
+            throw new GdxRuntimeException("Unable to invoke method: " + methodName + " of view: " + view, exception);
+        }
+    }
+}
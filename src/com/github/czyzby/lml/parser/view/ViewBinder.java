@@ -0,0 +1,36 @@
+package com.github.czyzby.lml.parser.view;
+
+import com.github.czyzby.lml.parser.LmlParser;
+
+/** Processes LML annotations of a specific view class without scanning it with reflection. Binders are usually
+ * generated at compile time by the LML annotation processor (gdx-lml-processor artifact), which creates a binder for
+ * each class with fields or methods annotated with {@link com.github.czyzby.lml.annotation.LmlActor},
+ * {@link com.github.czyzby.lml.annotation.OnChange}, {@link com.github.czyzby.lml.annotation.LmlInject},
+ * {@link com.github.czyzby.lml.annotation.LmlBefore} or {@link com.github.czyzby.lml.annotation.LmlAfter}. Generated
+ * binders assign fields and invoke methods directly; private members are still accessed with reflection, but they do
+ * not have to be found by scanning the class hierarchy. Binders are found by {@link ViewBinders}; if a view class has
+ * no binder, its annotations are processed with reflection.
+ *
+ * <p>
+ * Binders are stateless (apart from cached reflection data) and shared by all parsers, so they have to be
+ * thread-safe.
+ *
+ * @author MJ
+ *
+ * @param <View> type of handled views. Binders are used only for views of this exact class.
+ * @see ViewBinders#register(Class, ViewBinder) */
+public interface ViewBinder<View> {
+    /** @param view is about to be filled with actors of a parsed template. Its
+     *            {@link com.github.czyzby.lml.annotation.LmlBefore}-annotated methods should be invoked.
+     * @param parser parses the template. Should be passed to annotated methods that consume {@link LmlParser}. */
+    void invokeBeforeMethods(View view, LmlParser parser);
+
+    /** @param view should have its annotated fields processed.
+     * @param context provides actors of the parsed template and handles operations that depend on the parser. */
+    void bind(View view, ViewBindingContext context);
+
+    /** @param view was filled with actors of a parsed template. Its
+     *            {@link com.github.czyzby.lml.annotation.LmlAfter}-annotated methods should be invoked.
+     * @param parser parsed the template. Should be passed to annotated methods that consume {@link LmlParser}. */
+    void invokeAfterMethods(View view, LmlParser parser);
+}
@@ -0,0 +1,68 @@
+package com.github.czyzby.lml.parser.view;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+
+/** Manages {@link ViewBinder} instances of view classes. Binders generated by the LML annotation processor are found
+ * by their class names: view's class name with {@link #BINDER_SUFFIX}. Note that on GWT generated binders have to be
+ * included in reflection data (or registered manually with {@link #register(Class, ViewBinder)}) to be found.
+ *
+ * <p>
+ * Binders (and their absence) are cached for each view class. This class can be safely used by multiple threads.
+ *
+ * @author MJ */
+public class ViewBinders {
+    /** Appended to view class name to get the name of its generated binder class. */
+    public static final String BINDER_SUFFIX = "_LmlViewBinder";
+    /** Cached in place of binders of classes that do not have one. */
+    private static final ViewBinder<Object> NO_BINDER = new AbstractViewBinder<Object>(0, 0) {
+    };
+    private static final ObjectMap<Class<?>, ViewBinder<?>> BINDERS = new ObjectMap<Class<?>, ViewBinder<?>>();
+
+    private ViewBinders() {
+    }
+
+    /** @param viewClass class of a view.
+     * @return binder of the class (registered manually or generated at compile time) or null if the class has no
+     *         binder. Note that binders of superclasses are not used.
+     * @param <View> type of the view. */
+    @SuppressWarnings("unchecked")
+    public static <View> ViewBinder<View> getBinder(final Class<View> viewClass) {
+        synchronized (BINDERS) {
+            ViewBinder<?> binder = BINDERS.get(viewClass);
+            if (binder == null) {
+                binder = createBinder(viewClass);
+                BINDERS.put(viewClass, binder == null ? NO_BINDER : binder);
+            }
+            return binder == NO_BINDER ? null : (ViewBinder<View>) binder;
+        }
+    }
+
+    private static ViewBinder<?> createBinder(final Class<?> viewClass) {
+        try {
+            final Class<?> binderClass = ClassReflection.forName(viewClass.getName() + BINDER_SUFFIX);
+            return (ViewBinder<?>) ClassReflection.newInstance(binderClass);
+        } catch (final Exception exception) {
+            return null; // No generated binder.
+        }
+    }
+
+    /** @param viewClass class of views.
+     * @param binder will be used to process annotations of the views, replacing the generated binder (if any).
+     * @param <View> type of the view. */
+    public static <View> void register(final Class<View> viewClass, final ViewBinder<? super View> binder) {
+        if (binder == null) {
+            throw new IllegalArgumentException("Binder cannot be null.");
+        }
+        synchronized (BINDERS) {
+            BINDERS.put(viewClass, binder);
+        }
+    }
+
+    /** Clears cached binders, including manually registered ones. */
+    public static void clearBinders() {
+        synchronized (BINDERS) {
+            BINDERS.clear();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.czyzby.lml.parser.view;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.github.czyzby.lml.parser.LmlParser;
+
+/** Provided by the parser to {@link ViewBinder} instances. Gives access to actors of the parsed template and handles
+ * annotation processing steps that depend on parser's data and settings, so the results are consistent with the
+ * reflection-based processing.
+ *
+ * @author MJ */
+public interface ViewBindingContext {
+    /** @return parser that fills the view. */
+    LmlParser getParser();
+
+    /** @param actorIds value of {@link com.github.czyzby.lml.annotation.LmlActor} annotation. Might contain LML
+     *            arrays, bundle lines, etc.
+     * @param view owner of the filled field. Used for error messages.
+     * @param fieldName name of the filled field. Used for error messages.
+     * @return actor mapped to the only ID or null. If there are multiple IDs, an error is reported if the parser is
+     *         strict. */
+    Actor getActor(String[] actorIds, Object view, String fieldName);
+
+    /** @param actorIds value of {@link com.github.czyzby.lml.annotation.LmlActor} annotation.
+     * @return new array with actors mapped to the IDs. Contains nulls for unknown IDs. */
+    Array<Actor> getArrayOfActors(String[] actorIds);
+
+    /** @param actorIds value of {@link com.github.czyzby.lml.annotation.LmlActor} annotation.
+     * @return new set with actors mapped to the IDs. */
+    ObjectSet<Actor> getSetOfActors(String[] actorIds);
+
+    /** @param actorIds value of {@link com.github.czyzby.lml.annotation.LmlActor} annotation.
+     * @return new map with actors mapped to the IDs. Ignores case of the keys. */
+    ObjectMap<String, Actor> getMapOfActors(String[] actorIds);
+
+    /** @param view owner of the field.
+     * @param field annotated with {@link com.github.czyzby.lml.annotation.OnChange}.
+     * @param actorId value of the annotation. The field will be linked with the actor with this ID by the first
+     *            matching {@link com.github.czyzby.lml.annotation.processor.OnChangeProcessor}. */
+    void processOnChange(Object view, Field field, String actorId);
+
+    /** @param owner owner of the field.
+     * @param field all its annotations will be processed with reflection. Used for fields that cannot be handled by
+     *            the binder directly. */
+    void processField(Object owner, Field field);
+
+    /** @param value object injected by {@link com.github.czyzby.lml.annotation.LmlInject} annotation. Its annotated
+     *            fields will be processed - with its own binder, if available. */
+    void bind(Object value);
+}
@@ -0,0 +1,93 @@
+package com.github.czyzby.lml.parser.view;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.github.czyzby.kiwi.util.gdx.reflection.Reflection;
+import com.github.czyzby.lml.annotation.LmlActor;
+import com.github.czyzby.lml.annotation.LmlInject;
+import com.github.czyzby.lml.annotation.OnChange;
+
+/** Stores data of a single view field annotated with {@link LmlActor}, {@link OnChange} or {@link LmlInject}.
+ * Annotations are read once, when the metadata is created.
+ *
+ * @author MJ
+ * @see ViewMetadata */
+public class ViewFieldMetadata {
+    private final Field field;
+    private final LmlActor actorData;
+    private final ActorsContainer actorsContainer;
+    private final OnChange onChangeData;
+    private final LmlInject injectionData;
+
+    /** @param field will have its annotations read. */
+    public ViewFieldMetadata(final Field field) {
+        this.field = field;
+        actorData = Reflection.getAnnotation(field, LmlActor.class);
+        actorsContainer = actorData == null ? null : ActorsContainer.of(field.getType());
+        onChangeData = Reflection.getAnnotation(field, OnChange.class);
+        injectionData = Reflection.getAnnotation(field, LmlInject.class);
+    }
+
+    /** @param field will be checked.
+     * @return true if the field is annotated with any of the view annotations. */
+    public static boolean isAnnotated(final Field field) {
+        return Reflection.isAnnotationPresent(field, LmlActor.class)
+                || Reflection.isAnnotationPresent(field, OnChange.class)
+                || Reflection.isAnnotationPresent(field, LmlInject.class);
+    }
+
+    /** @return annotated field. */
+    public Field getField() {
+        return field;
+    }
+
+    /** @return {@link LmlActor} annotation of the field or null. */
+    public LmlActor getActorData() {
+        return actorData;
+    }
+
+    /** @return type of actors container expected by the {@link LmlActor}-annotated field. Null if the field is not
+     *         annotated with {@link LmlActor}. */
+    public ActorsContainer getActorsContainer() {
+        return actorsContainer;
+    }
+
+    /** @return {@link OnChange} annotation of the field or null. */
+    public OnChange getOnChangeData() {
+        return onChangeData;
+    }
+
+    /** @return {@link LmlInject} annotation of the field or null. */
+    public LmlInject getInjectionData() {
+        return injectionData;
+    }
+
+    /** Determines how actors are injected into {@link LmlActor}-annotated fields.
+     *
+     * @author MJ */
+    public static enum ActorsContainer {
+        /** Field stores a single actor. */
+        NONE,
+        /** Field stores an {@link Array} of actors. */
+        ARRAY,
+        /** Field stores an {@link ObjectSet} of actors. */
+        SET,
+        /** Field stores an {@link ObjectMap} of actors mapped by their IDs. */
+        MAP;
+
+        /** @param fieldType type of the annotated field.
+         * @return type of container expected by the field. */
+        public static ActorsContainer of(final Class<?> fieldType) {
+            if (Reflection.isExtending(fieldType, Array.class)) {
+                return ARRAY;
+            } else if (Reflection.isExtending(fieldType, ObjectSet.class)) {
+                return SET;
+            } else if (Reflection.isExtending(fieldType, ObjectMap.class)) {
+                return MAP;
+            }
+            return NONE;
+        }
+    }
+}
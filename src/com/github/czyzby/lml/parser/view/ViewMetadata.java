@@ -0,0 +1,67 @@
+package com.github.czyzby.lml.parser.view;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.Method;
+import com.github.czyzby.kiwi.util.gdx.reflection.Reflection;
+import com.github.czyzby.lml.annotation.LmlAfter;
+import com.github.czyzby.lml.annotation.LmlBefore;
+
+/** Stores annotated members of a view class and its superclasses: fields annotated with
+ * {@link com.github.czyzby.lml.annotation.LmlActor}, {@link com.github.czyzby.lml.annotation.OnChange} or
+ * {@link com.github.czyzby.lml.annotation.LmlInject} and methods annotated with {@link LmlBefore} or {@link LmlAfter}.
+ * The class hierarchy is scanned once, when the metadata is created; members are stored in the order in which the
+ * parser processes them - starting with the view class, ending with the last superclass before {@link Object}.
+ * Metadata is immutable and can be shared by multiple parsers.
+ *
+ * @author MJ
+ * @see ViewMetadataCache */
+public class ViewMetadata {
+    private final Class<?> viewClass;
+    private final Array<ViewFieldMetadata> fields = new Array<ViewFieldMetadata>(4);
+    private final Array<ViewMethodMetadata> beforeMethods = new Array<ViewMethodMetadata>(2);
+    private final Array<ViewMethodMetadata> afterMethods = new Array<ViewMethodMetadata>(2);
+
+    /** @param viewClass its hierarchy will be scanned. */
+    public ViewMetadata(final Class<?> viewClass) {
+        this.viewClass = viewClass;
+        Class<?> handledClass = viewClass;
+        while (handledClass != null && !handledClass.equals(Object.class)) {
+            for (final Field field : ClassReflection.getDeclaredFields(handledClass)) {
+                if (ViewFieldMetadata.isAnnotated(field)) {
+                    fields.add(new ViewFieldMetadata(field));
+                }
+            }
+            for (final Method method : ClassReflection.getDeclaredMethods(handledClass)) {
+                if (Reflection.isAnnotationPresent(method, LmlBefore.class)) {
+                    beforeMethods.add(new ViewMethodMetadata(method));
+                }
+                if (Reflection.isAnnotationPresent(method, LmlAfter.class)) {
+                    afterMethods.add(new ViewMethodMetadata(method));
+                }
+            }
+            handledClass = handledClass.getSuperclass();
+        }
+    }
+
+    /** @return described view class. */
+    public Class<?> getViewClass() {
+        return viewClass;
+    }
+
+    /** @return annotated fields of the view class and its superclasses. Should not be modified. */
+    public Array<ViewFieldMetadata> getFields() {
+        return fields;
+    }
+
+    /** @return {@link LmlBefore}-annotated methods of the view class and its superclasses. Should not be modified. */
+    public Array<ViewMethodMetadata> getBeforeMethods() {
+        return beforeMethods;
+    }
+
+    /** @return {@link LmlAfter}-annotated methods of the view class and its superclasses. Should not be modified. */
+    public Array<ViewMethodMetadata> getAfterMethods() {
+        return afterMethods;
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.czyzby.lml.parser.view;
+
+/** Stores {@link ViewMetadata} of view classes, so their hierarchies do not have to be scanned with reflection each
+ * time a view is created or filled. Implementations have to be thread-safe if shared by multiple parsers.
+ *
+ * @author MJ
+ * @see com.github.czyzby.lml.parser.impl.view.DefaultViewMetadataCache
+ * @see com.github.czyzby.lml.parser.impl.view.jvm.WeakViewMetadataCache */
+public interface ViewMetadataCache {
+    /** @param viewClass class of a view.
+     * @return metadata of the class. Created on the first call; subsequent calls should return cached metadata. */
+    ViewMetadata getMetadata(Class<?> viewClass);
+
+    /** Removes all cached metadata. */
+    void clear();
+}
@@ -0,0 +1,46 @@
+package com.github.czyzby.lml.parser.view;
+
+import com.badlogic.gdx.utils.reflect.Method;
+import com.github.czyzby.lml.annotation.LmlAfter;
+import com.github.czyzby.lml.annotation.LmlBefore;
+import com.github.czyzby.lml.parser.LmlParser;
+
+/** Stores data of a single view method annotated with {@link LmlBefore} or {@link LmlAfter}. Parameters of the method
+ * are checked once, when the metadata is created.
+ *
+ * @author MJ
+ * @see ViewMetadata */
+public class ViewMethodMetadata {
+    private final Method method;
+    private final boolean consumingParser;
+    private final boolean valid;
+
+    /** @param method will have its parameters checked. */
+    public ViewMethodMetadata(final Method method) {
+        this.method = method;
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        if (parameterTypes == null || parameterTypes.length == 0) {
+            consumingParser = false;
+            valid = true;
+        } else {
+            consumingParser = parameterTypes.length == 1 && LmlParser.class.equals(parameterTypes[0]);
+            valid = consumingParser;
+        }
+    }
+
+    /** @return annotated method. */
+    public Method getMethod() {
+        return method;
+    }
+
+    /** @return true if the method consumes a single {@link LmlParser} parameter. False for no-arg methods. */
+    public boolean isConsumingParser() {
+        return consumingParser;
+    }
+
+    /** @return true if the method has no parameters or consumes a single {@link LmlParser}. Methods with any other
+     *         parameters cannot be invoked by the parser. */
+    public boolean isValid() {
+        return valid;
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.czyzby.lml.scene2d.ui.reflected;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Container;
+import com.badlogic.gdx.scenes.scene2d.ui.VerticalGroup;
+import com.badlogic.gdx.utils.Array;
+import com.github.czyzby.lml.parser.LmlParser;
+
+/** Container that keeps an unparsed LML template instead of its content. The template is parsed the first time the
+ * container is drawn (which happens only if it is visible and attached to a stage) or when {@link #realize()} is
+ * invoked, whichever comes first. Used by the "lazy" macro to delay creation of actors that might never be shown - for
+ * example, content of inactive tabs or dialogs. If the template contains multiple root actors, they are grouped in a
+ * {@link VerticalGroup}. The container fills its content by default.
+ *
+ * <p>
+ * Note that the template is parsed with the parser's current LML data, so arguments used by the template should still
+ * be available when the container is realized. If the container was created as a part of a view, the template is
+ * parsed with {@link LmlParser#parseViewTemplate(Object, String)}, so it can reference the view's actions. Actors
+ * created by the lazy template are mapped by their IDs in the parser, but they will not be injected into view fields
+ * annotated with {@link com.github.czyzby.lml.annotation.LmlActor}.
+ *
+ * <p>
+ * When the container is realized by {@link #draw(Batch, float)}, the template is parsed on the rendering path, during
+ * the frame in which the container is first shown. If parsing a big template causes a noticeable hiccup, invoke
+ * {@link #realize()} (or {@link com.github.czyzby.lml.util.LmlUtilities#realize(Actor)}) earlier - for example, when
+ * the user starts to switch the tab.
+ *
+ * @author MJ
+ * @see com.github.czyzby.lml.util.LmlUtilities#realize(Actor) */
+public class LazyContainer extends Container<Actor> {
+    private final LmlParser parser;
+    private final Object view;
+    private String template;
+
+    /** @param parser will be used to parse the template.
+     * @param template will be parsed when the container is realized. */
+    public LazyContainer(final LmlParser parser, final String template) {
+        this(parser, template, null);
+    }
+
+    /** @param parser will be used to parse the template.
+     * @param template will be parsed when the container is realized.
+     * @param view the container is a part of. Its actions will be available when the template is parsed. Can be
+     *            null. */
+    public LazyContainer(final LmlParser parser, final String template, final Object view) {
+        this.parser = parser;
+        this.template = template;
+        this.view = view;
+        fill();
+    }
+
+    /** @return true if the template was already parsed. */
+    public boolean isRealized() {
+        return template == null;
+    }
+
+    /** Parses the template and sets its actors as the container's content. Does nothing if the container is already
+     * realized. */
+    public void realize() {
+        if (template == null) {
+            return;
+        }
+        final String content = template;
+        template = null; // Cleared before parsing, so nested draw calls do not realize the container again.
+        final Array<Actor> actors = parser.parseViewTemplate(view, content);
+        if (actors.size == 1) {
+            setActor(actors.first());
+        } else if (actors.size > 1) {
+            final VerticalGroup group = new VerticalGroup();
+            group.fill();
+            for (final Actor actor : actors) {
+                group.addActor(actor);
+            }
+            setActor(group);
+        }
+    }
+
+    /** Realizes the container if it was not realized yet. Note that this parses the template during rendering.
+     *
+     * @see #realize() */
+    @Override
+    public void draw(final Batch batch, final float parentAlpha) {
+        realize();
+        super.draw(batch, parentAlpha);
+    }
+}
@@ -19,7 +19,8 @@ public class Lml {
      * extracting fields causes problems on GWT (probably due to LibGDX reflection implementation), so this
      * functionality can be globally turned off by setting this variable to false (default state). The rule of thumb is:
      * if you use multiple action containers and plan on releasing GWT client, keep this variable as false. If you need
-     * field extraction, set it to true. */
+     * field extraction, set it to true. Note that resolved actions are cached by action container wrappers, so this
+     * setting should be changed before any actions are parsed. */
     public static boolean EXTRACT_FIELDS_AS_METHODS = false;
 
     /** If this is set to true, multi-widget actors will parse only its own attributes. For example, Scene2D Window
@@ -9,16 +9,20 @@ import com.github.czyzby.kiwi.util.gdx.reflection.Reflection;
 import com.github.czyzby.lml.annotation.processor.OnChangeProcessor;
 import com.github.czyzby.lml.parser.LmlData;
 import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.LmlParserListener;
 import com.github.czyzby.lml.parser.LmlSyntax;
 import com.github.czyzby.lml.parser.LmlTemplateReader;
 import com.github.czyzby.lml.parser.action.ActionContainer;
 import com.github.czyzby.lml.parser.action.ActorConsumer;
+import com.github.czyzby.lml.parser.action.ActorConsumerFactory;
 import com.github.czyzby.lml.parser.impl.AbstractLmlParser;
 import com.github.czyzby.lml.parser.impl.DefaultLmlData;
 import com.github.czyzby.lml.parser.impl.DefaultLmlParser;
 import com.github.czyzby.lml.parser.tag.LmlAttribute;
 import com.github.czyzby.lml.parser.tag.LmlTag;
 import com.github.czyzby.lml.parser.tag.LmlTagProvider;
+import com.github.czyzby.lml.parser.template.LmlTemplateCache;
+import com.github.czyzby.lml.parser.view.ViewMetadataCache;
 
 /** Simplifies construction of {@code LmlParser} by initiating an instance of {@link DefaultLmlParser}. Note that
  * {@link LmlParserBuilder#build()} method returns an instance of parser that is actually created in builder's
@@ -244,6 +248,41 @@ public class LmlParserBuilder {
         return this;
     }
 
+    /** @param templateCache will be used to store content of template files and compiled templates. Can be shared by
+     *            multiple parsers. Pass null to turn off caching (default).
+     * @return this for chaining.
+     * @see com.github.czyzby.lml.parser.template.DefaultLmlTemplateCache */
+    public LmlParserBuilder templateCache(final LmlTemplateCache templateCache) {
+        parser.setTemplateCache(templateCache);
+        return this;
+    }
+
+    /** @param factory will be used to create actions invoking methods and fields of action containers. Consider using
+     *            {@link com.github.czyzby.lml.parser.impl.action.jvm.MethodHandleActorConsumerFactory} on desktop.
+     * @return this for chaining. */
+    public LmlParserBuilder actorConsumerFactory(final ActorConsumerFactory factory) {
+        parser.setActorConsumerFactory(factory);
+        return this;
+    }
+
+    /** @param cache will be used to store annotated fields and methods of view classes. Consider using
+     *            {@link com.github.czyzby.lml.parser.impl.view.jvm.WeakViewMetadataCache#INSTANCE} on desktop.
+     * @return this for chaining. */
+    public LmlParserBuilder viewMetadataCache(final ViewMetadataCache cache) {
+        parser.setViewMetadataCache(cache);
+        return this;
+    }
+
+    /** @param listener will be notified about parsing events (templates, tags, attributes, macros and actions) along
+     *            with their processing times. Useful for finding expensive templates without attaching a profiler.
+     *            Replaces the previous listener. Pass null to turn off instrumentation (default).
+     * @return this for chaining.
+     * @see LmlParserListener */
+    public LmlParserBuilder listener(final LmlParserListener listener) {
+        parser.setListener(listener);
+        return this;
+    }
+
     /** @param syntax contains the operators, markers, tags, attributes and macros that are parsed and handled by LML
      *            parser. Make sure to register your custom data with {@link #attribute(LmlAttribute, String...)},
      *            {@link #tag(LmlTagProvider, String...)} and {@link #macro(LmlTagProvider, String...)} after invoking
@@ -10,6 +10,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Value;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.ObjectMap.Entry;
 import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.github.czyzby.kiwi.util.common.Exceptions;
 import com.github.czyzby.kiwi.util.common.Nullables;
 import com.github.czyzby.kiwi.util.common.Strings;
@@ -17,13 +18,16 @@ import com.github.czyzby.kiwi.util.gdx.collection.GdxMaps;
 import com.github.czyzby.kiwi.util.gdx.collection.pooled.PooledList;
 import com.github.czyzby.kiwi.util.gdx.scene2d.Alignment;
 import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.LmlParserListener;
 import com.github.czyzby.lml.parser.LmlSyntax;
 import com.github.czyzby.lml.parser.action.ActionContainer;
 import com.github.czyzby.lml.parser.action.ActorConsumer;
 import com.github.czyzby.lml.parser.action.StageAttacher;
 import com.github.czyzby.lml.parser.impl.DefaultLmlSyntax;
+import com.github.czyzby.lml.parser.impl.tag.macro.util.ArgumentTemplate;
 import com.github.czyzby.lml.parser.tag.LmlAttribute;
 import com.github.czyzby.lml.parser.tag.LmlTag;
+import com.github.czyzby.lml.scene2d.ui.reflected.LazyContainer;
 import com.github.czyzby.lml.util.collection.IgnoreCaseStringMap;
 
 /** Utility class. Contains common LML methods that might be useful during parsing or even LML actors usage.
@@ -31,6 +35,7 @@ import com.github.czyzby.lml.util.collection.IgnoreCaseStringMap;
  * @author MJ */
 public class LmlUtilities {
     private static final ObjectMap<String, Value> STATIC_TABLE_VALUES;
+    private static final char ESCAPE_CHARACTER = '\\';
 
     static {
         final ObjectMap<String, Value> initialValues = GdxMaps.newObjectMap("minHeight", Value.minHeight, "prefHeight",
@@ -103,6 +108,102 @@ public class LmlUtilities {
         return fromValue;
     }
 
+    /** @param rawTagData unparsed LML tag data, without tag opening and closing markers. Escaped spaces ("\\ ") are
+     *            not treated as entities separators.
+     * @return tag entities: tag name (with optional macro marker) followed by unparsed attributes. Entities are split
+     *         with whitespaces; if the data starts with a whitespace, first entity is empty. */
+    public static String[] extractTagEntities(final String rawTagData) {
+        // Hand-written single-pass tokenizer: no regex, no intermediate strings for entities without escaped spaces.
+        final int length = rawTagData.length();
+        if (length == 0) {
+            return new String[] { rawTagData };
+        }
+        final boolean leadingSeparator = isEntitiesSeparator(rawTagData.charAt(0));
+        String[] entities = new String[8];
+        int entitiesAmount = leadingSeparator ? 1 : 0;
+        int index = 0;
+        while (index < length) {
+            while (index < length && isEntitiesSeparator(rawTagData.charAt(index))) {
+                index++;
+            }
+            if (index == length) {
+                break;
+            }
+            final int entityStart = index;
+            boolean escaped = false;
+            while (index < length) {
+                final char character = rawTagData.charAt(index);
+                if (character == ESCAPE_CHARACTER && index + 1 < length && rawTagData.charAt(index + 1) == ' ') {
+                    escaped = true;
+                    index += 2;
+                } else if (isEntitiesSeparator(character)) {
+                    break;
+                } else {
+                    index++;
+                }
+            }
+            if (entitiesAmount == entities.length) {
+                final String[] resizedEntities = new String[entitiesAmount * 2];
+                System.arraycopy(entities, 0, resizedEntities, 0, entitiesAmount);
+                entities = resizedEntities;
+            }
+            entities[entitiesAmount++] = escaped ? unescapeSpaces(rawTagData, entityStart, index)
+                    : rawTagData.substring(entityStart, index);
+        }
+        if (leadingSeparator) {
+            if (entitiesAmount == 1) {
+                return Strings.EMPTY_ARRAY; // Whitespaces only.
+            }
+            entities[0] = Strings.EMPTY_STRING;
+        }
+        if (entitiesAmount == entities.length) {
+            return entities;
+        }
+        final String[] result = new String[entitiesAmount];
+        System.arraycopy(entities, 0, result, 0, entitiesAmount);
+        return result;
+    }
+
+    /** @param character a character of tag data.
+     * @return true if the character separates tag entities. */
+    private static boolean isEntitiesSeparator(final char character) {
+        return character == ' ' || character == '\t' || character == '\n' || character == '\r' || character == '\f'
+                || character == '\u000B';
+    }
+
+    /** @param rawTagData contains escaped spaces.
+     * @param start index of the first character of the entity.
+     * @param end index after the last character of the entity.
+     * @return entity with escaped spaces converted to regular spaces. */
+    private static String unescapeSpaces(final String rawTagData, final int start, final int end) {
+        final StringBuilder builder = new StringBuilder(end - start);
+        for (int index = start; index < end; index++) {
+            final char character = rawTagData.charAt(index);
+            if (character == ESCAPE_CHARACTER && index + 1 < end && rawTagData.charAt(index + 1) == ' ') {
+                builder.append(' ');
+                index++;
+            } else {
+                builder.append(character);
+            }
+        }
+        return builder.toString();
+    }
+
+    /** @param content will have the arguments replaced.
+     * @param macroArguments map of private macro arguments. Arguments that are not present in the map are not
+     *            replaced, as they might be regular LML arguments.
+     * @param syntax determines argument markers.
+     * @return content with replaced arguments. If the content contains no argument openings, the same instance is
+     *         returned.
+     * @see ArgumentTemplate */
+    public static String replaceArguments(final String content, final ObjectMap<String, String> macroArguments,
+            final LmlSyntax syntax) {
+        if (content.indexOf(syntax.getArgumentOpening()) < 0) {
+            return content;
+        }
+        return ArgumentTemplate.compile(content, syntax).replace(macroArguments);
+    }
+
     /** @param actor will have its ID attached using actor internal methods: ID will become actor's name.
      * @param id will become actor's ID. */
     public static void setActorId(final Actor actor, final String id) {
@@ -135,6 +236,26 @@ public class LmlUtilities {
         return null;
     }
 
+    /** @param actor if it is a {@link LazyContainer} or it contains any lazy containers in its hierarchy, they will be
+     *            realized: their templates will be parsed and their actors created. Lazy containers nested in the
+     *            realized templates are also realized.
+     * @see com.github.czyzby.lml.parser.impl.tag.macro.LazyLmlMacroTag */
+    public static void realize(final Actor actor) {
+        final PooledList<Actor> actorsToRealize = new PooledList<Actor>();
+        actorsToRealize.add(actor);
+        while (!actorsToRealize.isEmpty()) {
+            final Actor currentActor = actorsToRealize.removeFirst();
+            if (currentActor instanceof LazyContainer) {
+                ((LazyContainer) currentActor).realize();
+            }
+            if (currentActor instanceof Group) {
+                for (final Actor child : ((Group) currentActor).getChildren()) {
+                    actorsToRealize.add(child);
+                }
+            }
+        }
+    }
+
     /** @param actors clears attached {@link LmlUserObject}s with LML meta-data if any of the actors has one. */
     public static void clearLmlUserObjects(final Iterable<Actor> actors) {
         for (final Actor actor : actors) {
@@ -429,6 +550,7 @@ public class LmlUtilities {
             return;
         }
         final LmlSyntax syntax = parser.getSyntax();
+        final LmlParserListener listener = parser.getListener();
         final boolean hasProcessedAttributes = processedAttributes != null;
         for (final Entry<String, String> attribute : tag.getNamedAttributes()) {
             if (attribute == null || hasProcessedAttributes && processedAttributes.contains(attribute.key)) {
@@ -442,7 +564,13 @@ public class LmlUtilities {
                 }
                 continue;
             }
-            attributeProcessor.process(parser, tag, widget, attribute.value);
+            if (listener == null) {
+                attributeProcessor.process(parser, tag, widget, attribute.value);
+            } else {
+                final long start = TimeUtils.nanoTime();
+                attributeProcessor.process(parser, tag, widget, attribute.value);
+                listener.onAttributeProcessed(parser, tag, attribute.key, TimeUtils.nanoTime() - start);
+            }
             if (hasProcessedAttributes) {
                 processedAttributes.add(attribute.key);
             }
@@ -0,0 +1,373 @@
+package com.github.czyzby.lml.util.collection;
+
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** {@link ObjectMap} which uses Strings as keys, comparing them ignoring their case - for example, value mapped to
+ * "String" will be returned also for "STRING", "string" or "sTrInG" (etc). Contrary to {@link IgnoreCaseStringMap},
+ * queried keys are never converted to lower case: {@link #get(String)}, {@link #containsKey(String)} and
+ * {@link #remove(String)} hash and compare the passed strings in place, without any allocations. Keys are still
+ * converted to lower case when the values are put into the map, so iteration returns the same keys as in case of
+ * {@link IgnoreCaseStringMap}.
+ *
+ * <p>
+ * Values are kept in an additional, case-insensitive index (using open addressing with linear probing), which is used
+ * for all queries. As long as the map is not modified, it can be safely queried by multiple threads. Entries can be
+ * removed with map iterators, which update the index as well; note that contrary to the default implementation,
+ * {@link #entries()}, {@link #keys()} and {@link #values()} return new iterator instances on each call.
+ *
+ * @author MJ
+ *
+ * @param <Value> type of values stored in the map. */
+public class CaseInsensitiveStringMap<Value> extends ObjectMap<String, Value> {
+    private static final int DEFAULT_CAPACITY = 32; // Matches ObjectMap.
+    private static final int MIN_INDEX_CAPACITY = 8;
+
+    private String[] indexKeys;
+    private Object[] indexValues;
+    private int indexMask;
+    private int indexSize;
+
+    public CaseInsensitiveStringMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /** @param initialCapacity expected amount of stored values. */
+    public CaseInsensitiveStringMap(final int initialCapacity) {
+        super(initialCapacity);
+        createIndex(getIndexCapacity(initialCapacity));
+    }
+
+    /** @param map will copy its values, using ignore-case keys. */
+    public CaseInsensitiveStringMap(final ObjectMap<String, Value> map) {
+        this(map == null ? DEFAULT_CAPACITY : map.size);
+        if (map != null) {
+            putAll(map);
+        }
+    }
+
+    private static int getIndexCapacity(final int size) {
+        int capacity = MIN_INDEX_CAPACITY;
+        while (capacity < size * 2) { // Index is at most half full.
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void createIndex(final int capacity) {
+        indexKeys = new String[capacity];
+        indexValues = new Object[capacity];
+        indexMask = capacity - 1;
+    }
+
+    /** @param key a string.
+     * @return hash code of the string converted to lower case. Computed without any allocations. */
+    protected static int hash(final String key) {
+        int hash = 0;
+        for (int index = 0, length = key.length(); index < length; index++) {
+            hash = 31 * hash + Character.toLowerCase(key.charAt(index));
+        }
+        return hash ^ hash >>> 16;
+    }
+
+    /** @param key a string.
+     * @param normalizedKey a string converted to lower case.
+     * @return true if the strings are equal, ignoring their case. */
+    protected static boolean isEqual(final String key, final String normalizedKey) {
+        final int length = key.length();
+        if (length != normalizedKey.length()) {
+            return false;
+        }
+        for (int index = 0; index < length; index++) {
+            if (Character.toLowerCase(key.charAt(index)) != normalizedKey.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @param key will be converted to lower case.
+     * @return key converted to lower case. Same instance if the key was already in lower case. */
+    protected static String normalizeKey(final String key) {
+        final int length = key.length();
+        for (int index = 0; index < length; index++) {
+            final char character = key.charAt(index);
+            if (Character.toLowerCase(character) != character) {
+                final char[] characters = key.toCharArray();
+                for (int lowerCaseIndex = index; lowerCaseIndex < length; lowerCaseIndex++) {
+                    characters[lowerCaseIndex] = Character.toLowerCase(characters[lowerCaseIndex]);
+                }
+                return new String(characters);
+            }
+        }
+        return key;
+    }
+
+    /** @param key a string.
+     * @return index of the key in the index or -1 if the key is not present. */
+    private int find(final String key) {
+        final String[] keys = indexKeys;
+        final int mask = indexMask;
+        for (int index = hash(key) & mask;; index = index + 1 & mask) {
+            final String normalizedKey = keys[index];
+            if (normalizedKey == null) {
+                return -1;
+            } else if (isEqual(key, normalizedKey)) {
+                return index;
+            }
+        }
+    }
+
+    private void putIntoIndex(final String normalizedKey, final Value value) {
+        final int mask = indexMask;
+        int index = hash(normalizedKey) & mask;
+        for (String currentKey; (currentKey = indexKeys[index]) != null; index = index + 1 & mask) {
+            if (currentKey.equals(normalizedKey)) {
+                indexValues[index] = value;
+                return;
+            }
+        }
+        indexKeys[index] = normalizedKey;
+        indexValues[index] = value;
+        if (++indexSize * 2 > indexKeys.length) {
+            resizeIndex(indexKeys.length << 1);
+        }
+    }
+
+    private void resizeIndex(final int capacity) {
+        final String[] keys = indexKeys;
+        final Object[] values = indexValues;
+        createIndex(capacity);
+        final int mask = indexMask;
+        for (int oldIndex = 0; oldIndex < keys.length; oldIndex++) {
+            final String key = keys[oldIndex];
+            if (key != null) {
+                int index = hash(key) & mask;
+                while (indexKeys[index] != null) {
+                    index = index + 1 & mask;
+                }
+                indexKeys[index] = key;
+                indexValues[index] = values[oldIndex];
+            }
+        }
+    }
+
+    /** @param index will be cleared. Following entries are shifted back, so the probing sequences stay valid. */
+    private void removeFromIndex(int index) {
+        final int mask = indexMask;
+        for (int next = index + 1 & mask;; next = next + 1 & mask) {
+            final String key = indexKeys[next];
+            if (key == null) {
+                break;
+            }
+            final int desiredIndex = hash(key) & mask;
+            // Moving the entry if the empty slot is between its desired index and its current index.
+            if ((next - desiredIndex & mask) >= (next - index & mask)) {
+                indexKeys[index] = key;
+                indexValues[index] = indexValues[next];
+                index = next;
+            }
+        }
+        indexKeys[index] = null;
+        indexValues[index] = null;
+        indexSize--;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Value get(final String key) {
+        if (key == null) {
+            return super.get(key);
+        }
+        final int index = find(key);
+        return index < 0 ? null : (Value) indexValues[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Value get(final String key, final Value defaultValue) {
+        if (key == null) {
+            return super.get(key, defaultValue);
+        }
+        final int index = find(key);
+        return index < 0 ? defaultValue : (Value) indexValues[index];
+    }
+
+    @Override
+    public boolean containsKey(final String key) {
+        if (key == null) {
+            return super.containsKey(key);
+        }
+        return find(key) >= 0;
+    }
+
+    @Override
+    public Value put(final String key, final Value value) {
+        if (key == null) {
+            return super.put(key, value);
+        }
+        final String normalizedKey = normalizeKey(key);
+        putIntoIndex(normalizedKey, value);
+        return super.put(normalizedKey, value);
+    }
+
+    @Override
+    public void putAll(final ObjectMap<String, Value> map) {
+        ensureCapacity(map.size);
+        for (final Entry<String, Value> entry : map) {
+            put(entry.key, entry.value);
+        }
+    }
+
+    @Override
+    public Value remove(final String key) {
+        if (key == null) {
+            return super.remove(key);
+        }
+        final int index = find(key);
+        if (index < 0) {
+            return null;
+        }
+        final String normalizedKey = indexKeys[index];
+        removeFromIndex(index);
+        return super.remove(normalizedKey);
+    }
+
+    /** @param normalizedKey will be removed from the index if present. */
+    private void removeFromIndex(final String normalizedKey) {
+        final int index = find(normalizedKey);
+        if (index >= 0) {
+            removeFromIndex(index);
+        }
+    }
+
+    @Override
+    public Entries<String, Value> entries() {
+        return new IndexedEntries();
+    }
+
+    @Override
+    public Keys<String> keys() {
+        return new IndexedKeys();
+    }
+
+    @Override
+    public Values<Value> values() {
+        return new IndexedValues();
+    }
+
+    @Override
+    public void ensureCapacity(final int additionalCapacity) {
+        super.ensureCapacity(additionalCapacity);
+        final int capacity = getIndexCapacity(indexSize + additionalCapacity);
+        if (capacity > indexKeys.length) {
+            resizeIndex(capacity);
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        if (indexSize > 0) {
+            indexSize = 0;
+            for (int index = 0; index < indexKeys.length; index++) {
+                indexKeys[index] = null;
+                indexValues[index] = null;
+            }
+        }
+    }
+
+    @Override
+    public void clear(final int maximumCapacity) {
+        super.clear(maximumCapacity);
+        indexSize = 0;
+        createIndex(getIndexCapacity(maximumCapacity));
+    }
+
+    /** Removes entries from the index along with the map entries.
+     *
+     * @author MJ */
+    private class IndexedEntries extends Entries<String, Value> {
+        private String currentKey;
+
+        public IndexedEntries() {
+            super(CaseInsensitiveStringMap.this);
+        }
+
+        @Override
+        public Entry<String, Value> next() {
+            final Entry<String, Value> entry = super.next();
+            currentKey = entry.key;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            super.remove();
+            removeFromIndex(currentKey);
+        }
+    }
+
+    /** Removes entries from the index along with the map entries.
+     *
+     * @author MJ */
+    private class IndexedKeys extends Keys<String> {
+        private String currentKey;
+
+        public IndexedKeys() {
+            super(CaseInsensitiveStringMap.this);
+        }
+
+        @Override
+        public String next() {
+            currentKey = super.next();
+            return currentKey;
+        }
+
+        @Override
+        public void remove() {
+            super.remove();
+            removeFromIndex(currentKey);
+        }
+    }
+
+    /** Iterates over values with {@link IndexedEntries}, since keys of removed values have to be known to update the
+     * index.
+     *
+     * @author MJ */
+    private class IndexedValues extends Values<Value> {
+        private final IndexedEntries entries = new IndexedEntries();
+
+        public IndexedValues() {
+            super(CaseInsensitiveStringMap.this);
+            hasNext = entries.hasNext;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return entries.hasNext();
+        }
+
+        @Override
+        public Value next() {
+            final Value value = entries.next().value;
+            hasNext = entries.hasNext;
+            return value;
+        }
+
+        @Override
+        public void remove() {
+            entries.remove();
+            hasNext = entries.hasNext;
+        }
+
+        @Override
+        public void reset() {
+            if (entries == null) { // Invoked by the super constructor.
+                super.reset();
+                return;
+            }
+            entries.reset();
+            hasNext = entries.hasNext;
+        }
+    }
+}
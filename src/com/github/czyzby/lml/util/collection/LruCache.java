@@ -0,0 +1,99 @@
+package com.github.czyzby.lml.util.collection;
+
+/** Bounded cache evicting least recently used values. Keys are divided into independently locked segments by their
+ * hash codes, so threads accessing different keys rarely block each other, and locks are held only for the duration
+ * of a single lookup or insertion - values should be created without the lock, before they are put into the cache.
+ * Since each segment keeps its own recently used list, eviction order is approximate: the least recently used value
+ * of the segment is removed when the segment is full. Each segment is a {@link LruMap} guarded by its own monitor.
+ * Does not use java.util.concurrent, so it is available on GWT.
+ *
+ * @author MJ
+ *
+ * @param <Key> type of keys. Cannot be null.
+ * @param <Value> type of cached values. */
+public class LruCache<Key, Value> {
+    /** Default amount of independently locked segments. */
+    public static final int DEFAULT_SEGMENTS_AMOUNT = 16;
+
+    private final LruMap<Key, Value>[] segments;
+    private final int segmentMask;
+
+    /** @param maxSize maximum amount of cached values. Has to be positive. */
+    public LruCache(final int maxSize) {
+        this(maxSize, DEFAULT_SEGMENTS_AMOUNT);
+    }
+
+    /** @param maxSize maximum amount of cached values. Has to be positive.
+     * @param segmentsAmount amount of independently locked segments. Has to be a positive power of two. Will be
+     *            reduced if greater than the maximum size. */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public LruCache(final int maxSize, int segmentsAmount) {
+        if (maxSize <= 0 || segmentsAmount <= 0 || (segmentsAmount & segmentsAmount - 1) != 0) {
+            throw new IllegalArgumentException(
+                    "Cache size has to be positive and amount of segments has to be a positive power of two.");
+        }
+        while (segmentsAmount > maxSize) {
+            segmentsAmount >>= 1;
+        }
+        segments = new LruMap[segmentsAmount];
+        segmentMask = segmentsAmount - 1;
+        // Distributing the remainder, so the segments hold exactly the maximum size in total:
+        for (int index = 0; index < segmentsAmount; index++) {
+            segments[index] = new LruMap<Key, Value>(
+                    maxSize / segmentsAmount + (index < maxSize % segmentsAmount ? 1 : 0));
+        }
+    }
+
+    private LruMap<Key, Value> getSegment(final Key key) {
+        final int hash = key.hashCode();
+        return segments[(hash ^ hash >>> 16) & segmentMask];
+    }
+
+    /** @param key key of the value. Cannot be null.
+     * @return cached value or null if it is not present. Marks the value as the most recently used. */
+    public Value get(final Key key) {
+        final LruMap<Key, Value> segment = getSegment(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    /** @param key key of the value. Cannot be null.
+     * @param value will be cached, replacing the current value (if any). Might evict the least recently used value of
+     *            the key's segment. */
+    public void put(final Key key, final Value value) {
+        final LruMap<Key, Value> segment = getSegment(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    /** @param key key of the value. Cannot be null.
+     * @return removed value or null if it was not present. */
+    public Value remove(final Key key) {
+        final LruMap<Key, Value> segment = getSegment(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    /** Removes all cached values. */
+    public void clear() {
+        for (final LruMap<Key, Value> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /** @return current amount of cached values. */
+    public int size() {
+        int size = 0;
+        for (final LruMap<Key, Value> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+}
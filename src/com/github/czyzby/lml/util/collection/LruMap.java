@@ -0,0 +1,166 @@
+package com.github.czyzby.lml.util.collection;
+
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Map keeping its entries in recently used order. When the map exceeds its limits, least recently used entries are
+ * evicted; the most recently used entry is never evicted. By default, the map is limited only by its amount of entries;
+ * override {@link #isOverLimit()} to add other criteria - for example, approximate size of stored values. Not
+ * thread-safe: access has to be synchronized externally. See {@link LruCache} for a thread-safe cache built on top of
+ * this map.
+ *
+ * @author MJ
+ *
+ * @param <Key> type of keys. Cannot be null.
+ * @param <Value> type of stored values. */
+public class LruMap<Key, Value> {
+    private static final int MAX_INITIAL_CAPACITY = 64;
+
+    private final ObjectMap<Key, Node<Key, Value>> nodes;
+    private final int maxSize;
+    private Node<Key, Value> head;
+    private Node<Key, Value> tail;
+
+    /** @param maxSize maximum amount of stored values. Has to be positive. */
+    public LruMap(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size has to be positive.");
+        }
+        this.maxSize = maxSize;
+        nodes = new ObjectMap<Key, Node<Key, Value>>(Math.min(maxSize, MAX_INITIAL_CAPACITY));
+    }
+
+    /** @param key key of the value. Cannot be null.
+     * @return stored value or null if it is not present. Marks the value as the most recently used. */
+    public Value get(final Key key) {
+        final Node<Key, Value> node = nodes.get(key);
+        if (node == null) {
+            return null;
+        }
+        moveToFront(node);
+        return node.value;
+    }
+
+    /** @param key key of the value. Cannot be null.
+     * @param value will be stored as the most recently used value, replacing the current value (if any). Might evict
+     *            least recently used values.
+     * @return previous value or null if the key was not present. */
+    public Value put(final Key key, final Value value) {
+        Node<Key, Value> node = nodes.get(key);
+        final Value previousValue;
+        if (node == null) {
+            previousValue = null;
+            node = new Node<Key, Value>(key);
+            nodes.put(key, node);
+            addFirst(node);
+        } else {
+            previousValue = node.value;
+            moveToFront(node);
+        }
+        node.value = value;
+        evict();
+        return previousValue;
+    }
+
+    /** @param key key of the value. Cannot be null.
+     * @return removed value or null if it was not present. */
+    public Value remove(final Key key) {
+        final Node<Key, Value> node = nodes.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        onRemove(node.key, node.value);
+        return node.value;
+    }
+
+    /** Removes least recently used values until the map is no longer over its limits. Invoked automatically after
+     * insertions; should be invoked manually if the limits depend on state of the stored values that was modified. */
+    public void evict() {
+        while (tail != head && isOverLimit()) {
+            final Node<Key, Value> node = tail;
+            nodes.remove(node.key);
+            unlink(node);
+            onRemove(node.key, node.value);
+        }
+    }
+
+    /** @return true if least recently used values should be evicted. By default, checks if the map contains more
+     *         values than its maximum size. */
+    protected boolean isOverLimit() {
+        return nodes.size > maxSize;
+    }
+
+    /** Invoked each time a value is removed or evicted from the map. Not invoked by {@link #clear()}. Does nothing by
+     * default.
+     *
+     * @param key key of the removed value.
+     * @param value removed value. */
+    protected void onRemove(final Key key, final Value value) {
+    }
+
+    /** Removes all values. */
+    public void clear() {
+        nodes.clear();
+        head = tail = null;
+    }
+
+    /** @return current amount of stored values. */
+    public int size() {
+        return nodes.size;
+    }
+
+    /** @return maximum amount of stored values. */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private void addFirst(final Node<Key, Value> node) {
+        node.next = head;
+        node.previous = null;
+        if (head != null) {
+            head.previous = node;
+        }
+        head = node;
+        if (tail == null) {
+            tail = node;
+        }
+    }
+
+    private void moveToFront(final Node<Key, Value> node) {
+        if (node != head) {
+            unlink(node);
+            addFirst(node);
+        }
+    }
+
+    private void unlink(final Node<Key, Value> node) {
+        if (node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+        node.previous = node.next = null;
+    }
+
+    /** Node of the recently used list.
+     *
+     * @author MJ
+     *
+     * @param <Key> type of the key.
+     * @param <Value> type of the value. */
+    private static class Node<Key, Value> {
+        private final Key key;
+        private Value value;
+        private Node<Key, Value> previous;
+        private Node<Key, Value> next;
+
+        public Node(final Key key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.czyzby.lml;
+
+import java.io.File;
+
+import org.junit.BeforeClass;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.impl.DefaultLmlSyntax;
+import com.github.czyzby.lml.parser.impl.tag.AbstractGroupLmlTag;
+import com.github.czyzby.lml.parser.tag.LmlActorBuilder;
+import com.github.czyzby.lml.parser.tag.LmlTag;
+import com.github.czyzby.lml.parser.tag.LmlTagProvider;
+import com.github.czyzby.lml.util.Lml;
+
+/** Common base for LML tests. Provides file handles backed by regular files (so tests do not require a backend) and
+ * utilities describing parsed actors.
+ *
+ * @author MJ */
+public abstract class AbstractLmlTest {
+    /** Name of the tag registered by {@link #createParser()}: a group that converts its text lines into actors named
+     * "text:" + line, so text between tags can be verified without a skin. */
+    public static final String TEXT_TAG = "text";
+
+    @BeforeClass
+    public static void setUpFiles() {
+        if (Gdx.files == null) {
+            Gdx.files = new TestFiles();
+        }
+    }
+
+    /** @return a new parser with an empty skin and its own syntax with {@link #TEXT_TAG} registered. */
+    protected LmlParser createParser() {
+        return Lml.parser(new Skin()).syntax(createSyntax()).build();
+    }
+
+    /** @return a new syntax with {@link #TEXT_TAG} registered. Each parser gets its own syntax, so tests do not modify
+     *         the shared {@link DefaultLmlSyntax#INSTANCE}. */
+    protected static DefaultLmlSyntax createSyntax() {
+        final DefaultLmlSyntax syntax = new DefaultLmlSyntax();
+        syntax.addTagProvider(new TextLmlTagProvider(), TEXT_TAG);
+        return syntax;
+    }
+
+    /** @param actors parsed actors.
+     * @return description of the actors and their children: class names and actor names, one actor per line. */
+    public static String describe(final Array<Actor> actors) {
+        final StringBuilder builder = new StringBuilder();
+        for (final Actor actor : actors) {
+            describe(actor, builder, 0);
+        }
+        return builder.toString();
+    }
+
+    private static void describe(final Actor actor, final StringBuilder builder, final int depth) {
+        for (int index = 0; index < depth; index++) {
+            builder.append("  ");
+        }
+        builder.append(actor.getClass().getSimpleName()).append(' ').append(actor.getName()).append('\n');
+        if (actor instanceof Group) {
+            for (final Actor child : ((Group) actor).getChildren()) {
+                describe(child, builder, depth + 1);
+            }
+        }
+    }
+
+    /** @param content will be saved.
+     * @return a temporary file with the content. Deleted when the JVM exits. */
+    public static FileHandle createTemporaryFile(final String content) {
+        try {
+            final File file = File.createTempFile("lml", ".lml");
+            file.deleteOnExit();
+            final FileHandle fileHandle = Gdx.files.absolute(file.getAbsolutePath());
+            fileHandle.writeString(content, false, "UTF-8");
+            return fileHandle;
+        } catch (final Exception exception) {
+            throw new IllegalStateException("Unable to create temporary file.", exception);
+        }
+    }
+
+    /** Provides {@link TextLmlTag} instances.
+     *
+     * @author MJ */
+    public static class TextLmlTagProvider implements LmlTagProvider {
+        @Override
+        public LmlTag create(final LmlParser parser, final LmlTag parentTag, final String rawTagData) {
+            return new TextLmlTag(parser, parentTag, rawTagData);
+        }
+    }
+
+    /** Converts each text line into an actor named "text:" + line.
+     *
+     * @author MJ */
+    public static class TextLmlTag extends AbstractGroupLmlTag {
+        public TextLmlTag(final LmlParser parser, final LmlTag parentTag, final String rawTagData) {
+            super(parser, parentTag, rawTagData);
+        }
+
+        @Override
+        protected Group getNewInstanceOfGroup(final LmlActorBuilder builder) {
+            return new Group();
+        }
+
+        @Override
+        protected void handlePlainTextLine(final String plainTextLine) {
+            final Actor actor = new Actor();
+            actor.setName("text:" + plainTextLine);
+            addChild(actor);
+        }
+    }
+
+    /** Creates file handles backed by regular files, relative to the working directory. Types of files are ignored.
+     *
+     * @author MJ */
+    public static class TestFiles implements Files {
+        @Override
+        public FileHandle getFileHandle(final String path, final FileType type) {
+            return new FileHandle(new File(path));
+        }
+
+        @Override
+        public FileHandle classpath(final String path) {
+            return getFileHandle(path, FileType.Classpath);
+        }
+
+        @Override
+        public FileHandle internal(final String path) {
+            return getFileHandle(path, FileType.Internal);
+        }
+
+        @Override
+        public FileHandle external(final String path) {
+            return getFileHandle(path, FileType.External);
+        }
+
+        @Override
+        public FileHandle absolute(final String path) {
+            return getFileHandle(path, FileType.Absolute);
+        }
+
+        @Override
+        public FileHandle local(final String path) {
+            return getFileHandle(path, FileType.Local);
+        }
+
+        @Override
+        public String getExternalStoragePath() {
+            return "";
+        }
+
+        @Override
+        public boolean isExternalStorageAvailable() {
+            return true;
+        }
+
+        @Override
+        public String getLocalStoragePath() {
+            return "";
+        }
+
+        @Override
+        public boolean isLocalStorageAvailable() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.czyzby.lml.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.annotation.LmlActor;
+import com.github.czyzby.lml.annotation.LmlAfter;
+import com.github.czyzby.lml.util.LmlParsingException;
+
+/** Tests {@link IncrementalViewCreation} returned by {@link LmlParser#createViewIncrementally(Object, FileHandle,
+ * long)}.
+ *
+ * @author MJ */
+public class IncrementalViewCreationTest extends AbstractLmlTest {
+    private static final String TEMPLATE = "<actor id=first/><table id=second><actor id=child/></table>"
+            + "<actor id=third/>";
+
+    @Test
+    public void shouldProcessSingleNodePerUpdateWithoutBudget() {
+        final LmlParser parser = createParser();
+        final IncrementalView view = new IncrementalView();
+
+        final IncrementalViewCreation<IncrementalView> creation = parser.createViewIncrementally(view,
+                createTemporaryFile(TEMPLATE), 0L);
+
+        assertSame(view, creation.getView());
+        assertEquals(0f, creation.getProgress(), 0f);
+        assertFalse(creation.update());
+        assertEquals(0.2f, creation.getProgress(), 0.001f);
+        assertEquals(1, creation.getActors().size);
+        for (int update = 0; update < 3; update++) {
+            assertFalse(creation.update());
+            assertFalse(creation.isFinished());
+        }
+        // View is filled only after the last node:
+        assertNull(view.first);
+        assertFalse(view.initiated);
+
+        assertTrue(creation.update());
+
+        assertTrue(creation.isFinished());
+        assertEquals(1f, creation.getProgress(), 0f);
+        assertEquals("first", view.first.getName());
+        assertTrue(view.initiated);
+        assertEquals(describe(createParser().parseTemplate(TEMPLATE)), describe(creation.getActors()));
+        assertTrue(creation.update());
+    }
+
+    @Test
+    public void shouldProcessAllNodesWithinBudget() {
+        final IncrementalViewCreation<IncrementalView> creation = createParser()
+                .createViewIncrementally(new IncrementalView(), createTemporaryFile(TEMPLATE), 60000L);
+
+        assertTrue(creation.update());
+        assertEquals("first", creation.getView().first.getName());
+    }
+
+    @Test
+    public void shouldParseOtherTemplatesBetweenUpdates() {
+        final LmlParser parser = createParser();
+        final IncrementalViewCreation<IncrementalView> creation = parser
+                .createViewIncrementally(new IncrementalView(), createTemporaryFile(TEMPLATE), 0L);
+        creation.update();
+        creation.update();
+
+        assertEquals("Actor other\n", describe(parser.parseTemplate("<actor id=other/>")));
+        while (!creation.update()) {
+            assertFalse(creation.isFinished());
+        }
+
+        assertEquals(describe(parser.parseTemplate(TEMPLATE)), describe(creation.getActors()));
+    }
+
+    @Test
+    public void shouldRejectUpdatesAfterFailure() {
+        final IncrementalViewCreation<IncrementalView> creation = createParser().createViewIncrementally(
+                new IncrementalView(), createTemporaryFile("<actor id=first/><unknown/>"), 0L);
+        creation.update();
+        try {
+            creation.update();
+            fail("Unknown tag was parsed.");
+        } catch (final LmlParsingException exception) {
+            // Expected: unknown tag.
+        }
+
+        try {
+            creation.update();
+            fail("Failed creation was continued.");
+        } catch (final IllegalStateException exception) {
+            assertFalse(creation.isFinished());
+        }
+    }
+
+    /** Filled incrementally.
+     *
+     * @author MJ */
+    public static class IncrementalView {
+        @LmlActor("first") private Actor first;
+        private boolean initiated;
+
+        @LmlAfter
+        void initiate() {
+            initiated = true;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.czyzby.lml.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Array;
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.parser.action.ActorConsumer;
+import com.github.czyzby.lml.parser.tag.LmlTag;
+
+/** Tests notifications of {@link LmlParserListener}.
+ *
+ * @author MJ */
+public class LmlParserListenerTest extends AbstractLmlTest {
+    private static final String TEMPLATE = "<table id=root>\n<actor id=first visible=false/>\n</table>\n"
+            + "<@loop 2><actor id=l{loop:index}/></@loop>";
+
+    @Test
+    public void shouldNotifyListenerAboutParsingEvents() {
+        final LmlParser parser = createParser();
+        final RecordingListener listener = new RecordingListener();
+        parser.setListener(listener);
+
+        parser.parseTemplate(createTemporaryFile(TEMPLATE));
+
+        assertEquals("templateStart", listener.events.first());
+        assertEquals("templateEnd", listener.events.peek());
+        assertTrue(listener.events.toString(), listener.events.contains("attribute:id@2", false));
+        assertTrue(listener.events.toString(), listener.events.contains("attribute:visible@2", false));
+        assertTrue(listener.events.toString(), listener.events.contains("tagCreated:actor@2", false));
+        assertTrue(listener.events.toString(), listener.events.contains("tagCreated:table@1", false));
+        assertTrue(listener.events.toString(), listener.events.contains("tagClosed:table@3", false));
+        assertTrue(listener.events.toString(), listener.events.contains("macro:loop@4", false));
+        // Attributes are processed before their tag is reported:
+        assertTrue(listener.events.indexOf("attribute:visible@2", false) < listener.events
+                .indexOf("tagCreated:actor@2", false));
+        assertTrue(listener.nanos >= 0L);
+    }
+
+    @Test
+    public void shouldInstrumentActionsOnlyWithListener() {
+        final LmlParser parser = createParser();
+        parser.getData().addActorConsumer("action", new ActorConsumer<String, Object>() {
+            @Override
+            public String consume(final Object actor) {
+                return "result";
+            }
+        });
+        final ActorConsumer<?, Object> action = parser.parseAction("$action");
+        final RecordingListener listener = new RecordingListener();
+        parser.setListener(listener);
+
+        final ActorConsumer<?, Object> instrumentedAction = parser.parseAction("$action");
+        assertEquals("result", action.consume(null));
+        assertEquals(0, listener.events.size);
+        assertEquals("result", instrumentedAction.consume(null));
+
+        assertEquals("action:$action", listener.events.first());
+    }
+
+    @Test
+    public void shouldNotNotifyRemovedListener() {
+        final LmlParser parser = createParser();
+        final RecordingListener listener = new RecordingListener();
+        parser.setListener(listener);
+
+        parser.setListener(null);
+        parser.parseTemplate(TEMPLATE);
+
+        assertNull(parser.getListener());
+        assertEquals(0, listener.events.size);
+    }
+
+    /** Records parsing events along with the current line.
+     *
+     * @author MJ */
+    private static class RecordingListener implements LmlParserListener {
+        private final Array<String> events = new Array<String>();
+        private long nanos;
+
+        @Override
+        public void onTemplateStart(final LmlParser parser, final String templateName) {
+            events.add("templateStart");
+        }
+
+        @Override
+        public void onTemplateEnd(final LmlParser parser, final String templateName, final long nanos) {
+            events.add("templateEnd");
+            this.nanos = nanos;
+        }
+
+        @Override
+        public void onTagCreated(final LmlParser parser, final LmlTag tag, final long nanos) {
+            events.add("tagCreated:" + tag.getTagName() + "@" + parser.getCurrentLine());
+        }
+
+        @Override
+        public void onTagClosed(final LmlParser parser, final LmlTag tag, final long nanos) {
+            events.add("tagClosed:" + tag.getTagName() + "@" + parser.getCurrentLine());
+        }
+
+        @Override
+        public void onAttributeProcessed(final LmlParser parser, final LmlTag tag, final String attributeName,
+                final long nanos) {
+            events.add("attribute:" + attributeName + "@" + parser.getCurrentLine());
+        }
+
+        @Override
+        public void onMacroExpanded(final LmlParser parser, final LmlTag macroTag, final int expandedLength,
+                final long nanos) {
+            events.add("macro:" + macroTag.getTagName() + "@" + parser.getCurrentLine());
+        }
+
+        @Override
+        public void onActionInvoked(final LmlParser parser, final String actionId, final String templateName,
+                final Object actor, final long nanos) {
+            events.add("action:" + actionId);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.czyzby.lml.parser.action;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.github.czyzby.lml.annotation.LmlAction;
+
+/** Tests {@link ActionContainerIndex} and actions cache of {@link ActionContainerWrapper}.
+ *
+ * @author MJ */
+public class ActionContainerIndexTest {
+    @After
+    public void clearIndexes() {
+        ActionContainerIndex.clearIndexes();
+    }
+
+    @Test
+    public void shouldShareIndexesOfContainerClasses() {
+        final ActionContainerIndex index = ActionContainerIndex.getIndex(ChildContainer.class);
+
+        assertSame(index, ActionContainerIndex.getIndex(ChildContainer.class));
+        assertSame(index, new ActionContainerWrapper(new ChildContainer()).getIndex());
+
+        ActionContainerIndex.clearIndexes();
+        assertNotNull(ActionContainerIndex.getIndex(ChildContainer.class));
+    }
+
+    @Test
+    public void shouldFindMethodsOfMostSpecificClass() {
+        final ActionContainerIndex index = ActionContainerIndex.getIndex(ChildContainer.class);
+
+        assertEquals(ChildContainer.class, index.getMethod("overridden", Actor.class).getDeclaringClass());
+        assertEquals(ParentContainer.class, index.getMethod("inherited", null).getDeclaringClass());
+        assertEquals(Actor.class, index.getMethod("overridden", Actor.class).getParameterTypes()[0]);
+        assertNull(index.getMethod("overridden", Label.class));
+        assertNull(index.getMethod("inherited", Actor.class));
+        assertNull(index.getMethod("twoParameters", Actor.class));
+        assertNull(index.getMethod("unknown", null));
+    }
+
+    @Test
+    public void shouldFindAnnotatedMethodsIgnoringCase() {
+        final ActionContainerIndex index = ActionContainerIndex.getIndex(ChildContainer.class);
+
+        assertEquals("inherited", index.getNamedMethod("parentAction").getName());
+        assertEquals("inherited", index.getNamedMethod("PARENTACTION").getName());
+        assertEquals("overridden", index.getNamedMethod("childAction").getName());
+        assertNull(index.getNamedMethod("inherited"));
+    }
+
+    @Test
+    public void shouldFindFieldsOfSuperclasses() {
+        final ActionContainerIndex index = ActionContainerIndex.getIndex(ChildContainer.class);
+
+        assertEquals(ParentContainer.class, index.getField("parentField").getDeclaringClass());
+        assertEquals(ChildContainer.class, index.getField("shadowed").getDeclaringClass());
+        assertEquals("parentField", index.getNamedField("annotatedField").getName());
+        assertNull(index.getField("unknown"));
+    }
+
+    @Test
+    public void shouldCacheActionsByActorClass() {
+        final ActionContainerWrapper wrapper = new ActionContainerWrapper(new ChildContainer());
+        final ActorConsumer<?, ?> action = new ActorConsumer<Object, Object>() {
+            @Override
+            public Object consume(final Object actor) {
+                return null;
+            }
+        };
+        assertNull(wrapper.getCachedAction("action", new Actor()));
+
+        wrapper.cacheAction("action", new Actor(), action);
+        wrapper.cacheAction("missing", null, null);
+
+        assertSame(action, wrapper.getCachedAction("action", new Actor()));
+        assertNull(wrapper.getCachedAction("action", new Group()));
+        assertNull(wrapper.getCachedAction("action", null));
+        assertSame(ActionContainerWrapper.MISSING_ACTION, wrapper.getCachedAction("missing", null));
+
+        wrapper.clearCachedActions();
+        assertNull(wrapper.getCachedAction("action", new Actor()));
+    }
+
+    /** Base action container.
+     *
+     * @author MJ */
+    public static class ParentContainer implements ActionContainer {
+        @LmlAction("annotatedField") Object parentField;
+        Object shadowed;
+
+        @LmlAction("parentAction")
+        public void inherited() {
+        }
+
+        public void overridden(final Actor actor) {
+        }
+    }
+
+    /** Extends another container.
+     *
+     * @author MJ */
+    public static class ChildContainer extends ParentContainer {
+        Object shadowed;
+
+        @Override
+        @LmlAction("childAction")
+        public void overridden(final Actor actor) {
+        }
+
+        public void twoParameters(final Actor actor, final Object argument) {
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.czyzby.lml.parser.action;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.annotation.LmlAction;
+import com.github.czyzby.lml.parser.LmlParser;
+
+/** Tests {@link ActionDispatchers} and dispatchers generated by the LML annotation processor.
+ *
+ * @author MJ */
+public class ActionDispatchersTest extends AbstractLmlTest {
+    private static final String[] ACTION_IDS = { "annotated", "ANNOTATED", "first", "Second", "consume", "noArgument",
+            "hidden", "missing", "consumeObject", "consumeArray", "toString", "hashCode", "getClass" };
+
+    @After
+    public void clearDispatchers() {
+        ActionDispatchers.clearDispatchers();
+    }
+
+    @Test
+    public void shouldFindGeneratedDispatcher() {
+        final ActionDispatcher dispatcher = ActionDispatchers.getDispatcher(TestContainer.class);
+
+        assertNotNull(dispatcher);
+        assertEquals(TestContainer.class.getName() + ActionDispatchers.DISPATCHER_SUFFIX,
+                dispatcher.getClass().getName());
+        assertSame(dispatcher, ActionDispatchers.getDispatcher(TestContainer.class));
+        assertNull(ActionDispatchers.getDispatcher(Actor.class));
+    }
+
+    @Test
+    public void shouldResolveActionsLikeReflection() {
+        final Actor actor = new Actor();
+        actor.setName("actor");
+        final LmlParser parser = createParser();
+        parser.getData().addActionContainer("test", new TestContainer());
+        ActionDispatchers.register(TestContainer.class, new ActionDispatcher() {
+            @Override
+            public ActorConsumer<?, ?> getAction(final ActionContainer actionContainer, final String actionId,
+                    final Object forActor) {
+                return ActionDispatchers.USE_REFLECTION;
+            }
+        });
+        final LmlParser reflectionParser = createParser();
+        reflectionParser.getData().addActionContainer("test", new TestContainer());
+
+        for (final String actionId : ACTION_IDS) {
+            assertEquals(actionId, invoke(reflectionParser, actionId, actor), invoke(parser, actionId, actor));
+        }
+        assertEquals("consume:actor", invoke(parser, "consume", actor));
+        assertEquals("hidden", invoke(parser, "hidden", actor));
+        assertEquals("missing", invoke(parser, "missing", actor));
+        assertEquals("consumeObject:actor", invoke(parser, "consumeObject", actor));
+    }
+
+    @Test
+    public void shouldNotDispatchObjectMethods() {
+        final ActionDispatcher dispatcher = ActionDispatchers.getDispatcher(TestContainer.class);
+        final TestContainer container = new TestContainer();
+
+        for (final String actionId : new String[] { "wait", "notify", "notifyAll", "hashCode", "getClass", "equals",
+                "toString", "clone", "finalize" }) {
+            assertNull(actionId, dispatcher.getAction(container, actionId, null));
+            assertNull(actionId, dispatcher.getAction(container, actionId, new Actor()));
+        }
+    }
+
+    @Test
+    public void shouldUseRegisteredDispatcher() {
+        ActionDispatchers.register(TestContainer.class, new ActionDispatcher() {
+            @Override
+            public ActorConsumer<?, ?> getAction(final ActionContainer actionContainer, final String actionId,
+                    final Object forActor) {
+                return new ActorConsumer<String, Object>() {
+                    @Override
+                    public String consume(final Object actor) {
+                        return "registered:" + actionId;
+                    }
+                };
+            }
+        });
+        final LmlParser parser = createParser();
+        parser.getData().addActionContainer("test", new TestContainer());
+
+        assertEquals("registered:annotated", invoke(parser, "annotated", null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNullDispatcher() {
+        ActionDispatchers.register(TestContainer.class, null);
+    }
+
+    @Test
+    public void shouldConvertActionIdsToLowerCase() {
+        final String lowerCase = "action";
+
+        assertSame(lowerCase, ActionDispatchers.toLowerCase(lowerCase));
+        assertEquals("action", ActionDispatchers.toLowerCase("AcTiOn"));
+    }
+
+    private static Object invoke(final LmlParser parser, final String actionId, final Actor actor) {
+        final ActorConsumer<?, Actor> action = parser.parseAction("test." + actionId, actor);
+        return action == null ? actionId : action.consume(actor);
+    }
+
+    /** Resolved by the generated dispatcher.
+     *
+     * @author MJ */
+    public static class TestContainer implements ActionContainer {
+        @LmlAction("annotated")
+        public String annotatedAction() {
+            return "annotated";
+        }
+
+        @LmlAction({ "first", "second" })
+        public String aliasedAction() {
+            return "aliased";
+        }
+
+        public String consume(final Actor actor) {
+            return "consume:" + actor.getName();
+        }
+
+        public String noArgument() {
+            return "noArgument";
+        }
+
+        public String consumeObject(final Object object) {
+            return "consumeObject:" + ((Actor) object).getName();
+        }
+
+        public String consumeArray(final Array<String> array) {
+            return "consumeArray:" + array.size;
+        }
+
+        @SuppressWarnings("unused")
+        private String hidden() {
+            return "hidden";
+        }
+    }
+}
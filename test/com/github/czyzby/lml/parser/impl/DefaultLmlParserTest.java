@@ -0,0 +1,162 @@
+package com.github.czyzby.lml.parser.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.utils.Array;
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.annotation.LmlActor;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.tag.LmlTag;
+
+/** Tests parsing of compiled templates and view reloading.
+ *
+ * @author MJ */
+public class DefaultLmlParserTest extends AbstractLmlTest {
+    private static final String[] TEMPLATES = {
+            "<!-- comment --><table id=root><actor id=first/><container id=box><actor id=inner/></container></table>",
+            "<table id=t <!-- comment in tag -->><@loop {count}><actor id=a{loop:index}/></@loop></table>",
+            "<@forEach item={items}><container id=c{item}><actor id=x{item}/></container></@forEach>",
+            "<@if {count} &gt; 2><stack id=st><actor/></stack></@if><@if {count} == 1><actor id=hidden/></@if>",
+            "<@macro custom content x=1><actor id=m{x}/>{content}</@macro><@custom x=7><actor id=inner/></@custom>",
+            "<table><@loop 2><@loop 2><actor id=n{loop:index}/></@loop></@loop>{tag}</table>{tag}",
+            "<text id=t>hello {word} world<@loop 2>x{loop:index} </@loop>tail<actor id=a/>\n line2 after</text>end",
+            "<horizontal id=h><actor id=q\\ z visible=\"true\"/><actor id={=1+2}/></horizontal>" };
+
+    private LmlParser createParserWithArguments() {
+        final LmlParser parser = createParser();
+        parser.getData().addArgument("count", "3");
+        parser.getData().addArgument("items", "a;b;c");
+        parser.getData().addArgument("word", "big");
+        parser.getData().addArgument("tag", "<actor id=fromArgument/>");
+        return parser;
+    }
+
+    @Test
+    public void shouldParseCompiledTemplatesLikeStreamedTemplates() {
+        for (final String template : TEMPLATES) {
+            final String compiled = describe(createParserWithArguments().parseTemplate(template));
+            final String read = describe(
+                    createParserWithArguments().parseTemplate(new StringBuilder(template), "template"));
+            final String streamed = describe(
+                    createParserWithArguments().parseTemplate(new StringReader(template), "template"));
+            assertEquals(template, read, compiled);
+            assertEquals(template, streamed, compiled);
+        }
+    }
+
+    @Test
+    public void shouldInstantiateCompiledTemplateMultipleTimes() {
+        final LmlParser parser = createParserWithArguments();
+        final String template = TEMPLATES[1] + TEMPLATES[6];
+        final String expected = describe(parser.parseTemplate(template));
+
+        assertEquals(expected, describe(parser.instantiate(parser.compile(template))));
+        assertEquals(expected, describe(parser.instantiate(parser.compile(template))));
+    }
+
+    @Test
+    public void shouldCreateTagOutsideOfParsing() {
+        final LmlParser parser = createParser();
+
+        final LmlTag tag = parser.getSyntax().getTagProvider("actor").create(parser, null, "actor id=outside");
+
+        assertEquals("outside", tag.getActor().getName());
+    }
+
+    @Test
+    public void shouldReuseUnchangedSubtreesWhenReloading() {
+        final DefaultLmlParser parser = (DefaultLmlParser) createParser();
+        parser.setReloadable(true);
+        final ReloadedView view = new ReloadedView();
+        final Array<Actor> actors = parser.createView(view,
+                "<table id=root><actor id=kept width=3/><actor id=changed width=1/></table><actor id=root2/>");
+        final Actor kept = view.kept;
+        final Actor changed = view.changed;
+
+        final Array<Actor> reloaded = parser.reload(view,
+                "<table id=root pad=1><actor id=kept width=3/><actor id=changed width=2/></table><actor id=root2/>");
+
+        assertNotSame(actors.first(), reloaded.first());
+        assertSame(kept, view.kept);
+        assertSame(reloaded.first(), kept.getParent());
+        assertNotSame(changed, view.changed);
+        assertEquals(2f, view.changed.getWidth(), 0f);
+        assertSame(actors.get(1), reloaded.get(1));
+    }
+
+    @Test
+    public void shouldDetachReplacedRootActorsWhenReloading() {
+        final DefaultLmlParser parser = (DefaultLmlParser) createParser();
+        parser.setReloadable(true);
+        final ReloadedView view = new ReloadedView();
+        final Group stageRoot = new Group();
+        for (final Actor actor : parser.createView(view, "<actor id=kept/><actor id=changed/><actor id=removed/>")) {
+            stageRoot.addActor(actor);
+        }
+        final Actor kept = view.kept;
+        final Actor changed = view.changed;
+        final Actor removed = stageRoot.findActor("removed");
+
+        final Array<Actor> reloaded = parser.reload(view, "<actor id=kept/><actor id=changed visible=false/>");
+
+        assertEquals(2, reloaded.size);
+        assertSame(kept, reloaded.first());
+        assertSame(stageRoot, kept.getParent());
+        assertNotSame(changed, reloaded.get(1));
+        assertNull(changed.getParent());
+        assertNull(removed.getParent());
+    }
+
+    @Test
+    public void shouldNotReuseSubtreesWithArgumentsWhenReloading() {
+        final DefaultLmlParser parser = (DefaultLmlParser) createParser();
+        parser.setReloadable(true);
+        parser.getData().addArgument("x", "old");
+        final ReloadedView view = new ReloadedView();
+        final String template = "<container id=kept><actor/></container>"
+                + "<table><container><actor id={x}/></container></table>";
+        final Array<Actor> actors = parser.createView(view, template);
+        final Actor kept = view.kept;
+        parser.getData().addArgument("x", "new");
+
+        final Array<Actor> reloaded = parser.reload(view, template + "<actor id=added/>");
+
+        assertSame(kept, view.kept);
+        assertNotSame(actors.get(1), reloaded.get(1));
+        final Actor container = ((Group) reloaded.get(1)).getChildren().first();
+        assertEquals("new", ((Group) container).getChildren().first().getName());
+    }
+
+    @Test
+    public void shouldNotReuseSubtreesWithMacrosWhenReloading() {
+        final DefaultLmlParser parser = (DefaultLmlParser) createParser();
+        parser.setReloadable(true);
+        parser.getData().addArgument("show", "true");
+        final ReloadedView view = new ReloadedView();
+        final String template = "<table><@if {show}><actor id=changed/></@if></table>";
+        final Array<Actor> actors = parser.createView(view, template);
+        parser.getData().addArgument("show", "false");
+
+        final Array<Actor> reloaded = parser.reload(view, template + "<actor id=added/>");
+
+        assertNotSame(actors.first(), reloaded.first());
+        assertEquals(0, ((Group) reloaded.first()).getChildren().size);
+    }
+
+    /** Filled by the reloaded templates.
+     *
+     * @author MJ */
+    public static class ReloadedView {
+        @LmlActor("kept") private Actor kept;
+        @LmlActor("changed") private Actor changed;
+    }
+}
@@ -0,0 +1,183 @@
+package com.github.czyzby.lml.parser.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Widget;
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.impl.tag.builder.TextLmlActorBuilder;
+import com.github.czyzby.lml.parser.tag.LmlActorBuilder;
+import com.github.czyzby.lml.parser.tag.LmlAttribute;
+import com.github.czyzby.lml.parser.tag.LmlBuildingAttribute;
+import com.github.czyzby.lml.parser.tag.LmlTag;
+import com.github.czyzby.lml.parser.template.DefaultLmlTemplateCache;
+import com.github.czyzby.lml.util.Lml;
+
+/** Tests {@link DefaultLmlSyntax}: attribute processors resolution, frozen syntax and scoped registration of tags
+ * defined in templates.
+ *
+ * @author MJ */
+public class DefaultLmlSyntaxTest extends AbstractLmlTest {
+    private static final String MACRO_TEMPLATE = "<@macro custom \"\" id><actor id={id}/></@macro><@custom id=first/>"
+            + "<@custom id=second/>";
+
+    private static LmlParser createParser(final DefaultLmlSyntax syntax) {
+        return Lml.parser(new Skin()).syntax(syntax).build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectRegistrationInFrozenSyntax() {
+        final DefaultLmlSyntax syntax = new DefaultLmlSyntax();
+        syntax.freeze();
+
+        syntax.addTagProvider(syntax.getTagProvider("actor"), "custom");
+    }
+
+    @Test
+    public void shouldRegisterTemplateMacrosInFrozenSyntaxScope() {
+        final DefaultLmlSyntax syntax = new DefaultLmlSyntax();
+        syntax.freeze();
+        final LmlParser parser = createParser(syntax);
+
+        final String actors = describe(parser.parseTemplate(MACRO_TEMPLATE));
+
+        assertEquals("Actor first\nActor second\n", actors);
+        assertNull(syntax.getMacroTagProvider("custom"));
+        assertSame(syntax, parser.getSyntax());
+    }
+
+    @Test
+    public void shouldRegisterTemplateMacrosInUnfrozenSyntax() {
+        final DefaultLmlSyntax syntax = new DefaultLmlSyntax();
+
+        createParser(syntax).parseTemplate(MACRO_TEMPLATE);
+
+        assertNotNull(syntax.getMacroTagProvider("custom"));
+    }
+
+    @Test
+    public void shouldShareFrozenSyntaxBetweenParsers() {
+        final DefaultLmlSyntax syntax = new DefaultLmlSyntax();
+        syntax.freeze();
+
+        final String first = describe(createParser(syntax).parseTemplate(MACRO_TEMPLATE));
+        final String second = describe(createParser(syntax).parseTemplate(MACRO_TEMPLATE));
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void shouldReuseCachedTemplatesWithFrozenSyntax() {
+        final DefaultLmlSyntax syntax = new DefaultLmlSyntax();
+        syntax.freeze();
+        final DefaultLmlTemplateCache cache = new DefaultLmlTemplateCache();
+        final LmlParser parser = Lml.parser(new Skin()).syntax(syntax).templateCache(cache).build();
+        final String importedTemplate = createTemporaryFile("<actor id=imported/>").path();
+        final String template = "<container><@absoluteImport " + importedTemplate + "/></container>";
+
+        for (int index = 0; index < 5; index++) {
+            parser.parseTemplate(template);
+        }
+
+        // Template and imported file are compiled once each:
+        assertEquals(2, cache.getMisses());
+        assertEquals(8, cache.getHits());
+    }
+
+    @Test
+    public void shouldResolveAttributeProcessorsOfSuperclasses() {
+        final DefaultLmlSyntax syntax = new DefaultLmlSyntax();
+
+        final LmlAttribute<Actor> processor = syntax.getAttributeProcessor(Actor.class, "id");
+
+        assertNotNull(processor);
+        assertSame(processor, syntax.getAttributeProcessor(Label.class, "id"));
+        assertSame(processor, syntax.getAttributeProcessor(Label.class, "ID"));
+        assertSame(processor, syntax.getAttributeProcessor(Label.class, "id"));
+        assertNull(syntax.getAttributeProcessor(Label.class, "unknown"));
+        assertNull(syntax.getAttributeProcessor(Label.class, "unknown"));
+    }
+
+    @Test
+    public void shouldRefreshResolvedAttributeProcessorsAfterModification() {
+        final DefaultLmlSyntax syntax = new DefaultLmlSyntax();
+        final LmlAttribute<Actor> actorProcessor = new MockAttribute<Actor>(Actor.class);
+        final LmlAttribute<Widget> widgetProcessor = new MockAttribute<Widget>(Widget.class);
+        assertNull(syntax.getAttributeProcessor(Label.class, "custom"));
+
+        syntax.addAttributeProcessor(actorProcessor, "custom");
+        assertSame(actorProcessor, syntax.getAttributeProcessor(Label.class, "custom"));
+
+        syntax.addAttributeProcessor(widgetProcessor, "custom");
+        assertSame(widgetProcessor, syntax.getAttributeProcessor(Label.class, "custom"));
+        assertSame(actorProcessor, syntax.getAttributeProcessor(Actor.class, "custom"));
+
+        syntax.removeAttributeProcessor("custom", Widget.class);
+        assertSame(actorProcessor, syntax.getAttributeProcessor(Label.class, "custom"));
+
+        syntax.removeAttributeProcessor("custom", Actor.class);
+        assertNull(syntax.getAttributeProcessor(Label.class, "custom"));
+    }
+
+    @Test
+    public void shouldRefreshResolvedBuildingAttributeProcessorsAfterModification() {
+        final DefaultLmlSyntax syntax = new DefaultLmlSyntax();
+        final TextLmlActorBuilder builder = new TextLmlActorBuilder();
+        final MockBuildingAttribute processor = new MockBuildingAttribute();
+        assertNotNull(syntax.getBuildingAttributeProcessor(builder, "style"));
+        assertNull(syntax.getBuildingAttributeProcessor(builder, "custom"));
+
+        syntax.addBuildingAttributeProcessor(processor, "custom");
+        assertSame(processor, syntax.getBuildingAttributeProcessor(builder, "CUSTOM"));
+
+        syntax.removeBuildingAttributeProcessor("custom", LmlActorBuilder.class);
+        assertNull(syntax.getBuildingAttributeProcessor(builder, "custom"));
+    }
+
+    /** Does nothing.
+     *
+     * @author MJ
+     *
+     * @param <Type> handled actor type. */
+    private static class MockAttribute<Type> implements LmlAttribute<Type> {
+        private final Class<Type> handledType;
+
+        public MockAttribute(final Class<Type> handledType) {
+            this.handledType = handledType;
+        }
+
+        @Override
+        public Class<Type> getHandledType() {
+            return handledType;
+        }
+
+        @Override
+        public void process(final LmlParser parser, final LmlTag tag, final Type actor,
+                final String rawAttributeData) {
+        }
+    }
+
+    /** Does nothing.
+     *
+     * @author MJ */
+    private static class MockBuildingAttribute implements LmlBuildingAttribute<LmlActorBuilder> {
+        @Override
+        public Class<LmlActorBuilder> getBuilderType() {
+            return LmlActorBuilder.class;
+        }
+
+        @Override
+        public boolean process(final LmlParser parser, final LmlTag tag, final LmlActorBuilder builder,
+                final String rawAttributeData) {
+            return FULLY_PARSED;
+        }
+    }
+}
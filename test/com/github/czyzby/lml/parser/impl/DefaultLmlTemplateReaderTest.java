@@ -0,0 +1,163 @@
+package com.github.czyzby.lml.parser.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Array;
+import com.github.czyzby.lml.AbstractLmlTest;
+
+/** Tests {@link DefaultLmlTemplateReader}, focusing on templates streamed from readers.
+ *
+ * @author MJ */
+public class DefaultLmlTemplateReaderTest extends AbstractLmlTest {
+    private static String createContent(final int length) {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int index = 0; index < length; index++) {
+            builder.append(index % 100 == 99 ? '\n' : (char) ('a' + index % 26));
+        }
+        return builder.toString();
+    }
+
+    private static String readAll(final DefaultLmlTemplateReader reader) {
+        final StringBuilder builder = new StringBuilder();
+        while (reader.hasNextCharacter()) {
+            builder.append(reader.nextCharacter());
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void shouldReadTemplateInChunks() {
+        final String content = createContent(DefaultLmlTemplateReader.CHUNK_SIZE * 3 + 17);
+        final DefaultLmlTemplateReader reader = new DefaultLmlTemplateReader();
+        final SlowReader input = new SlowReader(content);
+
+        reader.append(input, "streamed");
+
+        assertEquals("streamed", reader.getCurrentTemplateName());
+        assertEquals(content, readAll(reader));
+        assertTrue(input.closed);
+    }
+
+    @Test
+    public void shouldPeekCharactersAcrossChunksAndSequences() {
+        final String content = createContent(DefaultLmlTemplateReader.CHUNK_SIZE + 10);
+        final DefaultLmlTemplateReader reader = new DefaultLmlTemplateReader();
+        reader.append("tail", "tail");
+        reader.append(new SlowReader(content), "streamed");
+
+        for (int index = 0; index < DefaultLmlTemplateReader.CHUNK_SIZE - 2; index++) {
+            reader.nextCharacter();
+        }
+
+        assertTrue(reader.hasNextCharacter(15));
+        assertEquals(content.charAt(DefaultLmlTemplateReader.CHUNK_SIZE - 2), reader.peekCharacter());
+        assertEquals(content.charAt(DefaultLmlTemplateReader.CHUNK_SIZE + 3), reader.peekCharacter(5));
+        assertEquals('t', reader.peekCharacter(12));
+        assertEquals('l', reader.peekCharacter(15));
+        assertFalse(reader.hasNextCharacter(16));
+        assertEquals(content.substring(DefaultLmlTemplateReader.CHUNK_SIZE - 2) + "tail", readAll(reader));
+    }
+
+    @Test
+    public void shouldCountLinesOfStreamedTemplates() {
+        final DefaultLmlTemplateReader reader = new DefaultLmlTemplateReader();
+        reader.append(new StringReader("first\nsecond\nthird"), "streamed");
+
+        for (int index = 0; index < "first\nsecond\nt".length(); index++) {
+            reader.nextCharacter();
+        }
+
+        assertEquals(3, reader.getCurrentLine());
+    }
+
+    @Test
+    public void shouldCloseReaderWhenCleared() {
+        final DefaultLmlTemplateReader reader = new DefaultLmlTemplateReader();
+        final SlowReader input = new SlowReader(createContent(100));
+        reader.append(input, "streamed");
+        reader.nextCharacter();
+
+        reader.clear();
+
+        assertTrue(input.closed);
+        assertFalse(reader.hasNextCharacter());
+    }
+
+    @Test
+    public void shouldReuseChunkBuffers() {
+        final BufferTrackingReader reader = new BufferTrackingReader();
+        reader.append(new StringReader("first"), "first");
+        readAll(reader);
+        reader.clear();
+
+        reader.append(new StringReader("second"), "second");
+
+        assertEquals(2, reader.obtainedBuffers.size);
+        assertSame(reader.obtainedBuffers.first(), reader.obtainedBuffers.peek());
+        assertEquals("second", readAll(reader));
+    }
+
+    @Test
+    public void shouldParseStreamedTemplatesLikeStrings() {
+        final StringBuilder builder = new StringBuilder("<table>");
+        for (int index = 0; index < 1000; index++) {
+            builder.append("<actor id=actor").append(index).append("/><!-- comment -->\n");
+        }
+        final String template = builder.append("</table>").toString();
+
+        assertEquals(describe(createParser().parseTemplate(template)),
+                describe(createParser().parseTemplate(new SlowReader(template), "template")));
+    }
+
+    /** Returns at most 7 characters per read and tracks closing.
+     *
+     * @author MJ */
+    private static class SlowReader extends Reader {
+        private final String content;
+        private int index;
+        private boolean closed;
+
+        public SlowReader(final String content) {
+            this.content = content;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) throws IOException {
+            if (index == content.length()) {
+                return -1;
+            }
+            final int read = Math.min(Math.min(length, 7), content.length() - index);
+            content.getChars(index, index + read, buffer, offset);
+            index += read;
+            return read;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    /** Tracks chunk buffers obtained by the reader.
+     *
+     * @author MJ */
+    private static class BufferTrackingReader extends DefaultLmlTemplateReader {
+        private final Array<char[]> obtainedBuffers = new Array<char[]>();
+
+        @Override
+        protected char[] obtainBuffer() {
+            final char[] buffer = super.obtainBuffer();
+            obtainedBuffers.add(buffer);
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.czyzby.lml.parser.impl.action.jvm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.Method;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+import com.github.czyzby.lml.parser.action.ActorConsumer;
+import com.github.czyzby.lml.parser.action.ActorConsumerFactory;
+import com.github.czyzby.lml.parser.impl.action.DefaultActorConsumerFactory;
+
+/** Tests {@link MethodHandleActorConsumerFactory}.
+ *
+ * @author MJ */
+public class MethodHandleActorConsumerFactoryTest {
+    private final MethodHandleActorConsumerFactory factory = new MethodHandleActorConsumerFactory();
+
+    @SuppressWarnings("unchecked")
+    private static ActorConsumer<Object, Object> cast(final ActorConsumer<?, ?> action) {
+        return (ActorConsumer<Object, Object>) action;
+    }
+
+    private static Method getMethod(final String name, final Class<?>... parameterTypes) throws ReflectionException {
+        return ClassReflection.getDeclaredMethod(Container.class, name, parameterTypes);
+    }
+
+    @Test
+    public void shouldInvokeMethodsWithActors() throws Exception {
+        final Container container = new Container();
+        final Actor actor = new Actor();
+        actor.setName("actor");
+
+        final ActorConsumer<Object, Object> action = cast(
+                factory.createMethodConsumer(getMethod("getName", Actor.class), container));
+
+        assertTrue(action instanceof MethodHandleActorConsumer);
+        assertEquals("actor", action.consume(actor));
+    }
+
+    @Test
+    public void shouldAdaptMethodSignatures() throws Exception {
+        final Container container = new Container();
+
+        assertEquals(42, cast(factory.createMethodConsumer(getMethod("getPrimitive"), container)).consume(null));
+        assertEquals("static", cast(factory.createMethodConsumer(getMethod("getStatic"), container)).consume(null));
+        assertNull(cast(factory.createMethodConsumer(getMethod("increment"), container)).consume(new Actor()));
+        assertEquals(1, container.counter);
+    }
+
+    @Test
+    public void shouldReadCurrentFieldValues() throws Exception {
+        final Container container = new Container();
+        final Field field = ClassReflection.getDeclaredField(Container.class, "counter");
+
+        final ActorConsumer<Object, Object> action = cast(factory.createFieldConsumer(field, container));
+        container.counter = 7;
+
+        assertEquals(7, action.consume(null));
+    }
+
+    @Test(expected = GdxRuntimeException.class)
+    public void shouldWrapExceptionsOfInvokedMethods() throws Exception {
+        cast(factory.createMethodConsumer(getMethod("fail"), new Container())).consume(null);
+    }
+
+    @Test
+    public void shouldUseFallbackIfMethodHandleCannotBeCreated() throws Exception {
+        final ActorConsumer<?, ?> fallbackAction = new ActorConsumer<Object, Object>() {
+            @Override
+            public Object consume(final Object actor) {
+                return "fallback";
+            }
+        };
+        final MethodHandleActorConsumerFactory factory = new MethodHandleActorConsumerFactory(
+                new ActorConsumerFactory() {
+                    @Override
+                    public ActorConsumer<?, ?> createMethodConsumer(final Method method, final Object methodOwner) {
+                        return fallbackAction;
+                    }
+
+                    @Override
+                    public ActorConsumer<?, ?> createFieldConsumer(final Field field, final Object fieldOwner) {
+                        return fallbackAction;
+                    }
+                });
+
+        // Owner of a different class cannot be bound to the handles:
+        assertSame(fallbackAction, factory.createMethodConsumer(getMethod("increment"), "owner"));
+        assertSame(fallbackAction,
+                factory.createFieldConsumer(ClassReflection.getDeclaredField(Container.class, "counter"), "owner"));
+    }
+
+    @Test
+    public void shouldReturnSameResultsAsReflectiveActions() throws Exception {
+        final Container container = new Container();
+        final Actor actor = new Actor();
+        actor.setName("name");
+        final Method method = getMethod("getName", Actor.class);
+
+        assertEquals(cast(DefaultActorConsumerFactory.INSTANCE.createMethodConsumer(method, container)).consume(actor),
+                cast(factory.createMethodConsumer(method, container)).consume(actor));
+    }
+
+    /** Contains methods and fields invoked by the tested actions.
+     *
+     * @author MJ */
+    public static class Container {
+        private int counter;
+
+        private String getName(final Actor actor) {
+            return actor.getName();
+        }
+
+        int getPrimitive() {
+            return 42;
+        }
+
+        static String getStatic() {
+            return "static";
+        }
+
+        void increment() {
+            counter++;
+        }
+
+        void fail() {
+            throw new IllegalStateException("Expected.");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.czyzby.lml.parser.impl.nio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.github.czyzby.lml.AbstractLmlTest;
+
+/** Tests {@link MappedTemplateSource}.
+ *
+ * @author MJ */
+public class MappedTemplateSourceTest extends AbstractLmlTest {
+    private static final String TEMPLATE = "<table><actor id=first/>\n<actor id=second/></table>";
+
+    @Test
+    public void shouldReadAsciiTemplateWithoutDecoding() {
+        final MappedTemplateSource source = MappedTemplateSource.map(createTemporaryFile(TEMPLATE));
+
+        assertFalse(source.isDecoded());
+        assertEquals(TEMPLATE.length(), source.length());
+        assertEquals('<', source.charAt(0));
+        assertEquals('\n', source.charAt(TEMPLATE.indexOf('\n')));
+        assertEquals("actor id=first", source.subSequence(8, 22).toString());
+        assertEquals(TEMPLATE, source.toString());
+    }
+
+    @Test
+    public void shouldDecodeMultiByteTemplate() {
+        final String template = "<actor id=za\u017c\u00f3\u0142\u0107/>\u4e2d\u6587";
+
+        final MappedTemplateSource source = MappedTemplateSource.map(createTemporaryFile(template));
+
+        assertTrue(source.isDecoded());
+        assertEquals(template.length(), source.length());
+        assertEquals('\u017c', source.charAt(12));
+        assertEquals(template, source.toString());
+        assertEquals("\u4e2d\u6587", source.subSequence(template.length() - 2, template.length()).toString());
+    }
+
+    @Test
+    public void shouldReadSingleByteCharsetWithoutDecoding() {
+        final FileHandle file = createTemporaryFile("");
+        file.writeBytes(new byte[] { 'a', (byte) 0xE9, 'b' }, false);
+
+        final MappedTemplateSource source = MappedTemplateSource.map(file, "ISO-8859-1");
+
+        assertFalse(source.isDecoded());
+        assertEquals("a\u00e9b", source.toString());
+    }
+
+    @Test
+    public void shouldUseBufferContentBetweenPositionAndLimit() {
+        final ByteBuffer buffer = ByteBuffer.wrap("xx<actor/>yy".getBytes(Charset.forName("UTF-8")));
+        buffer.position(2);
+        buffer.limit(10);
+
+        final MappedTemplateSource source = new MappedTemplateSource("buffer", buffer, Charset.forName("UTF-8"));
+
+        assertEquals("buffer", source.getName());
+        assertEquals("<actor/>", source.toString());
+    }
+
+    @Test
+    public void shouldParseMappedTemplateLikeString() {
+        final FileHandle file = createTemporaryFile(TEMPLATE);
+
+        assertEquals(describe(createParser().parseTemplate(TEMPLATE)),
+                describe(createParser().parseTemplate(MappedTemplateSource.map(file), file.name())));
+    }
+
+    @Test(expected = GdxRuntimeException.class)
+    public void shouldRejectMissingFile() {
+        final FileHandle missingFile = Gdx.files.absolute(createTemporaryFile("").path() + ".missing");
+        assertFalse(MappedTemplateSource.isMappable(missingFile));
+
+        MappedTemplateSource.map(missingFile);
+    }
+}
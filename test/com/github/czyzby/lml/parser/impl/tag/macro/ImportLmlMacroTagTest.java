@@ -0,0 +1,72 @@
+package com.github.czyzby.lml.parser.impl.tag.macro;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.template.DefaultLmlTemplateCache;
+import com.github.czyzby.lml.util.Lml;
+
+/** Tests caching of templates imported with {@link AbstractImportLmlMacroTag}.
+ *
+ * @author MJ */
+public class ImportLmlMacroTagTest extends AbstractLmlTest {
+    @After
+    public void clearDefaultImportCache() {
+        AbstractImportLmlMacroTag.setDefaultImportCache(null);
+    }
+
+    /** @param importedFile will be imported.
+     * @return template importing the file. */
+    private static String getTemplate(final FileHandle importedFile) {
+        return "<@absoluteImport " + importedFile.path() + "/>";
+    }
+
+    @Test
+    public void shouldUseTemplateCacheOfParser() {
+        final DefaultLmlTemplateCache cache = new DefaultLmlTemplateCache();
+        final DefaultLmlTemplateCache defaultCache = new DefaultLmlTemplateCache();
+        AbstractImportLmlMacroTag.setDefaultImportCache(defaultCache);
+        final LmlParser parser = Lml.parser(new Skin()).syntax(createSyntax()).templateCache(cache).build();
+        final FileHandle importedFile = createTemporaryFile("<actor id=imported/>");
+
+        assertEquals("Actor imported\nActor imported\n",
+                describe(parser.parseTemplate(getTemplate(importedFile) + getTemplate(importedFile))));
+
+        // Compiled main template and the imported file:
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(0, defaultCache.getMisses() + defaultCache.getHits());
+    }
+
+    @Test
+    public void shouldUseDefaultImportCacheOfParserWithoutCache() {
+        final DefaultLmlTemplateCache defaultCache = new DefaultLmlTemplateCache();
+        AbstractImportLmlMacroTag.setDefaultImportCache(defaultCache);
+        final FileHandle importedFile = createTemporaryFile("<actor id=imported/>");
+
+        assertEquals("Actor imported\n", describe(createParser().parseTemplate(getTemplate(importedFile))));
+        assertEquals("Actor imported\n", describe(createParser().parseTemplate(getTemplate(importedFile))));
+
+        assertEquals(1, defaultCache.getMisses());
+        assertEquals(1, defaultCache.getHits());
+    }
+
+    @Test
+    public void shouldReadImportedFilesWithoutCache() {
+        final LmlParser parser = createParser();
+        final FileHandle importedFile = createTemporaryFile("<actor id=first/>");
+        assertNull(AbstractImportLmlMacroTag.getDefaultImportCache());
+
+        assertEquals("Actor first\n", describe(parser.parseTemplate(getTemplate(importedFile))));
+        importedFile.writeString("<actor id=second/>", false);
+
+        assertEquals("Actor second\n", describe(parser.parseTemplate(getTemplate(importedFile))));
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.czyzby.lml.parser.impl.tag.macro;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.annotation.LmlAction;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.LmlView;
+import com.github.czyzby.lml.parser.action.ActionContainer;
+import com.github.czyzby.lml.scene2d.ui.reflected.LazyContainer;
+import com.github.czyzby.lml.util.LmlUtilities;
+
+/** Tests {@link LazyLmlMacroTag} and {@link LazyContainer}.
+ *
+ * @author MJ */
+public class LazyLmlMacroTagTest extends AbstractLmlTest {
+    @BeforeClass
+    public static void setUpGraphics() {
+        // Stage reads screen size from graphics when it is created:
+        if (Gdx.graphics == null) {
+            Gdx.graphics = mock(Graphics.class);
+        }
+    }
+
+    /** @param type interface.
+     * @return implementation of the interface that does nothing and returns default values.
+     * @param <Type> type of the interface. */
+    private static <Type> Type mock(final Class<Type> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        final Class<?> returnType = method.getReturnType();
+                        if (returnType == boolean.class) {
+                            return Boolean.FALSE;
+                        } else if (returnType == int.class) {
+                            return 0;
+                        } else if (returnType == long.class) {
+                            return 0L;
+                        } else if (returnType == float.class) {
+                            return 0f;
+                        } else if (returnType == double.class) {
+                            return 0.0;
+                        }
+                        return null;
+                    }
+                }));
+    }
+
+    @Test
+    public void shouldDelayContentParsing() {
+        final LmlParser parser = createParser();
+
+        final LazyContainer container = (LazyContainer) parser.parseTemplate("<@lazy lazy><actor id=inner/></@lazy>")
+                .first();
+
+        assertEquals("lazy", container.getName());
+        assertFalse(container.isRealized());
+        assertNull(container.getActor());
+        assertFalse(parser.getActorsMappedByIds().containsKey("inner"));
+
+        LmlUtilities.realize(container);
+
+        assertTrue(container.isRealized());
+        assertEquals("inner", container.getActor().getName());
+        assertTrue(parser.getActorsMappedByIds().containsKey("inner"));
+    }
+
+    @Test
+    public void shouldUseViewActionsInLazyContent() {
+        final LmlParser parser = createParser();
+        final LazyView view = new LazyView();
+        final LazyContainer container = (LazyContainer) parser
+                .createView(view, "<@lazy><actor id=$getActorName/></@lazy>").first();
+        assertNull(parser.getData().getActionContainer(LazyView.ID));
+        assertNull(parser.getCurrentView());
+
+        container.realize();
+
+        assertEquals("viewActor", container.getActor().getName());
+        // View is registered only for the duration of parsing:
+        assertNull(parser.getData().getActionContainer(LazyView.ID));
+        assertNull(parser.getCurrentView());
+    }
+
+    @Test
+    public void shouldUseViewActionsInNestedLazyContent() {
+        final LmlParser parser = createParser();
+        final LazyContainer container = (LazyContainer) parser
+                .createView(new LazyView(), "<@lazy><@lazy><actor id=$getActorName/></@lazy></@lazy>").first();
+
+        LmlUtilities.realize(container);
+
+        assertEquals("viewActor", ((LazyContainer) container.getActor()).getActor().getName());
+    }
+
+    /** Contains an action used by lazy content.
+     *
+     * @author MJ */
+    public static class LazyView implements LmlView, ActionContainer {
+        public static final String ID = "lazyView";
+        private final Stage stage = new Stage(new ScreenViewport() {
+            @Override
+            public void update(final int screenWidth, final int screenHeight, final boolean centerCamera) {
+                // Viewport is never rendered.
+            }
+        }, mock(Batch.class));
+
+        @Override
+        public Stage getStage() {
+            return stage;
+        }
+
+        @Override
+        public String getViewId() {
+            return ID;
+        }
+
+        @LmlAction("getActorName")
+        public String getActorName(final Actor actor) {
+            return "viewActor";
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.czyzby.lml.parser.impl.tag.macro;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.action.ActorConsumer;
+
+/** Tests loop macros processing compiled content for each iteration.
+ *
+ * @author MJ */
+public class LoopLmlMacroTagTest extends AbstractLmlTest {
+    private static final String[] TEMPLATES = {
+            "<table><@loop 3><actor id=a{loop:index}/></@loop></table>",
+            "<table><@loop 2><@loop 2><actor id=n{loop:index}/></@loop></@loop></table>",
+            "<table><@forEach row={rows}><@forEach col={cols}><actor id={row}{col}/></@forEach></@forEach></table>",
+            "<table><@nested i=2 j=3><actor id=n{i}x{j}/></@nested></table>",
+            "<text id=p>a<@loop 3>x{loop:index}<!-- c -->y</@loop>b<@forEach e={rows}> {e}</@forEach></text>",
+            "<table><@forEach item={rows}><table id=c{item}><@loop 2><actor id=i{item}{loop:index}/></@loop>"
+                    + "</table></@forEach></table>",
+            "<table><@forEach w={rows}><actor id={word}{w}/>{tag}</@forEach></table>",
+            "<table><@while $next><actor id=w{while:index}/></@while></table>",
+            "<table><@forEach item={rows}></@forEach><@loop 0><actor/></@loop><@loop 2><!-- comment --></@loop></table>" };
+
+    private LmlParser createParserWithArguments() {
+        final LmlParser parser = createParser();
+        parser.getData().addArgument("rows", "r1;r2");
+        parser.getData().addArgument("cols", "c1;c2;c3");
+        parser.getData().addArgument("word", "w");
+        parser.getData().addArgument("tag", "<actor id=fromArgument/>");
+        parser.getData().addActorConsumer("next", new ActorConsumer<Boolean, Object>() {
+            private int counter;
+
+            @Override
+            public Boolean consume(final Object actor) {
+                return counter++ < 3;
+            }
+        });
+        return parser;
+    }
+
+    @Test
+    public void shouldProcessCompiledLoopsLikeStreamedLoops() {
+        for (final String template : TEMPLATES) {
+            final String compiled = describe(createParserWithArguments().parseTemplate(template));
+            final String streamed = describe(
+                    createParserWithArguments().parseTemplate(new StringReader(template), "template"));
+            assertEquals(template, streamed, compiled);
+        }
+    }
+
+    @Test
+    public void shouldReplaceLoopArguments() {
+        assertEquals("Table null\n  Actor a0\n  Actor a1\n  Actor a2\n",
+                describe(createParserWithArguments().parseTemplate(TEMPLATES[0])));
+        assertEquals("Table null\n  Actor r1c1\n  Actor r1c2\n  Actor r1c3\n  Actor r2c1\n  Actor r2c2\n  Actor r2c3\n",
+                describe(createParserWithArguments().parseTemplate(TEMPLATES[2])));
+        assertEquals("Table null\n  Actor w0\n  Actor w1\n  Actor w2\n",
+                describe(createParserWithArguments().parseTemplate(TEMPLATES[7])));
+    }
+
+    @Test
+    public void shouldMergeLoopTextWithFollowingText() {
+        assertEquals("Group p\n  Actor text:a\n  Actor text:x0yx1yx2yb\n  Actor text:r1 r2\n",
+                describe(createParserWithArguments().parseTemplate(TEMPLATES[4])));
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.czyzby.lml.parser.impl.tag.macro.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.action.ActorConsumer;
+import com.github.czyzby.lml.parser.impl.tag.macro.util.Equation.CompiledEquation;
+
+/** Tests {@link Equation} evaluation and caching of compiled equations.
+ *
+ * @author MJ */
+public class EquationTest extends AbstractLmlTest {
+    /** Pairs of equations and their expected results. */
+    private static final String[][] EQUATIONS = { { "1+2", "3" }, { "1 + 2 * 3", "7" }, { "(1 + 2) * 3", "9" },
+            { "((1+2)*(3+4))-5", "16" }, { "-5", "-5" }, { "!!true", "true" }, { "~5", "-6" }, { "3 != 4", "true" },
+            { "3 == 3.0", "true" }, { "2 <= 2", "true" }, { "true & 1 < 2", "true" }, { "1 < 2 & 2 < 3 | false", "true" },
+            { "10 / 4", "2" }, { "10.0 / 4", "2.5" }, { "10 % 3", "1" }, { "2 ^ 10", "1024" }, { "2 ^ 3 ^ 2", "64" },
+            { "3 - 2 - 1", "0" }, { "'abc' + 'def'", "abcdef" }, { "\"x\" + 1", "x1" }, { "NULL + 1", "1" },
+            { "1 + (2 * (3 + (4 - 1)))", "13" }, { "  spaced   value  ", "spaced   value" }, { "12 % 5 * 2", "2" } };
+
+    @Test
+    public void shouldEvaluateEquations() {
+        final Equation equation = new Equation();
+
+        for (final String[] entry : EQUATIONS) {
+            assertEquals(entry[0], entry[1], equation.getResult(entry[0]));
+            assertEquals(entry[0], entry[1], equation.getResult(Equation.compile(entry[0])));
+        }
+    }
+
+    @Test
+    public void shouldEvaluateBooleanEquations() {
+        final Equation equation = new Equation();
+
+        assertTrue(equation.getBooleanResult("1 + 2 < 4 & 5 > 3"));
+        assertFalse(equation.getBooleanResult("!(1 < 2)"));
+        assertFalse(equation.getBooleanResult("null"));
+        assertTrue(equation.getBooleanResult(Equation.compile("2 ^ 10")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectInvalidEquation() {
+        new Equation().getResult("1 +");
+    }
+
+    @Test
+    public void shouldCacheCompiledEquations() {
+        final CompiledEquation equation = Equation.compile("1 + 2");
+
+        assertSame(equation, Equation.compile("1 + 2"));
+        Equation.clearCache();
+        assertNotSame(equation, Equation.compile("1 + 2"));
+    }
+
+    @Test
+    public void shouldResolveActionsOnEachEvaluation() {
+        final CompiledEquation compiledEquation = Equation.compile("$value * 2");
+        final LmlParser parser = createParser();
+        final Equation equation = new Equation(parser, null);
+        final ValueAction action = new ValueAction();
+        parser.getData().addActorConsumer("value", action);
+
+        action.value = 2;
+        assertEquals("4", equation.getResult(compiledEquation));
+        action.value = 5;
+        assertEquals("10", equation.getResult(compiledEquation));
+        assertEquals("10", equation.getResult("$value * 2"));
+    }
+
+    /** Returns a modifiable value.
+     *
+     * @author MJ */
+    private static class ValueAction implements ActorConsumer<Integer, Object> {
+        private int value;
+
+        @Override
+        public Integer consume(final Object actor) {
+            return value;
+        }
+    }
+}
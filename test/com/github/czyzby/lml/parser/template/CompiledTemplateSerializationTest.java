@@ -0,0 +1,154 @@
+package com.github.czyzby.lml.parser.template;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.impl.DefaultLmlSyntax;
+
+/** Tests {@link CompiledTemplateWriter} and {@link CompiledTemplateReader}.
+ *
+ * @author MJ */
+public class CompiledTemplateSerializationTest extends AbstractLmlTest {
+    private static final String TEMPLATE = "<!-- comment --><table id=root pad=2><actor id=a{x}/><text>text {x}</text>"
+            + "<@loop 2><actor id=l{loop:index}/></@loop><container id=escaped\\ value><actor/></container></table>"
+            + "<@macro custom content><actor id=m/>{content}</@macro><@custom><actor id=inner/></@custom>";
+
+    /** Size of magic number and format version preceding the compiler signature length. */
+    private static final int HEADER_SIZE = 5;
+
+    private final LmlTemplateCompiler compiler = new LmlTemplateCompiler(new DefaultLmlSyntax(), false, false);
+
+    /** @param length variable-length encoded bytes that replace the length of the compiler signature.
+     * @return serialized template with corrupted signature length. */
+    private byte[] writeWithCorruptedLength(final byte... length) {
+        final byte[] data = new CompiledTemplateWriter(compiler).write(compiler.compile(TEMPLATE, "template"));
+        final byte[] corruptedData = new byte[data.length + length.length];
+        System.arraycopy(data, 0, corruptedData, 0, HEADER_SIZE);
+        System.arraycopy(length, 0, corruptedData, HEADER_SIZE, length.length);
+        System.arraycopy(data, HEADER_SIZE + 1, corruptedData, HEADER_SIZE + length.length,
+                data.length - HEADER_SIZE - 1);
+        return corruptedData;
+    }
+
+    /** @param data will be read.
+     * @return exception thrown by the reader. */
+    private GdxRuntimeException readCorrupted(final byte[] data) {
+        try {
+            new CompiledTemplateReader(compiler).read(data);
+        } catch (final GdxRuntimeException exception) {
+            return exception;
+        }
+        throw new AssertionError("Corrupted data was read.");
+    }
+
+    @Test
+    public void shouldReadWrittenTemplate() {
+        final LmlTemplate template = compiler.compile(TEMPLATE, "template");
+
+        final LmlTemplate readTemplate = new CompiledTemplateReader(compiler)
+                .read(new CompiledTemplateWriter(compiler).write(template));
+
+        assertEquals(template.getName(), readTemplate.getName());
+        assertEquals(template.getSource(), readTemplate.getSource());
+        assertEquals(template.size(), readTemplate.size());
+        for (int index = 0; index < template.size(); index++) {
+            final LmlTemplateNode node = template.getNode(index);
+            final LmlTemplateNode readNode = readTemplate.getNode(index);
+            assertEquals(node.getType(), readNode.getType());
+            assertEquals(node.isDynamic(), readNode.isDynamic());
+            assertEquals(node.isParent(), readNode.isParent());
+            assertEquals(node.getName(), readNode.getName());
+            assertEquals(node.getData(), readNode.getData());
+            assertEquals(node.getContent(), readNode.getContent());
+            assertArrayEquals(node.getEntities(), readNode.getEntities());
+            assertEquals(node.getOffset(), readNode.getOffset());
+            assertEquals(template.getClosingIndex(index), readTemplate.getClosingIndex(index));
+        }
+    }
+
+    @Test
+    public void shouldInstantiateReadTemplate() {
+        final LmlParser parser = createParser();
+        parser.getData().addArgument("x", "X");
+        final LmlTemplate template = parser.compile(TEMPLATE);
+        final CompiledTemplateWriter writer = new CompiledTemplateWriter(parser.getTemplateCompiler());
+        final CompiledTemplateReader reader = new CompiledTemplateReader(parser.getTemplateCompiler());
+
+        final LmlTemplate readTemplate = reader.read(writer.write(template));
+
+        assertEquals(describe(parser.instantiate(template)), describe(parser.instantiate(readTemplate)));
+    }
+
+    @Test(expected = GdxRuntimeException.class)
+    public void shouldRejectTruncatedData() {
+        final byte[] data = new CompiledTemplateWriter(compiler).write(compiler.compile(TEMPLATE, "template"));
+        final byte[] truncatedData = new byte[data.length / 2];
+        System.arraycopy(data, 0, truncatedData, 0, truncatedData.length);
+
+        new CompiledTemplateReader(compiler).read(truncatedData);
+    }
+
+    @Test(expected = GdxRuntimeException.class)
+    public void shouldRejectDataWithoutHeader() {
+        final byte[] data = new CompiledTemplateWriter(compiler).write(compiler.compile(TEMPLATE, "template"));
+        data[0] ^= 0xFF;
+
+        new CompiledTemplateReader(compiler).read(data);
+    }
+
+    @Test(expected = GdxRuntimeException.class)
+    public void shouldRejectTemplateOfIncompatibleCompiler() {
+        final byte[] data = new CompiledTemplateWriter(compiler).write(compiler.compile(TEMPLATE, "template"));
+
+        new CompiledTemplateReader(new LmlTemplateCompiler(new DefaultLmlSyntax(), true, false)).read(data);
+    }
+
+    @Test
+    public void shouldRejectNegativeLength() {
+        final byte[] data = writeWithCorruptedLength((byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x0F);
+
+        assertTrue(readCorrupted(data).getMessage().contains("invalid length"));
+        assertFalse(new CompiledTemplateReader(compiler).isCompatible(data));
+    }
+
+    @Test
+    public void shouldRejectLengthExceedingData() {
+        final byte[] data = writeWithCorruptedLength((byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x07);
+
+        assertTrue(readCorrupted(data).getMessage().contains("invalid length"));
+        assertFalse(new CompiledTemplateReader(compiler).isCompatible(data));
+    }
+
+    @Test
+    public void shouldWrapOtherCorruptionErrors() {
+        final byte[] data = new CompiledTemplateWriter(compiler).write(compiler.compile(TEMPLATE, "template"));
+        for (int index = HEADER_SIZE + compiler.getSignature().length() + 1; index < data.length; index++) {
+            final byte[] corruptedData = data.clone();
+            corruptedData[index] = (byte) 0x8F;
+            try {
+                new CompiledTemplateReader(compiler).read(corruptedData);
+            } catch (final GdxRuntimeException exception) {
+                // Expected: any failure is reported with libGDX exception.
+            }
+        }
+    }
+
+    @Test
+    public void shouldValidateCompatibility() {
+        final byte[] data = new CompiledTemplateWriter(compiler).write(compiler.compile(TEMPLATE, "template"));
+
+        assertTrue(new CompiledTemplateReader(compiler).isCompatible(data));
+        assertTrue(new CompiledTemplateReader(new LmlTemplateCompiler(new DefaultLmlSyntax(), false, false))
+                .isCompatible(data));
+        assertFalse(new CompiledTemplateReader(new LmlTemplateCompiler(new DefaultLmlSyntax(), false, true))
+                .isCompatible(data));
+        assertFalse(new CompiledTemplateReader(compiler).isCompatible(new byte[] { 1, 2, 3 }));
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.czyzby.lml.parser.template;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.impl.DefaultLmlSyntax;
+import com.github.czyzby.lml.util.Lml;
+
+/** Tests {@link DefaultLmlTemplateCache}.
+ *
+ * @author MJ */
+public class DefaultLmlTemplateCacheTest extends AbstractLmlTest {
+    private final LmlTemplateCompiler compiler = new LmlTemplateCompiler(new DefaultLmlSyntax(), false, false);
+
+    @Test
+    public void shouldCacheTemplatesPassedAsStrings() {
+        final DefaultLmlTemplateCache cache = new DefaultLmlTemplateCache();
+
+        final LmlTemplate template = cache.getTemplate("<actor/>", "template", compiler);
+
+        assertSame(template, cache.getTemplate("<actor/>", "template", compiler));
+        assertNotSame(template, cache.getTemplate("<actor id=other/>", "template", compiler));
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getEntriesAmount());
+    }
+
+    @Test
+    public void shouldRecompileTemplatesOfIncompatibleCompilers() {
+        final DefaultLmlTemplateCache cache = new DefaultLmlTemplateCache();
+        final LmlTemplate template = cache.getTemplate("<actor/>", "template", compiler);
+
+        final LmlTemplate strictTemplate = cache.getTemplate("<actor/>", "template",
+                new LmlTemplateCompiler(new DefaultLmlSyntax(), true, false));
+
+        assertNotSame(template, strictTemplate);
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.getEntriesAmount());
+    }
+
+    @Test
+    public void shouldCacheTemplateFiles() {
+        final DefaultLmlTemplateCache cache = new DefaultLmlTemplateCache();
+        final FileHandle file = createTemporaryFile("<actor/>");
+
+        final LmlTemplate template = cache.getTemplate(file, compiler);
+
+        assertSame(template, cache.getTemplate(file, compiler));
+        assertEquals("<actor/>", cache.getText(file));
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void shouldReloadModifiedFiles() {
+        final DefaultLmlTemplateCache cache = new DefaultLmlTemplateCache();
+        final FileHandle file = createTemporaryFile("<actor/>");
+        final LmlTemplate template = cache.getTemplate(file, compiler);
+
+        file.writeString("<actor id=modified/>", false);
+        file.file().setLastModified(file.lastModified() + 10000L);
+
+        final LmlTemplate modifiedTemplate = cache.getTemplate(file, compiler);
+        assertNotSame(template, modifiedTemplate);
+        assertEquals("<actor id=modified/>", modifiedTemplate.getSource());
+        assertEquals(1, cache.getEntriesAmount());
+    }
+
+    @Test
+    public void shouldSkipModificationTimeValidation() {
+        final DefaultLmlTemplateCache cache = new DefaultLmlTemplateCache();
+        cache.setValidateModificationTime(false);
+        final FileHandle file = createTemporaryFile("<actor/>");
+        final LmlTemplate template = cache.getTemplate(file, compiler);
+
+        file.writeString("<actor id=modified/>", false);
+        file.file().setLastModified(file.lastModified() + 10000L);
+
+        assertSame(template, cache.getTemplate(file, compiler));
+    }
+
+    @Test
+    public void shouldInvalidateAndClearEntries() {
+        final DefaultLmlTemplateCache cache = new DefaultLmlTemplateCache();
+        final FileHandle file = createTemporaryFile("<actor/>");
+        final LmlTemplate template = cache.getTemplate(file, compiler);
+        cache.getTemplate("<actor/>", "template", compiler);
+
+        cache.invalidate(file);
+        assertEquals(1, cache.getEntriesAmount());
+        assertNotSame(template, cache.getTemplate(file, compiler));
+        cache.clear();
+
+        assertEquals(0, cache.getEntriesAmount());
+        assertEquals(0L, cache.getSize());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntries() {
+        final DefaultLmlTemplateCache cache = new DefaultLmlTemplateCache(2, DefaultLmlTemplateCache.DEFAULT_MAX_SIZE);
+        final LmlTemplate first = cache.getTemplate("<actor id=first/>", "template", compiler);
+        cache.getTemplate("<actor id=second/>", "template", compiler);
+        cache.getTemplate("<actor id=first/>", "template", compiler);
+
+        cache.getTemplate("<actor id=third/>", "template", compiler);
+
+        assertEquals(2, cache.getEntriesAmount());
+        assertSame(first, cache.getTemplate("<actor id=first/>", "template", compiler));
+        cache.resetStatistics();
+        cache.getTemplate("<actor id=second/>", "template", compiler);
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void shouldEvictEntriesExceedingMaximumSize() {
+        final String template = "<actor id=actor0/>";
+        final long entrySize = new DefaultLmlTemplateCache().estimateSize(template,
+                compiler.compile(template, "template"));
+        final DefaultLmlTemplateCache cache = new DefaultLmlTemplateCache(100, entrySize * 3L / 2L);
+
+        for (int index = 0; index < 10; index++) {
+            cache.getTemplate("<actor id=actor" + index + "/>", "template", compiler);
+        }
+
+        assertEquals(1, cache.getEntriesAmount());
+        assertEquals(entrySize, cache.getSize());
+    }
+
+    @Test
+    public void shouldNotCacheFailedReads() {
+        final DefaultLmlTemplateCache cache = new DefaultLmlTemplateCache();
+        final FileHandle missingFile = Gdx.files.absolute(createTemporaryFile("").path() + ".missing");
+
+        try {
+            cache.getTemplate(missingFile, compiler);
+            fail("Missing file should not be read.");
+        } catch (final GdxRuntimeException exception) {
+            // Expected.
+        }
+
+        assertEquals(0, cache.getEntriesAmount());
+        assertEquals(0L, cache.getSize());
+    }
+
+    @Test
+    public void shouldBeSharedByParsers() {
+        final DefaultLmlTemplateCache cache = new DefaultLmlTemplateCache();
+        final LmlParser first = Lml.parser().templateCache(cache).build();
+        final LmlParser second = Lml.parser().templateCache(cache).build();
+
+        first.parseTemplate("<actor id=shared/>");
+        second.parseTemplate("<actor id=shared/>");
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+}
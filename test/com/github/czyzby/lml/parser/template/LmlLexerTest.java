@@ -0,0 +1,100 @@
+package com.github.czyzby.lml.parser.template;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.github.czyzby.lml.parser.impl.DefaultLmlSyntax;
+import com.github.czyzby.lml.parser.template.LmlLexer.TokenType;
+import com.github.czyzby.lml.util.LmlParsingException;
+
+/** Tests {@link LmlLexer}.
+ *
+ * @author MJ */
+public class LmlLexerTest {
+    private static String tokenize(final String template, final boolean nestedComments) {
+        final LmlLexer lexer = new LmlLexer(new DefaultLmlSyntax(), nestedComments, template);
+        final StringBuilder builder = new StringBuilder();
+        for (TokenType type = lexer.next(); type != TokenType.END; type = lexer.next()) {
+            builder.append(type).append('[')
+                    .append(template.substring(lexer.getTokenStart(), lexer.getTokenEnd())).append(']');
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void shouldSplitTemplateIntoTokens() {
+        assertEquals("TEXT[text ]TAG[<actor id={x}/>]COMMENT[<!-- comment -->]ARGUMENT[{argument}]TEXT[ tail]"
+                + "TAG[</table>]",
+                tokenize("text <actor id={x}/><!-- comment -->{argument} tail</table>", false));
+    }
+
+    @Test
+    public void shouldSkipComments() {
+        assertEquals("COMMENT[<!-- a <!-- b -->]TEXT[ c -->]",
+                tokenize("<!-- a <!-- b --> c -->", false));
+        assertEquals("COMMENT[<!-- a <!-- b --> c -->]TAG[<actor/>]",
+                tokenize("<!-- a <!-- b --> c --><actor/>", true));
+        assertEquals("COMMENT[<!-- a > b -->]", tokenize("<!-- a > b -->", false));
+        assertEquals("COMMENT[<?schema comment?>]TEXT[text]", tokenize("<?schema comment?>text", false));
+    }
+
+    @Test
+    public void shouldSkipArgumentsAndCommentsInsideTags() {
+        final LmlLexer lexer = new LmlLexer(new DefaultLmlSyntax(), false, "<actor id={a>b} <!-- x > y -->/>end");
+
+        assertEquals(TokenType.TAG, lexer.next());
+        assertTrue(lexer.isTagWithArguments());
+        assertTrue(lexer.isTagWithComments());
+        assertEquals("actor id={a>b} /", lexer.getTagData());
+        assertEquals(TokenType.TEXT, lexer.next());
+        assertEquals(TokenType.END, lexer.next());
+    }
+
+    @Test
+    public void shouldReturnPlainTagData() {
+        final LmlLexer lexer = new LmlLexer(new DefaultLmlSyntax(), false, "<@loop 3>");
+
+        assertEquals(TokenType.TAG, lexer.next());
+        assertFalse(lexer.isTagWithArguments());
+        assertFalse(lexer.isTagWithComments());
+        assertEquals("@loop 3", lexer.getTagData());
+    }
+
+    @Test
+    public void shouldHandleNonAsciiText() {
+        assertEquals("TEXT[za\u017c\u00f3\u0142\u0107 ]TAG[<actor id=g\u0119\u015b/>]TEXT[ \u4e2d\u6587]",
+                tokenize("za\u017c\u00f3\u0142\u0107 <actor id=g\u0119\u015b/> \u4e2d\u6587", false));
+    }
+
+    @Test
+    public void shouldSkipProcessedParts() {
+        final LmlLexer lexer = new LmlLexer(new DefaultLmlSyntax(), false, "<a/><b/><c/>");
+        lexer.next();
+
+        lexer.setPosition(8);
+
+        assertEquals(TokenType.TAG, lexer.next());
+        assertEquals("c/", lexer.getTagData());
+        assertEquals(12, lexer.getPosition());
+    }
+
+    @Test
+    public void shouldComputeLines() {
+        final LmlLexer lexer = new LmlLexer(new DefaultLmlSyntax(), false, "first\nsecond\n\nfourth");
+
+        assertEquals(1, lexer.getLine(0));
+        assertEquals(1, lexer.getLine(5));
+        assertEquals(2, lexer.getLine(6));
+        assertEquals(3, lexer.getLine(13));
+        assertEquals(4, lexer.getLine(14));
+        assertEquals(4, lexer.getLine(19));
+    }
+
+    @Test(expected = LmlParsingException.class)
+    public void shouldRejectUnclosedTag() {
+        tokenize("<actor id=unclosed", false);
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.czyzby.lml.parser.template;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.annotation.LmlActor;
+import com.github.czyzby.lml.parser.LmlParser;
+
+/** Tests {@link LmlTemplatePlan} and template preparation of {@link LmlParser}.
+ *
+ * @author MJ */
+public class LmlTemplatePlanTest extends AbstractLmlTest {
+    private static final String TEMPLATE = "<table id=root><actor id=a{x}/><@loop 2><actor id=l{loop:index}/></@loop>"
+            + "</table>";
+
+    @Test
+    public void shouldMaterializePreparedTemplateLikeParsedFile() {
+        final LmlParser parser = createParser();
+        parser.getData().addArgument("x", "X");
+        final FileHandle file = createTemporaryFile(TEMPLATE);
+
+        final LmlTemplatePlan plan = parser.prepare(file);
+
+        assertSame(parser, plan.getParser());
+        assertEquals(describe(parser.parseTemplate(file)), describe(plan.materialize()));
+    }
+
+    @Test
+    public void shouldProcessArgumentsDuringMaterialization() {
+        final LmlParser parser = createParser();
+        parser.getData().addArgument("x", "before");
+        final LmlTemplatePlan plan = parser.prepare(createTemporaryFile(TEMPLATE));
+
+        parser.getData().addArgument("x", "after");
+
+        assertEquals("Table root\n  Actor aafter\n  Actor l0\n  Actor l1\n", describe(plan.materialize()));
+    }
+
+    @Test
+    public void shouldMaterializePlanMultipleTimes() {
+        final LmlTemplatePlan plan = createParser().prepare(createTemporaryFile(TEMPLATE));
+
+        final Array<Actor> first = plan.materialize();
+        final Array<Actor> second = plan.materialize();
+
+        assertEquals(describe(first), describe(second));
+        assertNotSame(first.first(), second.first());
+    }
+
+    @Test
+    public void shouldMaterializeViews() {
+        final LmlTemplatePlan plan = createParser().prepare(createTemporaryFile(TEMPLATE));
+
+        final PlanView view = plan.materialize(PlanView.class);
+
+        assertEquals("root", view.root.getName());
+    }
+
+    @Test
+    public void shouldPrepareTemplateAsynchronously() throws Exception {
+        final LmlParser parser = createParser();
+        parser.getData().addArgument("x", "X");
+        final FileHandle file = createTemporaryFile(TEMPLATE);
+        final AsyncExecutor executor = new AsyncExecutor(1);
+        try {
+            final AsyncResult<LmlTemplatePlan> result = parser.prepareAsync(file, executor);
+
+            final LmlTemplatePlan plan = result.get();
+
+            assertEquals(describe(parser.parseTemplate(file)), describe(plan.materialize()));
+        } finally {
+            executor.dispose();
+        }
+    }
+
+    /** Filled by materialized plans.
+     *
+     * @author MJ */
+    public static class PlanView {
+        @LmlActor("root") private Actor root;
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.czyzby.lml.parser.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.annotation.LmlActor;
+import com.github.czyzby.lml.annotation.LmlAfter;
+import com.github.czyzby.lml.annotation.LmlBefore;
+import com.github.czyzby.lml.annotation.LmlInject;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.impl.DefaultLmlData;
+import com.github.czyzby.lml.parser.impl.DefaultLmlParser;
+import com.github.czyzby.lml.parser.impl.DefaultLmlSyntax;
+
+/** Tests {@link ViewBinders} and binders generated by the LML annotation processor.
+ *
+ * @author MJ */
+public class ViewBindersTest extends AbstractLmlTest {
+    private static final String TEMPLATE = "<actor id=first/><container><actor id=second/></container>"
+            + "<actor id=base/><actor id=injected/>";
+
+    @After
+    public void clearBinders() {
+        ViewBinders.clearBinders();
+    }
+
+    @Test
+    public void shouldFindGeneratedBinder() {
+        final ViewBinder<BoundView> binder = ViewBinders.getBinder(BoundView.class);
+
+        assertNotNull(binder);
+        assertEquals(BoundView.class.getName() + ViewBinders.BINDER_SUFFIX, binder.getClass().getName());
+        assertSame(binder, ViewBinders.getBinder(BoundView.class));
+        assertNull(ViewBinders.getBinder(Actor.class));
+    }
+
+    @Test
+    public void shouldBindViewLikeReflection() {
+        final BoundView view = new BoundView();
+        final BoundView reflectionView = new BoundView();
+
+        createParser().createView(view, TEMPLATE);
+        new ReflectionParser().createView(reflectionView, TEMPLATE);
+
+        assertEquals("before;first;second;[first, second];2;2;2;base;injected;true;after:true", view.describe());
+        assertEquals(reflectionView.describe(), view.describe());
+    }
+
+    @Test
+    public void shouldUseRegisteredBinder() {
+        final BoundView view = new BoundView();
+        ViewBinders.register(BoundView.class, new AbstractViewBinder<BoundView>(0, 0) {
+            @Override
+            public void bind(final BoundView boundView, final ViewBindingContext context) {
+                boundView.first = context.getActor(new String[] { "second" }, boundView, "first");
+            }
+        });
+
+        createParser().createView(view, TEMPLATE);
+
+        assertEquals("second", view.first.getName());
+        assertNull(view.getSecond());
+        assertEquals(0, view.events.size);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNullBinder() {
+        ViewBinders.register(BoundView.class, null);
+    }
+
+    /** Processes views with reflection, ignoring generated binders.
+     *
+     * @author MJ */
+    private static class ReflectionParser extends DefaultLmlParser {
+        ReflectionParser() {
+            super(new DefaultLmlData(), new DefaultLmlSyntax());
+        }
+
+        @Override
+        protected <View> ViewBinder<View> getViewBinder(final View view) {
+            return null;
+        }
+    }
+
+    /** Base class of the bound view. Its annotated fields are also handled by the binder.
+     *
+     * @author MJ */
+    public static class BaseView {
+        @LmlActor("base") private Actor base;
+
+        public Actor getBase() {
+            return base;
+        }
+    }
+
+    /** Processed by the generated binder.
+     *
+     * @author MJ */
+    public static class BoundView extends BaseView {
+        final Array<String> events = new Array<String>();
+        @LmlActor("first") public Actor first;
+        @LmlActor("second") private Actor second;
+        @LmlActor({ "first", "second" }) Array<Actor> actors;
+        @LmlActor({ "first", "second" }) ObjectMap<String, Actor> actorsMap;
+        @LmlActor({ "first", "second" }) ObjectSet<? extends Actor> actorsSet;
+        @LmlActor({ "first", "second" }) Array<Group> groups;
+        @LmlInject InjectedView injected;
+        @LmlInject(LmlParser.class) LmlParser parser;
+
+        public Actor getSecond() {
+            return second;
+        }
+
+        @LmlBefore
+        void before() {
+            events.add("before");
+        }
+
+        @LmlAfter
+        void after(final LmlParser parser) {
+            events.add("after:" + (parser != null));
+        }
+
+        String describe() {
+            final Array<String> names = new Array<String>();
+            for (final Actor actor : actors) {
+                names.add(actor.getName());
+            }
+            return events.first() + ";" + first.getName() + ";" + second.getName() + ";" + names + ";"
+                    + actorsMap.size + ";" + actorsSet.size + ";" + groups.size + ";" + getBase().getName() + ";"
+                    + injected.actor.getName() + ";" + (parser != null) + ";" + events.peek();
+        }
+    }
+
+    /** Injected into the bound view.
+     *
+     * @author MJ */
+    public static class InjectedView {
+        @LmlActor("injected") Actor actor;
+    }
+}
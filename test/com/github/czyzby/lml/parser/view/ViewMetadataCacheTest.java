@@ -0,0 +1,146 @@
+package com.github.czyzby.lml.parser.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.github.czyzby.lml.AbstractLmlTest;
+import com.github.czyzby.lml.annotation.LmlActor;
+import com.github.czyzby.lml.annotation.LmlAfter;
+import com.github.czyzby.lml.annotation.LmlBefore;
+import com.github.czyzby.lml.parser.LmlParser;
+import com.github.czyzby.lml.parser.impl.DefaultLmlData;
+import com.github.czyzby.lml.parser.impl.DefaultLmlParser;
+import com.github.czyzby.lml.parser.impl.DefaultLmlSyntax;
+import com.github.czyzby.lml.parser.impl.view.DefaultViewMetadataCache;
+import com.github.czyzby.lml.parser.impl.view.jvm.WeakViewMetadataCache;
+import com.github.czyzby.lml.parser.view.ViewFieldMetadata.ActorsContainer;
+
+/** Tests {@link ViewMetadata} and its caches.
+ *
+ * @author MJ */
+public class ViewMetadataCacheTest extends AbstractLmlTest {
+    @Test
+    public void shouldStoreAnnotatedMembersOfClassHierarchy() {
+        final ViewMetadata metadata = new ViewMetadata(ChildView.class);
+
+        assertSame(ChildView.class, metadata.getViewClass());
+        assertEquals(2, metadata.getFields().size);
+        assertEquals("child", metadata.getFields().get(0).getField().getName());
+        assertEquals("parent", metadata.getFields().get(1).getField().getName());
+        assertEquals(ActorsContainer.ARRAY, metadata.getFields().get(1).getActorsContainer());
+        assertEquals(2, metadata.getBeforeMethods().size);
+        assertEquals("childBefore", metadata.getBeforeMethods().get(0).getMethod().getName());
+        assertTrue(metadata.getBeforeMethods().get(1).isConsumingParser());
+        assertEquals(1, metadata.getAfterMethods().size);
+        assertFalse(metadata.getAfterMethods().first().isConsumingParser());
+    }
+
+    @Test
+    public void shouldCacheMetadata() {
+        for (final ViewMetadataCache cache : new ViewMetadataCache[] { new DefaultViewMetadataCache(),
+                new WeakViewMetadataCache() }) {
+            final ViewMetadata metadata = cache.getMetadata(ChildView.class);
+
+            assertSame(metadata, cache.getMetadata(ChildView.class));
+            assertNotSame(metadata, cache.getMetadata(ParentView.class));
+
+            cache.clear();
+            assertNotSame(metadata, cache.getMetadata(ChildView.class));
+        }
+    }
+
+    @Test
+    public void shouldInvokeCachedMethodsWithoutBinder() {
+        final CountingCache cache = new CountingCache();
+        final ReflectionParser parser = new ReflectionParser();
+        parser.setViewMetadataCache(cache);
+        final ChildView view = new ChildView();
+        final ChildView otherView = new ChildView();
+
+        parser.createView(view, "<actor id=child/><actor id=parent/>");
+        parser.createView(otherView, "<actor id=child/><actor id=parent/>");
+
+        assertEquals("childBefore;parentBefore:true;child;1;after", view.describe());
+        assertEquals(view.describe(), otherView.describe());
+        assertEquals(1, cache.created);
+    }
+
+    /** Processes views with reflection and cached metadata, ignoring generated binders.
+     *
+     * @author MJ */
+    private static class ReflectionParser extends DefaultLmlParser {
+        ReflectionParser() {
+            super(new DefaultLmlData(), new DefaultLmlSyntax());
+        }
+
+        @Override
+        protected <View> ViewBinder<View> getViewBinder(final View view) {
+            return null;
+        }
+    }
+
+    /** Counts created metadata instances.
+     *
+     * @author MJ */
+    private static class CountingCache implements ViewMetadataCache {
+        private final ObjectMap<Class<?>, ViewMetadata> metadata = new ObjectMap<Class<?>, ViewMetadata>();
+        private int created;
+
+        @Override
+        public ViewMetadata getMetadata(final Class<?> viewClass) {
+            if (!metadata.containsKey(viewClass)) {
+                metadata.put(viewClass, new ViewMetadata(viewClass));
+                created++;
+            }
+            return metadata.get(viewClass);
+        }
+
+        @Override
+        public void clear() {
+            metadata.clear();
+        }
+    }
+
+    /** Base view class.
+     *
+     * @author MJ */
+    public static class ParentView {
+        final Array<String> events = new Array<String>();
+        @LmlActor("parent") Array<Actor> parent;
+
+        @LmlBefore
+        void parentBefore(final LmlParser parser) {
+            events.add("parentBefore:" + (parser != null));
+        }
+
+        @LmlAfter
+        void after() {
+            events.add("after");
+        }
+    }
+
+    /** Extends the base view.
+     *
+     * @author MJ */
+    public static class ChildView extends ParentView {
+        @LmlActor("child") Actor child;
+
+        @LmlBefore
+        void childBefore() {
+            events.add("childBefore");
+        }
+
+        String describe() {
+            return events.get(0) + ";" + events.get(1) + ";" + child.getName() + ";" + parent.size + ";"
+                    + events.get(2);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.czyzby.lml.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.github.czyzby.kiwi.util.common.Strings;
+import com.github.czyzby.lml.AbstractLmlTest;
+
+/** Tests {@link LmlUtilities}.
+ *
+ * @author MJ */
+public class LmlUtilitiesTest extends AbstractLmlTest {
+    private static final String[] TAG_DATA = { "actor", "actor id=first", "  actor\tid=first\n visible=false ",
+            "actor id=escaped\\ value", "actor id=\\ leading\\ ", "@loop 3", "actor id=a\\", "actor id=a\\\\ b", "",
+            " ", "actor text=%$& value", "\r\nactor\f\u000Bid=x" };
+
+    /** @param rawTagData tag data.
+     * @return tag entities extracted with the regular expression-based algorithm replaced by the tokenizer. */
+    private static String[] extractTagEntitiesWithRegex(final String rawTagData) {
+        final String[] entities = rawTagData.replace("\\ ", "%$&").split(Strings.WHITESPACE_SPLITTER_REGEX);
+        for (int index = 0; index < entities.length; index++) {
+            entities[index] = entities[index].replace("%$&", " ");
+        }
+        return entities;
+    }
+
+    @Test
+    public void shouldExtractTagEntities() {
+        assertArrayEquals(new String[] { "actor", "id=first", "visible=false" },
+                LmlUtilities.extractTagEntities("actor id=first visible=false"));
+        assertArrayEquals(new String[] { "actor", "id=escaped value" },
+                LmlUtilities.extractTagEntities("actor id=escaped\\ value"));
+        assertArrayEquals(new String[] { "", "actor" }, LmlUtilities.extractTagEntities("  actor"));
+        assertArrayEquals(new String[0], LmlUtilities.extractTagEntities(" \t "));
+        // Placeholder of the previous implementation is no longer converted into a space:
+        assertArrayEquals(new String[] { "actor", "text=%$&" }, LmlUtilities.extractTagEntities("actor text=%$&"));
+    }
+
+    @Test
+    public void shouldExtractTagEntitiesLikeRegex() {
+        for (final String rawTagData : TAG_DATA) {
+            if (!rawTagData.contains("%$&")) {
+                assertArrayEquals(rawTagData, extractTagEntitiesWithRegex(rawTagData),
+                        LmlUtilities.extractTagEntities(rawTagData));
+            }
+        }
+        final Random random = new Random(0L);
+        final char[] characters = { 'a', 'b', '=', ' ', ' ', '\\', '\t', '\n' };
+        for (int test = 0; test < 10000; test++) {
+            final char[] rawTagData = new char[random.nextInt(20)];
+            for (int index = 0; index < rawTagData.length; index++) {
+                rawTagData[index] = characters[random.nextInt(characters.length)];
+            }
+            final String data = new String(rawTagData);
+            assertEquals(data, Arrays.toString(extractTagEntitiesWithRegex(data)),
+                    Arrays.toString(LmlUtilities.extractTagEntities(data)));
+        }
+    }
+
+    @Test
+    public void shouldParseAttributesOfTags() {
+        final Actor actor = createParser().parseTemplate("<actor id=\"quoted\"\n\tvisible=false/>").first();
+
+        assertEquals("quoted", actor.getName());
+        assertFalse(actor.isVisible());
+        assertEquals("escaped value",
+                createParser().parseTemplate("<actor id=escaped\\ value/>").first().getName());
+    }
+}
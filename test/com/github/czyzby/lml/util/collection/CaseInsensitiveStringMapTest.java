@@ -0,0 +1,175 @@
+package com.github.czyzby.lml.util.collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectMap.Entries;
+import com.badlogic.gdx.utils.ObjectMap.Entry;
+import com.badlogic.gdx.utils.ObjectMap.Keys;
+import com.badlogic.gdx.utils.ObjectMap.Values;
+
+/** Tests {@link CaseInsensitiveStringMap}.
+ *
+ * @author MJ */
+public class CaseInsensitiveStringMapTest {
+    @Test
+    public void shouldIgnoreCaseOfKeys() {
+        final CaseInsensitiveStringMap<String> map = new CaseInsensitiveStringMap<String>();
+
+        map.put("Key", "value");
+
+        assertEquals("value", map.get("key"));
+        assertEquals("value", map.get("KEY"));
+        assertEquals("value", map.get("kEy", "default"));
+        assertEquals("default", map.get("other", "default"));
+        assertTrue(map.containsKey("KeY"));
+        assertFalse(map.containsKey("Key2"));
+        assertEquals("key", map.keys().next());
+    }
+
+    @Test
+    public void shouldReplaceValuesOfKeysWithDifferentCase() {
+        final CaseInsensitiveStringMap<String> map = new CaseInsensitiveStringMap<String>();
+        map.put("key", "first");
+
+        assertEquals("first", map.put("KEY", "second"));
+
+        assertEquals(1, map.size);
+        assertEquals("second", map.get("Key"));
+    }
+
+    @Test
+    public void shouldRemoveValues() {
+        final CaseInsensitiveStringMap<String> map = new CaseInsensitiveStringMap<String>();
+        map.put("key", "value");
+
+        assertEquals("value", map.remove("KEY"));
+
+        assertEquals(0, map.size);
+        assertNull(map.get("key"));
+        assertFalse(map.containsKey("key"));
+        assertNull(map.remove("key"));
+    }
+
+    @Test
+    public void shouldCopyMap() {
+        final ObjectMap<String, String> source = new ObjectMap<String, String>();
+        source.put("First", "1");
+        source.put("SECOND", "2");
+
+        final CaseInsensitiveStringMap<String> map = new CaseInsensitiveStringMap<String>(source);
+
+        assertEquals(2, map.size);
+        assertEquals("1", map.get("first"));
+        assertEquals("2", map.get("second"));
+    }
+
+    @Test
+    public void shouldClearIndex() {
+        final CaseInsensitiveStringMap<String> map = new CaseInsensitiveStringMap<String>();
+        map.put("key", "value");
+
+        map.clear();
+        assertNull(map.get("key"));
+        map.put("key", "value");
+        map.clear(4);
+
+        assertNull(map.get("key"));
+        assertEquals(0, map.size);
+    }
+
+    @Test
+    public void shouldUpdateIndexWhenRemovingWithEntriesIterator() {
+        final CaseInsensitiveStringMap<Integer> map = createMap(100);
+
+        for (final Entries<String, Integer> entries = map.entries(); entries.hasNext();) {
+            if (entries.next().value % 2 == 0) {
+                entries.remove();
+            }
+        }
+
+        assertRemovedEvenValues(map, 100);
+    }
+
+    @Test
+    public void shouldUpdateIndexWhenRemovingWithKeysIterator() {
+        final CaseInsensitiveStringMap<Integer> map = createMap(100);
+
+        for (final Keys<String> keys = map.keys(); keys.hasNext();) {
+            if (Integer.parseInt(keys.next().substring(3)) % 2 == 0) {
+                keys.remove();
+            }
+        }
+
+        assertRemovedEvenValues(map, 100);
+    }
+
+    @Test
+    public void shouldUpdateIndexWhenRemovingWithValuesIterator() {
+        final CaseInsensitiveStringMap<Integer> map = createMap(100);
+
+        for (final Values<Integer> values = map.values(); values.hasNext();) {
+            if (values.next() % 2 == 0) {
+                values.remove();
+            }
+        }
+
+        assertRemovedEvenValues(map, 100);
+        assertEquals(50, map.values().toArray().size);
+    }
+
+    @Test
+    public void shouldBehaveLikeIgnoreCaseStringMap() {
+        final Random random = new Random(0L);
+        final IgnoreCaseStringMap<Integer> expected = new IgnoreCaseStringMap<Integer>();
+        final CaseInsensitiveStringMap<Integer> map = new CaseInsensitiveStringMap<Integer>(2);
+        for (int operation = 0; operation < 10000; operation++) {
+            final String key = "kEy".substring(random.nextInt(3)) + random.nextInt(50);
+            final String upperCaseKey = key.toUpperCase();
+            switch (random.nextInt(4)) {
+                case 0:
+                    assertEquals(expected.put(key, operation), map.put(key, operation));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(upperCaseKey), map.remove(upperCaseKey));
+                    break;
+                case 2:
+                    assertEquals(expected.get(upperCaseKey), map.get(upperCaseKey));
+                    break;
+                default:
+                    assertEquals(expected.containsKey(upperCaseKey), map.containsKey(upperCaseKey));
+            }
+            assertEquals(expected.size, map.size);
+        }
+        for (final Entry<String, Integer> entry : expected) {
+            assertEquals(entry.value, map.get(entry.key));
+        }
+    }
+
+    private static CaseInsensitiveStringMap<Integer> createMap(final int size) {
+        final CaseInsensitiveStringMap<Integer> map = new CaseInsensitiveStringMap<Integer>();
+        for (int index = 0; index < size; index++) {
+            map.put("Key" + index, index);
+        }
+        return map;
+    }
+
+    private static void assertRemovedEvenValues(final CaseInsensitiveStringMap<Integer> map, final int size) {
+        assertEquals(size / 2, map.size);
+        for (int index = 0; index < size; index++) {
+            if (index % 2 == 0) {
+                assertNull(map.get("KEY" + index));
+                assertFalse(map.containsKey("key" + index));
+            } else {
+                assertEquals(Integer.valueOf(index), map.get("KEY" + index));
+            }
+        }
+    }
+}
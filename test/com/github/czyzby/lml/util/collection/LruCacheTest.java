@@ -0,0 +1,71 @@
+package com.github.czyzby.lml.util.collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/** Tests {@link LruCache}.
+ *
+ * @author MJ */
+public class LruCacheTest {
+    @Test
+    public void shouldEvictLeastRecentlyUsedValue() {
+        final LruCache<String, Integer> cache = new LruCache<String, Integer>(3, 1);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a");
+
+        cache.put("d", 4);
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(Integer.valueOf(3), cache.get("c"));
+        assertEquals(Integer.valueOf(4), cache.get("d"));
+    }
+
+    @Test
+    public void shouldNotExceedMaximumSize() {
+        final LruCache<String, Integer> cache = new LruCache<String, Integer>(100);
+
+        for (int index = 0; index < 1000; index++) {
+            cache.put("key" + index, index);
+            cache.get("key0");
+        }
+
+        assertEquals(100, cache.size());
+        assertEquals(Integer.valueOf(0), cache.get("key0"));
+        assertEquals(Integer.valueOf(999), cache.get("key999"));
+    }
+
+    @Test
+    public void shouldReplaceAndRemoveValues() {
+        final LruCache<String, Integer> cache = new LruCache<String, Integer>(10);
+        cache.put("key", 1);
+
+        cache.put("key", 2);
+
+        assertEquals(1, cache.size());
+        assertEquals(Integer.valueOf(2), cache.remove("key"));
+        assertNull(cache.get("key"));
+        assertNull(cache.remove("key"));
+    }
+
+    @Test
+    public void shouldReduceSegmentsAmountToMaximumSize() {
+        final LruCache<String, Integer> cache = new LruCache<String, Integer>(1, 16);
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        assertEquals(1, cache.size());
+        assertEquals(Integer.valueOf(2), cache.get("b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidSegmentsAmount() {
+        new LruCache<String, Integer>(10, 3);
+    }
+}
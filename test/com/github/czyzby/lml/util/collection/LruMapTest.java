@@ -0,0 +1,91 @@
+package com.github.czyzby.lml.util.collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Array;
+
+/** Tests {@link LruMap}.
+ *
+ * @author MJ */
+public class LruMapTest {
+    @Test
+    public void shouldEvictLeastRecentlyUsedValue() {
+        final LruMap<String, Integer> map = new LruMap<String, Integer>(2);
+        map.put("a", 1);
+        map.put("b", 2);
+        map.get("a");
+
+        map.put("c", 3);
+
+        assertEquals(2, map.size());
+        assertNull(map.get("b"));
+        assertEquals(Integer.valueOf(1), map.get("a"));
+        assertEquals(Integer.valueOf(3), map.get("c"));
+    }
+
+    @Test
+    public void shouldReplaceAndRemoveValues() {
+        final LruMap<String, Integer> map = new LruMap<String, Integer>(2);
+
+        assertNull(map.put("a", 1));
+        assertEquals(Integer.valueOf(1), map.put("a", 2));
+        assertEquals(Integer.valueOf(2), map.remove("a"));
+
+        assertNull(map.remove("a"));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void shouldEvictWithCustomLimitAndNotifyAboutRemovals() {
+        final Array<String> removed = new Array<String>();
+        final int[] total = new int[1];
+        final LruMap<String, Integer> map = new LruMap<String, Integer>(100) {
+            @Override
+            protected boolean isOverLimit() {
+                return super.isOverLimit() || total[0] > 10;
+            }
+
+            @Override
+            protected void onRemove(final String key, final Integer value) {
+                removed.add(key);
+                total[0] -= value;
+            }
+        };
+        total[0] += 4;
+        map.put("a", 4);
+        total[0] += 4;
+        map.put("b", 4);
+
+        total[0] += 20;
+        map.put("c", 20);
+
+        // The most recently used value is never evicted:
+        assertEquals(1, map.size());
+        assertEquals("[a, b]", removed.toString());
+        map.remove("c");
+        assertEquals("[a, b, c]", removed.toString());
+        assertEquals(0, total[0]);
+    }
+
+    @Test
+    public void shouldClearValues() {
+        final LruMap<String, Integer> map = new LruMap<String, Integer>(2);
+        map.put("a", 1);
+        map.put("b", 2);
+
+        map.clear();
+        map.put("c", 3);
+
+        assertEquals(1, map.size());
+        assertNull(map.get("a"));
+        assertEquals(Integer.valueOf(3), map.get("c"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidMaximumSize() {
+        new LruMap<String, Integer>(0);
+    }
+}